@@ -0,0 +1,42 @@
+package com.adrienben.games.bagl.core.math;
+
+import org.joml.Matrix4f;
+import org.joml.primitives.Spheref;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Frustum} benchmarks.
+ *
+ * @author adrien
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FrustumBenchmark {
+
+    private final Frustum frustum = new Frustum(new Matrix4f()
+            .perspective((float) Math.toRadians(70), 16f / 9f, 0.1f, 100f)
+            .lookAt(0f, 2f, 5f, 0f, 0f, 0f, 0f, 1f, 0f));
+    private final Frustum clipped = new Frustum();
+    private final Spheref sphere = new Spheref();
+
+    @Benchmark
+    public Frustum clipZ() {
+        return frustum.clipZ(0.1f, 0.3f, clipped);
+    }
+
+    @Benchmark
+    public Spheref computeBoundingSphere() {
+        return frustum.computeBoundingSphere(sphere);
+    }
+
+    @Benchmark
+    public Spheref clipZAndComputeBoundingSphere() {
+        return frustum.clipZ(0.1f, 0.3f, clipped).computeBoundingSphere(sphere);
+    }
+}
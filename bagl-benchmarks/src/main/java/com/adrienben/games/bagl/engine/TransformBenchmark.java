@@ -0,0 +1,51 @@
+package com.adrienben.games.bagl.engine;
+
+import org.joml.Quaternionf;
+import org.joml.Vector3f;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Transform} benchmarks.
+ *
+ * @author adrien
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransformBenchmark {
+
+    private final Transform parent = new Transform();
+    private final Transform child = new Transform();
+    private final Transform result = new Transform();
+
+    @Setup
+    public void setUp() {
+        parent.setTranslation(new Vector3f(1f, 2f, 3f))
+                .setRotation(new Quaternionf().rotateXYZ(0.3f, 0.5f, 0.7f))
+                .setScale(new Vector3f(2f));
+        child.setTranslation(new Vector3f(-1f, 0.5f, 4f))
+                .setRotation(new Quaternionf().rotateY(1.2f))
+                .setScale(new Vector3f(0.5f));
+    }
+
+    @Benchmark
+    public Transform transform() {
+        Transform.transform(child, parent, result);
+        return result;
+    }
+
+    @Benchmark
+    public Transform set() {
+        return result.set(child);
+    }
+
+    @Benchmark
+    public Transform setAndTransform() {
+        return result.set(child).transform(parent);
+    }
+}
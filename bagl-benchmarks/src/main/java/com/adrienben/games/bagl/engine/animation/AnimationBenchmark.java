@@ -0,0 +1,74 @@
+package com.adrienben.games.bagl.engine.animation;
+
+import com.adrienben.games.bagl.engine.Time;
+import com.adrienben.games.bagl.engine.Transform;
+import org.joml.Quaternionf;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link AnimationPlayer#step(Time)} benchmarks.
+ * <p>
+ * The animation drives the translation and rotation of a set of transforms, like a skeleton would.
+ *
+ * @author adrien
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AnimationBenchmark {
+
+    private static final int KEY_FRAME_COUNT = 60;
+    private static final float KEY_FRAME_INTERVAL = 1f / 30f;
+
+    @Param({"1", "64"})
+    private int targetCount;
+
+    private final Time time = new Time();
+    private AnimationPlayer player;
+
+    @Setup
+    public void setUp() {
+        final var builder = Animation.builder();
+        final var times = createTimes();
+        final var targets = new Transform[targetCount];
+        for (var i = 0; i < targetCount; i++) {
+            targets[i] = new Transform();
+            final var translations = new float[KEY_FRAME_COUNT * 3];
+            final var rotations = new float[KEY_FRAME_COUNT * 4];
+            final var rotation = new Quaternionf();
+            for (var key = 0; key < KEY_FRAME_COUNT; key++) {
+                translations[key * 3] = key;
+                translations[key * 3 + 2] = i;
+                rotation.identity().rotateY(key * 0.1f);
+                rotations[key * 4] = rotation.x();
+                rotations[key * 4 + 1] = rotation.y();
+                rotations[key * 4 + 2] = rotation.z();
+                rotations[key * 4 + 3] = rotation.w();
+            }
+            builder.channel(i, new AnimationChannel(ChannelPath.TRANSLATION, InterpolationMode.LINEAR, times, translations));
+            builder.channel(i, new AnimationChannel(ChannelPath.ROTATION, InterpolationMode.LINEAR, times, rotations));
+        }
+        player = new AnimationPlayer(builder.build(), targets);
+        player.play();
+        time.advance(1f / 60f);
+    }
+
+    private static float[] createTimes() {
+        final var times = new float[KEY_FRAME_COUNT];
+        for (var i = 0; i < KEY_FRAME_COUNT; i++) {
+            times[i] = i * KEY_FRAME_INTERVAL;
+        }
+        return times;
+    }
+
+    @Benchmark
+    public AnimationPlayer step() {
+        player.step(time);
+        return player;
+    }
+}
@@ -0,0 +1,49 @@
+package com.adrienben.games.bagl.engine.animation.selector;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link KeyFrameSelector#select(float)} benchmarks.
+ * <p>
+ * Each invocation samples the whole animation at a fixed rate, as the game loop would do.
+ *
+ * @author adrien
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KeyFrameSelectorBenchmark {
+
+    private static final float KEY_FRAME_INTERVAL = 1f / 30f;
+    private static final float SAMPLING_INTERVAL = 1f / 60f;
+
+    @Param({"10", "100", "1000"})
+    private int keyFrameCount;
+
+    private KeyFrameSelector selector;
+    private float duration;
+
+    @Setup
+    public void setUp() {
+        final var times = new float[keyFrameCount];
+        for (var i = 0; i < keyFrameCount; i++) {
+            times[i] = i * KEY_FRAME_INTERVAL;
+        }
+        selector = new KeyFrameSelector(times);
+        duration = (keyFrameCount - 1) * KEY_FRAME_INTERVAL;
+    }
+
+    @Benchmark
+    public void select(final Blackhole blackhole) {
+        for (var time = 0f; time < duration; time += SAMPLING_INTERVAL) {
+            selector.select(time);
+            blackhole.consume(selector.getStartIndex());
+        }
+    }
+}
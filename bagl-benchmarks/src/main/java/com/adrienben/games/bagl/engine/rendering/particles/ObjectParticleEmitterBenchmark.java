@@ -0,0 +1,121 @@
+package com.adrienben.games.bagl.engine.rendering.particles;
+
+import com.adrienben.games.bagl.core.Color;
+import com.adrienben.games.bagl.engine.Time;
+import org.joml.Vector3f;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Baseline for {@link ParticleEmitterBenchmark} and {@link VectorParticleEmitterBenchmark}.
+ * <p>
+ * Before particles were stored in a {@link ParticleStore}, each emitter owned a pool of {@value #POOL_SIZE} particle
+ * objects and updated every one of them each frame, alive or not, spawning new particles into the dead ones. That
+ * update path is replicated here with the same spawn rate, batch size and initializer as {@link ParticleEmitterBenchmark}
+ * so the three benchmarks measure the same workload.
+ *
+ * @author adrien
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ObjectParticleEmitterBenchmark {
+
+    private static final int POOL_SIZE = 10000;
+    private static final int BATCH_SIZE = 100;
+    private static final float RATE = 1f / 60f;
+
+    private final Time time = new Time();
+    private final Random random = new Random(42);
+    private final ObjectParticle[] pool = new ObjectParticle[POOL_SIZE];
+    private float timeToNextBatch = RATE;
+
+    @Setup
+    public void setUp() {
+        for (var i = 0; i < POOL_SIZE; i++) {
+            pool[i] = new ObjectParticle();
+        }
+        time.advance(1f / 60f);
+        // fill the pool so the benchmark measures a steady state
+        for (var i = 0; i < 600; i++) {
+            update();
+        }
+    }
+
+    @Benchmark
+    public ObjectParticle[] update() {
+        for (final var particle : pool) {
+            particle.update(time);
+        }
+
+        timeToNextBatch -= time.getElapsedTime();
+        if (timeToNextBatch <= 0) {
+            generateBatch();
+        }
+        return pool;
+    }
+
+    private void generateBatch() {
+        timeToNextBatch = RATE;
+        var generated = 0;
+        for (var i = 0; i < POOL_SIZE && generated < BATCH_SIZE; i++) {
+            final var particle = pool[i];
+            if (!particle.alive) {
+                particle.reset(
+                        particle.position.set(random.nextFloat(), random.nextFloat(), random.nextFloat()),
+                        particle.direction.set(random.nextFloat() - 0.5f, 1f, random.nextFloat() - 0.5f),
+                        0.1f, 2f, Color.RED, Color.YELLOW, 1f + random.nextFloat() * 4f);
+                generated++;
+            }
+        }
+    }
+
+    /**
+     * Particle updated on its own, as particles were before {@link ParticleStore}.
+     */
+    static class ObjectParticle {
+
+        private final Color color = new Color(0, 0, 0, 0);
+        private Vector3f position = new Vector3f();
+        private Vector3f direction = new Vector3f();
+        private float size;
+        private float speed;
+        private Color startColor = Color.WHITE;
+        private Color endColor = Color.WHITE;
+        private float ttl;
+        private float timeLeft;
+        private boolean alive;
+
+        void update(final Time time) {
+            alive = timeLeft > 0;
+            if (alive) {
+                final var elapsedTime = time.getElapsedTime();
+                timeLeft -= elapsedTime;
+                direction.normalize().mul(elapsedTime * speed);
+                position.add(direction);
+
+                final var life = timeLeft / ttl;
+                Color.blend(startColor, endColor, life, color);
+            }
+        }
+
+        void reset(final Vector3f position, final Vector3f direction, final float size, final float speed, final Color startColor,
+                   final Color endColor, final float ttl) {
+            this.position = position;
+            this.direction = direction;
+            this.size = size;
+            this.speed = speed;
+            this.startColor = startColor;
+            this.endColor = endColor;
+            this.ttl = ttl;
+            this.color.set(startColor);
+            this.timeLeft = ttl;
+            this.alive = timeLeft > 0;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.adrienben.games.bagl.engine.rendering.particles;
+
+import com.adrienben.games.bagl.engine.Time;
+import org.joml.Vector3f;
+import org.joml.Vector3fc;
+import org.lwjgl.system.MemoryUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.FloatBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the CPU side of the {@link ParticleRenderer}: gathering, sorting and vertex generation.
+ *
+ * @author adrien
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParticleBatchBenchmark {
+
+    private final Vector3fc eye = new Vector3f(5f, 3f, 5f);
+    private final ParticleBatch batch = new ParticleBatch();
+    private ParticleEmitter emitter;
+    private FloatBuffer vertices;
+
+    @Setup
+    public void setUp() {
+        emitter = ParticleEmitterBenchmark.createEmitter(new Random(42));
+        final var time = new Time();
+        time.advance(1f / 60f);
+        for (var i = 0; i < 600; i++) {
+            emitter.update(time);
+        }
+        vertices = MemoryUtil.memAllocFloat(ParticleEmitter.MAX_PARTICLE_COUNT * ParticleBatch.ELEMENTS_PER_VERTEX);
+    }
+
+    @TearDown
+    public void tearDown() {
+        MemoryUtil.memFree(vertices);
+    }
+
+    @Benchmark
+    public ParticleBatch collect() {
+        batch.collect(emitter);
+        return batch;
+    }
+
+    @Benchmark
+    public ParticleBatch collectAndSort() {
+        batch.collect(emitter);
+        batch.sortBackToFront(eye);
+        return batch;
+    }
+
+    @Benchmark
+    public FloatBuffer collectSortAndGenerateVertices() {
+        batch.collect(emitter);
+        batch.sortBackToFront(eye);
+        batch.generateVertices(vertices);
+        return vertices;
+    }
+}
@@ -0,0 +1,78 @@
+package com.adrienben.games.bagl.engine.rendering.particles;
+
+import com.adrienben.games.bagl.core.Color;
+import com.adrienben.games.bagl.engine.Time;
+import com.adrienben.games.bagl.engine.jobs.JobSystem;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ParticleEmitter#update(Time)} benchmarks.
+ * <p>
+ * The JVM running the benchmarks is started without the {@code jdk.incubator.vector} module so particles are
+ * integrated by the scalar kernel. See {@link VectorParticleEmitterBenchmark} for the SIMD kernel and
+ * {@link ObjectParticleEmitterBenchmark} for the update of particle objects it replaced.
+ *
+ * @author adrien
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParticleEmitterBenchmark {
+
+    private final Time time = new Time();
+    private ParticleEmitter emitter;
+    private JobSystem jobSystem;
+
+    @Param({"1", "4"})
+    public int workerCount;
+
+    @Setup
+    public void setUp() {
+        jobSystem = workerCount > 1 ? new JobSystem(workerCount) : null;
+        emitter = createEmitter(new Random(42), jobSystem);
+        time.advance(1f / 60f);
+        // fill the pool so the benchmark measures a steady state
+        for (var i = 0; i < 600; i++) {
+            emitter.update(time);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (Objects.nonNull(jobSystem)) {
+            jobSystem.destroy();
+        }
+    }
+
+    /**
+     * Create an emitter spawning particles at a rate that keeps most of its pool alive.
+     */
+    static ParticleEmitter createEmitter(final Random random) {
+        return createEmitter(random, null);
+    }
+
+    private static ParticleEmitter createEmitter(final Random random, final JobSystem jobSystem) {
+        return ParticleEmitter.builder()
+                .jobSystem(jobSystem)
+                .rate(1f / 60f)
+                .batchSize(100)
+                .initializer(particle -> particle.reset(
+                        particle.getPosition().set(random.nextFloat(), random.nextFloat(), random.nextFloat()),
+                        particle.getDirection().set(random.nextFloat() - 0.5f, 1f, random.nextFloat() - 0.5f),
+                        0.1f, 2f, Color.RED, Color.YELLOW, 1f + random.nextFloat() * 4f))
+                .build();
+    }
+
+    @Benchmark
+    public ParticleEmitter update() {
+        emitter.update(time);
+        return emitter;
+    }
+}
@@ -0,0 +1,13 @@
+package com.adrienben.games.bagl.engine.rendering.particles;
+
+import com.adrienben.games.bagl.engine.Time;
+import org.openjdk.jmh.annotations.Fork;
+
+/**
+ * {@link ParticleEmitter#update(Time)} benchmarks with the particles integrated by the SIMD kernel.
+ *
+ * @author adrien
+ */
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class VectorParticleEmitterBenchmark extends ParticleEmitterBenchmark {
+}
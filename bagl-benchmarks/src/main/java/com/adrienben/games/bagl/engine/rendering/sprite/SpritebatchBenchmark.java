@@ -0,0 +1,54 @@
+package com.adrienben.games.bagl.engine.rendering.sprite;
+
+import com.adrienben.games.bagl.core.Color;
+import org.joml.Vector2f;
+import org.joml.Vector2fc;
+import org.joml.primitives.Rectanglef;
+import org.lwjgl.system.MemoryUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.FloatBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of {@link Spritebatch#computeVertices} for a full batch of sprites.
+ *
+ * @author adrien
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpritebatchBenchmark {
+
+    private static final int TEXTURE_SIZE = 512;
+
+    @Param({"0", "45"})
+    private float rotation;
+
+    private final Vector2fc position = new Vector2f(100f, 200f);
+    private final Rectanglef region = new Rectanglef(0.25f, 0.25f, 0.5f, 0.5f);
+    private FloatBuffer vertices;
+
+    @Setup
+    public void setUp() {
+        vertices = MemoryUtil.memAllocFloat(Spritebatch.MAX_SIZE * Spritebatch.VERTICES_PER_SPRITE
+                * Spritebatch.ELEMENTS_PER_VERTICES);
+    }
+
+    @TearDown
+    public void tearDown() {
+        MemoryUtil.memFree(vertices);
+    }
+
+    @Benchmark
+    public FloatBuffer computeVertices() {
+        for (var i = 0; i < Spritebatch.MAX_SIZE; i++) {
+            Spritebatch.computeVertices(vertices, i, position, 64f, 32f, region, rotation, Color.WHITE,
+                    TEXTURE_SIZE, TEXTURE_SIZE);
+        }
+        return vertices;
+    }
+}
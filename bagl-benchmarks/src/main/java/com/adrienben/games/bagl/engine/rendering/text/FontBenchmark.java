@@ -0,0 +1,29 @@
+package com.adrienben.games.bagl.engine.rendering.text;
+
+import com.adrienben.games.bagl.core.io.ResourcePath;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Font} parsing benchmarks.
+ * <p>
+ * The bitmap of the font is not loaded since it requires an OpenGL context.
+ *
+ * @author adrien
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FontBenchmark {
+
+    static final ResourcePath FONT_PATH = ResourcePath.get("classpath:/fonts/segoe.fnt");
+
+    @Benchmark
+    public Font parse() {
+        return new Font(FONT_PATH, false);
+    }
+}
@@ -0,0 +1,50 @@
+package com.adrienben.games.bagl.engine.rendering.text;
+
+import com.adrienben.games.bagl.core.Color;
+import org.joml.Vector2f;
+import org.joml.Vector2fc;
+import org.lwjgl.system.MemoryUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.FloatBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the glyph layout of the {@link TextRenderer}.
+ *
+ * @author adrien
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TextLayoutBenchmark {
+
+    private static final String TEXT = """
+            The quick brown fox jumps over the lazy dog.
+            Draw calls: 1234 | Primitives: 567890 | Program switches: 12
+            0123456789 !?,;:/*-+=()[]{}""";
+
+    private final Vector2fc position = new Vector2f(0.01f, 0.9f);
+    private Font font;
+    private FloatBuffer vertices;
+
+    @Setup
+    public void setUp() {
+        font = new Font(FontBenchmark.FONT_PATH, false);
+        vertices = MemoryUtil.memAllocFloat(TextRenderer.MAX_TEXT_LENGTH * TextRenderer.VERTICES_PER_CHAR
+                * TextRenderer.ELEMENTS_PER_VERTEX);
+    }
+
+    @TearDown
+    public void tearDown() {
+        MemoryUtil.memFree(vertices);
+    }
+
+    @Benchmark
+    public int layoutText() {
+        return TextRenderer.layoutText(vertices, TEXT, font, position, 0.025f, Color.WHITE, 16f / 9f);
+    }
+}
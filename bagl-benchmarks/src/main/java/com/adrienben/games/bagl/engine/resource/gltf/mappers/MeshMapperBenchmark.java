@@ -0,0 +1,65 @@
+package com.adrienben.games.bagl.engine.resource.gltf.mappers;
+
+import com.adrienben.games.bagl.core.io.ResourcePath;
+import com.adrienben.tools.gltf.models.GltfAccessor;
+import com.adrienben.tools.gltf.models.GltfAsset;
+import com.adrienben.tools.gltf.models.GltfMesh;
+import org.lwjgl.system.MemoryUtil;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link MeshMapper#extractVertexData(GltfAccessor)} benchmarks.
+ * <p>
+ * The vertex data of every primitive of a glTF file is extracted. Buffers are not uploaded
+ * to the GPU so no OpenGL context is required.
+ *
+ * @author adrien
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MeshMapperBenchmark {
+
+    @Param({"classpath:/test.glb"})
+    private String path;
+
+    private final MeshMapper meshMapper = new MeshMapper();
+    private List<GltfAccessor> accessors;
+
+    @Setup
+    public void setUp() throws IOException {
+        // the glTF loader needs an actual file and resources are packaged in the benchmarks jar
+        final var file = Files.createTempFile("bagl-benchmark", ".glb");
+        try (final var input = ResourcePath.get(path).openInputStream()) {
+            Files.copy(input, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+        final var asset = GltfAsset.Factory.fromFile(file.toAbsolutePath().toString());
+        Files.delete(file);
+
+        accessors = asset.getMeshes().stream()
+                .map(GltfMesh::getPrimitives)
+                .flatMap(List::stream)
+                .flatMap(primitive -> primitive.getAttributes().values().stream())
+                .toList();
+    }
+
+    @Benchmark
+    public void extractVertexData(final Blackhole blackhole) {
+        for (final var accessor : accessors) {
+            meshMapper.extractVertexData(accessor).ifPresent(data -> {
+                blackhole.consume(data);
+                MemoryUtil.memFree(data);
+            });
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.adrienben.games.bagl.engine.scene;
+
+import com.adrienben.games.bagl.engine.Time;
+import org.joml.Vector3f;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link GameObject#update(Time)} benchmarks over large scene graphs.
+ *
+ * @author adrien
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameObjectBenchmark {
+
+    /**
+     * Number of children of each non-leaf object.
+     */
+    @Param({"10"})
+    private int branching;
+
+    /**
+     * Number of levels below the root.
+     */
+    @Param({"3", "4"})
+    private int depth;
+
+    private final Time time = new Time();
+    private Scene scene;
+
+    @Setup
+    public void setUp() {
+        scene = new Scene();
+        var level = List.of(scene.getRoot());
+        var objectCount = 0;
+        for (var i = 0; i < depth; i++) {
+            final var nextLevel = new ArrayList<GameObject>();
+            for (final var object : level) {
+                for (var j = 0; j < branching; j++) {
+                    final var child = object.createChild("object_" + objectCount++);
+                    child.getLocalTransform().setTranslation(new Vector3f(j, i, 0f));
+                    nextLevel.add(child);
+                }
+            }
+            level = nextLevel;
+        }
+        time.advance(1f / 60f);
+    }
+
+    @Benchmark
+    public Scene update() {
+        scene.update(time);
+        return scene;
+    }
+}
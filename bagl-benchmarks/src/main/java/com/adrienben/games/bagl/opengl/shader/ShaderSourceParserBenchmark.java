@@ -0,0 +1,35 @@
+package com.adrienben.games.bagl.opengl.shader;
+
+import com.adrienben.games.bagl.core.io.ResourcePath;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ShaderSourceParser#parse(ResourcePath)} benchmarks.
+ *
+ * @author adrien
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShaderSourceParserBenchmark {
+
+    @Param({"classpath:/shaders/sprite/sprite.vert", "classpath:/shaders/deferred/deferred.frag"})
+    private String path;
+
+    private ResourcePath resourcePath;
+
+    @Setup
+    public void setUp() {
+        resourcePath = ResourcePath.get(path);
+    }
+
+    @Benchmark
+    public String parse() {
+        return new ShaderSourceParser().parse(resourcePath);
+    }
+}
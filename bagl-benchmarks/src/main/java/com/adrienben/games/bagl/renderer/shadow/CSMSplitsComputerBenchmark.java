@@ -0,0 +1,40 @@
+package com.adrienben.games.bagl.renderer.shadow;
+
+import com.adrienben.games.bagl.engine.camera.Camera;
+import com.adrienben.games.bagl.engine.rendering.light.DirectionalLight;
+import com.adrienben.games.bagl.renderer.data.SceneRenderData;
+import org.joml.Vector3f;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link CSMSplitsComputer#computeCSMViewProjections()} benchmarks.
+ *
+ * @author adrien
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CSMSplitsComputerBenchmark {
+
+    private final CSMSplitsComputer splitsComputer = new CSMSplitsComputer();
+
+    @Setup
+    public void setUp() {
+        final var sceneRenderData = new SceneRenderData();
+        sceneRenderData.setCamera(new Camera(new Vector3f(0f, 2f, 5f), new Vector3f(0f, -0.4f, -1f).normalize(),
+                new Vector3f(0f, 1f, 0f), (float) Math.toRadians(70), 16f / 9f, 0.1f, 1000f));
+        sceneRenderData.addDirectionalLight(new DirectionalLight(new Vector3f(-1f, -2f, -0.5f).normalize()));
+        splitsComputer.setSceneRenderData(sceneRenderData);
+    }
+
+    @Benchmark
+    public CSMSplitsComputer computeCSMViewProjections() {
+        splitsComputer.computeCSMViewProjections();
+        return splitsComputer;
+    }
+}
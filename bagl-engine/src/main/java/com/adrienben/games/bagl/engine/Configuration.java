@@ -7,6 +7,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Properties;
@@ -28,6 +29,33 @@ import java.util.function.Function;
  * <li>shadow_polygon_offset_units (float) : control for the shadow depth bias
  * <li>fxaa_quality (String) : the preset quality of the fxaa. Should be LOW, MEDIUM or HIGH.
  * <li>assets_descriptor_path (String) : the path of the asset descriptor json file.
+ * </ul>
+ * Optional properties are :
+ * <ul>
+ * <li>lod_errors (comma separated floats) : the maximum error of each generated mesh LOD relative to the size
+ * of the mesh. Empty to disable LOD generation. Default is {@value DEFAULT_LOD_ERRORS}.
+ * <li>lod_pixel_error (float) : the maximum projected error in pixels tolerated when selecting a mesh LOD.
+ * Default is {@value DEFAULT_LOD_PIXEL_ERROR}.
+ * <li>lod_shadow_bias (integer) : the number of LOD levels to add to the selected LOD when rendering shadows.
+ * Default is {@value DEFAULT_LOD_SHADOW_BIAS}.
+ * <li>animation_compression_enabled (boolean) : whether animation key frames are reduced and quantized when imported.
+ * Default is true.
+ * <li>animation_position_tolerance (float) : the maximum error on translations and scales introduced by the
+ * animation compression. Default is {@value DEFAULT_ANIMATION_POSITION_TOLERANCE}.
+ * <li>animation_angle_tolerance (float) : the maximum error on rotations in degrees introduced by the animation
+ * compression. Default is {@value DEFAULT_ANIMATION_ANGLE_TOLERANCE}.
+ * <li>animation_lod_enabled (boolean) : whether the update rate of animations depends on the screen size and visibility
+ * of the animated models. Default is true.
+ * <li>animation_lod_half_rate_size (float) : the screen size under which animations are updated every other frame.
+ * The screen size is the projected radius of a model divided by half the height of the viewport.
+ * Default is {@value DEFAULT_ANIMATION_LOD_HALF_RATE_SIZE}.
+ * <li>animation_lod_quarter_rate_size (float) : the screen size under which animations are updated every fourth frame.
+ * Default is {@value DEFAULT_ANIMATION_LOD_QUARTER_RATE_SIZE}.
+ * <li>profiler_enabled (boolean) : whether the GPU profiler records per pass timings. Default is false.
+ * <li>frame_stats_enabled (boolean) : whether draw calls, state changes and uploads are counted each frame.
+ * Default is false.
+ * <li>job_worker_count (integer) : the number of worker threads of the job system. Default is the number of
+ * available processors minus one, with a minimum of one.
  */
 public class Configuration {
 
@@ -35,6 +63,16 @@ public class Configuration {
 
     private static final String CONFIGURATION_FILE_PATH = "classpath:/config.properties";
     private static final String DEFAULT_ASSETS_DESCRIPTOR_PATH = "classpath:/assets.json";
+    private static final String DEFAULT_LOD_ERRORS = "0.005,0.02,0.05";
+    private static final float DEFAULT_LOD_PIXEL_ERROR = 1.0f;
+    private static final int DEFAULT_LOD_SHADOW_BIAS = 1;
+    private static final float DEFAULT_ANIMATION_POSITION_TOLERANCE = 0.0005f;
+    private static final float DEFAULT_ANIMATION_ANGLE_TOLERANCE = 0.05f;
+    private static final float DEFAULT_ANIMATION_LOD_HALF_RATE_SIZE = 0.15f;
+    private static final float DEFAULT_ANIMATION_LOD_QUARTER_RATE_SIZE = 0.05f;
+    private static final float DEFAULT_DYNAMIC_RESOLUTION_TARGET_FRAME_TIME = 16.0f;
+    private static final float DEFAULT_DYNAMIC_RESOLUTION_MIN_SCALE = 0.5f;
+    private static final float DEFAULT_DYNAMIC_RESOLUTION_MAX_SCALE = 1.0f;
 
     private static Configuration instance;
 
@@ -51,6 +89,23 @@ public class Configuration {
     private final FxaaPresets fxaaPresets;
     private final boolean bloomEnabled;
     private final ResourcePath assetDescriptorFilePath;
+    private final float[] lodErrors;
+    private final float lodPixelError;
+    private final int lodShadowBias;
+    private final boolean animationCompressionEnabled;
+    private final float animationPositionTolerance;
+    private final float animationAngleTolerance;
+    private final boolean animationLodEnabled;
+    private final float animationLodHalfRateSize;
+    private final float animationLodQuarterRateSize;
+    private final boolean dynamicResolutionEnabled;
+    private final float dynamicResolutionTargetFrameTime;
+    private final float dynamicResolutionMinScale;
+    private final float dynamicResolutionMaxScale;
+    private final boolean profilerEnabled;
+    private final boolean frameStatsEnabled;
+    private final boolean multithreadedUpdate;
+    private final int jobWorkerCount;
 
     private Configuration() {
         this.properties = new Properties();
@@ -68,6 +123,31 @@ public class Configuration {
         this.bloomEnabled = readRequiredBool("bloom_enabled");
         this.assetDescriptorFilePath = readAndMapIfPresent("assets_descriptor_path", ResourcePath::get)
                 .orElse(ResourcePath.get(DEFAULT_ASSETS_DESCRIPTOR_PATH));
+        this.lodErrors = parseFloats("lod_errors", readAndMapIfPresent("lod_errors", Function.identity()).orElse(DEFAULT_LOD_ERRORS));
+        this.lodPixelError = readAndMapIfPresent("lod_pixel_error", Float::parseFloat).orElse(DEFAULT_LOD_PIXEL_ERROR);
+        this.lodShadowBias = readAndMapIfPresent("lod_shadow_bias", Integer::parseInt).orElse(DEFAULT_LOD_SHADOW_BIAS);
+        this.animationCompressionEnabled = readAndMapIfPresent("animation_compression_enabled", Boolean::parseBoolean).orElse(true);
+        this.animationPositionTolerance = readAndMapIfPresent("animation_position_tolerance", Float::parseFloat)
+                .orElse(DEFAULT_ANIMATION_POSITION_TOLERANCE);
+        this.animationAngleTolerance = readAndMapIfPresent("animation_angle_tolerance", Float::parseFloat)
+                .orElse(DEFAULT_ANIMATION_ANGLE_TOLERANCE);
+        this.animationLodEnabled = readAndMapIfPresent("animation_lod_enabled", Boolean::parseBoolean).orElse(true);
+        this.animationLodHalfRateSize = readAndMapIfPresent("animation_lod_half_rate_size", Float::parseFloat)
+                .orElse(DEFAULT_ANIMATION_LOD_HALF_RATE_SIZE);
+        this.animationLodQuarterRateSize = readAndMapIfPresent("animation_lod_quarter_rate_size", Float::parseFloat)
+                .orElse(DEFAULT_ANIMATION_LOD_QUARTER_RATE_SIZE);
+        this.dynamicResolutionEnabled = readAndMapIfPresent("dynamic_resolution_enabled", Boolean::parseBoolean).orElse(false);
+        this.dynamicResolutionTargetFrameTime = readAndMapIfPresent("dynamic_resolution_target_frame_time", Float::parseFloat)
+                .orElse(DEFAULT_DYNAMIC_RESOLUTION_TARGET_FRAME_TIME);
+        this.dynamicResolutionMinScale = readAndMapIfPresent("dynamic_resolution_min_scale", Float::parseFloat)
+                .orElse(DEFAULT_DYNAMIC_RESOLUTION_MIN_SCALE);
+        this.dynamicResolutionMaxScale = readAndMapIfPresent("dynamic_resolution_max_scale", Float::parseFloat)
+                .orElse(DEFAULT_DYNAMIC_RESOLUTION_MAX_SCALE);
+        this.profilerEnabled = readAndMapIfPresent("profiler_enabled", Boolean::parseBoolean).orElse(false);
+        this.frameStatsEnabled = readAndMapIfPresent("frame_stats_enabled", Boolean::parseBoolean).orElse(false);
+        this.multithreadedUpdate = readAndMapIfPresent("multithreaded_update", Boolean::parseBoolean).orElse(false);
+        this.jobWorkerCount = readAndMapIfPresent("job_worker_count", Integer::parseInt)
+                .orElse(Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
     }
 
     private void loadFile() {
@@ -100,6 +180,19 @@ public class Configuration {
         }
     }
 
+    private float[] parseFloats(final String key, final String values) {
+        try {
+            final var tokens = Arrays.stream(values.split(",")).map(String::trim).filter(token -> !token.isEmpty()).toArray(String[]::new);
+            final var floats = new float[tokens.length];
+            for (var i = 0; i < tokens.length; i++) {
+                floats[i] = Float.parseFloat(tokens[i]);
+            }
+            return floats;
+        } catch (final NumberFormatException e) {
+            throw new EngineException("Property " + key + " is not a valid list of floats");
+        }
+    }
+
     private <T> T readRequiredAndMap(final String key, final Function<String, T> mapper) {
         final var property = this.getProperty(key);
         if (Objects.isNull(property)) {
@@ -185,4 +278,72 @@ public class Configuration {
     public ResourcePath getAssetDescriptorFilePath() {
         return assetDescriptorFilePath;
     }
-}
+
+    public float[] getLodErrors() {
+        return Arrays.copyOf(lodErrors, lodErrors.length);
+    }
+
+    public float getLodPixelError() {
+        return lodPixelError;
+    }
+
+    public int getLodShadowBias() {
+        return lodShadowBias;
+    }
+
+    public boolean isAnimationCompressionEnabled() {
+        return animationCompressionEnabled;
+    }
+
+    public float getAnimationPositionTolerance() {
+        return animationPositionTolerance;
+    }
+
+    public float getAnimationAngleTolerance() {
+        return animationAngleTolerance;
+    }
+
+    public boolean isAnimationLodEnabled() {
+        return animationLodEnabled;
+    }
+
+    public float getAnimationLodHalfRateSize() {
+        return animationLodHalfRateSize;
+    }
+
+    public float getAnimationLodQuarterRateSize() {
+        return animationLodQuarterRateSize;
+    }
+
+    public boolean isDynamicResolutionEnabled() {
+        return dynamicResolutionEnabled;
+    }
+
+    public float getDynamicResolutionTargetFrameTime() {
+        return dynamicResolutionTargetFrameTime;
+    }
+
+    public float getDynamicResolutionMinScale() {
+        return dynamicResolutionMinScale;
+    }
+
+    public float getDynamicResolutionMaxScale() {
+        return dynamicResolutionMaxScale;
+    }
+
+    public boolean isProfilerEnabled() {
+        return profilerEnabled;
+    }
+
+    public boolean isFrameStatsEnabled() {
+        return frameStatsEnabled;
+    }
+
+    public boolean isMultithreadedUpdate() {
+        return multithreadedUpdate;
+    }
+
+    public int getJobWorkerCount() {
+        return jobWorkerCount;
+    }
+}
\ No newline at end of file
@@ -1,22 +1,44 @@
 package com.adrienben.games.bagl.engine;
 
+import com.adrienben.games.bagl.core.exception.EngineException;
 import com.adrienben.games.bagl.engine.game.Game;
+import com.adrienben.games.bagl.engine.profiling.FrameRenderEvent;
+import com.adrienben.games.bagl.engine.profiling.FrameUpdateEvent;
+import com.adrienben.games.bagl.opengl.profiling.FrameCounters;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.lwjgl.opengl.GL11.*;
 import static org.lwjgl.opengl.GL32.GL_TEXTURE_CUBE_MAP_SEAMLESS;
 
+/**
+ * The engine runs the main loop of a {@link Game}.
+ * <p>
+ * Each frame the game is updated, its render state is captured (see {@link Game#snapshot()}) and
+ * it is rendered. When multithreaded update is enabled in the configuration, the update and the
+ * capture of frame N run on a simulation thread while frame N-1 is rendered on the OpenGL thread.
+ * Both threads are joined at the end of each frame so that input events are polled while the
+ * simulation is idle.
+ *
+ * @author adrien
+ */
 public final class Engine {
 
     private static final Logger log = LogManager.getLogger(Engine.class);
+    private static final String SIMULATION_THREAD_NAME = "bagl-simulation";
 
     private final Game game;
     private final Window window;
     private final Time time;
+    private final ExecutorService simulation;
     private boolean isRunning;
+    private long frame;
 
     public Engine(final Game game, final String title) {
         log.info("Initializing engine");
@@ -31,11 +53,22 @@ public final class Engine {
                 configuration.getVsync(),
                 configuration.getFullscreen());
         this.initGlState();
+        FrameCounters.setEnabled(configuration.isFrameStatsEnabled());
         this.time = new Time();
+        this.simulation = configuration.isMultithreadedUpdate() ? createSimulationExecutor() : null;
         this.isRunning = false;
         this.game.init();
     }
 
+    private static ExecutorService createSimulationExecutor() {
+        log.info("Game will be updated on a simulation thread");
+        return Executors.newSingleThreadExecutor(runnable -> {
+            final var thread = new Thread(runnable, SIMULATION_THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
     private void initGlState() {
         glEnable(GL_TEXTURE_CUBE_MAP_SEAMLESS);
         glEnable(GL_DEPTH_TEST);
@@ -47,14 +80,17 @@ public final class Engine {
             log.info("Starting engine");
             this.isRunning = true;
             this.time.update();
+            if (Objects.nonNull(this.simulation)) {
+                this.awaitUpdate(this.simulation.submit(this::update));
+            }
             while (this.isRunning) {
                 if (this.window.isCloseRequested()) {
                     this.stop();
                 }
-                this.update();
-                this.render();
+                this.updateAndRender();
                 Input.update();
                 this.window.update();
+                this.frame++;
             }
             this.destroy();
         } catch (final RuntimeException exception) {
@@ -63,14 +99,50 @@ public final class Engine {
         }
     }
 
+    private void updateAndRender() {
+        if (Objects.isNull(this.simulation)) {
+            this.update();
+            this.render();
+        } else {
+            final var update = this.simulation.submit(this::update);
+            this.render();
+            this.awaitUpdate(update);
+        }
+    }
+
     private void update() {
+        final var event = new FrameUpdateEvent();
+        event.begin();
         this.time.update();
         this.game.update(this.time);
+        this.game.snapshot();
+        if (event.shouldCommit()) {
+            event.frame = this.frame;
+            event.commit();
+        }
+    }
+
+    private void awaitUpdate(final Future<?> update) {
+        try {
+            update.get();
+        } catch (final InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new EngineException("Interrupted while waiting for the game update", exception);
+        } catch (final ExecutionException exception) {
+            throw new EngineException("An error occurred while updating the game", exception.getCause());
+        }
     }
 
     private void render() {
+        final var event = new FrameRenderEvent();
+        event.begin();
         glClear(GL_COLOR_BUFFER_BIT | GL_DEPTH_BUFFER_BIT);
         this.game.render();
+        FrameCounters.endFrame();
+        if (event.shouldCommit()) {
+            event.frame = this.frame;
+            event.commit();
+        }
     }
 
     public void stop() {
@@ -80,6 +152,9 @@ public final class Engine {
 
     private void destroy() {
         log.info("Destroying engine");
+        if (Objects.nonNull(this.simulation)) {
+            this.simulation.shutdown();
+        }
         this.game.destroy();
         this.window.destroy();
     }
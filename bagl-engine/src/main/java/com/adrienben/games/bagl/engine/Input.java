@@ -40,6 +40,7 @@ public final class Input {
     private static final Vector2f MOUSE_DELTA = new Vector2f();
     private static final Vector2f WHEEL_DELTA = new Vector2f();
     private static Consumer<MouseMode> MOUSE_MODE_UPDATE_CALLBACK = null;
+    private static MouseMode REQUESTED_MOUSE_MODE = null;
 
     static {
         Arrays.fill(KEY_STATES, false);
@@ -68,14 +69,14 @@ public final class Input {
     /**
      * This method is used to change mouse input mode
      * <p>
-     * It does nothing except forwarding the call to a callback if one is defined
+     * It does nothing except recording the requested mode. The mode is forwarded to the callback,
+     * if one is defined, during the next {@link Input#update()} so it is always applied from the
+     * thread owning the window even if the game is updated on another thread
      *
      * @param mouseMode Mouse mode to set
      */
     public static void setMouseMode(final MouseMode mouseMode) {
-        if (Objects.nonNull(MOUSE_MODE_UPDATE_CALLBACK)) {
-            MOUSE_MODE_UPDATE_CALLBACK.accept(mouseMode);
-        }
+        REQUESTED_MOUSE_MODE = mouseMode;
     }
 
     /**
@@ -90,6 +91,14 @@ public final class Input {
         MOUSE_PREVIOUS_POSITION.set(MOUSE_POSITION);
         MOUSE_POSITION.sub(MOUSE_PREVIOUS_POSITION, MOUSE_DELTA);
         WHEEL_DELTA.set(0f, 0f);
+        applyRequestedMouseMode();
+    }
+
+    private static void applyRequestedMouseMode() {
+        if (Objects.nonNull(REQUESTED_MOUSE_MODE) && Objects.nonNull(MOUSE_MODE_UPDATE_CALLBACK)) {
+            MOUSE_MODE_UPDATE_CALLBACK.accept(REQUESTED_MOUSE_MODE);
+        }
+        REQUESTED_MOUSE_MODE = null;
     }
 
     /**
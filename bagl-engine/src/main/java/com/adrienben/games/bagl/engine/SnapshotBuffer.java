@@ -0,0 +1,78 @@
+package com.adrienben.games.bagl.engine;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Lock-free hand-off of snapshots between one producer thread and one consumer thread.
+ * <p>
+ * The producer fills the snapshot returned by {@link SnapshotBuffer#getBack()} and then calls
+ * {@link SnapshotBuffer#publish()}. The consumer calls {@link SnapshotBuffer#acquire()} to get the
+ * latest published snapshot. The consumer reads the previous snapshot while the producer writes the
+ * next one, and a third slot is parked between them so that neither side ever waits for the other.
+ * The only shared state is an {@link AtomicInteger} holding the index of the parked slot which is
+ * exchanged on each publication and acquisition.
+ * <p>
+ * Snapshots are reused, the producer must overwrite the whole content of the back snapshot before
+ * publishing it.
+ *
+ * @param <T> The type of the snapshots.
+ * @author adrien
+ */
+public final class SnapshotBuffer<T> {
+
+    private static final int INDEX_MASK = 0b11;
+    private static final int PUBLISHED_FLAG = 0b100;
+
+    private final List<T> slots;
+    private final AtomicInteger parked;
+    private int back;
+    private int front;
+
+    /**
+     * Construct a snapshot buffer.
+     *
+     * @param factory The factory used to create the three snapshots.
+     */
+    public SnapshotBuffer(final Supplier<T> factory) {
+        this.slots = List.of(factory.get(), factory.get(), factory.get());
+        this.back = 0;
+        this.parked = new AtomicInteger(1);
+        this.front = 2;
+    }
+
+    /**
+     * Get the snapshot the producer should write into.
+     * <p>
+     * This must only be called by the producer thread.
+     */
+    public T getBack() {
+        return slots.get(back);
+    }
+
+    /**
+     * Publish the back snapshot and take ownership of a new back snapshot.
+     * <p>
+     * This must only be called by the producer thread.
+     */
+    public void publish() {
+        final var previous = parked.getAndSet(back | PUBLISHED_FLAG);
+        back = previous & INDEX_MASK;
+    }
+
+    /**
+     * Get the latest published snapshot.
+     * <p>
+     * If nothing was published since the last call, the same snapshot is returned again. Before the
+     * first publication, the returned snapshot is the one created by the factory.
+     * This must only be called by the consumer thread.
+     */
+    public T acquire() {
+        if ((parked.get() & PUBLISHED_FLAG) != 0) {
+            final var previous = parked.getAndSet(front);
+            front = previous & INDEX_MASK;
+        }
+        return slots.get(front);
+    }
+}
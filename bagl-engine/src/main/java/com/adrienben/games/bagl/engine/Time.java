@@ -28,6 +28,19 @@ public final class Time {
         time = newTime;
     }
 
+    /**
+     * Advance the timings by a fixed amount of time instead of reading the system clock.
+     * <p>
+     * This is useful to step the simulation deterministically, in benchmarks or tests for example.
+     *
+     * @param elapsedTime The time to advance in seconds.
+     */
+    public void advance(final float elapsedTime) {
+        elapsed = (long) (elapsedTime * NS_PER_SEC);
+        total += elapsed;
+        time += elapsed;
+    }
+
     private long time() {
         return System.nanoTime();
     }
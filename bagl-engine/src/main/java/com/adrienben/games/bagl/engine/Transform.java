@@ -17,6 +17,7 @@ public class Transform {
     private final Dirtiable<Matrix4f> transform;
 
     private final Vector3f buffer;
+    private int version;
 
     /**
      * Construct a transform
@@ -58,7 +59,7 @@ public class Transform {
         toTransform.translation.mulPosition(tm, result.translation);
         toTransform.scale.mul(transform.scale, result.scale);
         transform.rotation.mul(toTransform.rotation, result.rotation);
-        result.transform.dirty();
+        result.markChanged();
     }
 
     /**
@@ -85,6 +86,14 @@ public class Transform {
                 .scale(this.scale);
     }
 
+    /**
+     * Flag the transform matrix as dirty and change the version of the transform
+     */
+    private void markChanged() {
+        this.transform.dirty();
+        this.version++;
+    }
+
     /**
      * Copy the values of another transform
      *
@@ -95,7 +104,7 @@ public class Transform {
         this.translation.set(other.translation);
         this.rotation.set(other.rotation);
         this.scale.set(other.scale);
-        this.transform.dirty();
+        this.markChanged();
         return this;
     }
 
@@ -121,7 +130,25 @@ public class Transform {
      */
     public Transform setTranslation(final Vector3fc translation) {
         this.translation.set(translation);
-        this.transform.dirty();
+        this.markChanged();
+        return this;
+    }
+
+    /**
+     * Set the translation. Flags the transform as dirty
+     * so the transform matrix is recomputed when needed
+     *
+     * @param x The x component of the translation
+     * @param y The y component of the translation
+     * @param z The z component of the translation
+     * @return This for chaining
+     */
+    public Transform setTranslation(final float x, final float y, final float z) {
+        if (translation.x == x && translation.y == y && translation.z == z) {
+            return this;
+        }
+        this.translation.set(x, y, z);
+        this.markChanged();
         return this;
     }
 
@@ -134,7 +161,26 @@ public class Transform {
      */
     public Transform setRotation(final Quaternionfc rotation) {
         this.rotation.set(rotation);
-        this.transform.dirty();
+        this.markChanged();
+        return this;
+    }
+
+    /**
+     * Set the rotation from the components of a quaternion. Flags the transform
+     * as dirty so the transform matrix is recomputed when needed
+     *
+     * @param x The x component of the quaternion
+     * @param y The y component of the quaternion
+     * @param z The z component of the quaternion
+     * @param w The w component of the quaternion
+     * @return This for chaining
+     */
+    public Transform setRotation(final float x, final float y, final float z, final float w) {
+        if (rotation.x == x && rotation.y == y && rotation.z == z && rotation.w == w) {
+            return this;
+        }
+        this.rotation.set(x, y, z, w);
+        this.markChanged();
         return this;
     }
 
@@ -147,10 +193,42 @@ public class Transform {
      */
     public Transform setScale(final Vector3fc scale) {
         this.scale.set(scale);
-        this.transform.dirty();
+        this.markChanged();
+        return this;
+    }
+
+    /**
+     * Set the scaling. Flags the transform as dirty
+     * so the transform matrix is recomputed when needed
+     *
+     * @param x The scale along the x axis
+     * @param y The scale along the y axis
+     * @param z The scale along the z axis
+     * @return This for chaining
+     */
+    public Transform setScale(final float x, final float y, final float z) {
+        if (scale.x == x && scale.y == y && scale.z == z) {
+            return this;
+        }
+        this.scale.set(x, y, z);
+        this.markChanged();
         return this;
     }
 
+    /**
+     * Get the version of the transform
+     * <p>
+     * The version changes each time the transform is modified so the transforms
+     * derived from it can be recomputed only when it actually changed. Setting
+     * the components of the translation, rotation or scale to their current
+     * values does not change the version
+     *
+     * @return The version of the transform
+     */
+    public int getVersion() {
+        return version;
+    }
+
     public Vector3fc getTranslation() {
         return translation;
     }
@@ -1,6 +1,7 @@
 package com.adrienben.games.bagl.engine;
 
 import com.adrienben.games.bagl.core.exception.EngineException;
+import com.adrienben.games.bagl.engine.profiling.BufferSwapEvent;
 import org.lwjgl.glfw.GLFW;
 import org.lwjgl.glfw.GLFWErrorCallback;
 import org.lwjgl.opengl.GL;
@@ -21,6 +22,7 @@ final class Window {
     private final int width;
     private final int height;
     private final long windowHandle;
+    private final boolean vSync;
 
     /**
      * Creates a window, sets input event callbacks and creates OpenGL window.
@@ -54,6 +56,7 @@ final class Window {
 
         GLFW.glfwMakeContextCurrent(this.windowHandle);
         GLFW.glfwSwapInterval(vSync ? 1 : 0);
+        this.vSync = vSync;
 
         GL.createCapabilities();
         GLFW.glfwShowWindow(this.windowHandle);
@@ -65,9 +68,15 @@ final class Window {
      * Poll events and swaps buffers.
      */
     void update() {
+        final var event = new BufferSwapEvent();
+        event.begin();
         GLFW.glfwPollEvents();
         this.updateCursorPosition();
         GLFW.glfwSwapBuffers(windowHandle);
+        if (event.shouldCommit()) {
+            event.vsync = this.vSync;
+            event.commit();
+        }
     }
 
     /**
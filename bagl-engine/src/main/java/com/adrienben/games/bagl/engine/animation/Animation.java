@@ -1,137 +1,88 @@
 package com.adrienben.games.bagl.engine.animation;
 
-import com.adrienben.games.bagl.engine.Time;
+import com.adrienben.games.bagl.core.validation.Validation;
 
 import java.util.ArrayList;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.Objects;
 
 /**
  * Animation.
  * <p>
- * An animation is a set of {@link Animator}s applied to a set of targets. Those transform should be part of a
- * same hierarchy. That way that hierarchy of nodes becomes animated.
+ * An animation is a set of {@link AnimationChannel}s, each one targeting a node of a hierarchy by its index. That
+ * way that hierarchy of nodes becomes animated. Animations do not hold any playback state nor reference the
+ * transforms they animate so they can be shared by all the instances of a model. Use an {@link AnimationPlayer}
+ * to play an animation on a set of transforms.
  *
- * @param <T> The type of the targets.
  * @author adrien
  */
-public class Animation<T> {
-
-    private final Map<Class<?>, List<Animator<T, ?>>> animators = new LinkedHashMap<>();
+public class Animation {
 
+    private final List<AnimationChannel> channels;
+    private final int[] targets;
     private final float duration;
-    private float currentTime = 0.0f;
-    private boolean isPlaying = false;
-
-    private Animation(final Builder<T> builder) {
-        animators.putAll(builder.animators);
-        duration = (float) animators.values().stream().flatMap(List::stream).mapToDouble(Animator::getEndTime).max().orElse(0);
-    }
 
-    public static <T> Builder<T> builder() {
-        return new Builder<>();
-    }
-
-    /**
-     * Advance the animation timer.
-     *
-     * @param time The game time.
-     */
-    public void step(final Time time) {
-        if (isPlaying) {
-            updateCurrentTime(time);
-            stepAnimators();
-        }
-    }
-
-    private void updateCurrentTime(final Time time) {
-        currentTime += time.getElapsedTime();
-        if (currentTime > duration) {
-            currentTime = 0.0f;
-        }
+    private Animation(final Builder builder) {
+        channels = new ArrayList<>(builder.channels);
+        targets = builder.targets.stream().mapToInt(Integer::intValue).toArray();
+        duration = (float) channels.stream().mapToDouble(AnimationChannel::getEndTime).max().orElse(0);
     }
 
-    private void stepAnimators() {
-        animators.values().stream().flatMap(List::stream).forEach(animator -> animator.execute(currentTime));
+    public static Builder builder() {
+        return new Builder();
     }
 
     /**
-     * Toggle the animation.
-     * <p>
-     * If it is playing then its pause and id it is paused then it is resumed.
+     * Get the size in bytes of the key frames of the channels of the animation.
      */
-    public void toggle() {
-        isPlaying = !isPlaying;
+    public long getMemorySize() {
+        return channels.stream().distinct().mapToLong(AnimationChannel::getMemorySize).sum();
     }
 
-    /**
-     * Resume the animation.
-     * <p>
-     * If it was already playing then is has no effect.
-     */
-    public void play() {
-        isPlaying = true;
+    public int getChannelCount() {
+        return channels.size();
     }
 
-    /**
-     * Pause the animation.
-     * <p>
-     * It it was paused then it has no effect.
-     */
-    public void pause() {
-        isPlaying = false;
+    public AnimationChannel getChannel(final int index) {
+        return channels.get(index);
     }
 
     /**
-     * Stop the animation.
-     * <p>
-     * The animation is reset and paused. If the animation hadn't started
-     * then it has no effect.
+     * Get the index of the node animated by the channel at {@code index}.
      */
-    public void stop() {
-        pause();
-        reset();
+    public int getTarget(final int index) {
+        return targets[index];
     }
 
-    /**
-     * Reset the animation.
-     * <p>
-     * It the animation is playing then it keeps playing but from the beginning and if it
-     * was stopped then it just reset the animation timer.
-     */
-    public void reset() {
-        currentTime = 0.0f;
-        stepAnimators();
+    public float getDuration() {
+        return duration;
     }
 
     /**
      * Animation builder.
-     *
-     * @param <T> The animation target type.
      */
-    public static class Builder<T> {
+    public static class Builder {
 
-        private final Map<Class<?>, List<Animator<T, ?>>> animators = new LinkedHashMap<>();
+        private final List<AnimationChannel> channels = new ArrayList<>();
+        private final List<Integer> targets = new ArrayList<>();
 
         private Builder() {
         }
 
-        public Animation<T> build() {
-            return new Animation<>(this);
-        }
-
-        public Builder<T> animators(final Map<Class<?>, List<Animator<T, ?>>> animators) {
-            animators.forEach(this::addAnimatorList);
-            return this;
-        }
-
-        private void addAnimatorList(final Class<?> animatorsClass, final List<Animator<T, ?>> animators) {
-            this.animators.computeIfAbsent(animatorsClass, key -> new ArrayList<>()).addAll(animators);
+        public Animation build() {
+            return new Animation(this);
         }
 
-        public Builder<T> animator(final Class<?> animatorClass, final Animator<T, ?> animator) {
-            this.animators.computeIfAbsent(animatorClass, key -> new ArrayList<>()).add(animator);
+        /**
+         * Add a channel to the animation.
+         *
+         * @param target  The index of the node animated by the channel.
+         * @param channel The channel.
+         * @return This.
+         */
+        public Builder channel(final int target, final AnimationChannel channel) {
+            this.targets.add(Validation.validate(target, index -> index >= 0, "Target index must be positive"));
+            this.channels.add(Objects.requireNonNull(channel));
             return this;
         }
     }
@@ -0,0 +1,79 @@
+package com.adrienben.games.bagl.engine.animation;
+
+import com.adrienben.games.bagl.core.validation.Validation;
+import com.adrienben.games.bagl.engine.Transform;
+import com.adrienben.games.bagl.engine.rendering.model.Joint;
+import com.adrienben.games.bagl.engine.rendering.model.Model;
+import org.joml.Matrix4f;
+
+import java.util.List;
+
+/**
+ * Bake the animations of a model into a {@link BakedAnimation}.
+ * <p>
+ * Each animation of the model is a clip of the baked animation. Clips are sampled on a fresh instance of the model
+ * so the channels of one clip do not leak into the next one. Nodes that are not animated by a clip keep their
+ * default pose.
+ *
+ * @author adrien
+ */
+public final class AnimationBaker {
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private AnimationBaker() {
+    }
+
+    /**
+     * Sample the animations of {@code model} for the joints of one of its skinned nodes.
+     * <p>
+     * Each clip is sampled {@code round(duration * frameRate)} times, at least once.
+     *
+     * @param model     The model to bake.
+     * @param nodeIndex The index of the skinned node whose joints are baked.
+     * @param frameRate The number of frames sampled per second.
+     * @return The baked animation.
+     * @throws IllegalArgumentException if the node is not skinned, the model has no animation or the frame rate is not positive.
+     */
+    public static BakedAnimation bake(final Model model, final int nodeIndex, final float frameRate) {
+        Validation.validate(frameRate, rate -> rate > 0f, "Frame rate must be positive");
+        final var joints = Validation.validate(model.getNode(nodeIndex).getJoints().orElse(List.of()), list -> !list.isEmpty(),
+                "Node " + nodeIndex + " is not skinned");
+        final var animations = Validation.validate(model.getAnimations(), list -> !list.isEmpty(), "Model has no animation to bake");
+
+        final var clipCount = animations.size();
+        final var frameCounts = new int[clipCount];
+        final var durations = new float[clipCount];
+        for (var clip = 0; clip < clipCount; clip++) {
+            durations[clip] = animations.get(clip).getDuration();
+            frameCounts[clip] = Math.max(1, Math.round(durations[clip] * frameRate));
+        }
+
+        final var bakedAnimation = new BakedAnimation(frameRate, joints.size(), frameCounts, durations);
+        for (var clip = 0; clip < clipCount; clip++) {
+            bakeClip(model, joints, clip, bakedAnimation);
+        }
+        return bakedAnimation;
+    }
+
+    private static void bakeClip(final Model model, final List<Joint> joints, final int clip, final BakedAnimation bakedAnimation) {
+        final var instance = model.createInstance();
+        final var player = instance.getAnimationPlayer(clip);
+        final var rootTransform = new Transform();
+        final var jointMatrix = new Matrix4f();
+        final var matrices = bakedAnimation.getMatrices();
+        final var frameCount = bakedAnimation.getFrameCount(clip);
+        final var frameDuration = bakedAnimation.getDuration(clip) / frameCount;
+        for (var frame = 0; frame < frameCount; frame++) {
+            player.seek(frame * frameDuration);
+            instance.updatePose(rootTransform);
+            for (var joint = 0; joint < joints.size(); joint++) {
+                final var source = joints.get(joint);
+                instance.getModelTransform(source.getNodeIndex()).getTransformMatrix()
+                        .mulAffine(source.getInverseBindMatrix(), jointMatrix)
+                        .get(matrices, bakedAnimation.getOffset(clip, frame, joint));
+            }
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.adrienben.games.bagl.engine.animation;
+
+import com.adrienben.games.bagl.core.validation.Validation;
+import com.adrienben.games.bagl.engine.Transform;
+import com.adrienben.games.bagl.engine.animation.selector.KeyFrameSelector;
+
+import java.util.Objects;
+
+/**
+ * Key frames animating one property of a {@link Transform}.
+ * <p>
+ * Key frames are stored as a structure of arrays: one array holding the time of each key frame and one array
+ * holding the packed values of the key frames ({@link ChannelPath#getComponentCount()} floats per key frame).
+ * Rotations are stored as quaternions in the x, y, z, w order.
+ * <p>
+ * The values can also be provided as {@link KeyFrameValues} which are decoded when sampling. This is
+ * used by compressed channels to store quantized values.
+ * <p>
+ * The channel does not hold any playback state so it can be shared. The selected key frames are tracked by a
+ * {@link KeyFrameSelector} created with {@link AnimationChannel#createSelector()}.
+ *
+ * @author adrien
+ */
+public class AnimationChannel {
+
+    private static final float SLERP_EPSILON = 1e-6f;
+
+    private final ChannelPath path;
+    private final InterpolationMode interpolationMode;
+    private final float[] times;
+    private final float[] values;
+    private final KeyFrameValues encodedValues;
+    private final int stride;
+
+    /**
+     * Construct a channel.
+     *
+     * @param path              The property of the transform to animate.
+     * @param interpolationMode The interpolation between key frames.
+     * @param times             The times of the key frames in ascending order. The array is not copied.
+     * @param values            The packed values of the key frames. The array is not copied.
+     * @throws IllegalArgumentException if there is no key frame or if the number of values does not match the number of key frames.
+     */
+    public AnimationChannel(final ChannelPath path, final InterpolationMode interpolationMode, final float[] times, final float[] values) {
+        this.path = Objects.requireNonNull(path);
+        this.interpolationMode = Objects.requireNonNull(interpolationMode);
+        this.times = Validation.validate(Objects.requireNonNull(times), array -> array.length > 0, "An animation channel requires at least one key frame");
+        this.stride = path.getComponentCount();
+        this.values = Validation.validate(Objects.requireNonNull(values), array -> array.length == times.length * stride,
+                "An animation channel requires " + path.getComponentCount() + " values per key frame");
+        this.encodedValues = null;
+    }
+
+    /**
+     * Construct a channel whose values are encoded.
+     *
+     * @param path              The property of the transform to animate.
+     * @param interpolationMode The interpolation between key frames.
+     * @param times             The times of the key frames in ascending order. The array is not copied.
+     * @param encodedValues     The encoded values of the key frames.
+     * @throws IllegalArgumentException if there is no key frame or if the values do not match the key frames or the path.
+     */
+    public AnimationChannel(final ChannelPath path, final InterpolationMode interpolationMode, final float[] times, final KeyFrameValues encodedValues) {
+        this.path = Objects.requireNonNull(path);
+        this.interpolationMode = Objects.requireNonNull(interpolationMode);
+        this.times = Validation.validate(Objects.requireNonNull(times), array -> array.length > 0, "An animation channel requires at least one key frame");
+        this.stride = path.getComponentCount();
+        this.values = null;
+        this.encodedValues = Validation.validate(Objects.requireNonNull(encodedValues),
+                v -> v.getKeyFrameCount() == times.length && v.getComponentCount() == stride,
+                "An animation channel requires " + path.getComponentCount() + " values per key frame");
+    }
+
+    /**
+     * Create a new selector for the key frames of this channel.
+     */
+    public KeyFrameSelector createSelector() {
+        return new KeyFrameSelector(times);
+    }
+
+    /**
+     * Sample the channel at {@code time} and write the result into {@code target}.
+     *
+     * @param time     The time at which to sample the channel.
+     * @param selector The selector tracking the key frames of this channel.
+     * @param target   The transform to update.
+     */
+    public void sample(final float time, final KeyFrameSelector selector, final Transform target) {
+        selector.select(time);
+        final var start = selector.getStartIndex();
+        final var end = selector.getEndIndex();
+        final var factor = interpolationMode == InterpolationMode.STEP || start == end ? 0f : (time - times[start]) / (times[end] - times[start]);
+        switch (path) {
+            case TRANSLATION -> target.setTranslation(lerp(start, end, 0, factor), lerp(start, end, 1, factor), lerp(start, end, 2, factor));
+            case SCALE -> target.setScale(lerp(start, end, 0, factor), lerp(start, end, 1, factor), lerp(start, end, 2, factor));
+            case ROTATION -> slerp(start, end, factor, target);
+        }
+    }
+
+    private float lerp(final int start, final int end, final int component, final float factor) {
+        final var startValue = getValue(start, component);
+        return startValue + (getValue(end, component) - startValue) * factor;
+    }
+
+    /**
+     * Spherically interpolate the quaternions of the key frames {@code start} and {@code end}.
+     * <p>
+     * This is the same computation as {@link org.joml.Quaternionf#slerp(org.joml.Quaternionfc, float)} without
+     * reading the quaternions into objects.
+     */
+    private void slerp(final int start, final int end, final float factor, final Transform target) {
+        final var x0 = getValue(start, 0);
+        final var y0 = getValue(start, 1);
+        final var z0 = getValue(start, 2);
+        final var w0 = getValue(start, 3);
+        if (factor == 0f) {
+            target.setRotation(x0, y0, z0, w0);
+            return;
+        }
+        final var x1 = getValue(end, 0);
+        final var y1 = getValue(end, 1);
+        final var z1 = getValue(end, 2);
+        final var w1 = getValue(end, 3);
+        final var cosom = x0 * x1 + y0 * y1 + z0 * z1 + w0 * w1;
+        final var absCosom = Math.abs(cosom);
+        float startScale;
+        float endScale;
+        if (1f - absCosom > SLERP_EPSILON) {
+            final var sinSqr = 1f - absCosom * absCosom;
+            final var sinom = (float) (1.0 / Math.sqrt(sinSqr));
+            final var omega = Math.atan2(sinSqr * sinom, absCosom);
+            startScale = (float) (Math.sin((1.0 - factor) * omega) * sinom);
+            endScale = (float) (Math.sin(factor * omega) * sinom);
+        } else {
+            startScale = 1f - factor;
+            endScale = factor;
+        }
+        endScale = cosom >= 0f ? endScale : -endScale;
+        target.setRotation(
+                startScale * x0 + endScale * x1,
+                startScale * y0 + endScale * y1,
+                startScale * z0 + endScale * z1,
+                startScale * w0 + endScale * w1);
+    }
+
+    /**
+     * Get one component of the value of a key frame.
+     *
+     * @param keyFrame  The index of the key frame.
+     * @param component The index of the component in the key frame.
+     * @return The value, decoded if the channel values are encoded.
+     */
+    public float getValue(final int keyFrame, final int component) {
+        return Objects.isNull(encodedValues) ? values[keyFrame * stride + component] : encodedValues.get(keyFrame, component);
+    }
+
+    /**
+     * Get the size in bytes of the key frames of the channel.
+     */
+    public long getMemorySize() {
+        final var valuesSize = Objects.isNull(encodedValues) ? (long) values.length * Float.BYTES : encodedValues.getMemorySize();
+        return (long) times.length * Float.BYTES + valuesSize;
+    }
+
+    public ChannelPath getPath() {
+        return path;
+    }
+
+    public InterpolationMode getInterpolationMode() {
+        return interpolationMode;
+    }
+
+    public int getKeyFrameCount() {
+        return times.length;
+    }
+
+    public float getTime(final int keyFrame) {
+        return times[keyFrame];
+    }
+
+    public boolean isEncoded() {
+        return Objects.nonNull(encodedValues);
+    }
+
+    public float getStartTime() {
+        return times[0];
+    }
+
+    public float getEndTime() {
+        return times[times.length - 1];
+    }
+}
@@ -0,0 +1,58 @@
+package com.adrienben.games.bagl.engine.animation;
+
+/**
+ * Animation level of detail.
+ * <p>
+ * A level defines how often the animations of a model are sampled and which nodes they animate. Levels are
+ * declared from the finest to the coarsest.
+ *
+ * @author adrien
+ */
+public enum AnimationLod {
+
+    /**
+     * All channels are sampled every frame.
+     */
+    FULL(1, false),
+
+    /**
+     * All channels are sampled every other frame.
+     * The pose is blended between the two last samples on the frames in between.
+     */
+    HALF_RATE(2, false),
+
+    /**
+     * All channels are sampled every fourth frame.
+     * The pose is blended between the two last samples on the frames in between.
+     */
+    QUARTER_RATE(4, false),
+
+    /**
+     * Only the channels animating the root nodes of the model are sampled, every frame. Skin palettes
+     * are not rebuilt. Used for models that are not visible.
+     */
+    ROOT_ONLY(1, true);
+
+    private final int updateInterval;
+    private final boolean rootOnly;
+
+    AnimationLod(final int updateInterval, final boolean rootOnly) {
+        this.updateInterval = updateInterval;
+        this.rootOnly = rootOnly;
+    }
+
+    /**
+     * Check whether this level is finer than another one.
+     */
+    public boolean isFinerThan(final AnimationLod other) {
+        return ordinal() < other.ordinal();
+    }
+
+    public int getUpdateInterval() {
+        return updateInterval;
+    }
+
+    public boolean isRootOnly() {
+        return rootOnly;
+    }
+}
@@ -0,0 +1,123 @@
+package com.adrienben.games.bagl.engine.animation;
+
+import com.adrienben.games.bagl.core.validation.Validation;
+import com.adrienben.games.bagl.engine.Configuration;
+import com.adrienben.games.bagl.engine.Transform;
+import com.adrienben.games.bagl.engine.camera.Camera;
+import com.adrienben.games.bagl.engine.rendering.model.ModelInstance;
+import org.joml.FrustumIntersection;
+import org.joml.Vector3f;
+import org.joml.primitives.Spheref;
+
+/**
+ * Animation level of detail selector.
+ * <p>
+ * The level of detail of the animations of a model is selected from the bounding sphere of the model:
+ * <ul>
+ * <li>Models out of the camera frustum only animate their root nodes ({@link AnimationLod#ROOT_ONLY}).
+ * <li>Visible models are sampled at full, half or quarter rate depending on their screen size. The screen size
+ * is the projected radius of the bounding sphere divided by half the height of the viewport so it does not depend
+ * on the resolution.
+ * </ul>
+ * A model only switches to a coarser rate when its screen size is smaller than the threshold by a margin so
+ * models standing at a threshold distance do not alternate between two rates. Models without bounding sphere
+ * and models containing the camera are always fully animated.
+ * <p>
+ * {@link AnimationLodSelector#setCamera(Camera)} must be called each frame before selecting levels of detail.
+ * Selection does not modify the selector so it can be done concurrently.
+ *
+ * @author adrien
+ */
+public class AnimationLodSelector {
+
+    private static final float HYSTERESIS = 0.2f;
+
+    private final float halfRateSize;
+    private final float quarterRateSize;
+    private final FrustumIntersection frustum;
+    private final Vector3f cameraPosition;
+    private float projectionFactor;
+
+    /**
+     * Construct a selector using the engine configuration.
+     */
+    public AnimationLodSelector() {
+        this(Configuration.getInstance().getAnimationLodHalfRateSize(), Configuration.getInstance().getAnimationLodQuarterRateSize());
+    }
+
+    /**
+     * Construct a selector.
+     *
+     * @param halfRateSize    The screen size under which animations are sampled every other frame.
+     * @param quarterRateSize The screen size under which animations are sampled every fourth frame.
+     * @throws IllegalArgumentException if {@code quarterRateSize} is greater than {@code halfRateSize}.
+     */
+    public AnimationLodSelector(final float halfRateSize, final float quarterRateSize) {
+        this.halfRateSize = halfRateSize;
+        this.quarterRateSize = Validation.validate(quarterRateSize, size -> size <= halfRateSize,
+                "Quarter rate screen size must not be greater than half rate screen size");
+        this.frustum = new FrustumIntersection();
+        this.cameraPosition = new Vector3f();
+    }
+
+    /**
+     * Set the camera from which levels of detail are selected.
+     *
+     * @param camera The camera.
+     */
+    public void setCamera(final Camera camera) {
+        frustum.set(camera.getViewProj());
+        cameraPosition.set(camera.getPosition());
+        projectionFactor = 1f / (float) Math.tan(camera.getFov() * 0.5f);
+    }
+
+    /**
+     * Select the level of detail of the animations of {@code instance}.
+     *
+     * @param instance  The instance.
+     * @param transform The world transform of the instance.
+     * @return The selected level of detail.
+     */
+    public AnimationLod select(final ModelInstance instance, final Transform transform) {
+        final var sphere = instance.getBoundingSphere();
+        return sphere.isPresent() ? select(sphere.get(), transform, instance.getAnimationLod()) : AnimationLod.FULL;
+    }
+
+    /**
+     * Select the level of detail of the animations of a model from its bounding sphere.
+     *
+     * @param sphere    The bounding sphere of the model in model space.
+     * @param transform The world transform of the model.
+     * @param current   The level of detail currently used by the model.
+     * @return The selected level of detail.
+     */
+    public AnimationLod select(final Spheref sphere, final Transform transform, final AnimationLod current) {
+        final var matrix = transform.getTransformMatrix();
+        final var x = matrix.m00() * sphere.x + matrix.m10() * sphere.y + matrix.m20() * sphere.z + matrix.m30();
+        final var y = matrix.m01() * sphere.x + matrix.m11() * sphere.y + matrix.m21() * sphere.z + matrix.m31();
+        final var z = matrix.m02() * sphere.x + matrix.m12() * sphere.y + matrix.m22() * sphere.z + matrix.m32();
+        final var scale = transform.getScale();
+        final var radius = sphere.r * Math.max(Math.abs(scale.x()), Math.max(Math.abs(scale.y()), Math.abs(scale.z())));
+        if (!frustum.testSphere(x, y, z, radius)) {
+            return AnimationLod.ROOT_ONLY;
+        }
+
+        final var distance = cameraPosition.distance(x, y, z);
+        if (distance <= radius) {
+            return AnimationLod.FULL;
+        }
+        final var screenSize = radius * projectionFactor / distance;
+        final var lod = selectRate(screenSize);
+        if (current.isFinerThan(lod)) {
+            return selectRate(screenSize * (1f + HYSTERESIS));
+        }
+        return lod;
+    }
+
+    private AnimationLod selectRate(final float screenSize) {
+        if (screenSize >= halfRateSize) {
+            return AnimationLod.FULL;
+        }
+        return screenSize >= quarterRateSize ? AnimationLod.HALF_RATE : AnimationLod.QUARTER_RATE;
+    }
+}
@@ -0,0 +1,156 @@
+package com.adrienben.games.bagl.engine.animation;
+
+import com.adrienben.games.bagl.engine.Time;
+import com.adrienben.games.bagl.engine.Transform;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Playback state of an {@link Animation}.
+ * <p>
+ * The player binds the channels of a shared animation to the transforms of one instance of the animated
+ * hierarchy through {@link Animator}s and keeps track of the animation time. Several players can play the same
+ * animation on different sets of transforms.
+ *
+ * @author adrien
+ */
+public class AnimationPlayer {
+
+    private final Animation animation;
+    private final List<Animator> animators;
+    private final int[] targets;
+
+    private float currentTime = 0.0f;
+    private boolean isPlaying = false;
+
+    /**
+     * Construct a player.
+     *
+     * @param animation The animation to play.
+     * @param targets   The transforms of the animated hierarchy indexed like the targets of the animation's channels.
+     */
+    public AnimationPlayer(final Animation animation, final Transform[] targets) {
+        this.animation = Objects.requireNonNull(animation);
+        this.animators = new ArrayList<>(animation.getChannelCount());
+        this.targets = new int[animation.getChannelCount()];
+        for (var i = 0; i < animation.getChannelCount(); i++) {
+            animators.add(new Animator(animation.getChannel(i), targets[animation.getTarget(i)]));
+            this.targets[i] = animation.getTarget(i);
+        }
+    }
+
+    /**
+     * Advance the animation timer.
+     *
+     * @param time The game time.
+     */
+    public void step(final Time time) {
+        step(time.getElapsedTime(), null);
+    }
+
+    /**
+     * Advance the animation timer by an arbitrary amount of time and only sample some of the channels.
+     * <p>
+     * This is used to update an animation less often than every frame. The timer advances by the time elapsed
+     * since the last step so the animation does not drift whatever the update rate.
+     *
+     * @param elapsedTime The time elapsed since the last step in seconds.
+     * @param targetMask  The targets to animate indexed like the targets of the channels. If null all channels are sampled.
+     */
+    public void step(final float elapsedTime, final boolean[] targetMask) {
+        if (isPlaying) {
+            updateCurrentTime(elapsedTime);
+            stepAnimators(targetMask);
+        }
+    }
+
+    private void updateCurrentTime(final float elapsedTime) {
+        currentTime += elapsedTime;
+        if (currentTime > animation.getDuration()) {
+            currentTime = animation.getDuration() > 0f ? currentTime % animation.getDuration() : 0.0f;
+        }
+    }
+
+    private void stepAnimators(final boolean[] targetMask) {
+        for (var i = 0; i < animators.size(); i++) {
+            if (Objects.isNull(targetMask) || targetMask[targets[i]]) {
+                animators.get(i).execute(currentTime);
+            }
+        }
+    }
+
+    /**
+     * Move the animation timer to an arbitrary time and sample all channels.
+     * <p>
+     * This works whether the animation is playing or not.
+     *
+     * @param time The time to move to in seconds. It is clamped between 0 and the duration of the animation.
+     */
+    public void seek(final float time) {
+        currentTime = Math.max(0f, Math.min(time, animation.getDuration()));
+        stepAnimators(null);
+    }
+
+    /**
+     * Toggle the animation.
+     * <p>
+     * If it is playing then its pause and id it is paused then it is resumed.
+     */
+    public void toggle() {
+        isPlaying = !isPlaying;
+    }
+
+    /**
+     * Resume the animation.
+     * <p>
+     * If it was already playing then is has no effect.
+     */
+    public void play() {
+        isPlaying = true;
+    }
+
+    /**
+     * Pause the animation.
+     * <p>
+     * It it was paused then it has no effect.
+     */
+    public void pause() {
+        isPlaying = false;
+    }
+
+    /**
+     * Stop the animation.
+     * <p>
+     * The animation is reset and paused. If the animation hadn't started
+     * then it has no effect.
+     */
+    public void stop() {
+        pause();
+        reset();
+    }
+
+    /**
+     * Reset the animation.
+     * <p>
+     * It the animation is playing then it keeps playing but from the beginning and if it
+     * was stopped then it just reset the animation timer.
+     */
+    public void reset() {
+        currentTime = 0.0f;
+        stepAnimators(null);
+    }
+
+    public Animation getAnimation() {
+        return animation;
+    }
+
+    public boolean isPlaying() {
+        return isPlaying;
+    }
+
+    public float getCurrentTime() {
+        return currentTime;
+    }
+}
@@ -0,0 +1,198 @@
+package com.adrienben.games.bagl.engine.animation;
+
+import com.adrienben.games.bagl.engine.Configuration;
+import com.adrienben.games.bagl.engine.Time;
+import com.adrienben.games.bagl.engine.Transform;
+import com.adrienben.games.bagl.engine.camera.Camera;
+import com.adrienben.games.bagl.engine.jobs.JobSystem;
+import com.adrienben.games.bagl.engine.rendering.model.ModelInstance;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Batch animation system.
+ * <p>
+ * The model instances to animate during a frame are gathered with {@link AnimationSystem#add(ModelInstance, Transform)}
+ * then {@link AnimationSystem#update(Time, JobSystem)} evaluates all of them in two parallel passes:
+ * <ol>
+ * <li>Pose pass: the animations of each instance are sampled and its pose is computed. The channels of one
+ * instance write into the same transforms so an instance is always processed by a single job.
+ * <li>Palette pass: the dirty skin palettes of all instances are gathered into one list and rebuilt. Each
+ * palette is an independent job so a model with several skinned meshes is spread over several workers.
+ * </ol>
+ * The results are written into the pose and palette buffers of each {@link ModelInstance} and are ready to be
+ * collected for rendering when the update returns.
+ * <p>
+ * When a camera is set and animation levels of detail are enabled in the configuration, the level of detail of
+ * each instance is selected by an {@link AnimationLodSelector} during the pose pass. Throttled instances still
+ * compute their world transforms every frame so they follow their game object smoothly, only their skeleton is
+ * updated less often. The palettes of instances that are not visible are not rebuilt until they become visible
+ * again. Such instances may cast shadows in view with a stale pose.
+ * <p>
+ * This class is not thread safe. Instances must be added from one thread and an instance must be added only
+ * once per frame.
+ *
+ * @author adrien
+ */
+public class AnimationSystem {
+
+    private static final int INSTANCES_PER_JOB = 4;
+    private static final int PALETTES_PER_JOB = 4;
+    private static final int INITIAL_PALETTE_CAPACITY = 64;
+
+    private final AnimationLodSelector lodSelector;
+    private final List<ModelInstance> instances = new ArrayList<>();
+    private final List<Transform> transforms = new ArrayList<>();
+    private int[] paletteInstances = new int[INITIAL_PALETTE_CAPACITY];
+    private int[] paletteNodes = new int[INITIAL_PALETTE_CAPACITY];
+    private int paletteCount;
+    private Camera camera;
+
+    /**
+     * Construct an animation system using the engine configuration.
+     */
+    public AnimationSystem() {
+        this(Configuration.getInstance().isAnimationLodEnabled() ? new AnimationLodSelector() : null);
+    }
+
+    /**
+     * Construct an animation system.
+     *
+     * @param lodSelector The selector of the animation levels of detail. If null animations are always fully updated.
+     */
+    public AnimationSystem(final AnimationLodSelector lodSelector) {
+        this.lodSelector = lodSelector;
+    }
+
+    /**
+     * Add an instance to animate during the next update.
+     *
+     * @param instance  The instance to animate.
+     * @param transform The transform of the instance.
+     */
+    public void add(final ModelInstance instance, final Transform transform) {
+        instances.add(Objects.requireNonNull(instance));
+        transforms.add(Objects.requireNonNull(transform));
+    }
+
+    /**
+     * Remove all instances.
+     */
+    public void clear() {
+        instances.clear();
+        transforms.clear();
+        paletteCount = 0;
+    }
+
+    /**
+     * Animate all the instances added since the last {@link AnimationSystem#clear()} using the calling thread.
+     *
+     * @param time The game time.
+     */
+    public void update(final Time time) {
+        updateLodSelector();
+        for (var index = 0; index < instances.size(); index++) {
+            updatePose(index, time);
+        }
+        gatherDirtyPalettes();
+        for (var index = 0; index < paletteCount; index++) {
+            updatePalette(index);
+        }
+    }
+
+    /**
+     * Animate all the instances added since the last {@link AnimationSystem#clear()} using the workers of a job system.
+     * <p>
+     * This method can be called from within a job.
+     *
+     * @param time      The game time.
+     * @param jobSystem The job system executing the passes.
+     */
+    public void update(final Time time, final JobSystem jobSystem) {
+        updateLodSelector();
+        jobSystem.parallelFor(instances.size(), INSTANCES_PER_JOB, index -> updatePose(index, time));
+        gatherDirtyPalettes();
+        jobSystem.parallelFor(paletteCount, PALETTES_PER_JOB, this::updatePalette);
+    }
+
+    private void updateLodSelector() {
+        if (isLodEnabled()) {
+            lodSelector.setCamera(camera);
+        }
+    }
+
+    private boolean isLodEnabled() {
+        return Objects.nonNull(lodSelector) && Objects.nonNull(camera);
+    }
+
+    private void updatePose(final int index, final Time time) {
+        final var instance = instances.get(index);
+        final var transform = transforms.get(index);
+        instance.update(time, isLodEnabled() ? lodSelector.select(instance, transform) : AnimationLod.FULL);
+        instance.updatePose(transform);
+    }
+
+    private void gatherDirtyPalettes() {
+        paletteCount = 0;
+        for (var index = 0; index < instances.size(); index++) {
+            final var instance = instances.get(index);
+            if (instance.getAnimationLod().isRootOnly()) {
+                continue;
+            }
+            for (var skinnedIndex = 0; skinnedIndex < instance.getSkinnedNodeCount(); skinnedIndex++) {
+                final var nodeIndex = instance.getSkinnedNode(skinnedIndex);
+                if (instance.isPaletteDirty(nodeIndex)) {
+                    addPalette(index, nodeIndex);
+                }
+            }
+        }
+    }
+
+    private void addPalette(final int instanceIndex, final int nodeIndex) {
+        if (paletteCount == paletteNodes.length) {
+            paletteInstances = Arrays.copyOf(paletteInstances, paletteCount * 2);
+            paletteNodes = Arrays.copyOf(paletteNodes, paletteCount * 2);
+        }
+        paletteInstances[paletteCount] = instanceIndex;
+        paletteNodes[paletteCount] = nodeIndex;
+        paletteCount++;
+    }
+
+    private void updatePalette(final int index) {
+        instances.get(paletteInstances[index]).updatePalette(paletteNodes[index]);
+    }
+
+    /**
+     * Set the camera from which the levels of detail of the animations are selected.
+     *
+     * @param camera The camera. If null animations are always fully updated.
+     */
+    public void setCamera(final Camera camera) {
+        this.camera = camera;
+    }
+
+    public int getInstanceCount() {
+        return instances.size();
+    }
+
+    /**
+     * Get the number of instances animated at a given level of detail during the last update.
+     */
+    public int getInstanceCount(final AnimationLod lod) {
+        var count = 0;
+        for (final var instance : instances) {
+            count += instance.getAnimationLod() == lod ? 1 : 0;
+        }
+        return count;
+    }
+
+    /**
+     * Get the number of palettes rebuilt during the last update.
+     */
+    public int getPaletteCount() {
+        return paletteCount;
+    }
+}
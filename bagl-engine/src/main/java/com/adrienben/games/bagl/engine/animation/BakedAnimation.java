@@ -0,0 +1,135 @@
+package com.adrienben.games.bagl.engine.animation;
+
+import org.joml.Matrix4f;
+
+/**
+ * Animations of a skinned node sampled at a fixed rate.
+ * <p>
+ * The joint matrices of each sampled frame are stored in one float array laid out as an RGBA32F texture:
+ * <ul>
+ * <li>Each row contains one frame. The frames of all clips are stored one after the other.
+ * <li>Each joint takes four texels of a row, one per column of its matrix.
+ * </ul>
+ * So the matrix of joint {@code j} at frame {@code f} of a clip starts at texel {@code (j * 4, firstFrame + f)}.
+ * Frames of a clip are sampled every {@code duration / frameCount} seconds starting at 0 so the last frame
+ * loops back to the first one.
+ * <p>
+ * The matrices are expressed in the space of the model, they combine the model space transform of the joint
+ * and its inverse bind matrix. Multiplied by the world transform of an instance of the model, they give the
+ * world transform of the vertices bound to the joint.
+ *
+ * @author adrien
+ * @see AnimationBaker
+ */
+public class BakedAnimation {
+
+    public static final int TEXELS_PER_JOINT = 4;
+    public static final int FLOATS_PER_TEXEL = 4;
+    private static final int FLOATS_PER_JOINT = TEXELS_PER_JOINT * FLOATS_PER_TEXEL;
+
+    private final float frameRate;
+    private final int jointCount;
+    private final int[] firstFrames;
+    private final int[] frameCounts;
+    private final float[] durations;
+    private final float[] matrices;
+
+    /**
+     * Construct a baked animation.
+     *
+     * @param frameRate   The rate at which the clips were sampled.
+     * @param jointCount  The number of joints of the skinned node.
+     * @param frameCounts The number of frames of each clip.
+     * @param durations   The duration of each clip in seconds.
+     */
+    BakedAnimation(final float frameRate, final int jointCount, final int[] frameCounts, final float[] durations) {
+        this.frameRate = frameRate;
+        this.jointCount = jointCount;
+        this.frameCounts = frameCounts;
+        this.durations = durations;
+        this.firstFrames = new int[frameCounts.length];
+        var frameCount = 0;
+        for (var clip = 0; clip < frameCounts.length; clip++) {
+            firstFrames[clip] = frameCount;
+            frameCount += frameCounts[clip];
+        }
+        this.matrices = new float[frameCount * jointCount * FLOATS_PER_JOINT];
+    }
+
+    /**
+     * Get the index in {@link BakedAnimation#getMatrices()} of the first value of the matrix of a joint.
+     *
+     * @param clip  The index of the clip.
+     * @param frame The index of the frame in the clip.
+     * @param joint The index of the joint.
+     * @return The index of the matrix.
+     */
+    public int getOffset(final int clip, final int frame, final int joint) {
+        return ((firstFrames[clip] + frame) * jointCount + joint) * FLOATS_PER_JOINT;
+    }
+
+    /**
+     * Copy the matrix of a joint at one frame of a clip.
+     *
+     * @param clip        The index of the clip.
+     * @param frame       The index of the frame in the clip.
+     * @param joint       The index of the joint.
+     * @param destination The matrix to copy into.
+     * @return {@code destination}.
+     */
+    public Matrix4f getJointMatrix(final int clip, final int frame, final int joint, final Matrix4f destination) {
+        return destination.set(matrices, getOffset(clip, frame, joint));
+    }
+
+    /**
+     * Get the size in bytes of the baked matrices.
+     */
+    public long getMemorySize() {
+        return (long) matrices.length * Float.BYTES;
+    }
+
+    public float getFrameRate() {
+        return frameRate;
+    }
+
+    public int getJointCount() {
+        return jointCount;
+    }
+
+    public int getClipCount() {
+        return frameCounts.length;
+    }
+
+    public int getFirstFrame(final int clip) {
+        return firstFrames[clip];
+    }
+
+    public int getFrameCount(final int clip) {
+        return frameCounts[clip];
+    }
+
+    public float getDuration(final int clip) {
+        return durations[clip];
+    }
+
+    /**
+     * Get the width in texels of the texture containing the matrices.
+     */
+    public int getTextureWidth() {
+        return jointCount * TEXELS_PER_JOINT;
+    }
+
+    /**
+     * Get the height in texels of the texture containing the matrices, which is the number of frames of all clips.
+     */
+    public int getTextureHeight() {
+        return matrices.length / (jointCount * FLOATS_PER_JOINT);
+    }
+
+    /**
+     * Get the baked matrices. The array must not be modified.
+     */
+    public float[] getMatrices() {
+        return matrices;
+    }
+}
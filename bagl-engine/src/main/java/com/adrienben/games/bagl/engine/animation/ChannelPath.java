@@ -0,0 +1,27 @@
+package com.adrienben.games.bagl.engine.animation;
+
+import com.adrienben.games.bagl.engine.Transform;
+
+/**
+ * The property of a {@link Transform} driven by an {@link AnimationChannel}.
+ * <p>
+ * Each path defines the number of floats stored per key frame.
+ *
+ * @author adrien
+ */
+public enum ChannelPath {
+
+    TRANSLATION(3),
+    ROTATION(4),
+    SCALE(3);
+
+    private final int componentCount;
+
+    ChannelPath(final int componentCount) {
+        this.componentCount = componentCount;
+    }
+
+    public int getComponentCount() {
+        return componentCount;
+    }
+}
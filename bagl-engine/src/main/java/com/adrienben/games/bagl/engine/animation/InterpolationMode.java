@@ -0,0 +1,14 @@
+package com.adrienben.games.bagl.engine.animation;
+
+/**
+ * Interpolation between the key frames of an {@link AnimationChannel}.
+ * <p>
+ * <li>STEP: The value of the earliest key frame is kept until the next key frame</li>
+ * <li>LINEAR: Vectors are linearly interpolated and rotations are spherically interpolated</li>
+ *
+ * @author adrien
+ */
+public enum InterpolationMode {
+    STEP,
+    LINEAR
+}
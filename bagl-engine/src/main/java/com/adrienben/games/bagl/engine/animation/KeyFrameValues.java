@@ -0,0 +1,30 @@
+package com.adrienben.games.bagl.engine.animation;
+
+/**
+ * Encoded values of the key frames of an {@link AnimationChannel}.
+ * <p>
+ * Implementations store the values in a more compact form than one float per component and decode
+ * them when the channel is sampled.
+ *
+ * @author adrien
+ */
+public interface KeyFrameValues {
+
+    /**
+     * Decode one component of a key frame.
+     *
+     * @param keyFrame  The index of the key frame.
+     * @param component The index of the component in the key frame.
+     * @return The decoded value.
+     */
+    float get(int keyFrame, int component);
+
+    int getKeyFrameCount();
+
+    int getComponentCount();
+
+    /**
+     * Get the size in bytes of the encoded values.
+     */
+    long getMemorySize();
+}
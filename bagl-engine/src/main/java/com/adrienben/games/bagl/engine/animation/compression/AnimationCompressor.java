@@ -0,0 +1,258 @@
+package com.adrienben.games.bagl.engine.animation.compression;
+
+import com.adrienben.games.bagl.core.validation.Validation;
+import com.adrienben.games.bagl.engine.Transform;
+import com.adrienben.games.bagl.engine.animation.AnimationChannel;
+import com.adrienben.games.bagl.engine.animation.ChannelPath;
+import com.adrienben.games.bagl.engine.animation.InterpolationMode;
+import com.adrienben.games.bagl.engine.animation.KeyFrameValues;
+import org.joml.Quaternionf;
+import org.joml.Quaternionfc;
+import org.joml.Vector3fc;
+
+import java.util.Objects;
+
+/**
+ * Import time compressor of {@link AnimationChannel}s.
+ * <p>
+ * The compression is done in two steps:
+ * <ol>
+ * <li>Key reduction: key frames that can be rebuilt by interpolating their neighbours are removed. Segments are
+ * extended greedily from the last kept key frame as long as all the key frames they skip are reconstructed within
+ * tolerance using the interpolation of the channel (lerp for translations and scales, slerp for rotations). Key
+ * frames of step channels are only removed when they hold the same value as the previous kept key frame. The first
+ * and last key frames are always kept so the duration of the channel does not change.
+ * <li>Quantization (optional): rotations are encoded with {@link QuantizedRotations} and translations and
+ * scales with {@link QuantizedVectors}.
+ * </ol>
+ * The error of the compressed channel is then measured at the time of each original key frame and reported in a
+ * {@link CompressionReport}. Since quantization happens after key reduction, its error adds up to the reduction
+ * error. It is small compared to usual tolerances.
+ * <p>
+ * Translation and scale errors are distances, rotation errors are angles in radians. This class is not thread safe.
+ *
+ * @author adrien
+ */
+public class AnimationCompressor {
+
+    private final float positionTolerance;
+    private final float angleTolerance;
+    private final boolean quantize;
+
+    private final Quaternionf startRotation = new Quaternionf();
+    private final Quaternionf endRotation = new Quaternionf();
+    private final Quaternionf rotation = new Quaternionf();
+
+    /**
+     * Construct a compressor.
+     *
+     * @param positionTolerance The maximum distance between original and rebuilt translations and scales.
+     * @param angleTolerance    The maximum angle in radians between original and rebuilt rotations.
+     * @param quantize          Whether to quantize the values of the key frames kept.
+     * @throws IllegalArgumentException if a tolerance is negative.
+     */
+    public AnimationCompressor(final float positionTolerance, final float angleTolerance, final boolean quantize) {
+        this.positionTolerance = Validation.validate(positionTolerance, tolerance -> tolerance >= 0f, "Position tolerance must be positive");
+        this.angleTolerance = Validation.validate(angleTolerance, tolerance -> tolerance >= 0f, "Angle tolerance must be positive");
+        this.quantize = quantize;
+    }
+
+    /**
+     * Compress a channel.
+     *
+     * @param channel The channel to compress. It is not modified.
+     * @param report  The report in which to add the statistics of the compression.
+     * @return A new compressed channel.
+     */
+    public AnimationChannel compress(final AnimationChannel channel, final CompressionReport report) {
+        Objects.requireNonNull(report);
+        final var keyFrameCount = channel.getKeyFrameCount();
+        final var stride = channel.getPath().getComponentCount();
+        final var times = new float[keyFrameCount];
+        final var values = new float[keyFrameCount * stride];
+        for (var keyFrame = 0; keyFrame < keyFrameCount; keyFrame++) {
+            times[keyFrame] = channel.getTime(keyFrame);
+            for (var component = 0; component < stride; component++) {
+                values[keyFrame * stride + component] = channel.getValue(keyFrame, component);
+            }
+        }
+
+        final var kept = channel.getInterpolationMode() == InterpolationMode.STEP
+                ? selectStepKeyFrames(channel.getPath(), values)
+                : selectLinearKeyFrames(channel.getPath(), times, values);
+        final var compressed = buildChannel(channel, times, values, kept);
+        report.add(channel, compressed, measureError(compressed, times, values));
+        return compressed;
+    }
+
+    private boolean[] selectStepKeyFrames(final ChannelPath path, final float[] values) {
+        final var keyFrameCount = values.length / path.getComponentCount();
+        final var kept = new boolean[keyFrameCount];
+        kept[0] = true;
+        kept[keyFrameCount - 1] = true;
+        var anchor = 0;
+        for (var keyFrame = 1; keyFrame < keyFrameCount; keyFrame++) {
+            if (computeError(path, values, keyFrame, values, anchor) > getTolerance(path)) {
+                kept[keyFrame] = true;
+                anchor = keyFrame;
+            }
+        }
+        return kept;
+    }
+
+    private boolean[] selectLinearKeyFrames(final ChannelPath path, final float[] times, final float[] values) {
+        final var keyFrameCount = times.length;
+        final var kept = new boolean[keyFrameCount];
+        kept[0] = true;
+        kept[keyFrameCount - 1] = true;
+        final var reconstructed = new float[path.getComponentCount()];
+        var anchor = 0;
+        for (var end = 2; end < keyFrameCount; end++) {
+            if (!canSkipKeyFrames(path, times, values, anchor, end, reconstructed)) {
+                kept[end - 1] = true;
+                anchor = end - 1;
+            }
+        }
+        return kept;
+    }
+
+    /**
+     * Check whether all key frames strictly between {@code start} and {@code end} are reconstructed within
+     * tolerance when interpolating {@code start} and {@code end}.
+     */
+    private boolean canSkipKeyFrames(final ChannelPath path, final float[] times, final float[] values, final int start,
+                                     final int end, final float[] reconstructed) {
+        final var duration = times[end] - times[start];
+        if (duration <= 0f) {
+            return false;
+        }
+        for (var keyFrame = start + 1; keyFrame < end; keyFrame++) {
+            interpolate(path, values, start, end, (times[keyFrame] - times[start]) / duration, reconstructed);
+            if (computeError(path, values, keyFrame, reconstructed, 0) > getTolerance(path)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void interpolate(final ChannelPath path, final float[] values, final int start, final int end,
+                             final float factor, final float[] destination) {
+        final var stride = path.getComponentCount();
+        if (path == ChannelPath.ROTATION) {
+            readRotation(values, start * stride, startRotation);
+            readRotation(values, end * stride, endRotation);
+            startRotation.slerp(endRotation, factor, rotation);
+            destination[0] = rotation.x();
+            destination[1] = rotation.y();
+            destination[2] = rotation.z();
+            destination[3] = rotation.w();
+        } else {
+            for (var component = 0; component < stride; component++) {
+                final var startValue = values[start * stride + component];
+                destination[component] = startValue + (values[end * stride + component] - startValue) * factor;
+            }
+        }
+    }
+
+    private float computeError(final ChannelPath path, final float[] values, final int keyFrame, final float[] otherValues,
+                               final int otherKeyFrame) {
+        final var stride = path.getComponentCount();
+        final var offset = keyFrame * stride;
+        final var otherOffset = otherKeyFrame * stride;
+        if (path == ChannelPath.ROTATION) {
+            return computeAngle(values[offset], values[offset + 1], values[offset + 2], values[offset + 3],
+                    otherValues[otherOffset], otherValues[otherOffset + 1], otherValues[otherOffset + 2], otherValues[otherOffset + 3]);
+        }
+        return computeDistance(values[offset], values[offset + 1], values[offset + 2],
+                otherValues[otherOffset], otherValues[otherOffset + 1], otherValues[otherOffset + 2]);
+    }
+
+    private static float computeDistance(final float x0, final float y0, final float z0, final float x1, final float y1, final float z1) {
+        final var dx = x1 - x0;
+        final var dy = y1 - y0;
+        final var dz = z1 - z0;
+        return (float) Math.sqrt(dx * dx + dy * dy + dz * dz);
+    }
+
+    /**
+     * Compute the angle of the rotation between two quaternions. The quaternions do not need to be normalized.
+     * <p>
+     * The computation is done in double precision since the arc cosine of a dot product close to one amplifies
+     * rounding errors to a few hundredths of a degree in single precision.
+     */
+    private static float computeAngle(final double x0, final double y0, final double z0, final double w0,
+                                      final double x1, final double y1, final double z1, final double w1) {
+        final var lengths = Math.sqrt((x0 * x0 + y0 * y0 + z0 * z0 + w0 * w0) * (x1 * x1 + y1 * y1 + z1 * z1 + w1 * w1));
+        if (lengths == 0.0) {
+            return 0f;
+        }
+        final var cosHalfAngle = Math.min(1.0, Math.abs(x0 * x1 + y0 * y1 + z0 * z1 + w0 * w1) / lengths);
+        return (float) (2.0 * Math.acos(cosHalfAngle));
+    }
+
+    private static void readRotation(final float[] values, final int offset, final Quaternionf destination) {
+        destination.set(values[offset], values[offset + 1], values[offset + 2], values[offset + 3]);
+    }
+
+    private float getTolerance(final ChannelPath path) {
+        return path == ChannelPath.ROTATION ? angleTolerance : positionTolerance;
+    }
+
+    private AnimationChannel buildChannel(final AnimationChannel channel, final float[] times, final float[] values, final boolean[] kept) {
+        final var stride = channel.getPath().getComponentCount();
+        var keptCount = 0;
+        for (final var isKept : kept) {
+            keptCount += isKept ? 1 : 0;
+        }
+        final var keptTimes = new float[keptCount];
+        final var keptValues = new float[keptCount * stride];
+        var index = 0;
+        for (var keyFrame = 0; keyFrame < kept.length; keyFrame++) {
+            if (kept[keyFrame]) {
+                keptTimes[index] = times[keyFrame];
+                System.arraycopy(values, keyFrame * stride, keptValues, index * stride, stride);
+                index++;
+            }
+        }
+        if (!quantize) {
+            return new AnimationChannel(channel.getPath(), channel.getInterpolationMode(), keptTimes, keptValues);
+        }
+        return new AnimationChannel(channel.getPath(), channel.getInterpolationMode(), keptTimes, quantize(channel.getPath(), keptValues));
+    }
+
+    private static KeyFrameValues quantize(final ChannelPath path, final float[] values) {
+        return path == ChannelPath.ROTATION ? new QuantizedRotations(values) : new QuantizedVectors(values, path.getComponentCount());
+    }
+
+    private float measureError(final AnimationChannel compressed, final float[] times, final float[] values) {
+        final var path = compressed.getPath();
+        final var stride = path.getComponentCount();
+        final var selector = compressed.createSelector();
+        final var transform = new Transform();
+        final var sampled = new float[stride];
+        var maxError = 0f;
+        for (var keyFrame = 0; keyFrame < times.length; keyFrame++) {
+            compressed.sample(times[keyFrame], selector, transform);
+            switch (path) {
+                case TRANSLATION -> read(transform.getTranslation(), sampled);
+                case ROTATION -> read(transform.getRotation(), sampled);
+                case SCALE -> read(transform.getScale(), sampled);
+            }
+            maxError = Math.max(maxError, computeError(path, values, keyFrame, sampled, 0));
+        }
+        return maxError;
+    }
+
+    private static void read(final Vector3fc vector, final float[] destination) {
+        destination[0] = vector.x();
+        destination[1] = vector.y();
+        destination[2] = vector.z();
+    }
+
+    private static void read(final Quaternionfc quaternion, final float[] destination) {
+        destination[0] = quaternion.x();
+        destination[1] = quaternion.y();
+        destination[2] = quaternion.z();
+        destination[3] = quaternion.w();
+    }
+}
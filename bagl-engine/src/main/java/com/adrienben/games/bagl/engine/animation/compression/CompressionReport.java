@@ -0,0 +1,76 @@
+package com.adrienben.games.bagl.engine.animation.compression;
+
+import com.adrienben.games.bagl.engine.animation.AnimationChannel;
+
+/**
+ * Statistics accumulated while compressing animation channels with an {@link AnimationCompressor}.
+ * <p>
+ * Errors are measured by sampling the compressed channels at the times of the original key frames. Translation
+ * and scale errors are the distance between the original and compressed values and the rotation error is the
+ * angle in radians between the original and compressed rotations.
+ *
+ * @author adrien
+ */
+public class CompressionReport {
+
+    private int channelCount;
+    private int originalKeyFrameCount;
+    private int compressedKeyFrameCount;
+    private long originalSize;
+    private long compressedSize;
+    private float maxTranslationError;
+    private float maxAngleError;
+    private float maxScaleError;
+
+    void add(final AnimationChannel original, final AnimationChannel compressed, final float error) {
+        channelCount++;
+        originalKeyFrameCount += original.getKeyFrameCount();
+        compressedKeyFrameCount += compressed.getKeyFrameCount();
+        originalSize += original.getMemorySize();
+        compressedSize += compressed.getMemorySize();
+        switch (original.getPath()) {
+            case TRANSLATION -> maxTranslationError = Math.max(maxTranslationError, error);
+            case ROTATION -> maxAngleError = Math.max(maxAngleError, error);
+            case SCALE -> maxScaleError = Math.max(maxScaleError, error);
+        }
+    }
+
+    /**
+     * Get the ratio between the original and the compressed size. 1 when nothing was compressed.
+     */
+    public float getCompressionRatio() {
+        return compressedSize == 0 ? 1f : (float) originalSize / compressedSize;
+    }
+
+    public int getChannelCount() {
+        return channelCount;
+    }
+
+    public int getOriginalKeyFrameCount() {
+        return originalKeyFrameCount;
+    }
+
+    public int getCompressedKeyFrameCount() {
+        return compressedKeyFrameCount;
+    }
+
+    public long getOriginalSize() {
+        return originalSize;
+    }
+
+    public long getCompressedSize() {
+        return compressedSize;
+    }
+
+    public float getMaxTranslationError() {
+        return maxTranslationError;
+    }
+
+    public float getMaxAngleError() {
+        return maxAngleError;
+    }
+
+    public float getMaxScaleError() {
+        return maxScaleError;
+    }
+}
@@ -0,0 +1,110 @@
+package com.adrienben.games.bagl.engine.animation.compression;
+
+import com.adrienben.games.bagl.core.validation.Validation;
+import com.adrienben.games.bagl.engine.animation.KeyFrameValues;
+
+import java.util.Objects;
+
+/**
+ * Quaternion key frame values quantized with the smallest three encoding.
+ * <p>
+ * The largest component of a unit quaternion can be rebuilt from the other three since the length of
+ * the quaternion is one. Quaternions are first negated if needed so the largest component is positive
+ * ({@code q} and {@code -q} represent the same rotation). The three other components are then in the
+ * [-1/sqrt(2), 1/sqrt(2)] range and are stored on {@value #COMPONENT_BITS} bits each. The index of the dropped
+ * component is stored in the high bits of the first two components. Each key frame uses 6 bytes instead of 16.
+ *
+ * @author adrien
+ */
+public class QuantizedRotations implements KeyFrameValues {
+
+    private static final int COMPONENT_COUNT = 4;
+    private static final int STORED_COMPONENT_COUNT = 3;
+    private static final int COMPONENT_BITS = 15;
+    private static final int MAX_QUANTIZED_VALUE = (1 << COMPONENT_BITS) - 1;
+    private static final int INDEX_BIT = 1 << COMPONENT_BITS;
+    private static final float RANGE = (float) (1.0 / Math.sqrt(2.0));
+
+    private final short[] quantizedValues;
+
+    /**
+     * Quantize packed quaternions.
+     *
+     * @param values The packed quaternions in the x, y, z, w order. They are normalized before being quantized.
+     * @throws IllegalArgumentException if the number of values is not a multiple of four.
+     */
+    public QuantizedRotations(final float[] values) {
+        Validation.validate(Objects.requireNonNull(values), array -> array.length % COMPONENT_COUNT == 0,
+                "Rotations require 4 values per key frame");
+        final var keyFrameCount = values.length / COMPONENT_COUNT;
+        this.quantizedValues = new short[keyFrameCount * STORED_COMPONENT_COUNT];
+        for (var keyFrame = 0; keyFrame < keyFrameCount; keyFrame++) {
+            quantize(values, keyFrame);
+        }
+    }
+
+    private void quantize(final float[] values, final int keyFrame) {
+        final var offset = keyFrame * COMPONENT_COUNT;
+        var squaredLength = 0f;
+        var largest = 0;
+        for (var component = 0; component < COMPONENT_COUNT; component++) {
+            final var value = values[offset + component];
+            squaredLength += value * value;
+            if (Math.abs(value) > Math.abs(values[offset + largest])) {
+                largest = component;
+            }
+        }
+        final var length = (float) Math.sqrt(squaredLength);
+        final var scale = values[offset + largest] < 0f ? -1f / length : 1f / length;
+
+        var slot = 0;
+        for (var component = 0; component < COMPONENT_COUNT; component++) {
+            if (component != largest) {
+                quantizedValues[keyFrame * STORED_COMPONENT_COUNT + slot++] = (short) quantizeComponent(values[offset + component] * scale);
+            }
+        }
+        final var base = keyFrame * STORED_COMPONENT_COUNT;
+        quantizedValues[base] |= (short) ((largest >> 1) * INDEX_BIT);
+        quantizedValues[base + 1] |= (short) ((largest & 1) * INDEX_BIT);
+    }
+
+    private static int quantizeComponent(final float value) {
+        final var normalized = (value + RANGE) / (2f * RANGE);
+        return Math.max(0, Math.min(MAX_QUANTIZED_VALUE, Math.round(normalized * MAX_QUANTIZED_VALUE)));
+    }
+
+    private float decodeSlot(final int base, final int slot) {
+        final var quantized = quantizedValues[base + slot] & MAX_QUANTIZED_VALUE;
+        return quantized * (2f * RANGE) / MAX_QUANTIZED_VALUE - RANGE;
+    }
+
+    @Override
+    public float get(final int keyFrame, final int component) {
+        final var base = keyFrame * STORED_COMPONENT_COUNT;
+        final var largest = ((quantizedValues[base] & INDEX_BIT) != 0 ? 2 : 0) + ((quantizedValues[base + 1] & INDEX_BIT) != 0 ? 1 : 0);
+        if (component != largest) {
+            return decodeSlot(base, component < largest ? component : component - 1);
+        }
+        var squaredSum = 0f;
+        for (var slot = 0; slot < STORED_COMPONENT_COUNT; slot++) {
+            final var value = decodeSlot(base, slot);
+            squaredSum += value * value;
+        }
+        return (float) Math.sqrt(Math.max(0f, 1f - squaredSum));
+    }
+
+    @Override
+    public int getKeyFrameCount() {
+        return quantizedValues.length / STORED_COMPONENT_COUNT;
+    }
+
+    @Override
+    public int getComponentCount() {
+        return COMPONENT_COUNT;
+    }
+
+    @Override
+    public long getMemorySize() {
+        return (long) quantizedValues.length * Short.BYTES;
+    }
+}
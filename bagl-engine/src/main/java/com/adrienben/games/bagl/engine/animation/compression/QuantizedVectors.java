@@ -0,0 +1,87 @@
+package com.adrienben.games.bagl.engine.animation.compression;
+
+import com.adrienben.games.bagl.core.validation.Validation;
+import com.adrienben.games.bagl.engine.animation.KeyFrameValues;
+
+import java.util.Objects;
+
+/**
+ * Key frame values quantized relative to the range of the channel.
+ * <p>
+ * Each component is stored on 16 bits mapping the range between the minimum and maximum value of that
+ * component over all the key frames. The quantization error of a component is at most half its range
+ * divided by {@value #MAX_QUANTIZED_VALUE}.
+ *
+ * @author adrien
+ */
+public class QuantizedVectors implements KeyFrameValues {
+
+    private static final int MAX_QUANTIZED_VALUE = 0xFFFF;
+
+    private final int componentCount;
+    private final float[] minimums;
+    private final float[] steps;
+    private final short[] quantizedValues;
+
+    /**
+     * Quantize packed values.
+     *
+     * @param values         The packed values to quantize. {@code componentCount} floats per key frame.
+     * @param componentCount The number of components of each key frame.
+     * @throws IllegalArgumentException if the number of values is not a multiple of the component count.
+     */
+    public QuantizedVectors(final float[] values, final int componentCount) {
+        Validation.validate(componentCount, count -> count > 0, "Component count must be strictly positive");
+        Validation.validate(Objects.requireNonNull(values), array -> array.length % componentCount == 0,
+                "The number of values must be a multiple of the component count");
+        this.componentCount = componentCount;
+        this.minimums = new float[componentCount];
+        this.steps = new float[componentCount];
+        this.quantizedValues = new short[values.length];
+        computeRanges(values);
+        quantize(values);
+    }
+
+    private void computeRanges(final float[] values) {
+        for (var component = 0; component < componentCount; component++) {
+            var min = Float.POSITIVE_INFINITY;
+            var max = Float.NEGATIVE_INFINITY;
+            for (var i = component; i < values.length; i += componentCount) {
+                min = Math.min(min, values[i]);
+                max = Math.max(max, values[i]);
+            }
+            minimums[component] = min;
+            steps[component] = max > min ? (max - min) / MAX_QUANTIZED_VALUE : 0f;
+        }
+    }
+
+    private void quantize(final float[] values) {
+        for (var i = 0; i < values.length; i++) {
+            final var component = i % componentCount;
+            final var step = steps[component];
+            final var quantized = step > 0f ? Math.round((values[i] - minimums[component]) / step) : 0;
+            quantizedValues[i] = (short) Math.min(quantized, MAX_QUANTIZED_VALUE);
+        }
+    }
+
+    @Override
+    public float get(final int keyFrame, final int component) {
+        final var quantized = quantizedValues[keyFrame * componentCount + component] & MAX_QUANTIZED_VALUE;
+        return minimums[component] + quantized * steps[component];
+    }
+
+    @Override
+    public int getKeyFrameCount() {
+        return quantizedValues.length / componentCount;
+    }
+
+    @Override
+    public int getComponentCount() {
+        return componentCount;
+    }
+
+    @Override
+    public long getMemorySize() {
+        return (long) quantizedValues.length * Short.BYTES + (long) (minimums.length + steps.length) * Float.BYTES;
+    }
+}
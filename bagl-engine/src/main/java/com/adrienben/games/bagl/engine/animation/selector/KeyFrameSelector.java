@@ -1,77 +1,119 @@
 package com.adrienben.games.bagl.engine.animation.selector;
 
-import com.adrienben.games.bagl.core.utils.CollectionUtils;
-import com.adrienben.games.bagl.engine.animation.KeyFrame;
+import com.adrienben.games.bagl.core.validation.Validation;
 
-import java.util.List;
 import java.util.Objects;
 
 /**
  * Select the key frames to interpolate at a given time.
+ * <p>
+ * The selected interval is exposed as the indices of its start and end key frames so selecting does not allocate.
+ * The selector keeps the last selected interval as a cursor. When the animation plays forward, the next interval
+ * is found in constant time by checking the current and following intervals. Any other time (after a seek or when
+ * the animation loops) is found with a binary search.
  *
  * @author adrien
  */
-public class KeyFrameSelector<T> {
+public class KeyFrameSelector {
 
-    private final List<KeyFrame<T>> keyFrames;
-    private final float startTime;
-    private final float endTime;
+    private final float[] times;
+    private final int lastIntervalIndex;
 
     private float currentAnimationTime;
+    private int startIndex;
+    private int endIndex;
 
-    public KeyFrameSelector(final List<KeyFrame<T>> keyFrames) {
-        this.keyFrames = Objects.requireNonNull(keyFrames);
-        this.startTime = keyFrames.get(0).time();
-        this.endTime = keyFrames.get(keyFrames.size() - 1).time();
+    /**
+     * Construct a selector.
+     *
+     * @param times The times of the key frames in ascending order. The array is not copied.
+     * @throws IllegalArgumentException if {@code times} is empty.
+     */
+    public KeyFrameSelector(final float[] times) {
+        this.times = Validation.validate(Objects.requireNonNull(times), array -> array.length > 0, "A key frame selector requires at least one key frame");
+        this.lastIntervalIndex = Math.max(times.length - 2, 0);
     }
 
     /**
      * Select the two key frames to interpolate at a given animation time value.
+     * <p>
+     * Before the first key frame and after the last key frame, both indices point to the first or the last key frame.
+     * Use {@link KeyFrameSelector#getStartIndex()} and {@link KeyFrameSelector#getEndIndex()} to get the selected
+     * key frames.
      *
      * @param currentAnimationTime The current animation time.
-     * @return A new {@link KeyFrameInterval} whose first element is the earliest keyframe and the second is the latest.
      */
-    public KeyFrameInterval<T> selectCurrentInterval(final float currentAnimationTime) {
-        if (CollectionUtils.isEmpty(keyFrames)) {
-            return null;
-        }
+    public void select(final float currentAnimationTime) {
         this.currentAnimationTime = currentAnimationTime;
-        return computeAndGetLastAndNextKeyFrames();
-    }
-
-    private KeyFrameInterval<T> computeAndGetLastAndNextKeyFrames() {
-        if (!hasStarted() || keyFrames.size() == 1) {
-            final var firstNodeKeyFrame = keyFrames.get(0);
-            return new KeyFrameInterval<>(firstNodeKeyFrame, firstNodeKeyFrame);
+        if (!hasStarted() || times.length == 1) {
+            setInterval(0, 0);
         } else if (hasEnded()) {
-            final var lastKeyFrame = keyFrames.get(keyFrames.size() - 1);
-            return new KeyFrameInterval<>(lastKeyFrame, lastKeyFrame);
+            setInterval(times.length - 1, times.length - 1);
+        } else {
+            final var intervalIndex = findIntervalIndex();
+            setInterval(intervalIndex, intervalIndex + 1);
         }
-        return findCurrentNodeKeyFrameInterval();
     }
 
     private boolean hasStarted() {
-        return currentAnimationTime >= startTime;
+        return currentAnimationTime >= times[0];
     }
 
     private boolean hasEnded() {
-        return currentAnimationTime > endTime;
+        return currentAnimationTime > times[times.length - 1];
+    }
+
+    private void setInterval(final int startIndex, final int endIndex) {
+        this.startIndex = startIndex;
+        this.endIndex = endIndex;
+    }
+
+    private int findIntervalIndex() {
+        final var cursor = Math.min(startIndex, lastIntervalIndex);
+        if (isInInterval(cursor)) {
+            return cursor;
+        }
+        if (cursor < lastIntervalIndex && isInInterval(cursor + 1)) {
+            return cursor + 1;
+        }
+        return searchIntervalIndex();
     }
 
-    private KeyFrameInterval<T> findCurrentNodeKeyFrameInterval() {
-        var lastNodeKeyFrame = keyFrames.get(0);
-        var nextNodeKeyFrame = lastNodeKeyFrame;
-        for (int i = 1; i < keyFrames.size(); i++) {
-            nextNodeKeyFrame = keyFrames.get(i);
-            if (isCurrentTimeInNodeKeyFrameInterval(lastNodeKeyFrame, nextNodeKeyFrame)) {
-                break;
+    /**
+     * Check whether the current time is in the interval starting at {@code index}. The last interval also contains its end time.
+     */
+    private boolean isInInterval(final int index) {
+        return currentAnimationTime >= times[index] && (currentAnimationTime < times[index + 1] || index == lastIntervalIndex);
+    }
+
+    /**
+     * Find the last interval whose start time is lower or equal to the current time.
+     */
+    private int searchIntervalIndex() {
+        var low = 0;
+        var high = lastIntervalIndex;
+        while (low < high) {
+            final var middle = (low + high + 1) >>> 1;
+            if (times[middle] <= currentAnimationTime) {
+                low = middle;
+            } else {
+                high = middle - 1;
             }
-            lastNodeKeyFrame = nextNodeKeyFrame;
         }
-        return new KeyFrameInterval<>(lastNodeKeyFrame, nextNodeKeyFrame);
+        return low;
     }
 
-    private boolean isCurrentTimeInNodeKeyFrameInterval(final KeyFrame<?> firstKeyFrame, final KeyFrame<?> secondKeyFrame) {
-        return currentAnimationTime >= firstKeyFrame.time() && currentAnimationTime < secondKeyFrame.time();
+    /**
+     * Get the index of the earliest key frame of the last selected interval.
+     */
+    public int getStartIndex() {
+        return startIndex;
+    }
+
+    /**
+     * Get the index of the latest key frame of the last selected interval.
+     */
+    public int getEndIndex() {
+        return endIndex;
     }
 }
@@ -4,6 +4,7 @@ import com.adrienben.games.bagl.core.Asset;
 import com.adrienben.games.bagl.core.exception.EngineException;
 import com.adrienben.games.bagl.core.utils.repository.DefaultRepository;
 import com.adrienben.games.bagl.core.utils.repository.Repository;
+import com.adrienben.games.bagl.engine.profiling.AssetLoadEvent;
 
 /**
  * Asset store.
@@ -40,9 +41,17 @@ public class AssetStore {
     }
 
     private Asset loadAndStoreAsset(final String id) {
+        final var event = new AssetLoadEvent();
+        event.begin();
         final var assetDescriptor = getAssetDescriptorById(id);
         final Asset asset = assetFactory.createAsset(assetDescriptor);
         assetRepository.put(id, asset);
+        if (event.shouldCommit()) {
+            event.assetId = id;
+            event.assetType = assetDescriptor.type().name();
+            event.path = String.valueOf(assetDescriptor.path());
+            event.commit();
+        }
         return asset;
     }
 
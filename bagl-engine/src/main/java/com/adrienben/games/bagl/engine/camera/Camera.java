@@ -17,10 +17,10 @@ public class Camera {
     private final Vector3f up;
     private final Vector3f side;
 
-    private final float fov;
-    private final float aspectRatio;
-    private final float zNear;
-    private final float zFar;
+    private float fov;
+    private float aspectRatio;
+    private float zNear;
+    private float zFar;
     private final Dirtiable<Frustum> frustum;
 
     private final Dirtiable<Matrix4f> projection;
@@ -64,6 +64,36 @@ public class Camera {
         this.viewProjAtOrigin = new Dirtiable<>(new Matrix4f(), atOrigin -> this.projection.get().mulPerspectiveAffine(this.viewAtOrigin.get(), atOrigin));
     }
 
+    /**
+     * Construct a copy of another camera
+     *
+     * @param other The camera to copy
+     */
+    public Camera(final Camera other) {
+        this(other.position, other.direction, other.up, other.fov, other.aspectRatio, other.zNear, other.zFar);
+    }
+
+    /**
+     * Copy the state of another camera into this camera
+     *
+     * @param other The camera to copy
+     * @return This for chaining
+     */
+    public Camera set(final Camera other) {
+        this.position.set(other.position);
+        this.direction.set(other.direction);
+        this.target.set(other.target);
+        this.up.set(other.up);
+        this.side.set(other.side);
+        this.fov = other.fov;
+        this.aspectRatio = other.aspectRatio;
+        this.zNear = other.zNear;
+        this.zFar = other.zFar;
+        this.projection.dirty();
+        this.dirtyViewAtOrigin();
+        return this;
+    }
+
     /**
      * Rotate the camera
      *
@@ -201,6 +231,10 @@ public class Camera {
         return this.side;
     }
 
+    public float getFov() {
+        return fov;
+    }
+
     public float getzNear() {
         return zNear;
     }
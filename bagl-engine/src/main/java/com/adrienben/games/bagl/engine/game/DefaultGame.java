@@ -1,29 +1,43 @@
 package com.adrienben.games.bagl.engine.game;
 
 import com.adrienben.games.bagl.engine.Configuration;
+import com.adrienben.games.bagl.engine.Time;
 import com.adrienben.games.bagl.engine.assets.AssetDescriptorRepository;
 import com.adrienben.games.bagl.engine.assets.AssetFactory;
 import com.adrienben.games.bagl.engine.assets.AssetStore;
+import com.adrienben.games.bagl.engine.jobs.JobSystem;
 import com.adrienben.games.bagl.engine.rendering.environment.EnvironmentMapGenerator;
+import com.adrienben.games.bagl.engine.rendering.renderer.SceneRenderer;
 import com.adrienben.games.bagl.engine.resource.asset.AssetsDescriptorLoader;
 import com.adrienben.games.bagl.engine.resource.scene.ComponentFactory;
 import com.adrienben.games.bagl.engine.resource.scene.SceneLoader;
+import com.adrienben.games.bagl.engine.scene.Scene;
 
 import java.util.HashMap;
+import java.util.Objects;
 
 /**
  * Default implementation of {@link Game}.
  * <p>
- * Takes care of initializing the {@link AssetStore}.
+ * Takes care of initializing the {@link AssetStore} and the {@link JobSystem}.
+ * <p>
+ * When a {@link Scene} is set, it is updated with the {@link JobSystem} by {@link DefaultGame#update(Time)}.
+ * When a {@link Scene} and a {@link SceneRenderer} are set, the scene is captured by the renderer in
+ * {@link DefaultGame#snapshot()} and the latest capture is rendered by {@link DefaultGame#render()}. When
+ * multithreaded update is enabled, the renderer then only reads the captured copy while the next frame
+ * updates the scene.
  */
 public abstract class DefaultGame implements Game {
 
     private EnvironmentMapGenerator environmentMapGenerator;
     private ComponentFactory componentFactory;
     private AssetStore assetStore;
+    private JobSystem jobSystem;
+    private Scene scene;
+    private SceneRenderer sceneRenderer;
 
     /**
-     * Initialize asset store.
+     * Initialize asset store and job system.
      * <p>
      * Whe overriding this method, call {@code super.init()} first.
      */
@@ -32,6 +46,7 @@ public abstract class DefaultGame implements Game {
         environmentMapGenerator = new EnvironmentMapGenerator();
         componentFactory = new ComponentFactory(environmentMapGenerator);
         initAssetStore();
+        jobSystem = new JobSystem(Configuration.getInstance().getJobWorkerCount());
     }
 
     private void initAssetStore() {
@@ -51,7 +66,7 @@ public abstract class DefaultGame implements Game {
     }
 
     /**
-     * Destroy asset store.
+     * Destroy asset store and stop the job system.
      * <p>
      * Whe overriding this method, call {@code super.destroy()} first.
      */
@@ -59,9 +74,69 @@ public abstract class DefaultGame implements Game {
     public void destroy() {
         assetStore.destroyAssets();
         environmentMapGenerator.destroy();
+        jobSystem.destroy();
+    }
+
+    /**
+     * Update the scene, if set, using the job system.
+     * <p>
+     * Whe overriding this method, call {@code super.update(time)} first.
+     *
+     * @see Scene#update(Time, JobSystem)
+     */
+    @Override
+    public void update(final Time time) {
+        if (Objects.nonNull(scene)) {
+            scene.update(time, jobSystem);
+        }
+    }
+
+    /**
+     * Capture the scene with the scene renderer, if both are set.
+     * <p>
+     * Whe overriding this method, call {@code super.snapshot()} first.
+     */
+    @Override
+    public void snapshot() {
+        if (Objects.nonNull(scene) && Objects.nonNull(sceneRenderer)) {
+            sceneRenderer.capture(scene);
+        }
+    }
+
+    /**
+     * Render the latest captured scene, if a scene renderer is set.
+     * <p>
+     * Whe overriding this method, call {@code super.render()} first. Overlays can then be drawn
+     * but the scene must not be read since it may be updated concurrently.
+     */
+    @Override
+    public void render() {
+        if (Objects.nonNull(sceneRenderer)) {
+            sceneRenderer.render();
+        }
     }
 
     protected AssetStore getAssetStore() {
         return assetStore;
     }
+
+    protected JobSystem getJobSystem() {
+        return jobSystem;
+    }
+
+    protected Scene getScene() {
+        return scene;
+    }
+
+    protected void setScene(final Scene scene) {
+        this.scene = scene;
+    }
+
+    protected SceneRenderer getSceneRenderer() {
+        return sceneRenderer;
+    }
+
+    protected void setSceneRenderer(final SceneRenderer sceneRenderer) {
+        this.sceneRenderer = sceneRenderer;
+    }
 }
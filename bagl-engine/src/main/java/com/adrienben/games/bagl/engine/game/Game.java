@@ -24,12 +24,26 @@ public interface Game {
     /**
      * Update the logic of the game application
      * <p>
-     * This method will be called once every frame
+     * This method will be called once every frame. When multithreaded update is enabled
+     * in the configuration it is called from a simulation thread and MUST NOT perform any
+     * OpenGL call
      *
      * @param time The time og the application
      */
     void update(Time time);
 
+    /**
+     * Capture the state required to render the frame that was just updated
+     * <p>
+     * This method is called right after {@link Game#update(Time)}, on the same thread. When
+     * multithreaded update is enabled, {@link Game#render()} runs on the OpenGL thread while
+     * the next frame is updated so it should only read the state captured here (see
+     * {@link com.adrienben.games.bagl.engine.SnapshotBuffer}). Does nothing by default, see
+     * {@link DefaultGame#snapshot()} for the capture of a scene
+     */
+    default void snapshot() {
+    }
+
     /**
      * Perform all rendering
      */
@@ -0,0 +1,120 @@
+package com.adrienben.games.bagl.engine.jobs;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Job of a {@link TaskGraph}.
+ * <p>
+ * A job is executed once all the jobs it depends on are completed. Once the graph is executed, the job
+ * holds the timings of its last execution.
+ *
+ * @author adrien
+ */
+public class Job {
+
+    private final TaskGraph graph;
+    private final String name;
+    private final Runnable work;
+    private final int dependencyCount;
+    private final List<Job> dependents = new ArrayList<>();
+    private final AtomicInteger pendingDependencyCount = new AtomicInteger();
+    private boolean executed;
+    private String threadName;
+    private long startTime;
+    private long duration;
+
+    Job(final TaskGraph graph, final String name, final Runnable work, final int dependencyCount) {
+        this.graph = graph;
+        this.name = name;
+        this.work = work;
+        this.dependencyCount = dependencyCount;
+    }
+
+    /**
+     * Reset the state of the job before the execution of its graph.
+     */
+    void reset() {
+        pendingDependencyCount.set(dependencyCount);
+        executed = false;
+        threadName = null;
+        startTime = 0L;
+        duration = 0L;
+    }
+
+    /**
+     * Execute the work of this job and record its timings.
+     */
+    void execute() {
+        threadName = Thread.currentThread().getName();
+        startTime = System.nanoTime();
+        try {
+            work.run();
+        } finally {
+            duration = System.nanoTime() - startTime;
+            executed = true;
+        }
+    }
+
+    /**
+     * Notify this job that one of its dependencies completed.
+     *
+     * @return true if all the dependencies of this job are completed.
+     */
+    boolean completeDependency() {
+        return pendingDependencyCount.decrementAndGet() == 0;
+    }
+
+    void addDependent(final Job dependent) {
+        dependents.add(dependent);
+    }
+
+    TaskGraph getGraph() {
+        return graph;
+    }
+
+    List<Job> getDependents() {
+        return dependents;
+    }
+
+    boolean hasDependencies() {
+        return dependencyCount > 0;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Check whether the job was executed during the last execution of its graph.
+     * <p>
+     * A job is not executed when one of the jobs of the graph failed before it could start.
+     */
+    public boolean isExecuted() {
+        return executed;
+    }
+
+    /**
+     * Get the name of the thread that executed the job during the last execution of its graph.
+     */
+    public String getThreadName() {
+        return threadName;
+    }
+
+    /**
+     * Get the time at which the job started during the last execution of its graph, in nanoseconds.
+     *
+     * @see System#nanoTime()
+     */
+    public long getStartTime() {
+        return startTime;
+    }
+
+    /**
+     * Get the duration of the job during the last execution of its graph, in nanoseconds.
+     */
+    public long getDuration() {
+        return duration;
+    }
+}
@@ -0,0 +1,158 @@
+package com.adrienben.games.bagl.engine.jobs;
+
+import com.adrienben.games.bagl.core.exception.EngineException;
+import com.adrienben.games.bagl.core.validation.Validation;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+/**
+ * Work-stealing job system.
+ * <p>
+ * Jobs are executed by a {@link ForkJoinPool}. Each worker has its own queue of jobs and steals jobs from the
+ * other workers when its queue is empty. Work can be submitted as a data parallel loop using
+ * {@link JobSystem#parallelFor(int, int, IntConsumer)} or as a {@link TaskGraph} of dependent jobs
+ * using {@link JobSystem#run(TaskGraph)}.
+ * <p>
+ * Jobs must not make OpenGL calls since they are not executed by the thread owning the context.
+ *
+ * @author adrien
+ */
+public class JobSystem {
+
+    private static final String WORKER_NAME_PREFIX = "bagl-job-";
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Construct a job system.
+     *
+     * @param workerCount The number of worker threads.
+     */
+    public JobSystem(final int workerCount) {
+        Validation.validate(workerCount, count -> count > 0, "The job system must have at least one worker");
+        this.pool = new ForkJoinPool(workerCount, JobSystem::createWorker, null, false);
+    }
+
+    private static ForkJoinWorkerThread createWorker(final ForkJoinPool pool) {
+        final var worker = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        worker.setName(WORKER_NAME_PREFIX + worker.getPoolIndex());
+        worker.setDaemon(true);
+        return worker;
+    }
+
+    /**
+     * Execute {@code body} for each index in [0, count[ and wait for all indices to be processed.
+     * <p>
+     * The range is recursively split until the sub-ranges contain at most {@code batchSize} indices. Idle
+     * workers steal the biggest pending sub-ranges. When the range fits in one batch it is processed
+     * by the calling thread. This method can be called from within a job.
+     *
+     * @param count     The number of indices to process.
+     * @param batchSize The maximum number of indices processed by one job.
+     * @param body      The work to execute for each index.
+     */
+    public void parallelFor(final int count, final int batchSize, final IntConsumer body) {
+        Validation.validate(batchSize, size -> size > 0, "Batch size must be strictly positive");
+        if (count <= batchSize) {
+            for (int i = 0; i < count; i++) {
+                body.accept(i);
+            }
+            return;
+        }
+
+        final var task = new RangeAction(0, count, batchSize, body);
+        if (isWorkerThread()) {
+            task.invoke();
+        } else {
+            pool.invoke(task);
+        }
+    }
+
+    /**
+     * Execute {@code action} for each element of {@code elements} and wait for all elements to be processed.
+     *
+     * @see JobSystem#parallelFor(int, int, IntConsumer)
+     */
+    public <T> void parallelForEach(final List<T> elements, final int batchSize, final Consumer<? super T> action) {
+        parallelFor(elements.size(), batchSize, index -> action.accept(elements.get(index)));
+    }
+
+    /**
+     * Execute all the jobs of a task graph and wait for them to complete.
+     * <p>
+     * This method must not be called from within a job since the calling thread is blocked until
+     * the whole graph is executed.
+     *
+     * @param graph The graph to execute.
+     * @throws EngineException If called from a job or if a job of the graph failed.
+     */
+    public void run(final TaskGraph graph) {
+        if (isWorkerThread()) {
+            throw new EngineException("A task graph cannot be run from within a job");
+        }
+        graph.execute(this);
+    }
+
+    /**
+     * Schedule a job to be executed as soon as a worker is available.
+     * <p>
+     * When called from a worker the job is pushed on the queue of this worker.
+     */
+    void submit(final Runnable job) {
+        if (isWorkerThread()) {
+            ForkJoinTask.adapt(job).fork();
+        } else {
+            pool.execute(job);
+        }
+    }
+
+    private boolean isWorkerThread() {
+        return ForkJoinTask.getPool() == pool;
+    }
+
+    /**
+     * Stop the workers.
+     * <p>
+     * Jobs already submitted are still executed but new jobs will be rejected.
+     */
+    public void destroy() {
+        pool.shutdown();
+    }
+
+    public int getWorkerCount() {
+        return pool.getParallelism();
+    }
+
+    private static class RangeAction extends RecursiveAction {
+
+        private final int start;
+        private final int end;
+        private final int batchSize;
+        private final IntConsumer body;
+
+        private RangeAction(final int start, final int end, final int batchSize, final IntConsumer body) {
+            this.start = start;
+            this.end = end;
+            this.batchSize = batchSize;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= batchSize) {
+                for (int i = start; i < end; i++) {
+                    body.accept(i);
+                }
+                return;
+            }
+            final var middle = (start + end) >>> 1;
+            invokeAll(new RangeAction(start, middle, batchSize, body), new RangeAction(middle, end, batchSize, body));
+        }
+    }
+}
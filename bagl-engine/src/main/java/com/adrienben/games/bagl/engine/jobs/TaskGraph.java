@@ -0,0 +1,138 @@
+package com.adrienben.games.bagl.engine.jobs;
+
+import com.adrienben.games.bagl.core.exception.EngineException;
+import com.adrienben.games.bagl.core.validation.Validation;
+import com.adrienben.games.bagl.engine.profiling.JobEvent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Graph of dependent jobs.
+ * <p>
+ * Jobs are added with the jobs they depend on. Since the dependencies of a job must be added before it
+ * the graph cannot contain cycles. When the graph is run by a {@link JobSystem}, jobs without dependencies
+ * are scheduled first and each job is scheduled as soon as all its dependencies are completed. Independent
+ * jobs then run concurrently.
+ * <p>
+ * A graph can be executed several times or cleared and rebuilt each frame. Each execution records the
+ * timings of the jobs and emits a {@link JobEvent} per job.
+ * <p>
+ * If a job fails, the jobs that have not started yet are skipped and the failure is rethrown
+ * once the running jobs are completed.
+ *
+ * @author adrien
+ */
+public class TaskGraph {
+
+    private final List<Job> jobs = new ArrayList<>();
+    private final List<Job> jobsView = Collections.unmodifiableList(jobs);
+    private final AtomicReference<EngineException> failure = new AtomicReference<>();
+    private CountDownLatch remainingJobs;
+    private long duration;
+
+    /**
+     * Add a job to the graph.
+     *
+     * @param name         The name of the job.
+     * @param work         The work to execute.
+     * @param dependencies The jobs that must be completed before this job starts.
+     * @return The added job.
+     * @throws IllegalArgumentException If a dependency does not belong to this graph.
+     */
+    public Job add(final String name, final Runnable work, final Job... dependencies) {
+        Objects.requireNonNull(work, "The work of a job cannot be null");
+        for (final var dependency : dependencies) {
+            Validation.validate(dependency, job -> job.getGraph() == this, "The dependencies of a job must belong to the same graph");
+        }
+        final var job = new Job(this, name, work, dependencies.length);
+        for (final var dependency : dependencies) {
+            dependency.addDependent(job);
+        }
+        jobs.add(job);
+        return job;
+    }
+
+    /**
+     * Remove all the jobs from the graph.
+     */
+    public void clear() {
+        jobs.clear();
+    }
+
+    /**
+     * Execute the jobs of the graph and wait for them to complete.
+     *
+     * @param jobSystem The job system executing the jobs.
+     */
+    void execute(final JobSystem jobSystem) {
+        final var start = System.nanoTime();
+        failure.set(null);
+        remainingJobs = new CountDownLatch(jobs.size());
+        jobs.forEach(Job::reset);
+        for (final var job : jobs) {
+            if (!job.hasDependencies()) {
+                jobSystem.submit(() -> execute(job, jobSystem));
+            }
+        }
+        awaitJobs();
+        duration = System.nanoTime() - start;
+
+        final var exception = failure.get();
+        if (Objects.nonNull(exception)) {
+            throw exception;
+        }
+    }
+
+    private void execute(final Job job, final JobSystem jobSystem) {
+        if (Objects.isNull(failure.get())) {
+            final var event = new JobEvent();
+            event.begin();
+            try {
+                job.execute();
+            } catch (final Throwable throwable) {
+                failure.compareAndSet(null, new EngineException("Job " + job.getName() + " failed", throwable));
+            }
+            event.end();
+            if (event.shouldCommit()) {
+                event.name = job.getName();
+                event.commit();
+            }
+        }
+        for (final var dependent : job.getDependents()) {
+            if (dependent.completeDependency()) {
+                jobSystem.submit(() -> execute(dependent, jobSystem));
+            }
+        }
+        remainingJobs.countDown();
+    }
+
+    private void awaitJobs() {
+        try {
+            remainingJobs.await();
+        } catch (final InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new EngineException("Interrupted while waiting for the jobs of the graph", exception);
+        }
+    }
+
+    /**
+     * Get the jobs of the graph in the order they were added.
+     * <p>
+     * After the graph is executed, each job holds its timings.
+     */
+    public List<Job> getJobs() {
+        return jobsView;
+    }
+
+    /**
+     * Get the duration of the last execution of the graph, in nanoseconds.
+     */
+    public long getDuration() {
+        return duration;
+    }
+}
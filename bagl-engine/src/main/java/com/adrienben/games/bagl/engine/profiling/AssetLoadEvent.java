@@ -0,0 +1,27 @@
+package com.adrienben.games.bagl.engine.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event emitted when an asset is loaded for the first time.
+ *
+ * @author adrien
+ */
+@Name("com.adrienben.games.bagl.AssetLoad")
+@Label("Asset Load")
+@Category({"Bagl", "Resources"})
+@Description("Creation of an asset requested for the first time")
+public class AssetLoadEvent extends jdk.jfr.Event {
+
+    @Label("Asset Id")
+    public String assetId;
+
+    @Label("Asset Type")
+    public String assetType;
+
+    @Label("Path")
+    public String path;
+}
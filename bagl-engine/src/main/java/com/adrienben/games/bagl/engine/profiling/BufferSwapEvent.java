@@ -0,0 +1,23 @@
+package com.adrienben.games.bagl.engine.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event emitted when the window polls its events and swaps its buffers.
+ * <p>
+ * With vertical synchronization enabled, the duration includes the time spent waiting for the display.
+ *
+ * @author adrien
+ */
+@Name("com.adrienben.games.bagl.BufferSwap")
+@Label("Buffer Swap")
+@Category({"Bagl", "Frame"})
+@Description("Polling of window events and swap of the front and back buffers")
+public class BufferSwapEvent extends jdk.jfr.Event {
+
+    @Label("Vertical Synchronization")
+    public boolean vsync;
+}
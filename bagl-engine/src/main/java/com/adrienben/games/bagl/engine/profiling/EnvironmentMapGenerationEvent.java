@@ -0,0 +1,24 @@
+package com.adrienben.games.bagl.engine.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event emitted when an environment, irradiance or pre-filtered map is generated.
+ *
+ * @author adrien
+ */
+@Name("com.adrienben.games.bagl.EnvironmentMapGeneration")
+@Label("Environment Map Generation")
+@Category({"Bagl", "Rendering"})
+@Description("Generation of an image based lighting cube map")
+public class EnvironmentMapGenerationEvent extends jdk.jfr.Event {
+
+    @Label("Map Type")
+    public String mapType;
+
+    @Label("Resolution")
+    public int resolution;
+}
@@ -0,0 +1,21 @@
+package com.adrienben.games.bagl.engine.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event emitted when the game is rendered.
+ *
+ * @author adrien
+ */
+@Name("com.adrienben.games.bagl.FrameRender")
+@Label("Frame Render")
+@Category({"Bagl", "Frame"})
+@Description("Submission of the rendering commands of one frame")
+public class FrameRenderEvent extends jdk.jfr.Event {
+
+    @Label("Frame")
+    public long frame;
+}
@@ -0,0 +1,21 @@
+package com.adrienben.games.bagl.engine.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event emitted when the game is updated.
+ *
+ * @author adrien
+ */
+@Name("com.adrienben.games.bagl.FrameUpdate")
+@Label("Frame Update")
+@Category({"Bagl", "Frame"})
+@Description("Update of the game for one frame")
+public class FrameUpdateEvent extends jdk.jfr.Event {
+
+    @Label("Frame")
+    public long frame;
+}
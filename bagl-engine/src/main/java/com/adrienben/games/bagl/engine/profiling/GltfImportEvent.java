@@ -0,0 +1,54 @@
+package com.adrienben.games.bagl.engine.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event emitted when a glTF file is imported.
+ *
+ * @author adrien
+ */
+@Name("com.adrienben.games.bagl.GltfImport")
+@Label("glTF Import")
+@Category({"Bagl", "Resources"})
+@Description("Import of a glTF file and upload of its content to the GPU")
+public class GltfImportEvent extends jdk.jfr.Event {
+
+    @Label("Path")
+    public String path;
+
+    @Label("File Size")
+    @DataAmount
+    public long fileSize;
+
+    @Label("Node Count")
+    public int nodeCount;
+
+    @Label("Mesh Count")
+    public int meshCount;
+
+    @Label("Texture Count")
+    public int textureCount;
+
+    @Label("Animation Count")
+    public int animationCount;
+
+    @Label("Animation Size")
+    @Description("Size of the animation key frames before compression")
+    @DataAmount
+    public long animationSize;
+
+    @Label("Compressed Animation Size")
+    @DataAmount
+    public long compressedAnimationSize;
+
+    @Label("Max Animation Translation Error")
+    public float maxAnimationTranslationError;
+
+    @Label("Max Animation Angle Error")
+    @Description("Maximum rotation error introduced by the animation compression in radians")
+    public float maxAnimationAngleError;
+}
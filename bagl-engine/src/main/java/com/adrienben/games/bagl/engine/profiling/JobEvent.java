@@ -0,0 +1,21 @@
+package com.adrienben.games.bagl.engine.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event emitted when a job of a task graph is executed.
+ *
+ * @author adrien
+ */
+@Name("com.adrienben.games.bagl.Job")
+@Label("Job")
+@Category({"Bagl", "Jobs"})
+@Description("Execution of a job of a task graph")
+public class JobEvent extends jdk.jfr.Event {
+
+    @Label("Name")
+    public String name;
+}
@@ -0,0 +1,253 @@
+package com.adrienben.games.bagl.engine.rendering.crowd;
+
+import com.adrienben.games.bagl.core.exception.EngineException;
+import com.adrienben.games.bagl.core.validation.Validation;
+import com.adrienben.games.bagl.engine.Time;
+import com.adrienben.games.bagl.engine.animation.AnimationBaker;
+import com.adrienben.games.bagl.engine.animation.BakedAnimation;
+import com.adrienben.games.bagl.engine.rendering.material.Material;
+import com.adrienben.games.bagl.engine.rendering.model.Mesh;
+import com.adrienben.games.bagl.engine.rendering.model.Model;
+import com.adrienben.games.bagl.opengl.buffer.BufferUsage;
+import com.adrienben.games.bagl.opengl.texture.Filter;
+import com.adrienben.games.bagl.opengl.texture.Format;
+import com.adrienben.games.bagl.opengl.texture.Texture2D;
+import com.adrienben.games.bagl.opengl.texture.TextureParameters;
+import com.adrienben.games.bagl.opengl.texture.Wrap;
+import com.adrienben.games.bagl.opengl.vertex.VertexArray;
+import com.adrienben.games.bagl.opengl.vertex.VertexBuffer;
+import com.adrienben.games.bagl.opengl.vertex.VertexBufferParams;
+import com.adrienben.games.bagl.opengl.vertex.VertexElement;
+import org.joml.Matrix4fc;
+import org.lwjgl.system.MemoryUtil;
+
+import java.nio.FloatBuffer;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Crowd of animated agents sharing one skinned node of a {@link Model}.
+ * <p>
+ * The animations of the model are baked into a {@link BakedAnimation} stored in an RGBA32F texture when the crowd
+ * is created. Agents do not own any pose, each one only holds:
+ * <ul>
+ * <li>Its transform, relative to the transform of the crowd.
+ * <li>The index of the clip it plays.
+ * <li>A time offset added to the time of the crowd so agents playing the same clip are not synchronized.
+ * </ul>
+ * This per instance data is uploaded into a vertex buffer with a divisor of 1 and each mesh of the node is drawn
+ * for all agents in a single instanced draw call. The vertex shader fetches the joint matrices of the agent from
+ * the texture, so animating the agents costs nothing on the CPU.
+ * <p>
+ * The per instance attributes use the locations following the vertex attributes of {@link Mesh}:
+ * <ul>
+ * <li>{@link Crowd#TRANSFORM_INDEX} to {@code TRANSFORM_INDEX + 3}: the four columns of the transform of the agent.
+ * <li>{@link Crowd#ANIMATION_INDEX}: the clip index and the time offset of the agent.
+ * </ul>
+ * The agents are modified from the thread updating the scene. They are copied before being uploaded by
+ * {@link Crowd#upload(float[], int)} which must be called from the OpenGL thread.
+ *
+ * @author adrien
+ */
+public class Crowd {
+
+    public static final int MAX_CLIP_COUNT = 16;
+    public static final int TRANSFORM_INDEX = 6;
+    public static final int ANIMATION_INDEX = 10;
+    public static final int FLOATS_PER_AGENT = 18;
+    private static final int ELEMENTS_PER_TRANSFORM_COLUMN = 4;
+    private static final int ELEMENTS_PER_ANIMATION = 2;
+    private static final int TRANSFORM_SIZE = 16;
+
+    private final Model model;
+    private final Map<Mesh, Material> meshes;
+    private final BakedAnimation bakedAnimation;
+    private final Texture2D animationTexture;
+    private final int maxAgentCount;
+    private final float[] agents;
+    private final FloatBuffer instanceData;
+    private final VertexBuffer instanceBuffer;
+    private final Map<Mesh, VertexArray> vertexArrays = new HashMap<>();
+    private int agentCount;
+    private float time;
+
+    /**
+     * Construct a crowd.
+     *
+     * @param model         The model of the agents.
+     * @param nodeIndex     The index of the skinned node of the model to render.
+     * @param frameRate     The rate at which the animations of the model are baked.
+     * @param maxAgentCount The maximum number of agents of the crowd.
+     * @throws IllegalArgumentException if the node is not skinned, if the model has no animation or more
+     *                                  than {@link Crowd#MAX_CLIP_COUNT} or if the counts are not positive.
+     */
+    public Crowd(final Model model, final int nodeIndex, final float frameRate, final int maxAgentCount) {
+        this.model = model;
+        this.meshes = model.getNode(nodeIndex).getMeshes();
+        this.bakedAnimation = Validation.validate(AnimationBaker.bake(model, nodeIndex, frameRate),
+                baked -> baked.getClipCount() <= MAX_CLIP_COUNT, "A crowd cannot have more than " + MAX_CLIP_COUNT + " clips");
+        this.maxAgentCount = Validation.validate(maxAgentCount, count -> count > 0, "Max agent count must be positive");
+        this.agents = new float[maxAgentCount * FLOATS_PER_AGENT];
+        this.animationTexture = createAnimationTexture(bakedAnimation);
+        this.instanceData = MemoryUtil.memAllocFloat(maxAgentCount * FLOATS_PER_AGENT);
+        this.instanceBuffer = new VertexBuffer(instanceData, VertexBufferParams.builder()
+                .usage(BufferUsage.STREAM_DRAW)
+                .divisor(1)
+                .element(new VertexElement(TRANSFORM_INDEX, ELEMENTS_PER_TRANSFORM_COLUMN))
+                .element(new VertexElement(TRANSFORM_INDEX + 1, ELEMENTS_PER_TRANSFORM_COLUMN))
+                .element(new VertexElement(TRANSFORM_INDEX + 2, ELEMENTS_PER_TRANSFORM_COLUMN))
+                .element(new VertexElement(TRANSFORM_INDEX + 3, ELEMENTS_PER_TRANSFORM_COLUMN))
+                .element(new VertexElement(ANIMATION_INDEX, ELEMENTS_PER_ANIMATION))
+                .build());
+        meshes.keySet().forEach(mesh -> vertexArrays.put(mesh, createVertexArray(mesh)));
+    }
+
+    private static Texture2D createAnimationTexture(final BakedAnimation bakedAnimation) {
+        final var matrices = bakedAnimation.getMatrices();
+        final var pixels = MemoryUtil.memAllocFloat(matrices.length);
+        pixels.put(matrices).flip();
+        final var texture = new Texture2D(bakedAnimation.getTextureWidth(), bakedAnimation.getTextureHeight(), pixels,
+                TextureParameters.builder()
+                        .format(Format.RGBA32F)
+                        .minFilter(Filter.NEAREST)
+                        .magFilter(Filter.NEAREST)
+                        .sWrap(Wrap.CLAMP_TO_EDGE)
+                        .tWrap(Wrap.CLAMP_TO_EDGE)
+                        .build());
+        MemoryUtil.memFree(pixels);
+        return texture;
+    }
+
+    private VertexArray createVertexArray(final Mesh mesh) {
+        final var vArray = new VertexArray();
+        vArray.bind();
+        mesh.getVertexBuffers().forEach(vArray::attachVertexBuffer);
+        vArray.attachVertexBuffer(instanceBuffer);
+        vArray.unbind();
+        return vArray;
+    }
+
+    /**
+     * Release the resources of the crowd. The model is not destroyed.
+     */
+    public void destroy() {
+        vertexArrays.values().forEach(VertexArray::destroy);
+        instanceBuffer.destroy();
+        MemoryUtil.memFree(instanceData);
+        animationTexture.destroy();
+    }
+
+    /**
+     * Advance the animation time of the crowd.
+     *
+     * @param time The game time.
+     */
+    public void update(final Time time) {
+        this.time += time.getElapsedTime();
+    }
+
+    /**
+     * Add an agent to the crowd.
+     *
+     * @param transform  The transform of the agent relative to the transform of the crowd.
+     * @param clip       The index of the clip played by the agent.
+     * @param timeOffset The time offset of the agent in seconds.
+     * @return The index of the agent.
+     * @throws EngineException if the crowd is full.
+     */
+    public int addAgent(final Matrix4fc transform, final int clip, final float timeOffset) {
+        if (agentCount == maxAgentCount) {
+            throw new EngineException("Cannot add more than " + maxAgentCount + " agents to the crowd");
+        }
+        final var agent = agentCount++;
+        setAgentTransform(agent, transform);
+        setAgentAnimation(agent, clip, timeOffset);
+        return agent;
+    }
+
+    /**
+     * Set the transform of an agent.
+     *
+     * @param agent     The index of the agent.
+     * @param transform The transform of the agent relative to the transform of the crowd.
+     */
+    public void setAgentTransform(final int agent, final Matrix4fc transform) {
+        transform.get(agents, agent * FLOATS_PER_AGENT);
+    }
+
+    /**
+     * Set the clip played by an agent.
+     *
+     * @param agent      The index of the agent.
+     * @param clip       The index of the clip played by the agent.
+     * @param timeOffset The time offset of the agent in seconds.
+     * @throws IllegalArgumentException if the clip does not exist.
+     */
+    public void setAgentAnimation(final int agent, final int clip, final float timeOffset) {
+        Validation.validate(clip, index -> index >= 0 && index < bakedAnimation.getClipCount(), "Clip " + clip + " does not exist");
+        final var offset = agent * FLOATS_PER_AGENT + TRANSFORM_SIZE;
+        agents[offset] = clip;
+        agents[offset + 1] = timeOffset;
+    }
+
+    /**
+     * Remove all the agents.
+     */
+    public void clearAgents() {
+        agentCount = 0;
+    }
+
+    /**
+     * Upload agents into the instance buffer of the crowd.
+     * <p>
+     * This method must be called from the OpenGL thread.
+     *
+     * @param agents     The agents to upload laid out like {@link Crowd#getAgents()}.
+     * @param agentCount The number of agents to upload.
+     */
+    public void upload(final float[] agents, final int agentCount) {
+        instanceData.clear();
+        instanceData.put(agents, 0, agentCount * FLOATS_PER_AGENT).flip();
+        instanceBuffer.bind();
+        instanceBuffer.update(instanceData);
+        instanceBuffer.unbind();
+    }
+
+    public Model getModel() {
+        return model;
+    }
+
+    public Map<Mesh, Material> getMeshes() {
+        return meshes;
+    }
+
+    /**
+     * Get the vertex array containing the vertices of a mesh of the crowd and the per instance data.
+     */
+    public VertexArray getVertexArray(final Mesh mesh) {
+        return vertexArrays.get(mesh);
+    }
+
+    public BakedAnimation getBakedAnimation() {
+        return bakedAnimation;
+    }
+
+    public Texture2D getAnimationTexture() {
+        return animationTexture;
+    }
+
+    public float getTime() {
+        return time;
+    }
+
+    public int getAgentCount() {
+        return agentCount;
+    }
+
+    /**
+     * Get the data of the agents, {@link Crowd#FLOATS_PER_AGENT} floats per agent. The array must not be modified.
+     */
+    public float[] getAgents() {
+        return agents;
+    }
+}
@@ -5,10 +5,13 @@ import com.adrienben.games.bagl.core.io.ResourcePath;
 import com.adrienben.games.bagl.core.math.MathUtils;
 import com.adrienben.games.bagl.engine.Configuration;
 import com.adrienben.games.bagl.engine.camera.Camera;
+import com.adrienben.games.bagl.engine.profiling.EnvironmentMapGenerationEvent;
 import com.adrienben.games.bagl.engine.rendering.model.Mesh;
 import com.adrienben.games.bagl.engine.rendering.model.MeshFactory;
 import com.adrienben.games.bagl.opengl.FrameBuffer;
 import com.adrienben.games.bagl.opengl.FrameBufferParameters;
+import com.adrienben.games.bagl.opengl.PrimitiveType;
+import com.adrienben.games.bagl.opengl.profiling.FrameCounters;
 import com.adrienben.games.bagl.opengl.shader.Shader;
 import com.adrienben.games.bagl.opengl.texture.*;
 import org.joml.Vector3f;
@@ -87,6 +90,8 @@ public class EnvironmentMapGenerator {
      * @return An {@link Cubemap}
      */
     public Cubemap generateEnvironmentMap(final ResourcePath path) {
+        final var event = new EnvironmentMapGenerationEvent();
+        event.begin();
         final var params = TextureParameters.builder()
                 .sWrap(Wrap.CLAMP_TO_EDGE)
                 .tWrap(Wrap.CLAMP_TO_EDGE);
@@ -109,6 +114,7 @@ public class EnvironmentMapGenerator {
         cubemap.unbind();
 
         equirectangularMap.destroy();
+        commitEvent(event, "environment", ENVIRONMENT_MAP_RESOLUTION);
         return cubemap;
     }
 
@@ -119,6 +125,8 @@ public class EnvironmentMapGenerator {
      * @return An {@link Cubemap}
      */
     public Cubemap generateIrradianceMap(final Cubemap environmentMap) {
+        final var event = new EnvironmentMapGenerationEvent();
+        event.begin();
         final var cubemap = new Cubemap(IRRADIANCE_MAP_RESOLUTION, IRRADIANCE_MAP_RESOLUTION,
                 TextureParameters.builder().format(Format.RGB16F).build());
         environmentMap.bind();
@@ -126,6 +134,7 @@ public class EnvironmentMapGenerator {
         this.renderToCubemap(cubemap, 0, this.irradianceShader, this.irradianceFrameBuffer);
         environmentMap.unbind();
         Shader.unbind();
+        commitEvent(event, "irradiance", IRRADIANCE_MAP_RESOLUTION);
         return cubemap;
     }
 
@@ -136,6 +145,8 @@ public class EnvironmentMapGenerator {
      * @return An {@link Cubemap}
      */
     public Cubemap generatePreFilteredMap(final Cubemap environmentMap) {
+        final var event = new EnvironmentMapGenerationEvent();
+        event.begin();
         final var cubemapParams = TextureParameters.builder()
                 .format(Format.RGB16F)
                 .mipmaps(true)
@@ -154,9 +165,18 @@ public class EnvironmentMapGenerator {
         environmentMap.unbind();
         Shader.unbind();
 
+        commitEvent(event, "pre_filtered", PRE_FILTERED_MAP_RESOLUTION);
         return cubemap;
     }
 
+    private static void commitEvent(final EnvironmentMapGenerationEvent event, final String mapType, final int resolution) {
+        if (event.shouldCommit()) {
+            event.mapType = mapType;
+            event.resolution = resolution;
+            event.commit();
+        }
+    }
+
     /**
      * Render a scene in a cubemap
      *
@@ -182,6 +202,7 @@ public class EnvironmentMapGenerator {
             shader.setUniform("viewProj", this.cameras[i].getViewProjAtOrigin());
 
             glDrawElements(GL_TRIANGLES, iBuffer.getSize(), iBuffer.getDataType().getGlCode(), 0);
+            FrameCounters.countDrawCall(PrimitiveType.TRIANGLES, iBuffer.getSize());
         }
         glViewport(0, 0, Configuration.getInstance().getXResolution(), Configuration.getInstance().getYResolution());
 
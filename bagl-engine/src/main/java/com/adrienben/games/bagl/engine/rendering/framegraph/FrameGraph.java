@@ -0,0 +1,288 @@
+package com.adrienben.games.bagl.engine.rendering.framegraph;
+
+import com.adrienben.games.bagl.core.exception.EngineException;
+import com.adrienben.games.bagl.core.validation.Validation;
+import com.adrienben.games.bagl.opengl.FrameBuffer;
+import com.adrienben.games.bagl.opengl.profiling.FrameCounters;
+import com.adrienben.games.bagl.opengl.profiling.GpuProfiler;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Graph of the rendering passes of a frame.
+ * <p>
+ * Passes are added in execution order and declare the resources they read and write. Before
+ * being executed the graph is compiled :
+ * <li>Passes whose outputs are never read are culled, unless they have side effects or write an imported resource.
+ * Culling a pass can make the passes producing its inputs useless so they are culled as well.</li>
+ * <li>The lifetime of each transient resource is computed from the first to the last pass using it.</li>
+ * <li>Transient resources with the same {@link RenderTargetDescription} and non overlapping lifetimes are
+ * aliased on the same render target.</li>
+ * <p>
+ * On execution, the render targets are acquired from a {@link RenderTargetAllocator} and released
+ * once all the passes are executed. Each pass is profiled in a scope named after the pass.
+ * <p>
+ * The graph can be cleared and rebuilt each frame. Compilation does not perform any OpenGL call.
+ *
+ * @author adrien
+ */
+public class FrameGraph {
+
+    private final List<FrameGraphPass> passes = new ArrayList<>();
+    private final List<FrameGraphResource> resources = new ArrayList<>();
+    private final List<FrameGraphPass> executedPasses = new ArrayList<>();
+    private final List<RenderTargetDescription> targets = new ArrayList<>();
+    private GpuProfiler profiler;
+    private boolean compiled;
+
+    /**
+     * Create a transient render target.
+     *
+     * @param name        The name of the resource.
+     * @param description The description of the render target.
+     * @return The created resource.
+     */
+    public FrameGraphResource createRenderTarget(final String name, final RenderTargetDescription description) {
+        Validation.validate(description, Objects::nonNull, "A transient render target needs a description");
+        return addResource(FrameGraphResource.transientResource(name, description));
+    }
+
+    /**
+     * Import a resource owned outside of the graph.
+     * <p>
+     * Passes can read and write imported resources but cannot access them through {@link FrameGraphResources}.
+     *
+     * @param name The name of the resource.
+     * @return The imported resource.
+     */
+    public FrameGraphResource importResource(final String name) {
+        return addResource(FrameGraphResource.importedResource(name, null));
+    }
+
+    /**
+     * Import a frame buffer owned outside of the graph.
+     *
+     * @param name        The name of the resource.
+     * @param frameBuffer The imported frame buffer.
+     * @return The imported resource.
+     */
+    public FrameGraphResource importRenderTarget(final String name, final FrameBuffer frameBuffer) {
+        Validation.validate(frameBuffer, Objects::nonNull, "Imported frame buffer cannot be null");
+        return addResource(FrameGraphResource.importedResource(name, frameBuffer));
+    }
+
+    private FrameGraphResource addResource(final FrameGraphResource resource) {
+        resources.add(resource);
+        invalidate();
+        return resource;
+    }
+
+    /**
+     * Add a pass at the end of the graph.
+     *
+     * @param name     The name of the pass.
+     * @param executor The work of the pass.
+     * @return The added pass on which inputs and outputs must be declared.
+     */
+    public FrameGraphPass addPass(final String name, final Consumer<FrameGraphResources> executor) {
+        Validation.validate(executor, Objects::nonNull, "A pass needs an executor");
+        final var pass = new FrameGraphPass(this, name, executor);
+        passes.add(pass);
+        invalidate();
+        return pass;
+    }
+
+    /**
+     * Remove all passes and resources.
+     */
+    public void clear() {
+        passes.clear();
+        resources.clear();
+        executedPasses.clear();
+        targets.clear();
+        invalidate();
+    }
+
+    void invalidate() {
+        compiled = false;
+    }
+
+    boolean contains(final FrameGraphResource resource) {
+        return resources.contains(resource);
+    }
+
+    /**
+     * Cull the useless passes and allocate the transient resources.
+     *
+     * @throws EngineException If a transient resource is read before being written.
+     */
+    public void compile() {
+        passes.forEach(FrameGraphPass::reset);
+        resources.forEach(FrameGraphResource::reset);
+        cullPasses();
+        computeLifetimes();
+        allocateTargets();
+        compiled = true;
+    }
+
+    private void cullPasses() {
+        final var unreferencedResources = new ArrayDeque<FrameGraphResource>();
+        for (final var resource : resources) {
+            if (resource.isUnreferenced()) {
+                unreferencedResources.push(resource);
+            }
+        }
+        for (final var pass : passes) {
+            if (pass.isUnreferenced()) {
+                cull(pass, unreferencedResources);
+            }
+        }
+        while (!unreferencedResources.isEmpty()) {
+            for (final var writer : unreferencedResources.pop().getWriters()) {
+                if (!writer.isCulled() && writer.decrementReferenceCount() == 0 && writer.isUnreferenced()) {
+                    cull(writer, unreferencedResources);
+                }
+            }
+        }
+    }
+
+    private void cull(final FrameGraphPass pass, final Deque<FrameGraphResource> unreferencedResources) {
+        pass.cull();
+        for (final var read : pass.getReads()) {
+            if (read.decrementReferenceCount() == 0) {
+                unreferencedResources.push(read);
+            }
+        }
+    }
+
+    private void computeLifetimes() {
+        executedPasses.clear();
+        for (final var pass : passes) {
+            if (pass.isCulled()) {
+                continue;
+            }
+            final var index = executedPasses.size();
+            for (final var read : pass.getReads()) {
+                if (!read.isImported() && read.getFirstUse() < 0) {
+                    throw new EngineException("Resource " + read.getName() + " is read by pass " + pass.getName() + " before being written");
+                }
+                read.use(index);
+            }
+            pass.getWrites().forEach(write -> write.use(index));
+            executedPasses.add(pass);
+        }
+    }
+
+    private void allocateTargets() {
+        targets.clear();
+        final var freeTargets = new HashMap<RenderTargetDescription, Deque<Integer>>();
+        for (int index = 0; index < executedPasses.size(); index++) {
+            final var pass = executedPasses.get(index);
+            for (final var write : pass.getWrites()) {
+                if (!write.isImported() && write.getFirstUse() == index) {
+                    write.setTarget(obtainTarget(write.getDescription(), freeTargets));
+                }
+            }
+            for (final var resource : getUsedResources(pass)) {
+                if (!resource.isImported() && resource.getLastUse() == index) {
+                    freeTargets.computeIfAbsent(resource.getDescription(), key -> new ArrayDeque<>()).push(resource.getTarget());
+                }
+            }
+        }
+    }
+
+    private int obtainTarget(final RenderTargetDescription description, final Map<RenderTargetDescription, Deque<Integer>> freeTargets) {
+        final var free = freeTargets.get(description);
+        if (Objects.nonNull(free) && !free.isEmpty()) {
+            return free.pop();
+        }
+        targets.add(description);
+        return targets.size() - 1;
+    }
+
+    private static Set<FrameGraphResource> getUsedResources(final FrameGraphPass pass) {
+        final var used = new LinkedHashSet<>(pass.getReads());
+        used.addAll(pass.getWrites());
+        return used;
+    }
+
+    /**
+     * Execute the passes that were not culled, compiling the graph first if needed.
+     *
+     * @param allocator The allocator providing the render targets of the transient resources.
+     */
+    public void execute(final RenderTargetAllocator allocator) {
+        if (!compiled) {
+            compile();
+        }
+        final var frameBuffers = new FrameBuffer[targets.size()];
+        for (int i = 0; i < frameBuffers.length; i++) {
+            frameBuffers[i] = allocator.acquire(targets.get(i));
+        }
+        try {
+            final var passResources = new FrameGraphResources(frameBuffers);
+            executedPasses.forEach(pass -> execute(pass, passResources));
+        } finally {
+            for (int i = 0; i < frameBuffers.length; i++) {
+                allocator.release(targets.get(i), frameBuffers[i]);
+            }
+        }
+    }
+
+    private void execute(final FrameGraphPass pass, final FrameGraphResources passResources) {
+        if (Objects.nonNull(profiler)) {
+            profiler.begin(pass.getName());
+        }
+        FrameCounters.beginPass(pass.getName());
+        pass.execute(passResources);
+        FrameCounters.endPass();
+        if (Objects.nonNull(profiler)) {
+            profiler.end();
+        }
+    }
+
+    /**
+     * Set the profiler used to time each pass.
+     *
+     * @param profiler The profiler to use. Can be null to disable profiling.
+     */
+    public void setProfiler(final GpuProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    public List<FrameGraphPass> getPasses() {
+        return Collections.unmodifiableList(passes);
+    }
+
+    /**
+     * Get the passes executed in order, as computed by the last compilation.
+     */
+    public List<FrameGraphPass> getExecutedPasses() {
+        return Collections.unmodifiableList(executedPasses);
+    }
+
+    /**
+     * Get the number of render targets allocated for the transient resources by the last compilation.
+     */
+    public int getTargetCount() {
+        return targets.size();
+    }
+
+    /**
+     * Get the memory of the render targets allocated by the last compilation, in bytes.
+     */
+    public long getTargetMemorySize() {
+        return targets.stream().mapToLong(RenderTargetDescription::getMemorySize).sum();
+    }
+
+    /**
+     * Get the memory the transient resources used by the last compilation would need without aliasing, in bytes.
+     */
+    public long getUnaliasedMemorySize() {
+        return resources.stream()
+                .filter(resource -> !resource.isImported() && resource.getTarget() >= 0)
+                .mapToLong(resource -> resource.getDescription().getMemorySize())
+                .sum();
+    }
+}
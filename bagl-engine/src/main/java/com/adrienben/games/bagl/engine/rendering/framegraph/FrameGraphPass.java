@@ -0,0 +1,116 @@
+package com.adrienben.games.bagl.engine.rendering.framegraph;
+
+import com.adrienben.games.bagl.core.validation.Validation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Pass of a {@link FrameGraph}.
+ * <p>
+ * A pass declares the resources it reads and writes. These declarations are used to order,
+ * cull and allocate resources. A pass is culled when nothing uses what it writes unless it is
+ * flagged as having side effects. For example a pass rendering into the default frame buffer.
+ *
+ * @author adrien
+ */
+public class FrameGraphPass {
+
+    private final FrameGraph graph;
+    private final String name;
+    private final Consumer<FrameGraphResources> executor;
+    private final List<FrameGraphResource> reads = new ArrayList<>();
+    private final List<FrameGraphResource> writes = new ArrayList<>();
+    private boolean sideEffect;
+    private boolean culled;
+    private int referenceCount;
+
+    FrameGraphPass(final FrameGraph graph, final String name, final Consumer<FrameGraphResources> executor) {
+        this.graph = graph;
+        this.name = name;
+        this.executor = executor;
+    }
+
+    /**
+     * Declare that the pass reads {@code resource}.
+     *
+     * @return This.
+     */
+    public FrameGraphPass read(final FrameGraphResource resource) {
+        validateResource(resource);
+        reads.add(resource);
+        resource.addReader(this);
+        graph.invalidate();
+        return this;
+    }
+
+    /**
+     * Declare that the pass writes {@code resource}.
+     *
+     * @return This.
+     */
+    public FrameGraphPass write(final FrameGraphResource resource) {
+        validateResource(resource);
+        writes.add(resource);
+        resource.addWriter(this);
+        graph.invalidate();
+        return this;
+    }
+
+    private void validateResource(final FrameGraphResource resource) {
+        Validation.validate(resource, graph::contains, "The resources of a pass must belong to the same graph");
+    }
+
+    /**
+     * Flag the pass as having side effects so it is never culled.
+     *
+     * @return This.
+     */
+    public FrameGraphPass sideEffect() {
+        sideEffect = true;
+        graph.invalidate();
+        return this;
+    }
+
+    void reset() {
+        referenceCount = writes.size();
+        culled = false;
+    }
+
+    int decrementReferenceCount() {
+        return --referenceCount;
+    }
+
+    boolean isUnreferenced() {
+        return referenceCount == 0 && !sideEffect;
+    }
+
+    void cull() {
+        culled = true;
+    }
+
+    void execute(final FrameGraphResources resources) {
+        executor.accept(resources);
+    }
+
+    List<FrameGraphResource> getReads() {
+        return Collections.unmodifiableList(reads);
+    }
+
+    List<FrameGraphResource> getWrites() {
+        return Collections.unmodifiableList(writes);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Check whether the pass was culled during the last compilation of the graph.
+     */
+    public boolean isCulled() {
+        return culled;
+    }
+}
@@ -0,0 +1,122 @@
+package com.adrienben.games.bagl.engine.rendering.framegraph;
+
+import com.adrienben.games.bagl.opengl.FrameBuffer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resource of a {@link FrameGraph}.
+ * <p>
+ * A resource is either transient or imported. Transient resources are render targets
+ * allocated by the graph for the duration of the frame. Imported resources are owned
+ * outside of the graph, they are only used to order the passes and are never culled.
+ *
+ * @author adrien
+ */
+public class FrameGraphResource {
+
+    private final String name;
+    private final RenderTargetDescription description;
+    private final FrameBuffer importedFrameBuffer;
+    private final boolean imported;
+    private final List<FrameGraphPass> writers = new ArrayList<>();
+    private final List<FrameGraphPass> readers = new ArrayList<>();
+    private int referenceCount;
+    private int firstUse;
+    private int lastUse;
+    private int target;
+
+    private FrameGraphResource(final String name, final RenderTargetDescription description, final FrameBuffer importedFrameBuffer,
+                               final boolean imported) {
+        this.name = name;
+        this.description = description;
+        this.importedFrameBuffer = importedFrameBuffer;
+        this.imported = imported;
+    }
+
+    static FrameGraphResource transientResource(final String name, final RenderTargetDescription description) {
+        return new FrameGraphResource(name, description, null, false);
+    }
+
+    static FrameGraphResource importedResource(final String name, final FrameBuffer frameBuffer) {
+        return new FrameGraphResource(name, null, frameBuffer, true);
+    }
+
+    /**
+     * Reset the state computed during the compilation of the graph.
+     */
+    void reset() {
+        referenceCount = readers.size() + (imported ? 1 : 0);
+        firstUse = -1;
+        lastUse = -1;
+        target = -1;
+    }
+
+    void addWriter(final FrameGraphPass pass) {
+        writers.add(pass);
+    }
+
+    void addReader(final FrameGraphPass pass) {
+        readers.add(pass);
+    }
+
+    List<FrameGraphPass> getWriters() {
+        return writers;
+    }
+
+    int decrementReferenceCount() {
+        return --referenceCount;
+    }
+
+    boolean isUnreferenced() {
+        return referenceCount == 0;
+    }
+
+    void use(final int passIndex) {
+        if (firstUse < 0) {
+            firstUse = passIndex;
+        }
+        lastUse = passIndex;
+    }
+
+    int getFirstUse() {
+        return firstUse;
+    }
+
+    int getLastUse() {
+        return lastUse;
+    }
+
+    void setTarget(final int target) {
+        this.target = target;
+    }
+
+    FrameBuffer getImportedFrameBuffer() {
+        return importedFrameBuffer;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Get the description of the render target. It is null for imported resources.
+     */
+    public RenderTargetDescription getDescription() {
+        return description;
+    }
+
+    public boolean isImported() {
+        return imported;
+    }
+
+    /**
+     * Get the index of the render target allocated for this resource during the last compilation of the graph.
+     * <p>
+     * Resources sharing the same index are aliased. It is -1 for imported and unused resources.
+     */
+    public int getTarget() {
+        return target;
+    }
+}
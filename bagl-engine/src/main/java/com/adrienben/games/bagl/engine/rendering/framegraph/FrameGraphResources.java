@@ -0,0 +1,46 @@
+package com.adrienben.games.bagl.engine.rendering.framegraph;
+
+import com.adrienben.games.bagl.core.exception.EngineException;
+import com.adrienben.games.bagl.opengl.FrameBuffer;
+import com.adrienben.games.bagl.opengl.texture.Texture2D;
+
+import java.util.Objects;
+
+/**
+ * Resources available to a {@link FrameGraphPass} during its execution.
+ *
+ * @author adrien
+ */
+public class FrameGraphResources {
+
+    private final FrameBuffer[] targets;
+
+    FrameGraphResources(final FrameBuffer[] targets) {
+        this.targets = targets;
+    }
+
+    /**
+     * Get the frame buffer backing {@code resource}.
+     *
+     * @throws EngineException If the resource is imported without frame buffer.
+     */
+    public FrameBuffer getFrameBuffer(final FrameGraphResource resource) {
+        if (resource.isImported()) {
+            final var frameBuffer = resource.getImportedFrameBuffer();
+            if (Objects.isNull(frameBuffer)) {
+                throw new EngineException("Resource " + resource.getName() + " is not backed by a frame buffer");
+            }
+            return frameBuffer;
+        }
+        return targets[resource.getTarget()];
+    }
+
+    /**
+     * Get the color texture of the frame buffer backing {@code resource}.
+     *
+     * @see FrameGraphResources#getFrameBuffer(FrameGraphResource)
+     */
+    public Texture2D getTexture(final FrameGraphResource resource) {
+        return getFrameBuffer(resource).getColorTexture(0);
+    }
+}
@@ -0,0 +1,21 @@
+package com.adrienben.games.bagl.engine.rendering.framegraph;
+
+import com.adrienben.games.bagl.opengl.FrameBuffer;
+
+/**
+ * Provides the render targets of the transient resources of a {@link FrameGraph}.
+ *
+ * @author adrien
+ */
+public interface RenderTargetAllocator {
+
+    /**
+     * Get a render target matching {@code description}.
+     */
+    FrameBuffer acquire(RenderTargetDescription description);
+
+    /**
+     * Give back a render target previously acquired with the same {@code description}.
+     */
+    void release(RenderTargetDescription description, FrameBuffer target);
+}
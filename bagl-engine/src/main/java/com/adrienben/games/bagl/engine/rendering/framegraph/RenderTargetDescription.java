@@ -0,0 +1,41 @@
+package com.adrienben.games.bagl.engine.rendering.framegraph;
+
+import com.adrienben.games.bagl.core.validation.Validation;
+import com.adrienben.games.bagl.opengl.FrameBufferParameters;
+import com.adrienben.games.bagl.opengl.texture.Format;
+
+import java.util.Objects;
+
+/**
+ * Description of a transient render target.
+ * <p>
+ * Transient render targets have one color output and no depth buffer. Two resources with
+ * equal descriptions can share the same render target.
+ *
+ * @param width  The width of the target in pixels.
+ * @param height The height of the target in pixels.
+ * @param format The format of the color output.
+ * @author adrien
+ */
+public record RenderTargetDescription(int width, int height, Format format) {
+
+    public RenderTargetDescription {
+        Validation.validate(width, value -> value > 0, "Width must be strictly positive");
+        Validation.validate(height, value -> value > 0, "Height must be strictly positive");
+        Validation.validate(format, Objects::nonNull, "Format cannot be null");
+    }
+
+    /**
+     * Get the parameters of a frame buffer matching this description.
+     */
+    public FrameBufferParameters toFrameBufferParameters() {
+        return FrameBufferParameters.builder().depthStencilTextureParameters(null).colorOutputFormat(format).build();
+    }
+
+    /**
+     * Get the memory used by a render target matching this description, in bytes.
+     */
+    public long getMemorySize() {
+        return (long) width * height * format.getBytesPerPixel();
+    }
+}
@@ -0,0 +1,59 @@
+package com.adrienben.games.bagl.engine.rendering.framegraph;
+
+import com.adrienben.games.bagl.opengl.FrameBuffer;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Pool of render targets.
+ * <p>
+ * Released targets are kept and handed over to the next request with the same description so
+ * transient resources do not allocate GPU memory once the pool is warm.
+ *
+ * @author adrien
+ */
+public class RenderTargetPool implements RenderTargetAllocator {
+
+    private final Map<RenderTargetDescription, Deque<FrameBuffer>> availableTargets = new HashMap<>();
+    private long memorySize;
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Create a new target if none is available for {@code description}.
+     */
+    @Override
+    public FrameBuffer acquire(final RenderTargetDescription description) {
+        final var target = availableTargets.computeIfAbsent(description, key -> new ArrayDeque<>()).poll();
+        if (Objects.nonNull(target)) {
+            return target;
+        }
+        memorySize += description.getMemorySize();
+        return new FrameBuffer(description.width(), description.height(), description.toFrameBufferParameters());
+    }
+
+    @Override
+    public void release(final RenderTargetDescription description, final FrameBuffer target) {
+        availableTargets.computeIfAbsent(description, key -> new ArrayDeque<>()).push(target);
+    }
+
+    /**
+     * Destroy all the available targets.
+     */
+    public void destroy() {
+        availableTargets.values().forEach(targets -> targets.forEach(FrameBuffer::destroy));
+        availableTargets.clear();
+        memorySize = 0;
+    }
+
+    /**
+     * Get the memory allocated by the pool, in bytes.
+     */
+    public long getMemorySize() {
+        return memorySize;
+    }
+}
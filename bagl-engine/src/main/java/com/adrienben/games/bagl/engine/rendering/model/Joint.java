@@ -1,44 +1,40 @@
 package com.adrienben.games.bagl.engine.rendering.model;
 
-import com.adrienben.games.bagl.engine.Transform;
+import com.adrienben.games.bagl.core.validation.Validation;
 import org.joml.Matrix4f;
+import org.joml.Matrix4fc;
+
+import java.util.Objects;
 
 /**
  * Mesh skinning joint.
  * <p>
- * Represent the transformation to apply to mesh vertices to perform mesh skinning.
+ * Represent the node whose transformation is applied to mesh vertices to perform mesh skinning. Joints are part
+ * of the shared data of a {@link Model}, the joint matrices themselves are computed by each {@link ModelInstance}.
  *
  * @author adrien
  */
 public class Joint {
 
-    private final Transform tranform;
+    private final int nodeIndex;
     private final Matrix4f inverseBindMatrix;
-    private final Matrix4f jointMatrix = new Matrix4f();
 
     /**
      * Construct a joint.
      *
-     * @param tranform          The global transform of the node.
+     * @param nodeIndex         The index of the node of the joint in its model.
      * @param inverseBindMatrix The inverse bind matrix used to bring vertices to the node space.
      */
-    public Joint(final Transform tranform, final Matrix4f inverseBindMatrix) {
-        this.tranform = tranform;
-        this.inverseBindMatrix = inverseBindMatrix;
+    public Joint(final int nodeIndex, final Matrix4fc inverseBindMatrix) {
+        this.nodeIndex = Validation.validate(nodeIndex, index -> index >= 0, "Node index must be positive");
+        this.inverseBindMatrix = new Matrix4f(Objects.requireNonNull(inverseBindMatrix));
     }
 
-    /***
-     * Compute the actual matrix to apply the the skinned vertices.
-     *
-     * @param meshGlobalTransform The global transform of the mesh.
-     */
-    public void computeJointMatrix(final Transform meshGlobalTransform) {
-        meshGlobalTransform.getTransformMatrix().invert(jointMatrix);
-        jointMatrix.mul(tranform.getTransformMatrix());
-        jointMatrix.mul(inverseBindMatrix);
+    public int getNodeIndex() {
+        return nodeIndex;
     }
 
-    public Matrix4f getJointMatrix() {
-        return jointMatrix;
+    public Matrix4fc getInverseBindMatrix() {
+        return inverseBindMatrix;
     }
 }
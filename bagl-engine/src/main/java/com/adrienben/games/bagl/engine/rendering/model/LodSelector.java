@@ -0,0 +1,110 @@
+package com.adrienben.games.bagl.engine.rendering.model;
+
+import com.adrienben.games.bagl.engine.Configuration;
+import com.adrienben.games.bagl.engine.Transform;
+import com.adrienben.games.bagl.engine.camera.Camera;
+import org.joml.Vector3f;
+
+/**
+ * Mesh level of detail selector.
+ * <p>
+ * The level of detail of a mesh is selected from the projected size of its bounding sphere. The error
+ * of each {@link MeshLod} is relative to the radius of the bounding sphere, so its projected error in
+ * pixels is its error multiplied by the projected radius of the sphere. The selected level is the
+ * coarsest one whose projected error does not exceed the configured pixel error.
+ * <p>
+ * Shadow maps use coarser levels than the camera. The shadow level of a mesh is its selected level plus
+ * the configured shadow bias.
+ * <p>
+ * {@link LodSelector#setCamera(Camera, int)} must be called each frame before selecting levels of detail.
+ * It also resets the {@link LodStatistics}.
+ *
+ * @author adrien
+ */
+public class LodSelector {
+
+    private final float pixelError;
+    private final int shadowBias;
+    private final LodStatistics statistics;
+    private final Vector3f cameraPosition;
+    private final Vector3f worldCenter;
+    private float projectionFactor;
+
+    /**
+     * Construct a selector using the engine configuration.
+     */
+    public LodSelector() {
+        this(Configuration.getInstance().getLodPixelError(), Configuration.getInstance().getLodShadowBias());
+    }
+
+    public LodSelector(final float pixelError, final int shadowBias) {
+        this.pixelError = pixelError;
+        this.shadowBias = shadowBias;
+        this.statistics = new LodStatistics();
+        this.cameraPosition = new Vector3f();
+        this.worldCenter = new Vector3f();
+    }
+
+    /**
+     * Set the camera from which levels of details are selected.
+     *
+     * @param camera         The camera.
+     * @param viewportHeight The height of the viewport in pixels.
+     */
+    public void setCamera(final Camera camera, final int viewportHeight) {
+        cameraPosition.set(camera.getPosition());
+        projectionFactor = viewportHeight / (2f * (float) Math.tan(camera.getFov() * 0.5f));
+        statistics.reset();
+    }
+
+    /**
+     * Select the level of detail of {@code mesh}.
+     *
+     * @param mesh      The mesh.
+     * @param transform The world transform of the mesh.
+     * @return The selected level of detail.
+     */
+    public int select(final Mesh mesh, final Transform transform) {
+        final var lod = computeLod(mesh, transform);
+        statistics.recordSelection(mesh, lod);
+        return lod;
+    }
+
+    private int computeLod(final Mesh mesh, final Transform transform) {
+        if (mesh.getLodCount() <= 1 || mesh.getBoundingSphere().isEmpty()) {
+            return 0;
+        }
+
+        final var sphere = mesh.getBoundingSphere().get();
+        transform.getTransformMatrix().transformPosition(sphere.x, sphere.y, sphere.z, worldCenter);
+        final var scale = transform.getScale();
+        final var radius = sphere.r * Math.max(Math.abs(scale.x()), Math.max(Math.abs(scale.y()), Math.abs(scale.z())));
+        final var distance = worldCenter.distance(cameraPosition);
+        if (distance <= radius) {
+            return 0;
+        }
+
+        final var projectedRadius = radius * projectionFactor / distance;
+        for (var lod = mesh.getLodCount() - 1; lod > 0; lod--) {
+            if (mesh.getLod(lod).error() * projectedRadius <= pixelError) {
+                return lod;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Select the level of detail of {@code mesh} to use when rendering shadows.
+     *
+     * @param mesh The mesh.
+     * @param lod  The level of detail selected for the camera.
+     * @return The level of detail to use for shadows.
+     */
+    public int selectShadowLod(final Mesh mesh, final int lod) {
+        return Math.max(0, Math.min(lod + shadowBias, mesh.getLodCount() - 1));
+    }
+
+    public LodStatistics getStatistics() {
+        return statistics;
+    }
+}
@@ -0,0 +1,70 @@
+package com.adrienben.games.bagl.engine.rendering.model;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Statistics about the levels of detail selected during a frame.
+ * <p>
+ * It counts how many times each level was selected and compares the number of triangles
+ * that will be rendered with the number that would have been rendered without LODs.
+ *
+ * @author adrien
+ */
+public class LodStatistics {
+
+    public static final int MAX_TRACKED_LODS = 8;
+
+    private final int[] selectionCounts = new int[MAX_TRACKED_LODS];
+    private long renderedTriangleCount;
+    private long fullDetailTriangleCount;
+
+    /**
+     * Compute the memory used by the additional levels of detail of {@code meshes}.
+     *
+     * @param meshes The meshes.
+     * @return The memory used by the indices of the levels of detail in bytes.
+     */
+    public static long computeLodMemorySize(final Collection<Mesh> meshes) {
+        return meshes.stream()
+                .flatMap(mesh -> mesh.getLods().stream().skip(1))
+                .mapToLong(MeshLod::getMemorySize)
+                .sum();
+    }
+
+    void reset() {
+        Arrays.fill(selectionCounts, 0);
+        renderedTriangleCount = 0;
+        fullDetailTriangleCount = 0;
+    }
+
+    void recordSelection(final Mesh mesh, final int lod) {
+        selectionCounts[Math.min(lod, MAX_TRACKED_LODS - 1)]++;
+        if (mesh.getLodCount() > 0) {
+            renderedTriangleCount += mesh.getLod(lod).getTriangleCount();
+            fullDetailTriangleCount += mesh.getLod(0).getTriangleCount();
+        }
+    }
+
+    /**
+     * Get the number of times {@code lod} was selected. Levels above {@value #MAX_TRACKED_LODS} - 1 are
+     * counted with the last tracked level.
+     */
+    public int getSelectionCount(final int lod) {
+        return selectionCounts[lod];
+    }
+
+    public long getRenderedTriangleCount() {
+        return renderedTriangleCount;
+    }
+
+    public long getFullDetailTriangleCount() {
+        return fullDetailTriangleCount;
+    }
+
+    @Override
+    public String toString() {
+        return "LOD selections " + Arrays.toString(selectionCounts) + ", triangles "
+                + renderedTriangleCount + "/" + fullDetailTriangleCount;
+    }
+}
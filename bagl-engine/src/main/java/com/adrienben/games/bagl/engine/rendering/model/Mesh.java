@@ -6,6 +6,7 @@ import com.adrienben.games.bagl.opengl.PrimitiveType;
 import com.adrienben.games.bagl.opengl.vertex.IndexBuffer;
 import com.adrienben.games.bagl.opengl.vertex.VertexArray;
 import com.adrienben.games.bagl.opengl.vertex.VertexBuffer;
+import org.joml.primitives.Spheref;
 
 import java.util.*;
 
@@ -14,6 +15,11 @@ import java.util.*;
  * <p>
  * Mesh are created using the {@link Mesh.Builder} class. You can get a
  * builder instance by calling {@link Mesh#builder()}.
+ * <p>
+ * An indexed mesh can have several levels of detail ({@link MeshLod}). Level 0 is the
+ * full detail mesh. The other levels share the vertex buffers of the mesh and only come
+ * with their own index buffer. Levels of detail can only be selected if the mesh has
+ * a bounding sphere.
  *
  * @author adrien
  */
@@ -38,6 +44,8 @@ public class Mesh {
     private final int vertexCount;
     private final IndexBuffer iBuffer;
     private final PrimitiveType primitiveType;
+    private final List<MeshLod> lods;
+    private final Spheref boundingSphere;
 
     private Mesh(final Builder builder) {
         this.vBuffers = new ArrayList<>(Validation.validate(builder.vertexBuffers, CollectionUtils::isNotEmpty, "Mesh requires at least one vertex buffer"));
@@ -45,6 +53,19 @@ public class Mesh {
         this.vertexCount = this.vBuffers.get(0).getVertexCount();
         this.iBuffer = builder.indexBuffer;
         this.primitiveType = builder.primitiveType;
+        this.lods = createLods(builder);
+        this.boundingSphere = builder.boundingSphere;
+    }
+
+    private List<MeshLod> createLods(final Builder builder) {
+        if (Objects.isNull(this.iBuffer)) {
+            Validation.validate(builder.lods, List::isEmpty, "Only indexed meshes can have levels of detail");
+            return List.of();
+        }
+        final var lods = new ArrayList<MeshLod>();
+        lods.add(new MeshLod(this.iBuffer, 0f));
+        lods.addAll(builder.lods);
+        return Collections.unmodifiableList(lods);
     }
 
     private VertexArray generateVertexArray() {
@@ -71,6 +92,15 @@ public class Mesh {
         if (Objects.nonNull(this.iBuffer)) {
             this.iBuffer.destroy();
         }
+        this.lods.stream().skip(1).map(MeshLod::indexBuffer).forEach(IndexBuffer::destroy);
+    }
+
+    /**
+     * Get the vertex buffers of the mesh. They can be attached to another vertex array to
+     * render the mesh with additional per instance data.
+     */
+    public List<VertexBuffer> getVertexBuffers() {
+        return Collections.unmodifiableList(this.vBuffers);
     }
 
     public VertexArray getVertexArray() {
@@ -89,6 +119,32 @@ public class Mesh {
         return this.vertexCount;
     }
 
+    /**
+     * Get the number of levels of detail of the mesh. It is 1 if the mesh has no LOD and 0 if
+     * it is not indexed.
+     */
+    public int getLodCount() {
+        return this.lods.size();
+    }
+
+    /**
+     * Get a level of detail of the mesh.
+     *
+     * @param lod The level to get, 0 being the full detail mesh.
+     * @return The level of detail.
+     */
+    public MeshLod getLod(final int lod) {
+        return this.lods.get(lod);
+    }
+
+    public List<MeshLod> getLods() {
+        return this.lods;
+    }
+
+    public Optional<Spheref> getBoundingSphere() {
+        return Optional.ofNullable(this.boundingSphere);
+    }
+
     /**
      * Mesh builder.
      * <p>
@@ -96,12 +152,16 @@ public class Mesh {
      * <li>vertexBuffers (at least one required)</li>
      * <li>indexBuffer : default = null</li>
      * <li>primitiveType (required) : default = {@link PrimitiveType#TRIANGLES}</li>
+     * <li>lods : additional levels of detail ordered from the most to the least detailed, default = none</li>
+     * <li>boundingSphere : bounding sphere of the mesh in local space, default = null</li>
      */
     public static class Builder {
 
         private List<VertexBuffer> vertexBuffers = new ArrayList<>();
         private IndexBuffer indexBuffer = null;
         private PrimitiveType primitiveType = PrimitiveType.TRIANGLES;
+        private List<MeshLod> lods = new ArrayList<>();
+        private Spheref boundingSphere = null;
 
         private Builder() {
         }
@@ -129,5 +189,15 @@ public class Mesh {
             this.primitiveType = Objects.requireNonNull(primitiveType);
             return this;
         }
+
+        public Builder lod(final IndexBuffer indexBuffer, final float error) {
+            this.lods.add(new MeshLod(Objects.requireNonNull(indexBuffer), error));
+            return this;
+        }
+
+        public Builder boundingSphere(final Spheref boundingSphere) {
+            this.boundingSphere = boundingSphere;
+            return this;
+        }
     }
 }
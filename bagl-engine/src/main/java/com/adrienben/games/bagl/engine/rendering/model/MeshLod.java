@@ -0,0 +1,29 @@
+package com.adrienben.games.bagl.engine.rendering.model;
+
+import com.adrienben.games.bagl.opengl.vertex.IndexBuffer;
+
+/**
+ * A level of detail of a {@link Mesh}.
+ * <p>
+ * A level of detail is an index buffer referencing the vertices of the mesh and the error it
+ * introduces relatively to the full detail mesh. The error is expressed relatively to the radius of
+ * the bounding sphere of the mesh.
+ *
+ * @author adrien
+ */
+public record MeshLod(IndexBuffer indexBuffer, float error) {
+
+    /**
+     * Get the number of triangles of this level of detail.
+     */
+    public int getTriangleCount() {
+        return indexBuffer.getSize() / 3;
+    }
+
+    /**
+     * Get the memory used by the indices of this level of detail in bytes.
+     */
+    public long getMemorySize() {
+        return (long) indexBuffer.getSize() * indexBuffer.getDataType().getSize();
+    }
+}
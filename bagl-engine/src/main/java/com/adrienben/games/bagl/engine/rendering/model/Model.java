@@ -1,8 +1,6 @@
 package com.adrienben.games.bagl.engine.rendering.model;
 
 import com.adrienben.games.bagl.core.Asset;
-import com.adrienben.games.bagl.core.utils.CollectionUtils;
-import com.adrienben.games.bagl.engine.Time;
 import com.adrienben.games.bagl.engine.Transform;
 import com.adrienben.games.bagl.engine.animation.Animation;
 
@@ -11,15 +9,22 @@ import java.util.*;
 /**
  * A model is the root of a {@link ModelNode} tree
  * <p>
- * It contains all the {@link Mesh}es of the hierarchy.
+ * It contains all the {@link Mesh}es of the hierarchy and its {@link Animation}s.
+ * <p>
+ * A model only holds data shared by all its instances: meshes, materials, the node
+ * hierarchy with its default transforms, skinning joints and animations. The state
+ * of one occurrence of the model (node transforms, joint matrices and animation
+ * playback) lives in a {@link ModelInstance} created with {@link Model#createInstance()}.
+ * The same model can then be placed many times in a scene without being loaded again.
  *
  * @author adrien
  */
 public final class Model implements Asset {
 
     private final List<ModelNode> nodes = new ArrayList<>();
+    private final List<ModelNode> nodesByIndex = new ArrayList<>();
     private final Set<Mesh> meshes = new HashSet<>();
-    private List<Animation<Transform>> animations;
+    private List<Animation> animations = Collections.emptyList();
 
     /**
      * {@inheritDoc}
@@ -32,21 +37,13 @@ public final class Model implements Asset {
     }
 
 
-    public void update(final Time time) {
-        if (CollectionUtils.isNotEmpty(animations)) {
-            animations.get(0).step(time);
-        }
-    }
-
     /**
-     * Transform the model
-     * <p>
-     * The call will be forwarded to its nodes
+     * Create a new instance of the model
      *
-     * @param transform The transform to apply to the model
+     * @return A new instance in the default pose of the model
      */
-    public void transform(final Transform transform) {
-        this.nodes.forEach(node -> node.transform(transform));
+    public ModelInstance createInstance() {
+        return new ModelInstance(this);
     }
 
     /**
@@ -83,15 +80,56 @@ public final class Model implements Asset {
         this.meshes.add(mesh);
     }
 
+    /**
+     * Register a node
+     * <p>
+     * Called when a node is created to give it its index in the model
+     *
+     * @param node The node to register
+     * @return The index of the node
+     */
+    int registerNode(final ModelNode node) {
+        this.nodesByIndex.add(node);
+        return this.nodesByIndex.size() - 1;
+    }
+
+    /**
+     * Get the memory used by the additional levels of detail of the meshes of the model
+     *
+     * @return The memory size in bytes
+     */
+    public long getLodMemorySize() {
+        return LodStatistics.computeLodMemorySize(this.meshes);
+    }
+
+    /**
+     * Get the root nodes of the model
+     */
     public List<ModelNode> getNodes() {
         return this.nodes;
     }
 
-    public List<Animation<Transform>> getAnimations() {
+    /**
+     * Get the number of nodes in the whole hierarchy
+     */
+    public int getNodeCount() {
+        return this.nodesByIndex.size();
+    }
+
+    /**
+     * Get a node of the hierarchy from its index
+     *
+     * @see ModelNode#getIndex()
+     */
+    public ModelNode getNode(final int index) {
+        return this.nodesByIndex.get(index);
+    }
+
+    public List<Animation> getAnimations() {
         return Collections.unmodifiableList(animations);
     }
 
-    public void setAnimations(final List<Animation<Transform>> animations) {
+    public void setAnimations(final List<Animation> animations) {
         this.animations = animations;
     }
 }
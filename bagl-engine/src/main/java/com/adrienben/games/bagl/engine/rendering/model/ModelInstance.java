@@ -0,0 +1,532 @@
+package com.adrienben.games.bagl.engine.rendering.model;
+
+import com.adrienben.games.bagl.engine.Time;
+import com.adrienben.games.bagl.engine.Transform;
+import com.adrienben.games.bagl.engine.animation.AnimationLod;
+import com.adrienben.games.bagl.engine.animation.AnimationPlayer;
+import org.joml.Matrix4f;
+import org.joml.Quaternionf;
+import org.joml.Vector3f;
+import org.joml.primitives.Spheref;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An occurrence of a {@link Model}.
+ * <p>
+ * The instance only holds the state that differs from one occurrence of a model to another: the local
+ * and world transforms of each node, the skin palettes of the skinned nodes and the playback state of the
+ * animations. Meshes, materials, the node hierarchy, joints and animations are shared with the model.
+ * <p>
+ * Transforms are indexed by {@link ModelNode#getIndex()}. Animation players are created the first time
+ * they are requested so instances that are never animated do not pay for them.
+ * <p>
+ * Poses go through the following pipeline when the instance is transformed:
+ * <ol>
+ * <li>Local pose: the local transform of each node, written by the animations.
+ * <li>Model space pose: the transform of each node relative to the root of the model.
+ * <li>World transforms: the model space pose moved by the transform of the instance.
+ * <li>Skin palettes: for each joint of a skinned node, the inverse of the model space matrix of the
+ * node multiplied by the model space matrix of the joint and by its inverse bind matrix.
+ * </ol>
+ * Each step is only recomputed for the nodes whose inputs changed, detected with {@link Transform#getVersion()}.
+ * Palettes do not depend on the world transform of the instance so moving an instance does not rebuild them,
+ * and a paused animation does not rebuild anything. The inverse matrix of a skinned node is computed once
+ * per palette and all matrix products use affine math.
+ * <p>
+ * {@link ModelInstance#transform(Transform)} runs the whole pipeline. It can also be run in two steps:
+ * {@link ModelInstance#updatePose(Transform)} then {@link ModelInstance#updatePalette(int)} for each skinned
+ * node whose palette is dirty. Palettes of different nodes share the model space matrices of their joints,
+ * which are lazily computed. {@link ModelInstance#updatePose(Transform)} computes all of them so palettes
+ * only read those matrices and can be rebuilt concurrently once the pose is up to date.
+ * <p>
+ * All the palettes of the instance are stored in one contiguous float array, 16 floats per joint in
+ * column-major order, so they can be uploaded without conversion.
+ * <p>
+ * Animations can be updated at a reduced rate with {@link ModelInstance#update(Time, AnimationLod)}. The time
+ * elapsed between two samples is accumulated so throttled animations stay in sync with the game time. Instances
+ * are spread over the frames of the update interval so throttled instances are not all sampled the same frame.
+ * On the frames where a throttled animation is not sampled, the local transforms of the animated nodes are blended
+ * between the two last samples (lerp for translations and scales, slerp for rotations) so the motion stays smooth.
+ * The displayed pose therefore lags the latest sample by up to one update interval.
+ *
+ * @author adrien
+ */
+public class ModelInstance {
+
+    private static final int MATRIX_SIZE = 16;
+    private static final int NO_PARENT = -1;
+    private static final int NO_PALETTE = -1;
+    private static final AtomicInteger instanceCount = new AtomicInteger();
+
+    private final Model model;
+    private final int[] parents;
+    private final boolean[] rootNodes;
+    private final Transform[] localTransforms;
+    private final int[] localVersions;
+    private final Transform[] modelTransforms;
+    private final boolean[] modelTransformChanged;
+    private final Transform[] transforms;
+    private final Joint[][] skins;
+    private final int[] skinnedNodes;
+    private final int[] paletteOffsets;
+    private final int[] paletteVersions;
+    private final boolean[] paletteDirty;
+    private final Matrix4f[] inverseNodeMatrices;
+    private final Matrix4f[] jointMatrices;
+    private final float[] palette;
+    private final AnimationPlayer[] animationPlayers;
+    private final Spheref boundingSphere;
+    private final int updatePhase;
+
+    private Transform lastRootTransform;
+    private int lastRootVersion;
+    private AnimationLod animationLod = AnimationLod.FULL;
+    private int framesUntilUpdate;
+    private float pendingAnimationTime;
+    private Transform[] blendSources;
+    private Transform[] blendTargets;
+    private int[] blendVersions;
+    private boolean[] blendedNodes;
+    private int blendFrame;
+    private int blendFrameCount;
+    private boolean blending;
+    private Vector3f blendVector;
+    private Quaternionf blendRotation;
+
+    /**
+     * Construct an instance in the default pose of {@code model}.
+     *
+     * @param model The model to instantiate.
+     */
+    ModelInstance(final Model model) {
+        this.model = Objects.requireNonNull(model);
+        final var nodeCount = model.getNodeCount();
+        this.parents = new int[nodeCount];
+        this.rootNodes = new boolean[nodeCount];
+        this.localTransforms = new Transform[nodeCount];
+        this.localVersions = new int[nodeCount];
+        this.modelTransforms = new Transform[nodeCount];
+        this.modelTransformChanged = new boolean[nodeCount];
+        this.transforms = new Transform[nodeCount];
+        this.skins = new Joint[nodeCount][];
+        this.paletteOffsets = new int[nodeCount];
+        this.paletteVersions = new int[nodeCount];
+        this.paletteDirty = new boolean[nodeCount];
+        this.inverseNodeMatrices = new Matrix4f[nodeCount];
+        this.jointMatrices = new Matrix4f[nodeCount];
+        var skinnedNodeCount = 0;
+        var paletteSize = 0;
+        for (var index = 0; index < nodeCount; index++) {
+            final var node = model.getNode(index);
+            parents[index] = node.getParent().map(ModelNode::getIndex).orElse(NO_PARENT);
+            rootNodes[index] = parents[index] == NO_PARENT;
+            localTransforms[index] = new Transform().set(node.getLocalTransform());
+            localVersions[index] = localTransforms[index].getVersion() - 1;
+            modelTransforms[index] = new Transform();
+            transforms[index] = new Transform();
+            skins[index] = node.getJoints().map(joints -> joints.toArray(new Joint[0])).orElse(null);
+            paletteOffsets[index] = NO_PALETTE;
+            if (Objects.nonNull(skins[index])) {
+                paletteOffsets[index] = paletteSize;
+                paletteSize += skins[index].length * MATRIX_SIZE;
+                inverseNodeMatrices[index] = new Matrix4f();
+                jointMatrices[index] = new Matrix4f();
+                skinnedNodeCount++;
+            }
+        }
+        this.skinnedNodes = new int[skinnedNodeCount];
+        var skinnedIndex = 0;
+        for (var index = 0; index < nodeCount; index++) {
+            if (Objects.nonNull(skins[index])) {
+                skinnedNodes[skinnedIndex++] = index;
+            }
+        }
+        this.palette = new float[paletteSize];
+        this.animationPlayers = new AnimationPlayer[model.getAnimations().size()];
+        this.boundingSphere = computeBoundingSphere();
+        this.updatePhase = instanceCount.getAndIncrement();
+    }
+
+    /**
+     * Compute the bounding sphere of the meshes of the model in the default pose, in model space.
+     *
+     * @return The bounding sphere or null if no mesh has a bounding sphere.
+     */
+    private Spheref computeBoundingSphere() {
+        final var defaultPose = new Transform[localTransforms.length];
+        final var center = new Vector3f();
+        Spheref sphere = null;
+        for (var index = 0; index < localTransforms.length; index++) {
+            defaultPose[index] = new Transform().set(localTransforms[index]);
+            if (parents[index] != NO_PARENT) {
+                Transform.transform(localTransforms[index], defaultPose[parents[index]], defaultPose[index]);
+            }
+            final var scale = defaultPose[index].getScale();
+            final var maxScale = Math.max(Math.abs(scale.x()), Math.max(Math.abs(scale.y()), Math.abs(scale.z())));
+            for (final var mesh : model.getNode(index).getMeshes().keySet()) {
+                final var meshSphere = mesh.getBoundingSphere().orElse(null);
+                if (Objects.nonNull(meshSphere)) {
+                    defaultPose[index].getTransformMatrix().transformPosition(meshSphere.x, meshSphere.y, meshSphere.z, center);
+                    sphere = merge(sphere, center, meshSphere.r * maxScale);
+                }
+            }
+        }
+        return sphere;
+    }
+
+    private static Spheref merge(final Spheref sphere, final Vector3f center, final float radius) {
+        if (Objects.isNull(sphere)) {
+            return new Spheref(center.x(), center.y(), center.z(), radius);
+        }
+        final var distance = center.distance(sphere.x, sphere.y, sphere.z);
+        if (distance + radius <= sphere.r) {
+            return sphere;
+        }
+        if (distance + sphere.r <= radius) {
+            return new Spheref(center.x(), center.y(), center.z(), radius);
+        }
+        final var mergedRadius = (distance + radius + sphere.r) * 0.5f;
+        final var factor = (mergedRadius - sphere.r) / distance;
+        return new Spheref(
+                sphere.x + (center.x() - sphere.x) * factor,
+                sphere.y + (center.y() - sphere.y) * factor,
+                sphere.z + (center.z() - sphere.z) * factor,
+                mergedRadius);
+    }
+
+    /**
+     * Advance the animations of the instance.
+     *
+     * @param time The game time.
+     */
+    public void update(final Time time) {
+        update(time, AnimationLod.FULL);
+    }
+
+    /**
+     * Advance the animations of the instance at the rate of a level of detail.
+     * <p>
+     * Animations are only sampled every {@link AnimationLod#getUpdateInterval()} frames. When the level becomes
+     * finer the animations are sampled right away so models coming into view or getting closer are up to date.
+     * <p>
+     * When the interval is greater than one, the pose displayed after a sample is blended from the previously
+     * displayed pose to the new sample over the frames of the interval, reaching the sample on the frame before the
+     * next one.
+     *
+     * @param time The game time.
+     * @param lod  The level of detail of the animations.
+     */
+    public void update(final Time time, final AnimationLod lod) {
+        pendingAnimationTime += time.getElapsedTime();
+        if (lod != animationLod) {
+            framesUntilUpdate = lod.isFinerThan(animationLod) ? 0 : updatePhase % lod.getUpdateInterval();
+            animationLod = lod;
+        }
+        if (framesUntilUpdate > 0) {
+            framesUntilUpdate--;
+            if (blending) {
+                blendFrame++;
+                blendSamples();
+            }
+            return;
+        }
+        framesUntilUpdate = lod.getUpdateInterval() - 1;
+        final var interpolate = lod.getUpdateInterval() > 1;
+        if (interpolate) {
+            storeDisplayedPose();
+        }
+        final var targetMask = lod.isRootOnly() ? rootNodes : null;
+        for (final var animationPlayer : animationPlayers) {
+            if (Objects.nonNull(animationPlayer)) {
+                animationPlayer.step(pendingAnimationTime, targetMask);
+            }
+        }
+        pendingAnimationTime = 0f;
+        blending = false;
+        if (interpolate) {
+            startBlending(lod.getUpdateInterval());
+        }
+    }
+
+    /**
+     * Copy the local transforms before the animations are sampled so the sample can be blended from them.
+     */
+    private void storeDisplayedPose() {
+        if (Objects.isNull(blendSources)) {
+            blendSources = new Transform[localTransforms.length];
+            blendTargets = new Transform[localTransforms.length];
+            blendVersions = new int[localTransforms.length];
+            blendedNodes = new boolean[localTransforms.length];
+            blendVector = new Vector3f();
+            blendRotation = new Quaternionf();
+            for (var index = 0; index < localTransforms.length; index++) {
+                blendSources[index] = new Transform();
+                blendTargets[index] = new Transform();
+            }
+        }
+        for (var index = 0; index < localTransforms.length; index++) {
+            blendSources[index].set(localTransforms[index]);
+            blendVersions[index] = localTransforms[index].getVersion();
+        }
+    }
+
+    /**
+     * Keep the new sample of the nodes the animations moved since {@link ModelInstance#storeDisplayedPose()}
+     * and display the first step of the blend.
+     */
+    private void startBlending(final int frameCount) {
+        for (var index = 0; index < localTransforms.length; index++) {
+            blendedNodes[index] = localTransforms[index].getVersion() != blendVersions[index];
+            if (blendedNodes[index]) {
+                blendTargets[index].set(localTransforms[index]);
+                blending = true;
+            }
+        }
+        blendFrame = 0;
+        blendFrameCount = frameCount;
+        if (blending) {
+            blendSamples();
+        }
+    }
+
+    /**
+     * Set the local transforms of the animated nodes to the blend of the two last samples for the current frame.
+     * Blending stops once the latest sample is reached.
+     */
+    private void blendSamples() {
+        final var factor = Math.min(1f, (blendFrame + 1f) / blendFrameCount);
+        for (var index = 0; index < localTransforms.length; index++) {
+            if (blendedNodes[index]) {
+                final var source = blendSources[index];
+                final var target = blendTargets[index];
+                localTransforms[index]
+                        .setTranslation(source.getTranslation().lerp(target.getTranslation(), factor, blendVector))
+                        .setRotation(source.getRotation().slerp(target.getRotation(), factor, blendRotation))
+                        .setScale(source.getScale().lerp(target.getScale(), factor, blendVector));
+            }
+        }
+        blending = factor < 1f;
+    }
+
+    /**
+     * Run the pose pipeline: compute the model space pose, the world transforms and the skin palettes
+     * of the nodes whose inputs changed since the last call.
+     *
+     * @param transform The transform of the instance. It is applied to the root nodes of the model.
+     */
+    public void transform(final Transform transform) {
+        updatePose(transform);
+        for (final var skinnedNode : skinnedNodes) {
+            if (isPaletteDirty(skinnedNode)) {
+                updatePalette(skinnedNode);
+            }
+        }
+    }
+
+    /**
+     * Compute the model space pose and the world transforms of the nodes whose inputs changed since the last call.
+     * <p>
+     * This is the first step of {@link ModelInstance#transform(Transform)}. It must be followed by a call to
+     * {@link ModelInstance#updatePalette(int)} for each skinned node whose palette is dirty.
+     *
+     * @param transform The transform of the instance. It is applied to the root nodes of the model.
+     */
+    public void updatePose(final Transform transform) {
+        final var rootChanged = transform != lastRootTransform || transform.getVersion() != lastRootVersion;
+        lastRootTransform = transform;
+        lastRootVersion = transform.getVersion();
+
+        updateModelPose();
+        resolveModelMatrices();
+        for (var index = 0; index < transforms.length; index++) {
+            if (rootChanged || modelTransformChanged[index]) {
+                Transform.transform(modelTransforms[index], transform, transforms[index]);
+            }
+        }
+        for (final var skinnedNode : skinnedNodes) {
+            paletteDirty[skinnedNode] |= hasSkinMoved(skinnedNode);
+        }
+    }
+
+    /**
+     * Compute the model space transform of the nodes whose local transform or parent changed. Parents
+     * have a lower index than their children so they are always computed first.
+     */
+    private void updateModelPose() {
+        for (var index = 0; index < modelTransforms.length; index++) {
+            final var parent = parents[index];
+            final var localVersion = localTransforms[index].getVersion();
+            final var changed = localVersion != localVersions[index] || (parent != NO_PARENT && modelTransformChanged[parent]);
+            if (changed) {
+                if (parent == NO_PARENT) {
+                    modelTransforms[index].set(localTransforms[index]);
+                } else {
+                    Transform.transform(localTransforms[index], modelTransforms[parent], modelTransforms[index]);
+                }
+                localVersions[index] = localVersion;
+            }
+            modelTransformChanged[index] = changed;
+        }
+    }
+
+    /**
+     * Compute the matrix of each model space transform now. Matrices are computed lazily when first read,
+     * which writes to the transform, so palettes rebuilt concurrently must find them already computed.
+     */
+    private void resolveModelMatrices() {
+        for (final var modelTransform : modelTransforms) {
+            modelTransform.getTransformMatrix();
+        }
+    }
+
+    /**
+     * Check whether the palette of a skinned node must be rebuilt because the node or one of its joints moved
+     * since the palette was last built.
+     *
+     * @param nodeIndex The index of a skinned node.
+     * @return true if the palette must be rebuilt.
+     */
+    public boolean isPaletteDirty(final int nodeIndex) {
+        return paletteDirty[nodeIndex];
+    }
+
+    private boolean hasSkinMoved(final int nodeIndex) {
+        if (modelTransformChanged[nodeIndex]) {
+            return true;
+        }
+        for (final var joint : skins[nodeIndex]) {
+            if (modelTransformChanged[joint.getNodeIndex()]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Rebuild the palette of a skinned node from the model space pose.
+     * <p>
+     * Only the palette of the node and the scratch matrices of the node are written. The model space
+     * matrices are only read, they are computed by {@link ModelInstance#updatePose(Transform)}, so palettes
+     * of different nodes can be rebuilt concurrently after it. The model space pose must not change meanwhile.
+     *
+     * @param nodeIndex The index of a skinned node.
+     */
+    public void updatePalette(final int nodeIndex) {
+        final var inverseNodeMatrix = inverseNodeMatrices[nodeIndex];
+        final var jointMatrix = jointMatrices[nodeIndex];
+        modelTransforms[nodeIndex].getTransformMatrix().invertAffine(inverseNodeMatrix);
+        var offset = paletteOffsets[nodeIndex];
+        for (final var joint : skins[nodeIndex]) {
+            inverseNodeMatrix.mulAffine(modelTransforms[joint.getNodeIndex()].getTransformMatrix(), jointMatrix)
+                    .mulAffine(joint.getInverseBindMatrix())
+                    .get(palette, offset);
+            offset += MATRIX_SIZE;
+        }
+        paletteVersions[nodeIndex]++;
+        paletteDirty[nodeIndex] = false;
+    }
+
+    /**
+     * Get the player of one of the model's animations. The player is created the first time it is requested.
+     *
+     * @param index The index of the animation in {@link Model#getAnimations()}.
+     * @return The player of the animation for this instance.
+     */
+    public AnimationPlayer getAnimationPlayer(final int index) {
+        if (Objects.isNull(animationPlayers[index])) {
+            animationPlayers[index] = new AnimationPlayer(model.getAnimations().get(index), localTransforms);
+        }
+        return animationPlayers[index];
+    }
+
+    public Model getModel() {
+        return model;
+    }
+
+    /**
+     * Get the local transform of a node for this instance. Animations write into it.
+     */
+    public Transform getLocalTransform(final int nodeIndex) {
+        return localTransforms[nodeIndex];
+    }
+
+    /**
+     * Get the transform of a node relative to the root of the model computed during the last {@link ModelInstance#transform(Transform)}.
+     */
+    public Transform getModelTransform(final int nodeIndex) {
+        return modelTransforms[nodeIndex];
+    }
+
+    /**
+     * Get the world transform of a node computed during the last {@link ModelInstance#transform(Transform)}.
+     */
+    public Transform getTransform(final int nodeIndex) {
+        return transforms[nodeIndex];
+    }
+
+    public boolean isSkinned(final int nodeIndex) {
+        return Objects.nonNull(skins[nodeIndex]);
+    }
+
+    public int getJointCount(final int nodeIndex) {
+        return isSkinned(nodeIndex) ? skins[nodeIndex].length : 0;
+    }
+
+    public int getSkinnedNodeCount() {
+        return skinnedNodes.length;
+    }
+
+    /**
+     * Get the index of the i-th skinned node of the model.
+     */
+    public int getSkinnedNode(final int index) {
+        return skinnedNodes[index];
+    }
+
+    /**
+     * Get the palettes of all the skinned nodes of the instance. The array must not be modified.
+     *
+     * @see ModelInstance#getPaletteOffset(int)
+     */
+    public float[] getPalette() {
+        return palette;
+    }
+
+    /**
+     * Get the index in {@link ModelInstance#getPalette()} of the first value of the palette of a skinned node.
+     *
+     * @throws IllegalArgumentException if the node is not skinned.
+     */
+    public int getPaletteOffset(final int nodeIndex) {
+        if (!isSkinned(nodeIndex)) {
+            throw new IllegalArgumentException("Node " + nodeIndex + " is not skinned");
+        }
+        return paletteOffsets[nodeIndex];
+    }
+
+    /**
+     * Get the bounding sphere of the meshes of the model in model space computed from the default pose.
+     *
+     * @return The bounding sphere or an empty optional if the meshes have no bounding sphere.
+     */
+    public Optional<Spheref> getBoundingSphere() {
+        return Optional.ofNullable(boundingSphere);
+    }
+
+    /**
+     * Get the level of detail used during the last call to {@link ModelInstance#update(Time, AnimationLod)}.
+     */
+    public AnimationLod getAnimationLod() {
+        return animationLod;
+    }
+
+    /**
+     * Get the version of the palette of a skinned node. It changes each time the palette is rebuilt.
+     */
+    public int getPaletteVersion(final int nodeIndex) {
+        return paletteVersions[nodeIndex];
+    }
+}
@@ -1,6 +1,5 @@
 package com.adrienben.games.bagl.engine.rendering.model;
 
-import com.adrienben.games.bagl.core.utils.ObjectUtils;
 import com.adrienben.games.bagl.engine.Transform;
 import com.adrienben.games.bagl.engine.rendering.material.Material;
 
@@ -9,9 +8,14 @@ import java.util.*;
 /**
  * A node of a model
  * <p>
- * It contains transform information and a set of mesh composing
+ * It contains the default local transform and a set of mesh composing
  * the node. It can have children nodes
  * <p>
+ * Nodes are shared by all the instances of their model. The transforms of a node
+ * for a given instance are held by the {@link ModelInstance}, indexed by
+ * {@link ModelNode#getIndex()}. Nodes are indexed in creation order so a parent
+ * always has a lower index than its children.
+ * <p>
  * Client cannot instantiate model nodes directly. This can only be done
  * using {@link Model#addNode()}, {@link Model#addNode(Transform)},
  * {@link ModelNode#addChild()} or {@link ModelNode#addChild(Transform)}.
@@ -23,7 +27,7 @@ public final class ModelNode {
 
     private final Model owner;
     private final ModelNode parent;
-    private final Transform transform;
+    private final int index;
     private final Transform localTransform;
     private final Map<Mesh, Material> meshes = new HashMap<>();
     private final List<ModelNode> children = new ArrayList<>();
@@ -40,7 +44,7 @@ public final class ModelNode {
         this.owner = owner;
         this.parent = parent;
         this.localTransform = transform;
-        this.transform = new Transform().transform(transform);
+        this.index = owner.registerNode(this);
     }
 
     /**
@@ -53,17 +57,6 @@ public final class ModelNode {
         this(owner, null, transform);
     }
 
-    /**
-     * Transform the node
-     *
-     * @param toApply The transform to apply
-     */
-    public void transform(final Transform toApply) {
-        Transform.transform(localTransform, toApply, transform);
-        ObjectUtils.consumeIfPresent(joints, joints -> joints.forEach(joint -> joint.computeJointMatrix(transform)));
-        children.forEach(child -> child.transform(transform));
-    }
-
     /**
      * Add a mesh to the node
      *
@@ -98,12 +91,19 @@ public final class ModelNode {
         return this.addChild(new Transform());
     }
 
+    /**
+     * Get the default local transform of the node. It is copied into each new {@link ModelInstance}.
+     */
     public Transform getLocalTransform() {
         return localTransform;
     }
 
-    public Transform getTransform() {
-        return this.transform;
+    public int getIndex() {
+        return index;
+    }
+
+    public Optional<ModelNode> getParent() {
+        return Optional.ofNullable(parent);
     }
 
     public Map<Mesh, Material> getMeshes() {
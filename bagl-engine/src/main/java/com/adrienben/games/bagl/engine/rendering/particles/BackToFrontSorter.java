@@ -0,0 +1,102 @@
+package com.adrienben.games.bagl.engine.rendering.particles;
+
+import org.joml.Vector3fc;
+
+import java.util.Arrays;
+
+/**
+ * Sort indices of points from the furthest away from an eye to the closest.
+ * <p>
+ * The squared distance of each point is computed once. Distances are positive so the bits of their
+ * float representation sort like their values as unsigned integers. The bits are inverted so the furthest
+ * point has the smallest key, then keys and indices are sorted by a radix sort.
+ * <p>
+ * The sorter keeps its working arrays between sorts, they only grow when needed.
+ *
+ * @author adrien
+ */
+class BackToFrontSorter {
+
+    private static final int RADIX_BITS = 8;
+    private static final int RADIX_MASK = (1 << RADIX_BITS) - 1;
+
+    private int[] order = new int[0];
+    private int[] orderScratch = new int[0];
+    private int[] sortKeys = new int[0];
+    private int[] sortKeysScratch = new int[0];
+    private final int[] histogram = new int[1 << RADIX_BITS];
+
+    /**
+     * Sort the {@code size} first indices of {@code indices} in place.
+     *
+     * @param indices   The indices to sort.
+     * @param size      The number of indices to sort.
+     * @param positions The positions of the points.
+     * @param stride    The number of floats between the positions of two consecutive points.
+     * @param eye       The position from which the points are seen.
+     */
+    void sort(final int[] indices, final int size, final float[] positions, final int stride, final Vector3fc eye) {
+        if (sortKeys.length < size) {
+            sortKeys = new int[indices.length];
+            sortKeysScratch = new int[indices.length];
+            order = new int[indices.length];
+            orderScratch = new int[indices.length];
+        }
+        for (var i = 0; i < size; i++) {
+            final var position = indices[i] * stride;
+            final var dx = positions[position] - eye.x();
+            final var dy = positions[position + 1] - eye.y();
+            final var dz = positions[position + 2] - eye.z();
+            final var distance = dx * dx + dy * dy + dz * dz;
+            sortKeys[i] = ~Float.floatToRawIntBits(distance);
+        }
+        System.arraycopy(indices, 0, order, 0, size);
+        radixSort(size);
+        System.arraycopy(order, 0, indices, 0, size);
+    }
+
+    /**
+     * Sort the {@code size} first keys and the indices of {@code order} along with them.
+     * <p>
+     * Least significant digit radix sort processing {@value #RADIX_BITS} bits per pass. Each pass is stable and
+     * moves keys and indices from one pair of arrays to the other. Passes where all keys share the same digit are
+     * skipped, which is common for the exponent bits of points at similar distances.
+     */
+    private void radixSort(final int size) {
+        if (size == 0) {
+            return;
+        }
+        for (var shift = 0; shift < Integer.SIZE; shift += RADIX_BITS) {
+            Arrays.fill(histogram, 0);
+            for (var i = 0; i < size; i++) {
+                histogram[(sortKeys[i] >>> shift) & RADIX_MASK]++;
+            }
+            if (histogram[(sortKeys[0] >>> shift) & RADIX_MASK] == size) {
+                continue;
+            }
+
+            var offset = 0;
+            for (var digit = 0; digit < histogram.length; digit++) {
+                final var count = histogram[digit];
+                histogram[digit] = offset;
+                offset += count;
+            }
+            for (var i = 0; i < size; i++) {
+                final var key = sortKeys[i];
+                final var destination = histogram[(key >>> shift) & RADIX_MASK]++;
+                sortKeysScratch[destination] = key;
+                orderScratch[destination] = order[i];
+            }
+            swapBuffers();
+        }
+    }
+
+    private void swapBuffers() {
+        final var keys = sortKeys;
+        sortKeys = sortKeysScratch;
+        sortKeysScratch = keys;
+        final var indices = order;
+        order = orderScratch;
+        orderScratch = indices;
+    }
+}
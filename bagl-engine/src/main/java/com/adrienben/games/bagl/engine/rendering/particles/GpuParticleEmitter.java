@@ -0,0 +1,300 @@
+package com.adrienben.games.bagl.engine.rendering.particles;
+
+import com.adrienben.games.bagl.core.validation.Validation;
+import com.adrienben.games.bagl.engine.Time;
+import com.adrienben.games.bagl.opengl.BlendMode;
+import com.adrienben.games.bagl.opengl.buffer.AtomicCounter;
+import com.adrienben.games.bagl.opengl.buffer.Buffer;
+import com.adrienben.games.bagl.opengl.buffer.BufferTarget;
+import com.adrienben.games.bagl.opengl.buffer.BufferUsage;
+import com.adrienben.games.bagl.opengl.texture.Texture2D;
+import org.joml.Vector3f;
+import org.joml.Vector3fc;
+import org.lwjgl.system.MemoryUtil;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Particle emitter whose particles live on the GPU.
+ * <p>
+ * It is configured like a {@link ParticleEmitter} but its particles are never read or written by the CPU.
+ * They are stored in shader storage buffers and spawned, updated and killed by the compute shaders of a
+ * {@link GpuParticleSimulator}, then drawn with an indirect draw call. So the number of particles is only limited
+ * by the memory of the GPU.
+ * <p>
+ * The emitter owns the following GPU resources:
+ * <ul>
+ * <li>The particles: {@link GpuParticleEmitter#PARTICLE_STRIDE} bytes per particle.
+ * <li>The dead list: the indices of the free particle slots and an {@link AtomicCounter} holding their count.
+ * <li>Two alive lists: the indices of the alive particles and their counters. Each update reads one list and
+ * appends the surviving particles to the other one, then the lists are swapped.
+ * <li>A buffer holding the parameters of the indirect dispatch of the update and of the indirect draw.
+ * </ul>
+ * The initializer cannot run on the GPU. It is sampled when the emitter is built, see {@link ParticleInitializerBounds},
+ * and particles are spawned uniformly inside the sampled ranges.
+ * <p>
+ * The emitter must be created and destroyed from the OpenGL thread. {@link GpuParticleEmitter#update(Time)} only
+ * accumulates the elapsed time and the number of particles to spawn, the GPU work is performed when the emitter
+ * is rendered from a {@link GpuParticleSnapshot}.
+ *
+ * @author adrien
+ */
+public class GpuParticleEmitter {
+
+    public static final int DEFAULT_MAX_PARTICLE_COUNT = 100000;
+    static final int PARTICLE_STRIDE = 96;
+    static final int PARTICLES_BINDING = 0;
+    static final int DEAD_LIST_BINDING = 1;
+    static final int ALIVE_LIST_BINDING = 2;
+    static final int NEXT_ALIVE_LIST_BINDING = 3;
+    static final int INDIRECT_COMMANDS_BINDING = 4;
+    static final int DEAD_COUNT_BINDING = 0;
+    static final int ALIVE_COUNT_BINDING = 1;
+    static final int NEXT_ALIVE_COUNT_BINDING = 2;
+    static final int DISPATCH_COMMAND_OFFSET = 0;
+    static final int DRAW_COMMAND_OFFSET = 4 * Integer.BYTES;
+    private static final int INDIRECT_COMMANDS_SIZE = 8 * Integer.BYTES;
+
+    private final Vector3f position;
+    private final Texture2D texture;
+    private final BlendMode blendMode;
+    private final float rate;
+    private final int batchSize;
+    private final int maxParticleCount;
+    private final ParticleInitializerBounds bounds;
+
+    private final Buffer particles;
+    private final Buffer deadList;
+    private final AtomicCounter deadCount;
+    private final Buffer[] aliveLists = new Buffer[2];
+    private final AtomicCounter[] aliveCounts = new AtomicCounter[2];
+    private final Buffer indirectCommands;
+    private int current;
+    private int seed;
+
+    private float timeToNextBatch;
+    private float pendingTime;
+    private int pendingSpawnCount;
+
+    private GpuParticleEmitter(final Builder builder) {
+        this.position = builder.position;
+        this.texture = builder.texture;
+        this.blendMode = builder.blendMode;
+        this.rate = builder.rate;
+        this.batchSize = builder.batchSize;
+        this.maxParticleCount = builder.maxParticleCount;
+        this.timeToNextBatch = builder.rate;
+        final var initializer = Validation.validate(builder.initializer, Objects::nonNull, "A particle emitter needs a particle initializer");
+        this.bounds = new ParticleInitializerBounds(initializer, ParticleInitializerBounds.DEFAULT_SAMPLE_COUNT);
+
+        this.particles = new Buffer((long) maxParticleCount * PARTICLE_STRIDE, BufferUsage.DYNAMIC_COPY);
+        this.deadList = createDeadList(maxParticleCount);
+        this.deadCount = new AtomicCounter(maxParticleCount);
+        for (var i = 0; i < aliveLists.length; i++) {
+            aliveLists[i] = new Buffer((long) maxParticleCount * Integer.BYTES, BufferUsage.DYNAMIC_COPY);
+            aliveCounts[i] = new AtomicCounter();
+        }
+        this.indirectCommands = new Buffer(INDIRECT_COMMANDS_SIZE, BufferUsage.DYNAMIC_COPY);
+    }
+
+    /**
+     * All particle slots are free when the emitter is created.
+     */
+    private static Buffer createDeadList(final int maxParticleCount) {
+        final var indices = MemoryUtil.memAllocInt(maxParticleCount);
+        for (var i = 0; i < maxParticleCount; i++) {
+            indices.put(i, i);
+        }
+        final var buffer = new Buffer(indices, BufferUsage.DYNAMIC_COPY);
+        MemoryUtil.memFree(indices);
+        return buffer;
+    }
+
+    /**
+     * Returns a new builder for GPU particle emitter.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Release the GPU resources of the emitter.
+     */
+    public void destroy() {
+        particles.destroy();
+        deadList.destroy();
+        deadCount.destroy();
+        for (var i = 0; i < aliveLists.length; i++) {
+            aliveLists[i].destroy();
+            aliveCounts[i].destroy();
+        }
+        indirectCommands.destroy();
+    }
+
+    /**
+     * Accumulate the elapsed time and schedule a new batch of particles if enough time has passed.
+     * <p>
+     * Nothing is simulated until the emitter is captured and rendered. If it is not captured, the
+     * number of particles to spawn never exceeds the maximum number of particles.
+     *
+     * @param time Game time.
+     */
+    public void update(final Time time) {
+        pendingTime += time.getElapsedTime();
+        timeToNextBatch -= time.getElapsedTime();
+        if (timeToNextBatch <= 0) {
+            timeToNextBatch = rate;
+            pendingSpawnCount = Math.min(pendingSpawnCount + batchSize, maxParticleCount);
+        }
+    }
+
+    /**
+     * Capture the time elapsed and the number of particles to spawn since the last capture.
+     */
+    void capturePendingStep(final GpuParticleSnapshot snapshot) {
+        snapshot.setStep(pendingTime, pendingSpawnCount, position);
+        pendingTime = 0f;
+        pendingSpawnCount = 0;
+    }
+
+    /**
+     * Bind the buffers and counters read and written by the simulation shaders.
+     */
+    void bindSimulationBuffers() {
+        particles.bind(BufferTarget.SHADER_STORAGE, PARTICLES_BINDING);
+        deadList.bind(BufferTarget.SHADER_STORAGE, DEAD_LIST_BINDING);
+        aliveLists[current].bind(BufferTarget.SHADER_STORAGE, ALIVE_LIST_BINDING);
+        aliveLists[1 - current].bind(BufferTarget.SHADER_STORAGE, NEXT_ALIVE_LIST_BINDING);
+        indirectCommands.bind(BufferTarget.SHADER_STORAGE, INDIRECT_COMMANDS_BINDING);
+        indirectCommands.bind(BufferTarget.DISPATCH_INDIRECT);
+        deadCount.bind(DEAD_COUNT_BINDING);
+        aliveCounts[current].bind(ALIVE_COUNT_BINDING);
+        aliveCounts[1 - current].bind(NEXT_ALIVE_COUNT_BINDING);
+    }
+
+    void unbindSimulationBuffers() {
+        particles.unbind(BufferTarget.SHADER_STORAGE, PARTICLES_BINDING);
+        deadList.unbind(BufferTarget.SHADER_STORAGE, DEAD_LIST_BINDING);
+        aliveLists[current].unbind(BufferTarget.SHADER_STORAGE, ALIVE_LIST_BINDING);
+        aliveLists[1 - current].unbind(BufferTarget.SHADER_STORAGE, NEXT_ALIVE_LIST_BINDING);
+        indirectCommands.unbind(BufferTarget.SHADER_STORAGE, INDIRECT_COMMANDS_BINDING);
+        indirectCommands.unbind(BufferTarget.DISPATCH_INDIRECT);
+        deadCount.unbind(DEAD_COUNT_BINDING);
+        aliveCounts[current].unbind(ALIVE_COUNT_BINDING);
+        aliveCounts[1 - current].unbind(NEXT_ALIVE_COUNT_BINDING);
+    }
+
+    /**
+     * Make the list of the surviving particles the current alive list and empty the other one.
+     */
+    void swapAliveLists() {
+        aliveCounts[current].reset();
+        current = 1 - current;
+    }
+
+    /**
+     * Bind the buffers read by the vertex shader and the indirect draw parameters.
+     */
+    void bindDrawBuffers() {
+        particles.bind(BufferTarget.SHADER_STORAGE, PARTICLES_BINDING);
+        aliveLists[current].bind(BufferTarget.SHADER_STORAGE, ALIVE_LIST_BINDING);
+        indirectCommands.bind(BufferTarget.DRAW_INDIRECT);
+    }
+
+    void unbindDrawBuffers() {
+        particles.unbind(BufferTarget.SHADER_STORAGE, PARTICLES_BINDING);
+        aliveLists[current].unbind(BufferTarget.SHADER_STORAGE, ALIVE_LIST_BINDING);
+        indirectCommands.unbind(BufferTarget.DRAW_INDIRECT);
+    }
+
+    /**
+     * Get a new seed for the random numbers of the spawned particles.
+     */
+    int nextSeed() {
+        return seed++;
+    }
+
+    ParticleInitializerBounds getBounds() {
+        return bounds;
+    }
+
+    public void setPosition(final Vector3fc position) {
+        this.position.set(position);
+    }
+
+    public Optional<Texture2D> getTexture() {
+        return Optional.ofNullable(texture);
+    }
+
+    public BlendMode getBlendMode() {
+        return blendMode;
+    }
+
+    public int getMaxParticleCount() {
+        return maxParticleCount;
+    }
+
+    /**
+     * GPU particle emitter builder.
+     * <p>
+     * Use it to build new {@link GpuParticleEmitter}. The fields are :
+     * <li>position - default = (0, 0, 0)</li>
+     * <li>texture - default = null</li>
+     * <li>blendMode - default = ADDITIVE</li>
+     * <li>rate - The rate at which new batch are generated - default = 1.0</li>
+     * <li>batchSize - Number of particle generated by batch - default = 1</li>
+     * <li>maxParticleCount - The maximum number of particles alive at the same time - default = 100000</li>
+     * <li>initializer - Particle initializer sampled to compute the ranges of the attributes of the particles - required</li>
+     */
+    public static class Builder {
+
+        private Vector3f position = new Vector3f();
+        private Texture2D texture = null;
+        private BlendMode blendMode = BlendMode.ADDITIVE;
+        private float rate = 1.0f;
+        private int batchSize = 1;
+        private int maxParticleCount = DEFAULT_MAX_PARTICLE_COUNT;
+        private Consumer<Particle> initializer = null;
+
+        public GpuParticleEmitter build() {
+            return new GpuParticleEmitter(this);
+        }
+
+        public Builder position(final Vector3fc position) {
+            this.position.set(Validation.validate(position, Objects::nonNull, "position should not be null"));
+            return this;
+        }
+
+        public Builder texture(final Texture2D texture) {
+            this.texture = texture;
+            return this;
+        }
+
+        public Builder blendMode(final BlendMode blendMode) {
+            this.blendMode = Validation.validate(blendMode, Objects::nonNull, "blendMode should not be null");
+            return this;
+        }
+
+        public Builder rate(final float rate) {
+            this.rate = Validation.validate(rate, r -> r > 0, "rate should be more than zero");
+            return this;
+        }
+
+        public Builder batchSize(final int batchSize) {
+            this.batchSize = Validation.validate(batchSize, b -> b > 0, "batchSize should be more than zero");
+            return this;
+        }
+
+        public Builder maxParticleCount(final int maxParticleCount) {
+            this.maxParticleCount = Validation.validate(maxParticleCount, m -> m > 0, "maxParticleCount should be more than zero");
+            return this;
+        }
+
+        public Builder initializer(final Consumer<Particle> initializer) {
+            this.initializer = Validation.validate(initializer, Objects::nonNull, "initializer should not be null");
+            return this;
+        }
+    }
+}
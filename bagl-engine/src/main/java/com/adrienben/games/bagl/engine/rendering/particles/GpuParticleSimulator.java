@@ -0,0 +1,114 @@
+package com.adrienben.games.bagl.engine.rendering.particles;
+
+import com.adrienben.games.bagl.core.io.ResourcePath;
+import com.adrienben.games.bagl.opengl.OpenGL;
+import com.adrienben.games.bagl.opengl.shader.Shader;
+import com.adrienben.games.bagl.opengl.shader.compute.Barrier;
+
+import java.util.EnumSet;
+
+/**
+ * Simulate the particles of {@link GpuParticleEmitter}s with compute shaders.
+ * <p>
+ * A simulation step is made of the following dispatches, separated by memory barriers:
+ * <ol>
+ * <li>Spawn: each invocation pops a free slot from the dead list, initializes a particle in it and appends it to the
+ * current alive list. Invocations finding the dead list empty do nothing.
+ * <li>Write the indirect dispatch parameters from the number of alive particles.
+ * <li>Update: dispatched indirectly, each invocation moves an alive particle and blends its color, then appends it
+ * to the next alive list or pushes it back to the dead list if its time to live expired.
+ * <li>Write the indirect draw parameters from the number of surviving particles.
+ * </ol>
+ * No data goes back and forth between the CPU and the GPU, except for the reset of the counter of the next alive list.
+ * <p>
+ * Compute shaders and shader storage buffers require OpenGL 4.3.
+ *
+ * @author adrien
+ */
+class GpuParticleSimulator {
+
+    static final int GROUP_SIZE = 64;
+    private static final EnumSet<Barrier> SPAWN_BARRIERS = EnumSet.of(Barrier.SHADER_STORAGE, Barrier.ATOMIC_COUNTER);
+    private static final EnumSet<Barrier> COMMAND_BARRIERS = EnumSet.of(Barrier.SHADER_STORAGE, Barrier.COMMAND);
+    private static final EnumSet<Barrier> UPDATE_BARRIERS = EnumSet.of(Barrier.SHADER_STORAGE, Barrier.ATOMIC_COUNTER);
+    private static final EnumSet<Barrier> DRAW_BARRIERS = EnumSet.of(Barrier.SHADER_STORAGE, Barrier.COMMAND, Barrier.BUFFER_UPDATE);
+
+    private final Shader spawnShader;
+    private final Shader updateShader;
+    private final Shader commandsShader;
+
+    GpuParticleSimulator() {
+        this.spawnShader = createComputeShader("gpu_particles_spawn.comp");
+        this.updateShader = createComputeShader("gpu_particles_update.comp");
+        this.commandsShader = createComputeShader("gpu_particles_commands.comp");
+    }
+
+    private static Shader createComputeShader(final String fileName) {
+        return Shader.computeBuilder().computePath(ResourcePath.get("classpath:/shaders/particles/" + fileName)).build();
+    }
+
+    void destroy() {
+        spawnShader.destroy();
+        updateShader.destroy();
+        commandsShader.destroy();
+    }
+
+    /**
+     * Perform the simulation step captured in {@code snapshot}.
+     * <p>
+     * Once done, the alive list of the emitter contains the particles to draw and its indirect draw parameters
+     * contain their count.
+     */
+    void simulate(final GpuParticleSnapshot snapshot) {
+        final var emitter = snapshot.getEmitter();
+        emitter.bindSimulationBuffers();
+
+        if (snapshot.getSpawnCount() > 0) {
+            spawn(snapshot);
+            OpenGL.setMemoryBarriers(SPAWN_BARRIERS);
+        }
+
+        writeCommands();
+        OpenGL.setMemoryBarriers(COMMAND_BARRIERS);
+
+        updateShader.bind().setUniform("uElapsedTime", snapshot.getElapsedTime());
+        OpenGL.dispatchComputeIndirect(GpuParticleEmitter.DISPATCH_COMMAND_OFFSET);
+        OpenGL.setMemoryBarriers(UPDATE_BARRIERS);
+
+        writeCommands();
+        Shader.unbind();
+        emitter.unbindSimulationBuffers();
+        emitter.swapAliveLists();
+        OpenGL.setMemoryBarriers(DRAW_BARRIERS);
+    }
+
+    private void spawn(final GpuParticleSnapshot snapshot) {
+        final var emitter = snapshot.getEmitter();
+        final var bounds = emitter.getBounds();
+        spawnShader.bind()
+                .setUniform("uSpawnCount", snapshot.getSpawnCount())
+                .setUniform("uSeed", emitter.nextSeed())
+                .setUniform("uEmitterPosition", snapshot.getPosition())
+                .setUniform("uMinPosition", bounds.getMinPosition())
+                .setUniform("uMaxPosition", bounds.getMaxPosition())
+                .setUniform("uMinDirection", bounds.getMinDirection())
+                .setUniform("uMaxDirection", bounds.getMaxDirection())
+                .setUniform("uSize", bounds.getSize())
+                .setUniform("uSpeed", bounds.getSpeed())
+                .setUniform("uTtl", bounds.getTtl())
+                .setUniform("uMinStartColor", bounds.getMinStartColor())
+                .setUniform("uMaxStartColor", bounds.getMaxStartColor())
+                .setUniform("uMinEndColor", bounds.getMinEndColor())
+                .setUniform("uMaxEndColor", bounds.getMaxEndColor());
+        OpenGL.dispatchCompute(groupCount(snapshot.getSpawnCount()));
+    }
+
+    private void writeCommands() {
+        commandsShader.bind();
+        OpenGL.dispatchCompute(1);
+    }
+
+    private static int groupCount(final int invocationCount) {
+        return (invocationCount + GROUP_SIZE - 1) / GROUP_SIZE;
+    }
+}
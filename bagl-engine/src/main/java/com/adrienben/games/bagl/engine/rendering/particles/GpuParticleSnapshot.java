@@ -0,0 +1,55 @@
+package com.adrienben.games.bagl.engine.rendering.particles;
+
+import org.joml.Vector3f;
+import org.joml.Vector3fc;
+
+/**
+ * Step of simulation of a {@link GpuParticleEmitter} waiting to be performed by the GPU.
+ * <p>
+ * Capturing an emitter takes the time elapsed and the number of particles to spawn since its previous
+ * capture, along with its position. Since the particles of the emitter are only accessed by the GPU, the
+ * snapshot can be rendered by a thread while the emitter is updated by another.
+ * <p>
+ * Snapshots are meant to be reused.
+ *
+ * @author adrien
+ */
+public class GpuParticleSnapshot {
+
+    private final Vector3f position = new Vector3f();
+    private GpuParticleEmitter emitter;
+    private float elapsedTime;
+    private int spawnCount;
+
+    /**
+     * Capture the pending simulation step of an emitter.
+     *
+     * @param emitter The emitter to capture.
+     */
+    public void capture(final GpuParticleEmitter emitter) {
+        this.emitter = emitter;
+        emitter.capturePendingStep(this);
+    }
+
+    void setStep(final float elapsedTime, final int spawnCount, final Vector3fc position) {
+        this.elapsedTime = elapsedTime;
+        this.spawnCount = spawnCount;
+        this.position.set(position);
+    }
+
+    public GpuParticleEmitter getEmitter() {
+        return emitter;
+    }
+
+    public float getElapsedTime() {
+        return elapsedTime;
+    }
+
+    public int getSpawnCount() {
+        return spawnCount;
+    }
+
+    public Vector3fc getPosition() {
+        return position;
+    }
+}
@@ -1,9 +1,17 @@
 package com.adrienben.games.bagl.engine.rendering.particles;
 
 import com.adrienben.games.bagl.core.Color;
-import com.adrienben.games.bagl.engine.Time;
 import org.joml.Vector3f;
 
+/**
+ * Description of a particle to spawn.
+ * <p>
+ * The initializer of a {@link ParticleEmitter} receives a particle to set up each time a particle
+ * is spawned. Its attributes are then copied into the {@link ParticleStore} of the emitter so the
+ * same instance is reused for each spawn.
+ *
+ * @author adrien
+ */
 public class Particle {
 
     private Vector3f position;
@@ -14,10 +22,6 @@ public class Particle {
     private Color endColor;
     private float ttl;
 
-    private final Color color = new Color(0, 0, 0, 0);
-    private float timeLeft;
-    private boolean alive;
-
     public Particle(Vector3f position, Vector3f direction, float size, float speed, Color startColor, Color endColor, float ttl) {
         this.reset(position, direction, size, speed, startColor, endColor, ttl);
     }
@@ -26,19 +30,6 @@ public class Particle {
         this(new Vector3f(), new Vector3f(), 1, 0, Color.WHITE, Color.WHITE, 0);
     }
 
-    public void update(Time time) {
-        this.alive = this.timeLeft > 0;
-        if (this.alive) {
-            final var elapsedTime = time.getElapsedTime();
-            this.timeLeft -= elapsedTime;
-            this.direction.normalize().mul(elapsedTime * this.speed);
-            this.position.add(this.direction);
-
-            final var life = this.timeLeft / this.ttl;
-            Color.blend(this.startColor, this.endColor, life, this.color);
-        }
-    }
-
     public void reset(Vector3f position, Vector3f direction, float size, float speed, Color startColor, Color endColor, float ttl) {
         this.position = position;
         this.direction = direction;
@@ -47,14 +38,6 @@ public class Particle {
         this.startColor = startColor;
         this.endColor = endColor;
         this.ttl = ttl;
-
-        this.color.set(startColor);
-        this.timeLeft = ttl;
-        this.alive = this.timeLeft > 0;
-    }
-
-    public boolean isAlive() {
-        return alive;
     }
 
     public Vector3f getPosition() {
@@ -73,10 +56,6 @@ public class Particle {
         this.size = size;
     }
 
-    public Color getColor() {
-        return color;
-    }
-
     public Vector3f getDirection() {
         return direction;
     }
@@ -93,4 +72,15 @@ public class Particle {
         this.speed = speed;
     }
 
+    public Color getStartColor() {
+        return startColor;
+    }
+
+    public Color getEndColor() {
+        return endColor;
+    }
+
+    public float getTtl() {
+        return ttl;
+    }
 }
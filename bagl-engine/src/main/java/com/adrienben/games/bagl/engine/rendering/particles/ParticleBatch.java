@@ -0,0 +1,80 @@
+package com.adrienben.games.bagl.engine.rendering.particles;
+
+import org.joml.Vector3fc;
+
+import java.nio.FloatBuffer;
+
+/**
+ * CPU side of the particle rendering.
+ * <p>
+ * It gathers the alive particles of an emitter, sorts them and generates the vertices
+ * to upload to the GPU. It does not require an OpenGL context.
+ * <p>
+ * The batch only holds the order in which the particles of the {@link ParticleStore} of the emitter
+ * are rendered, so it must not be used once the emitter is updated again.
+ *
+ * @author adrien
+ */
+class ParticleBatch {
+
+    static final int ELEMENTS_PER_VERTEX = 8;
+
+    private ParticleStore particles;
+    private int size;
+    private int[] order = new int[0];
+    private final BackToFrontSorter sorter = new BackToFrontSorter();
+
+    /**
+     * Replace the content of the batch with the alive particles of {@code emitter}.
+     */
+    void collect(final ParticleEmitter emitter) {
+        particles = emitter.getParticles();
+        size = particles.size();
+        if (order.length < size) {
+            order = new int[particles.getCapacity()];
+        }
+        for (var i = 0; i < size; i++) {
+            order[i] = i;
+        }
+    }
+
+    /**
+     * Sort the particles from the furthest away from {@code eye} to the closest.
+     *
+     * @see BackToFrontSorter
+     */
+    void sortBackToFront(final Vector3fc eye) {
+        sorter.sort(order, size, particles.getPositions(), ParticleStore.POSITION_SIZE, eye);
+    }
+
+    /**
+     * Write the vertices of the particles of the batch into {@code vertices}.
+     * <p>
+     * Each particle is a point made of {@value #ELEMENTS_PER_VERTEX} floats: position, color and size.
+     */
+    void generateVertices(final FloatBuffer vertices) {
+        generateVertices(vertices, 0);
+    }
+
+    /**
+     * Write the vertices of the particles of the batch into {@code vertices}, starting at the
+     * vertex {@code firstVertex}.
+     */
+    void generateVertices(final FloatBuffer vertices, final int firstVertex) {
+        final var positions = particles.getPositions();
+        final var colors = particles.getColors();
+        final var sizes = particles.getSizes();
+        var index = firstVertex * ELEMENTS_PER_VERTEX;
+        for (var i = 0; i < size; i++) {
+            final var particle = order[i];
+            vertices.put(index, positions, particle * 3, 3);
+            vertices.put(index + 3, colors, particle * 4, 4);
+            vertices.put(index + 7, sizes[particle]);
+            index += ELEMENTS_PER_VERTEX;
+        }
+    }
+
+    int size() {
+        return size;
+    }
+}
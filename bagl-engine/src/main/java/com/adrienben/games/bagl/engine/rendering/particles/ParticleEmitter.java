@@ -1 +1 @@
-package com.adrienben.games.bagl.engine.rendering.particles;import com.adrienben.games.bagl.core.validation.Validation;import com.adrienben.games.bagl.engine.Time;import com.adrienben.games.bagl.opengl.BlendMode;import com.adrienben.games.bagl.opengl.texture.Texture2D;import org.joml.Vector3f;import org.joml.Vector3fc;import java.util.Objects;import java.util.Optional;import java.util.function.Consumer;/** * Particle emitter. * <p> * A particle emitter is responsible to spawn particles at a given rate. The * number of particles spawn and spawn rate can be configured. A emitter can * have a {@link Texture2D} associated, if so every particles spawn by this * emitter will be render with that texture. * <p> * A {@link Consumer} of {@link Particle} must be passed in when creating * the emitter it will be call for each spawned particle. Its purpose is to * initialize the particle. That initializer function will set a position * to the particle. That position is RELATIVE to the position of the emitter. * <p> * Each emitter holds its own particle pool to avoid instantiating to much * objects. */public class ParticleEmitter {    public static final int MAX_PARTICLE_COUNT = 10000;    private final Vector3f position;    private final Texture2D texture;    private final BlendMode blendMode;    private final float rate;    private final int batchSize;    private final Particle[] pool;    private float timeToNextBatch;    private final Consumer<Particle> initializer;    private ParticleEmitter(final Builder builder) {        this(builder.position, builder.texture, builder.blendMode, builder.rate, builder.batchSize, builder.initializer);    }    private ParticleEmitter(final Vector3f position, final Texture2D texture, final BlendMode blendMode, final float rate, final int batchSize, final Consumer<Particle> initializer) {        this.position = position;        this.texture = texture;        this.blendMode = blendMode;        this.rate = rate;        this.batchSize = batchSize;        this.timeToNextBatch = rate;        this.initializer = Validation.validate(initializer, Objects::nonNull, "A particle emitter needs a particle initializer");        this.pool = initPool();    }    /**     * Returns a new builder for particle emitter.     */    public static Builder builder() {        return new Builder();    }    private Particle[] initPool() {        final var pool = new Particle[MAX_PARTICLE_COUNT];        for (var i = 0; i < MAX_PARTICLE_COUNT; i++) {            pool[i] = new Particle();        }        return pool;    }    /**     * Updates all the particles owned by this emitter and     * generates a new batch of particles if enough time as     * passed.     *     * @param time Game time.     */    public void update(Time time) {        for (final var p : this.pool) {            p.update(time);        }        this.timeToNextBatch -= time.getElapsedTime();        if (this.timeToNextBatch <= 0) {            this.generateBatch();        }    }    private void generateBatch() {        this.timeToNextBatch = this.rate;        int generated = 0;        for (int i = 0; i < MAX_PARTICLE_COUNT; i++) {            if (generated == this.batchSize) {                break;            }            final Particle p = this.pool[i];            if (!p.isAlive()) {                this.initializer.accept(p);                p.getPosition().add(this.position);                generated++;            }        }    }    public void setPosition(final Vector3fc position) {        this.position.set(position);    }    public Optional<Texture2D> getTexture() {        return Optional.ofNullable(this.texture);    }    public BlendMode getBlendMode() {        return this.blendMode;    }    public Particle[] getParticles() {        return this.pool;    }    /**     * Particle emitter builder.     * <p>     * Use it to build new {@link ParticleEmitter}. The fields are :     * <li>position - default = (0, 0, 0)</li>     * <li>texture - default = null</li>     * <li>blendMode - default = ADDITIVE</li>     * <li>rate - The rate at which new batch are generated - default = 1.0</li>     * <li>batchSize - Number of particle generated by batch - default = 1</li>     * <li>initializer - Particle initializer used to reset particles - required</li>     */    public static class Builder {        private Vector3f position = new Vector3f();        private Texture2D texture = null;        private BlendMode blendMode = BlendMode.ADDITIVE;        private float rate = 1.0f;        private int batchSize = 1;        private Consumer<Particle> initializer = null;        public ParticleEmitter build() {            return new ParticleEmitter(this);        }        public Builder position(final Vector3fc position) {            this.position.set(Validation.validate(position, Objects::nonNull, "position should not be null"));            return this;        }        public Builder texture(final Texture2D texture) {            this.texture = texture;            return this;        }        public Builder blendMode(final BlendMode blendMode) {            this.blendMode = Validation.validate(blendMode, Objects::nonNull, "blendMode should not be null");            return this;        }        public Builder rate(final float rate) {            this.rate = Validation.validate(rate, r -> r > 0, "rate should be more than zero");            return this;        }        public Builder batchSize(final int batchSize) {            this.batchSize = Validation.validate(batchSize, b -> b > 0, "batchSize should be more than zero");            return this;        }        public Builder initializer(final Consumer<Particle> initializer) {            this.initializer = Validation.validate(initializer, Objects::nonNull, "initializer should not be null");            return this;        }    }}
\ No newline at end of file
+package com.adrienben.games.bagl.engine.rendering.particles;import com.adrienben.games.bagl.core.validation.Validation;import com.adrienben.games.bagl.engine.Time;import com.adrienben.games.bagl.engine.jobs.JobSystem;import com.adrienben.games.bagl.opengl.BlendMode;import com.adrienben.games.bagl.opengl.texture.Texture2D;import org.joml.Vector3f;import org.joml.Vector3fc;import org.joml.primitives.AABBf;import org.joml.primitives.AABBfc;import java.util.Objects;import java.util.Optional;import java.util.function.Consumer;/** * Particle emitter. * <p> * A particle emitter is responsible to spawn particles at a given rate. The * number of particles spawn and spawn rate can be configured. A emitter can * have a {@link Texture2D} associated, if so every particles spawn by this * emitter will be render with that texture. * <p> * A {@link Consumer} of {@link Particle} must be passed in when creating * the emitter it will be call for each spawned particle. Its purpose is to * initialize the particle. That initializer function will set a position * to the particle. That position is RELATIVE to the position of the emitter. * <p> * The alive particles are stored in a {@link ParticleStore}. Its capacity is computed from the * spawn rate, the batch size and the maximum time to live of the particles if it is known, * otherwise it starts at one batch and grows when needed. In both cases an emitter never holds * more than {@link ParticleEmitter#MAX_PARTICLE_COUNT} particles, new particles are discarded * until some of the alive particles die. * <p> * When a {@link JobSystem} is given to the emitter, large amounts of particles are updated * concurrently by chunks. * <p> * The emitter keeps a bounding box enclosing its alive particles and its own position, so renderers * can skip emitters out of the view. When an emitter is flagged as culled by the renderer and was * built with {@code simulateWhenCulled} set to false, its particles are frozen until it is visible again. */public class ParticleEmitter {    public static final int MAX_PARTICLE_COUNT = 10000;    private final Vector3f position;    private final Texture2D texture;    private final BlendMode blendMode;    private final float rate;    private final int batchSize;    private final JobSystem jobSystem;    private final boolean simulateWhenCulled;    private final ParticleStore particles;    private final Particle spawn = new Particle();    private float timeToNextBatch;    private final Consumer<Particle> initializer;    private final AABBf bounds = new AABBf();    private boolean culled;    private ParticleEmitter(final Builder builder) {        this.position = builder.position;        this.texture = builder.texture;        this.blendMode = builder.blendMode;        this.rate = builder.rate;        this.batchSize = builder.batchSize;        this.jobSystem = builder.jobSystem;        this.simulateWhenCulled = builder.simulateWhenCulled;        this.timeToNextBatch = builder.rate;        this.initializer = Validation.validate(builder.initializer, Objects::nonNull, "A particle emitter needs a particle initializer");        this.particles = new ParticleStore(computeInitialCapacity(builder), MAX_PARTICLE_COUNT);    }    /**     * Returns a new builder for particle emitter.     */    public static Builder builder() {        return new Builder();    }    /**     * Compute the number of particles alive at the same time when the emitter is in a steady state:     * one batch per spawn period during the maximum time to live, plus the batch being spawned.     */    private static int computeInitialCapacity(final Builder builder) {        if (builder.maxTtl <= 0) {            return Math.min(builder.batchSize, MAX_PARTICLE_COUNT);        }        final var batchCount = (long) Math.ceil(builder.maxTtl / builder.rate) + 1;        return (int) Math.min(batchCount * builder.batchSize, MAX_PARTICLE_COUNT);    }    /**     * Updates all the particles owned by this emitter and     * generates a new batch of particles if enough time as     * passed.     * <p>     * Nothing is simulated if the emitter is culled and should not be     * simulated when culled, only its bounds follow its position.     *     * @param time Game time.     */    public void update(Time time) {        if (!this.culled || this.simulateWhenCulled) {            this.particles.update(time.getElapsedTime(), this.jobSystem);            this.timeToNextBatch -= time.getElapsedTime();            if (this.timeToNextBatch <= 0) {                this.generateBatch();            }        }        this.bounds.set(this.particles.getBounds()).union(this.position);    }    private void generateBatch() {        this.timeToNextBatch = this.rate;        for (var i = 0; i < this.batchSize; i++) {            this.initializer.accept(this.spawn);            if (!this.particles.add(this.spawn, this.position)) {                break;            }        }    }    public void setPosition(final Vector3fc position) {        this.position.set(position);    }    /**     * Flag the emitter as culled or not. This is set by the renderer each time the     * emitter is checked against the view of the camera.     *     * @param culled true if the emitter is out of view.     */    public void setCulled(final boolean culled) {        this.culled = culled;    }    public boolean isCulled() {        return this.culled;    }    /**     * Get the bounding box of the alive particles and of the emitter as of the last update.     */    public AABBfc getBounds() {        return this.bounds;    }    public Optional<Texture2D> getTexture() {        return Optional.ofNullable(this.texture);    }    public BlendMode getBlendMode() {        return this.blendMode;    }    public ParticleStore getParticles() {        return this.particles;    }    /**     * Particle emitter builder.     * <p>     * Use it to build new {@link ParticleEmitter}. The fields are :     * <li>position - default = (0, 0, 0)</li>     * <li>texture - default = null</li>     * <li>blendMode - default = ADDITIVE</li>     * <li>rate - The rate at which new batch are generated - default = 1.0</li>     * <li>batchSize - Number of particle generated by batch - default = 1</li>     * <li>maxTtl - The maximum time to live of the particles, used to size the particle storage.     * If 0 the storage grows when needed - default = 0</li>     * <li>jobSystem - The job system used to update chunks of particles concurrently - default = null</li>     * <li>simulateWhenCulled - Whether particles are simulated while the emitter is culled - default = true</li>     * <li>initializer - Particle initializer used to reset particles - required</li>     */    public static class Builder {        private Vector3f position = new Vector3f();        private Texture2D texture = null;        private BlendMode blendMode = BlendMode.ADDITIVE;        private float rate = 1.0f;        private int batchSize = 1;        private float maxTtl = 0f;        private JobSystem jobSystem = null;        private boolean simulateWhenCulled = true;        private Consumer<Particle> initializer = null;        public ParticleEmitter build() {            return new ParticleEmitter(this);        }        public Builder position(final Vector3fc position) {            this.position.set(Validation.validate(position, Objects::nonNull, "position should not be null"));            return this;        }        public Builder texture(final Texture2D texture) {            this.texture = texture;            return this;        }        public Builder blendMode(final BlendMode blendMode) {            this.blendMode = Validation.validate(blendMode, Objects::nonNull, "blendMode should not be null");            return this;        }        public Builder rate(final float rate) {            this.rate = Validation.validate(rate, r -> r > 0, "rate should be more than zero");            return this;        }        public Builder batchSize(final int batchSize) {            this.batchSize = Validation.validate(batchSize, b -> b > 0, "batchSize should be more than zero");            return this;        }        public Builder maxTtl(final float maxTtl) {            this.maxTtl = Validation.validate(maxTtl, t -> t >= 0, "maxTtl should not be negative");            return this;        }        public Builder jobSystem(final JobSystem jobSystem) {            this.jobSystem = jobSystem;            return this;        }        public Builder simulateWhenCulled(final boolean simulateWhenCulled) {            this.simulateWhenCulled = simulateWhenCulled;            return this;        }        public Builder initializer(final Consumer<Particle> initializer) {            this.initializer = Validation.validate(initializer, Objects::nonNull, "initializer should not be null");            return this;        }    }}
\ No newline at end of file
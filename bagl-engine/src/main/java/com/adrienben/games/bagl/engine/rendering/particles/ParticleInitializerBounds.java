@@ -0,0 +1,144 @@
+package com.adrienben.games.bagl.engine.rendering.particles;
+
+import com.adrienben.games.bagl.core.Color;
+import com.adrienben.games.bagl.core.validation.Validation;
+import org.joml.Vector2f;
+import org.joml.Vector2fc;
+import org.joml.Vector3f;
+import org.joml.Vector3fc;
+
+import java.util.function.Consumer;
+
+/**
+ * Ranges of the attributes of the particles spawned by a particle initializer.
+ * <p>
+ * The initializer is called a number of times and the minimum and maximum value of each attribute is recorded.
+ * Scalar ranges are stored in a {@link Vector2f} whose x component is the minimum and y the maximum. Colors are
+ * recorded channel by channel.
+ * <p>
+ * This is how initializers are turned into parameters of the shaders of a {@link GpuParticleEmitter}. It is exact
+ * for initializers returning constants and close to the original distribution for initializers drawing each
+ * attribute uniformly in a range, which is what scene files describe.
+ *
+ * @author adrien
+ */
+class ParticleInitializerBounds {
+
+    static final int DEFAULT_SAMPLE_COUNT = 256;
+
+    private final Vector3f minPosition = new Vector3f(Float.POSITIVE_INFINITY);
+    private final Vector3f maxPosition = new Vector3f(Float.NEGATIVE_INFINITY);
+    private final Vector3f minDirection = new Vector3f(Float.POSITIVE_INFINITY);
+    private final Vector3f maxDirection = new Vector3f(Float.NEGATIVE_INFINITY);
+    private final Vector2f size = emptyRange();
+    private final Vector2f speed = emptyRange();
+    private final Vector2f ttl = emptyRange();
+    private final Color minStartColor = new Color(Float.POSITIVE_INFINITY, Float.POSITIVE_INFINITY, Float.POSITIVE_INFINITY, Float.POSITIVE_INFINITY);
+    private final Color maxStartColor = new Color(Float.NEGATIVE_INFINITY, Float.NEGATIVE_INFINITY, Float.NEGATIVE_INFINITY, Float.NEGATIVE_INFINITY);
+    private final Color minEndColor = new Color(Float.POSITIVE_INFINITY, Float.POSITIVE_INFINITY, Float.POSITIVE_INFINITY, Float.POSITIVE_INFINITY);
+    private final Color maxEndColor = new Color(Float.NEGATIVE_INFINITY, Float.NEGATIVE_INFINITY, Float.NEGATIVE_INFINITY, Float.NEGATIVE_INFINITY);
+
+    /**
+     * Sample an initializer.
+     *
+     * @param initializer The initializer to sample.
+     * @param sampleCount The number of particles to initialize.
+     * @throws IllegalArgumentException if the sample count is not positive.
+     */
+    ParticleInitializerBounds(final Consumer<Particle> initializer, final int sampleCount) {
+        Validation.validate(sampleCount, count -> count > 0, "Sample count must be positive");
+        final var particle = new Particle();
+        for (var i = 0; i < sampleCount; i++) {
+            initializer.accept(particle);
+            record(particle);
+        }
+    }
+
+    private static Vector2f emptyRange() {
+        return new Vector2f(Float.POSITIVE_INFINITY, Float.NEGATIVE_INFINITY);
+    }
+
+    private void record(final Particle particle) {
+        minPosition.min(particle.getPosition());
+        maxPosition.max(particle.getPosition());
+        final var direction = normalized(particle.getDirection());
+        minDirection.min(direction);
+        maxDirection.max(direction);
+        extend(size, particle.getSize());
+        extend(speed, particle.getSpeed());
+        extend(ttl, particle.getTtl());
+        extend(minStartColor, maxStartColor, particle.getStartColor());
+        extend(minEndColor, maxEndColor, particle.getEndColor());
+    }
+
+    private static Vector3f normalized(final Vector3fc direction) {
+        final var length = direction.length();
+        return length > 0f ? direction.div(length, new Vector3f()) : new Vector3f();
+    }
+
+    private static void extend(final Vector2f range, final float value) {
+        range.x = Math.min(range.x, value);
+        range.y = Math.max(range.y, value);
+    }
+
+    private static void extend(final Color min, final Color max, final Color color) {
+        min.setRed(Math.min(min.getRed(), color.getRed()));
+        min.setGreen(Math.min(min.getGreen(), color.getGreen()));
+        min.setBlue(Math.min(min.getBlue(), color.getBlue()));
+        min.setAlpha(Math.min(min.getAlpha(), color.getAlpha()));
+        max.setRed(Math.max(max.getRed(), color.getRed()));
+        max.setGreen(Math.max(max.getGreen(), color.getGreen()));
+        max.setBlue(Math.max(max.getBlue(), color.getBlue()));
+        max.setAlpha(Math.max(max.getAlpha(), color.getAlpha()));
+    }
+
+    Vector3fc getMinPosition() {
+        return minPosition;
+    }
+
+    Vector3fc getMaxPosition() {
+        return maxPosition;
+    }
+
+    /**
+     * Get the minimum of the normalized directions.
+     */
+    Vector3fc getMinDirection() {
+        return minDirection;
+    }
+
+    /**
+     * Get the maximum of the normalized directions.
+     */
+    Vector3fc getMaxDirection() {
+        return maxDirection;
+    }
+
+    Vector2fc getSize() {
+        return size;
+    }
+
+    Vector2fc getSpeed() {
+        return speed;
+    }
+
+    Vector2fc getTtl() {
+        return ttl;
+    }
+
+    Color getMinStartColor() {
+        return minStartColor;
+    }
+
+    Color getMaxStartColor() {
+        return maxStartColor;
+    }
+
+    Color getMinEndColor() {
+        return minEndColor;
+    }
+
+    Color getMaxEndColor() {
+        return maxEndColor;
+    }
+}
@@ -0,0 +1,59 @@
+package com.adrienben.games.bagl.engine.rendering.particles;
+
+import org.joml.primitives.AABBf;
+
+/**
+ * Integration kernel of the particles of a {@link ParticleStore}.
+ * <p>
+ * A kernel decrements the time left of a range of particles, moves them along their velocity and blends their
+ * color. It processes dead particles like the others and does not remove them, so ranges can be integrated
+ * concurrently and dead particles are removed afterwards. Once they are removed, the kernel also computes the
+ * bounds of the remaining particles.
+ *
+ * @author adrien
+ */
+interface ParticleKernel {
+
+    String VECTOR_MODULE = "jdk.incubator.vector";
+
+    /**
+     * Integrate the particles in [from, to[.
+     *
+     * @param particles   The particles to integrate.
+     * @param from        The index of the first particle to integrate.
+     * @param to          The index following the last particle to integrate.
+     * @param elapsedTime The time elapsed since the last update in seconds.
+     */
+    void integrate(ParticleStore particles, int from, int to, float elapsedTime);
+
+    /**
+     * Compute the box enclosing the positions of the particles of a store and their largest size.
+     *
+     * @param particles The particles to bound.
+     * @param bounds    The box receiving the bounds of the positions. It is invalid if the store is empty.
+     * @return The largest size of the particles or 0 if the store is empty.
+     */
+    float bound(ParticleStore particles, AABBf bounds);
+
+    /**
+     * Create the fastest kernel supported by the running JVM.
+     * <p>
+     * The SIMD kernel requires the {@value #VECTOR_MODULE} module which is only resolved when the application is started
+     * with {@code --add-modules jdk.incubator.vector}. Otherwise or if the CPU has no suitable SIMD registers the scalar
+     * kernel is used.
+     */
+    static ParticleKernel create() {
+        if (isVectorModuleAvailable() && VectorParticleKernel.isSupported()) {
+            return new VectorParticleKernel();
+        }
+        return new ScalarParticleKernel();
+    }
+
+    /**
+     * Check whether the {@value #VECTOR_MODULE} module was resolved. This must be checked before loading any class
+     * depending on it.
+     */
+    static boolean isVectorModuleAvailable() {
+        return ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent();
+    }
+}
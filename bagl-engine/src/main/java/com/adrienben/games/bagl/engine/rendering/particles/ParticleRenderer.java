@@ -11,30 +11,40 @@ import com.adrienben.games.bagl.engine.rendering.shaders.CameraUniformSetter;
 import com.adrienben.games.bagl.engine.rendering.shaders.LightUniformSetter;
 import com.adrienben.games.bagl.opengl.BlendMode;
 import com.adrienben.games.bagl.opengl.OpenGL;
+import com.adrienben.games.bagl.opengl.PrimitiveType;
 import com.adrienben.games.bagl.opengl.buffer.BufferUsage;
+import com.adrienben.games.bagl.opengl.profiling.FrameCounters;
 import com.adrienben.games.bagl.opengl.shader.Shader;
 import com.adrienben.games.bagl.opengl.texture.Texture;
 import com.adrienben.games.bagl.opengl.vertex.VertexArray;
 import com.adrienben.games.bagl.opengl.vertex.VertexBuffer;
 import com.adrienben.games.bagl.opengl.vertex.VertexBufferParams;
 import com.adrienben.games.bagl.opengl.vertex.VertexElement;
-import org.joml.Vector3f;
 import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL40;
 import org.lwjgl.system.MemoryUtil;
 
 import java.nio.FloatBuffer;
-import java.util.*;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 
 /**
  * Render particles using OpenGL geometry shaders
+ * <p>
+ * The particles of {@link GpuParticleEmitter}s are simulated by a {@link GpuParticleSimulator} just before
+ * being drawn with an indirect draw call. The resources required by those emitters are created the first
+ * time one of them is rendered since they require OpenGL 4.3
+ * <p>
+ * The camera and light uniforms are only uploaded to a shader on the first draw following a call to one of
+ * their setters, so they must be set again when the camera or the lights change but setting them once per frame
+ * is enough, whatever the number of emitters drawn
  *
  * @author adrien
  */
 public class ParticleRenderer implements Renderer<ParticleEmitter> {
 
-    private static final ParticleComparator PARTICLE_COMPARATOR = new ParticleComparator();
-    private static final int ELEMENTS_PER_VERTEX = 8;
     private static final int POSITION_INDEX = 0;
     private static final int ELEMENTS_PER_POSITION = 3;
     private static final int COLOR_INDEX = 1;
@@ -48,12 +58,19 @@ public class ParticleRenderer implements Renderer<ParticleEmitter> {
     private final FloatBuffer vertices;
     private final VertexBuffer vBuffer;
     private final VertexArray vArray;
-    private final List<Particle> particlesToRender;
+    private final ParticleBatch batch;
+
+    private GpuParticleSimulator gpuSimulator;
+    private Shader gpuShader;
+    private CameraUniformSetter gpuCameraUniformSetter;
+    private LightUniformSetter gpuLightUniformSetter;
+    private VertexArray gpuVArray;
 
     private Camera camera;
     private List<DirectionalLight> directionalLights;
     private List<PointLight> pointLights;
     private List<SpotLight> spotLights;
+    private final Set<Shader> shadersWithUpToDateUniforms = new HashSet<>();
 
     /**
      * Construct the particle renderer
@@ -67,7 +84,7 @@ public class ParticleRenderer implements Renderer<ParticleEmitter> {
         this.cameraUniformSetter = new CameraUniformSetter(shader);
         this.lightUniformSetter = new LightUniformSetter(shader);
 
-        this.vertices = MemoryUtil.memAllocFloat(ParticleEmitter.MAX_PARTICLE_COUNT * ELEMENTS_PER_VERTEX);
+        this.vertices = MemoryUtil.memAllocFloat(ParticleEmitter.MAX_PARTICLE_COUNT * ParticleBatch.ELEMENTS_PER_VERTEX);
         this.vBuffer = new VertexBuffer(this.vertices, VertexBufferParams.builder()
                 .usage(BufferUsage.STREAM_DRAW)
                 .element(new VertexElement(POSITION_INDEX, ELEMENTS_PER_POSITION))
@@ -80,7 +97,7 @@ public class ParticleRenderer implements Renderer<ParticleEmitter> {
         this.vArray.attachVertexBuffer(this.vBuffer);
         this.vArray.unbind();
 
-        this.particlesToRender = new ArrayList<>();
+        this.batch = new ParticleBatch();
     }
 
     /**
@@ -91,6 +108,25 @@ public class ParticleRenderer implements Renderer<ParticleEmitter> {
         MemoryUtil.memFree(vertices);
         vBuffer.destroy();
         vArray.destroy();
+        if (Objects.nonNull(gpuSimulator)) {
+            gpuSimulator.destroy();
+            gpuShader.destroy();
+            gpuVArray.destroy();
+        }
+    }
+
+    private void createGpuResourcesIfNeeded() {
+        if (Objects.isNull(gpuSimulator)) {
+            gpuSimulator = new GpuParticleSimulator();
+            gpuShader = Shader.pipelineBuilder()
+                    .vertexPath(ResourcePath.get("classpath:/shaders/particles/gpu_particles.vert"))
+                    .fragmentPath(ResourcePath.get("classpath:/shaders/particles/particles.frag"))
+                    .geometryPath(ResourcePath.get("classpath:/shaders/particles/particles.geom"))
+                    .build();
+            gpuCameraUniformSetter = new CameraUniformSetter(gpuShader);
+            gpuLightUniformSetter = new LightUniformSetter(gpuShader);
+            gpuVArray = new VertexArray();
+        }
     }
 
     /**
@@ -103,43 +139,102 @@ public class ParticleRenderer implements Renderer<ParticleEmitter> {
     public void render(final ParticleEmitter emitter) {
         checkRenderPreConditions();
 
-        bufferParticlesToRender(emitter);
+        batch.collect(emitter);
         sortParticlesIfEmitterHasNotAdditiveBlending(emitter);
-        generateParticleVertices();
+        batch.generateVertices(vertices);
 
-        final AtomicBoolean hasTexture = new AtomicBoolean(false);
-        emitter.getTexture().ifPresent(texture -> {
-            hasTexture.set(true);
-            texture.bind();
-        });
+        renderVertices(batch.size(), emitter.getTexture().orElse(null), emitter.getBlendMode());
+    }
 
-        shader.bind();
-        shader.setUniform("hasTexture", hasTexture.get());
-        setUpCameraShaderUniforms();
-        setUpDirectionalLightsShaderUniforms();
-        setUpPointLightsShaderUniforms();
-        setUpSpotLightsShaderUniforms();
+    /**
+     * Render particles captured in a {@link ParticleSnapshot} from a {@link Camera} point of view
+     * <p>
+     * The particles are already sorted in the snapshot so it is only uploaded and drawn. The particles of all
+     * the emitters of the snapshot are drawn at once, unless there are more than {@link ParticleEmitter#MAX_PARTICLE_COUNT}
+     * of them. Then they are uploaded and drawn in several chunks, in order
+     *
+     * @param snapshot The snapshot to render
+     */
+    public void render(final ParticleSnapshot snapshot) {
+        checkRenderPreConditions();
+        final var texture = snapshot.getTexture().orElse(null);
+        final var particleCount = snapshot.getParticleCount();
+        for (var first = 0; first < particleCount; first += ParticleEmitter.MAX_PARTICLE_COUNT) {
+            final var count = Math.min(ParticleEmitter.MAX_PARTICLE_COUNT, particleCount - first);
+            snapshot.copyVertices(vertices, first, count);
+            renderVertices(count, texture, snapshot.getBlendMode());
+        }
+    }
+
+    /**
+     * Simulate the particles of a {@link GpuParticleEmitter} and render them from a {@link Camera} point of view
+     * <p>
+     * The particles never leave the GPU. They are not sorted so the emitter should use additive blending
+     *
+     * @param snapshot The snapshot of the emitter to simulate and render
+     */
+    public void render(final GpuParticleSnapshot snapshot) {
+        checkRenderPreConditions();
+        createGpuResourcesIfNeeded();
+        gpuSimulator.simulate(snapshot);
+
+        final var emitter = snapshot.getEmitter();
+        emitter.bindDrawBuffers();
+        draw(gpuShader, gpuCameraUniformSetter, gpuLightUniformSetter, gpuVArray, emitter.getTexture().orElse(null),
+                emitter.getBlendMode(), () -> {
+                    GL40.glDrawArraysIndirect(GL11.GL_POINTS, GpuParticleEmitter.DRAW_COMMAND_OFFSET);
+                    FrameCounters.countIndirectDrawCall();
+                });
+        emitter.unbindDrawBuffers();
+    }
 
+    /**
+     * Upload the vertices of the particles to render and draw them. Only the vertices of the
+     * rendered particles are uploaded.
+     */
+    private void renderVertices(final int particleCount, final Texture texture, final BlendMode blendMode) {
+        vertices.limit(particleCount * ParticleBatch.ELEMENTS_PER_VERTEX);
         vBuffer.bind();
         vBuffer.update(vertices);
         vBuffer.unbind();
+        vertices.clear();
+
+        draw(shader, cameraUniformSetter, lightUniformSetter, vArray, texture, blendMode, () -> {
+            GL11.glDrawArrays(GL11.GL_POINTS, 0, particleCount);
+            FrameCounters.countDrawCall(PrimitiveType.POINTS, particleCount);
+        });
+    }
+
+    private void draw(final Shader shader, final CameraUniformSetter cameraUniformSetter, final LightUniformSetter lightUniformSetter,
+                      final VertexArray vArray, final Texture texture, final BlendMode blendMode, final Runnable drawCall) {
+        final var hasTexture = Objects.nonNull(texture);
+        if (hasTexture) {
+            texture.bind();
+        }
+
+        shader.bind();
+        shader.setUniform("hasTexture", hasTexture);
+        if (shadersWithUpToDateUniforms.add(shader)) {
+            cameraUniformSetter.setViewUniform(camera);
+            cameraUniformSetter.setViewProjectionUniform(camera);
+            lightUniformSetter.setDirectionalLightsUniforms(directionalLights);
+            lightUniformSetter.setPointLightsUniforms(pointLights);
+            lightUniformSetter.setSpotLightsUniforms(spotLights);
+        }
 
         vArray.bind();
 
-        OpenGL.setBlendMode(emitter.getBlendMode());
+        OpenGL.setBlendMode(blendMode);
         OpenGL.disableDepthWrite();
-        GL11.glDrawArrays(GL11.GL_POINTS, 0, particlesToRender.size());
+        drawCall.run();
         OpenGL.enableDepthWrite();
         OpenGL.setBlendMode(BlendMode.NONE);
 
         vArray.unbind();
         Shader.unbind();
-        emitter.getTexture().ifPresent(Texture::unbind);
-    }
-
-    private void bufferParticlesToRender(ParticleEmitter emitter) {
-        particlesToRender.clear();
-        Arrays.stream(emitter.getParticles()).filter(Particle::isAlive).forEach(particlesToRender::add);
+        if (hasTexture) {
+            texture.unbind();
+        }
     }
 
     private void checkRenderPreConditions() {
@@ -150,79 +245,27 @@ public class ParticleRenderer implements Renderer<ParticleEmitter> {
 
     private void sortParticlesIfEmitterHasNotAdditiveBlending(final ParticleEmitter emitter) {
         if (emitter.getBlendMode() != BlendMode.ADDITIVE) {
-            PARTICLE_COMPARATOR.setCamera(camera);
-            particlesToRender.sort(PARTICLE_COMPARATOR);
-        }
-    }
-
-    private void generateParticleVertices() {
-        var index = 0;
-        for (final var p : particlesToRender) {
-            vertices.put(index++, p.getPosition().x());
-            vertices.put(index++, p.getPosition().y());
-            vertices.put(index++, p.getPosition().z());
-            vertices.put(index++, p.getColor().getRed());
-            vertices.put(index++, p.getColor().getGreen());
-            vertices.put(index++, p.getColor().getBlue());
-            vertices.put(index++, p.getColor().getAlpha());
-            vertices.put(index++, p.getSize());
+            batch.sortBackToFront(camera.getPosition());
         }
     }
 
-    private void setUpCameraShaderUniforms() {
-        cameraUniformSetter.setViewUniform(camera);
-        cameraUniformSetter.setViewProjectionUniform(camera);
-    }
-
-    private void setUpDirectionalLightsShaderUniforms() {
-        lightUniformSetter.setDirectionalLightsUniforms(directionalLights);
-    }
-
-    private void setUpPointLightsShaderUniforms() {
-        lightUniformSetter.setPointLightsUniforms(pointLights);
-    }
-
-    private void setUpSpotLightsShaderUniforms() {
-        lightUniformSetter.setSpotLightsUniforms(spotLights);
-    }
-
     public void setCamera(final Camera camera) {
         this.camera = camera;
+        shadersWithUpToDateUniforms.clear();
     }
 
     public void setDirectionalLights(final List<DirectionalLight> directionalLights) {
         this.directionalLights = directionalLights;
+        shadersWithUpToDateUniforms.clear();
     }
 
     public void setPointLights(final List<PointLight> pointLights) {
         this.pointLights = pointLights;
+        shadersWithUpToDateUniforms.clear();
     }
 
     public void setSpotLights(final List<SpotLight> spotLights) {
         this.spotLights = spotLights;
-    }
-
-    /**
-     * This comparators is used to sort particles from the furthest aways from
-     * the camera to the closest
-     */
-    private static class ParticleComparator implements Comparator<Particle> {
-
-        private Camera camera;
-        private final Vector3f v0 = new Vector3f();
-        private final Vector3f v1 = new Vector3f();
-
-        @Override
-        public int compare(final Particle p0, final Particle p1) {
-            p0.getPosition().sub(camera.getPosition(), v0);
-            p1.getPosition().sub(camera.getPosition(), v1);
-            final var dist0 = v0.lengthSquared();
-            final var dist1 = v1.lengthSquared();
-            return Float.compare(dist1, dist0);
-        }
-
-        public void setCamera(final Camera camera) {
-            this.camera = camera;
-        }
+        shadersWithUpToDateUniforms.clear();
     }
 }
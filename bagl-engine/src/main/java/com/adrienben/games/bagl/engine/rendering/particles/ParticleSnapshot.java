@@ -0,0 +1,159 @@
+package com.adrienben.games.bagl.engine.rendering.particles;
+
+import com.adrienben.games.bagl.opengl.BlendMode;
+import com.adrienben.games.bagl.opengl.texture.Texture2D;
+import org.joml.Vector3fc;
+
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Copy of the state of one or several {@link ParticleEmitter}s required to render them.
+ * <p>
+ * Emitters sharing the same texture and blend mode can be added to the same snapshot so they are
+ * uploaded and drawn at once. The vertices of their alive particles are generated when they are added,
+ * then {@link ParticleSnapshot#sortBackToFront(Vector3fc)} sorts the particles of all emitters together
+ * unless the blend mode is additive. Once captured, the snapshot does not reference the particles of the
+ * emitters anymore so it can be rendered by a thread while the emitters are updated by another.
+ * <p>
+ * Snapshots are meant to be reused, the vertex storage only grows when needed.
+ *
+ * @author adrien
+ */
+public class ParticleSnapshot {
+
+    private final ParticleBatch batch = new ParticleBatch();
+    private final BackToFrontSorter sorter = new BackToFrontSorter();
+    private float[] vertices = new float[0];
+    private float[] sortedVertices = new float[0];
+    private FloatBuffer verticesBuffer = FloatBuffer.wrap(vertices);
+    private int[] order = new int[0];
+    private int particleCount;
+    private int emitterCount;
+    private Texture2D texture;
+    private BlendMode blendMode;
+
+    /**
+     * Capture the state of an emitter.
+     *
+     * @param emitter The emitter to capture.
+     * @param eye     The position from which the particles will be seen.
+     */
+    public void capture(final ParticleEmitter emitter, final Vector3fc eye) {
+        clear(emitter.getTexture().orElse(null), emitter.getBlendMode());
+        add(emitter);
+        sortBackToFront(eye);
+    }
+
+    /**
+     * Empty the snapshot and set the texture and blend mode of the emitters that can be added to it.
+     *
+     * @param texture   The texture of the emitters. Can be null.
+     * @param blendMode The blend mode of the emitters.
+     */
+    public void clear(final Texture2D texture, final BlendMode blendMode) {
+        this.texture = texture;
+        this.blendMode = blendMode;
+        particleCount = 0;
+        emitterCount = 0;
+    }
+
+    /**
+     * Check whether {@code emitter} has the texture and blend mode of the snapshot.
+     */
+    public boolean accepts(final ParticleEmitter emitter) {
+        return emitter.getBlendMode() == blendMode && Objects.equals(emitter.getTexture().orElse(null), texture);
+    }
+
+    /**
+     * Append the vertices of the alive particles of an emitter to the snapshot.
+     * <p>
+     * The emitter should have the texture and blend mode of the snapshot, see {@link ParticleSnapshot#accepts(ParticleEmitter)}.
+     *
+     * @param emitter The emitter to add.
+     */
+    public void add(final ParticleEmitter emitter) {
+        batch.collect(emitter);
+        ensureCapacity((particleCount + batch.size()) * ParticleBatch.ELEMENTS_PER_VERTEX);
+        batch.generateVertices(verticesBuffer, particleCount);
+        particleCount += batch.size();
+        emitterCount++;
+    }
+
+    private void ensureCapacity(final int elementCount) {
+        if (vertices.length < elementCount) {
+            vertices = Arrays.copyOf(vertices, Math.max(elementCount, vertices.length * 2));
+            verticesBuffer = FloatBuffer.wrap(vertices);
+        }
+    }
+
+    /**
+     * Sort the particles of all the emitters from the furthest away from {@code eye} to the closest.
+     * Nothing is done if the blend mode is additive since the order does not matter then.
+     */
+    public void sortBackToFront(final Vector3fc eye) {
+        if (blendMode == BlendMode.ADDITIVE || particleCount < 2) {
+            return;
+        }
+        if (sortedVertices.length < vertices.length) {
+            sortedVertices = new float[vertices.length];
+            order = new int[vertices.length / ParticleBatch.ELEMENTS_PER_VERTEX];
+        }
+        for (var i = 0; i < particleCount; i++) {
+            order[i] = i;
+        }
+        sorter.sort(order, particleCount, vertices, ParticleBatch.ELEMENTS_PER_VERTEX, eye);
+        for (var i = 0; i < particleCount; i++) {
+            System.arraycopy(vertices, order[i] * ParticleBatch.ELEMENTS_PER_VERTEX, sortedVertices,
+                    i * ParticleBatch.ELEMENTS_PER_VERTEX, ParticleBatch.ELEMENTS_PER_VERTEX);
+        }
+        final var unsortedVertices = vertices;
+        vertices = sortedVertices;
+        sortedVertices = unsortedVertices;
+        verticesBuffer = FloatBuffer.wrap(vertices);
+    }
+
+    /**
+     * Write the captured vertices into {@code destination}, starting at index 0.
+     */
+    void copyVertices(final FloatBuffer destination) {
+        copyVertices(destination, 0, particleCount);
+    }
+
+    /**
+     * Write the vertices of {@code count} particles starting at {@code firstParticle} into {@code destination},
+     * starting at index 0.
+     */
+    void copyVertices(final FloatBuffer destination, final int firstParticle, final int count) {
+        destination.put(0, vertices, firstParticle * ParticleBatch.ELEMENTS_PER_VERTEX, count * ParticleBatch.ELEMENTS_PER_VERTEX);
+    }
+
+    /**
+     * Get the vertices of the captured particles, {@value ParticleBatch#ELEMENTS_PER_VERTEX} floats per particle.
+     * The array must not be modified.
+     */
+    float[] getVertices() {
+        return vertices;
+    }
+
+    public int getParticleCount() {
+        return particleCount;
+    }
+
+    /**
+     * Get the number of emitters whose particles were added to the snapshot.
+     */
+    public int getEmitterCount() {
+        return emitterCount;
+    }
+
+    public Optional<Texture2D> getTexture() {
+        return Optional.ofNullable(texture);
+    }
+
+    public BlendMode getBlendMode() {
+        return blendMode;
+    }
+}
@@ -0,0 +1,298 @@
+package com.adrienben.games.bagl.engine.rendering.particles;
+
+import com.adrienben.games.bagl.core.validation.Validation;
+import com.adrienben.games.bagl.engine.jobs.JobSystem;
+import org.joml.Vector3fc;
+import org.joml.primitives.AABBf;
+import org.joml.primitives.AABBfc;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Structure of arrays storage for the particles of an emitter.
+ * <p>
+ * Each attribute of the particles is stored in its own float array: position and velocity (3 floats),
+ * current, start and end colors (4 floats), size, time left and time to live (1 float). The alive particles
+ * are always packed at the front of the arrays. When a particle dies, the last alive particle is moved into its
+ * slot, so updating, collecting and rendering the particles only touch the {@link ParticleStore#size()} first
+ * entries and an emitter without alive particles costs nearly nothing.
+ * <p>
+ * Moving particles around means that the index of a particle is only valid until the next update.
+ * <p>
+ * The arrays start with an initial capacity and double when needed up to a maximum capacity. Once that
+ * capacity is reached, new particles are discarded.
+ * <p>
+ * Updating the particles is done in two steps. First the alive particles are integrated by the fastest
+ * {@link ParticleKernel} available, in chunks of {@link ParticleStore#PARTICLES_PER_JOB} particles executed
+ * concurrently when a {@link JobSystem} is given. Then the dead particles are removed sequentially.
+ * <p>
+ * The store also keeps the bounding box of its alive particles. It is recomputed by the kernel once the dead
+ * particles are removed and extended when particles are added. Each particle is rendered as a camera facing square
+ * so the box encloses a sphere of half the diagonal of that square around each of them. When recomputed, the radius
+ * of the largest particle is used for all of them so the box can be computed in a single pass over the positions.
+ * When the store is empty the box is invalid.
+ *
+ * @author adrien
+ */
+public class ParticleStore {
+
+    static final int POSITION_SIZE = 3;
+    static final int COLOR_SIZE = 4;
+    static final int PARTICLES_PER_JOB = 4096;
+    private static final ParticleKernel KERNEL = ParticleKernel.create();
+    private static final float HALF_DIAGONAL_FACTOR = (float) (Math.sqrt(2.0) / 2.0);
+
+    private final int maxCapacity;
+    private int capacity;
+    private int size;
+    private float[] positions;
+    private float[] velocities;
+    private float[] colors;
+    private float[] startColors;
+    private float[] endColors;
+    private float[] sizes;
+    private float[] timesLeft;
+    private float[] ttls;
+    private final AABBf bounds = new AABBf();
+
+    /**
+     * Construct a particle store.
+     *
+     * @param initialCapacity The number of particles the store can hold before growing.
+     * @param maxCapacity     The maximum number of particles the store can hold.
+     * @throws IllegalArgumentException if the capacities are not positive or if the initial capacity is greater than the maximum.
+     */
+    ParticleStore(final int initialCapacity, final int maxCapacity) {
+        this.maxCapacity = Validation.validate(maxCapacity, max -> max > 0, "Max capacity must be positive");
+        Validation.validate(initialCapacity, initial -> initial > 0 && initial <= maxCapacity,
+                "Initial capacity must be positive and not greater than max capacity");
+        allocate(initialCapacity);
+    }
+
+    private void allocate(final int newCapacity) {
+        capacity = newCapacity;
+        positions = resize(positions, newCapacity * POSITION_SIZE);
+        velocities = resize(velocities, newCapacity * POSITION_SIZE);
+        colors = resize(colors, newCapacity * COLOR_SIZE);
+        startColors = resize(startColors, newCapacity * COLOR_SIZE);
+        endColors = resize(endColors, newCapacity * COLOR_SIZE);
+        sizes = resize(sizes, newCapacity);
+        timesLeft = resize(timesLeft, newCapacity);
+        ttls = resize(ttls, newCapacity);
+    }
+
+    private static float[] resize(final float[] array, final int length) {
+        return array == null ? new float[length] : Arrays.copyOf(array, length);
+    }
+
+    /**
+     * Add a particle.
+     * <p>
+     * The direction of the particle is normalized and scaled by its speed to compute its velocity. Particles
+     * without time to live are not added.
+     *
+     * @param particle The particle to add.
+     * @param offset   The offset to add to the position of the particle.
+     * @return false if the store is full, true otherwise.
+     */
+    boolean add(final Particle particle, final Vector3fc offset) {
+        if (particle.getTtl() <= 0f) {
+            return true;
+        }
+        if (size == capacity) {
+            if (capacity == maxCapacity) {
+                return false;
+            }
+            allocate(Math.min(capacity * 2, maxCapacity));
+        }
+
+        final var index = size++;
+        final var vector = index * POSITION_SIZE;
+        final var position = particle.getPosition();
+        positions[vector] = position.x() + offset.x();
+        positions[vector + 1] = position.y() + offset.y();
+        positions[vector + 2] = position.z() + offset.z();
+
+        final var direction = particle.getDirection();
+        final var length = direction.length();
+        final var scale = length > 0f ? particle.getSpeed() / length : 0f;
+        velocities[vector] = direction.x() * scale;
+        velocities[vector + 1] = direction.y() * scale;
+        velocities[vector + 2] = direction.z() * scale;
+
+        final var color = index * COLOR_SIZE;
+        final var startColor = particle.getStartColor();
+        final var endColor = particle.getEndColor();
+        setColor(colors, color, startColor.getRed(), startColor.getGreen(), startColor.getBlue(), startColor.getAlpha());
+        setColor(startColors, color, startColor.getRed(), startColor.getGreen(), startColor.getBlue(), startColor.getAlpha());
+        setColor(endColors, color, endColor.getRed(), endColor.getGreen(), endColor.getBlue(), endColor.getAlpha());
+
+        sizes[index] = particle.getSize();
+        timesLeft[index] = particle.getTtl();
+        ttls[index] = particle.getTtl();
+        extendBounds(index);
+        return true;
+    }
+
+    private static void setColor(final float[] colors, final int offset, final float r, final float g, final float b, final float a) {
+        colors[offset] = r;
+        colors[offset + 1] = g;
+        colors[offset + 2] = b;
+        colors[offset + 3] = a;
+    }
+
+    /**
+     * Update the alive particles.
+     *
+     * @param elapsedTime The time elapsed since the last update in seconds.
+     * @see ParticleStore#update(float, JobSystem)
+     */
+    void update(final float elapsedTime) {
+        update(elapsedTime, null);
+    }
+
+    /**
+     * Update the alive particles.
+     * <p>
+     * The particles whose time to live expires are removed. The others are moved along their velocity and their
+     * color is blended from their start color to their end color according to the time they have left.
+     *
+     * @param elapsedTime The time elapsed since the last update in seconds.
+     * @param jobSystem   The job system integrating chunks of particles concurrently. If null or if there is only one
+     *                    chunk, the particles are integrated by the calling thread.
+     */
+    void update(final float elapsedTime, final JobSystem jobSystem) {
+        if (Objects.isNull(jobSystem) || size <= PARTICLES_PER_JOB) {
+            KERNEL.integrate(this, 0, size, elapsedTime);
+        } else {
+            final var chunkCount = (size + PARTICLES_PER_JOB - 1) / PARTICLES_PER_JOB;
+            jobSystem.parallelFor(chunkCount, 1, chunk -> KERNEL.integrate(this, chunk * PARTICLES_PER_JOB,
+                    Math.min(size, (chunk + 1) * PARTICLES_PER_JOB), elapsedTime));
+        }
+        removeDeadParticles();
+        computeBounds();
+    }
+
+    private void removeDeadParticles() {
+        var index = 0;
+        while (index < size) {
+            if (timesLeft[index] <= 0f) {
+                remove(index);
+            } else {
+                index++;
+            }
+        }
+    }
+
+    /**
+     * Compute the bounds of the alive particles. The box enclosing their positions is widened by the radius of the
+     * largest particle.
+     */
+    private void computeBounds() {
+        final var radius = KERNEL.bound(this, bounds) * HALF_DIAGONAL_FACTOR;
+        bounds.setMin(bounds.minX - radius, bounds.minY - radius, bounds.minZ - radius);
+        bounds.setMax(bounds.maxX + radius, bounds.maxY + radius, bounds.maxZ + radius);
+    }
+
+    private void extendBounds(final int index) {
+        final var vector = index * POSITION_SIZE;
+        final var x = positions[vector];
+        final var y = positions[vector + 1];
+        final var z = positions[vector + 2];
+        final var radius = sizes[index] * HALF_DIAGONAL_FACTOR;
+        bounds.minX = Math.min(bounds.minX, x - radius);
+        bounds.minY = Math.min(bounds.minY, y - radius);
+        bounds.minZ = Math.min(bounds.minZ, z - radius);
+        bounds.maxX = Math.max(bounds.maxX, x + radius);
+        bounds.maxY = Math.max(bounds.maxY, y + radius);
+        bounds.maxZ = Math.max(bounds.maxZ, z + radius);
+    }
+
+    /**
+     * Remove a particle by moving the last alive particle into its slot.
+     */
+    private void remove(final int index) {
+        final var last = --size;
+        if (index == last) {
+            return;
+        }
+        System.arraycopy(positions, last * POSITION_SIZE, positions, index * POSITION_SIZE, POSITION_SIZE);
+        System.arraycopy(velocities, last * POSITION_SIZE, velocities, index * POSITION_SIZE, POSITION_SIZE);
+        System.arraycopy(colors, last * COLOR_SIZE, colors, index * COLOR_SIZE, COLOR_SIZE);
+        System.arraycopy(startColors, last * COLOR_SIZE, startColors, index * COLOR_SIZE, COLOR_SIZE);
+        System.arraycopy(endColors, last * COLOR_SIZE, endColors, index * COLOR_SIZE, COLOR_SIZE);
+        sizes[index] = sizes[last];
+        timesLeft[index] = timesLeft[last];
+        ttls[index] = ttls[last];
+    }
+
+    /**
+     * Get the number of alive particles.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get the bounding box of the alive particles. It is invalid when there is no alive particle.
+     */
+    public AABBfc getBounds() {
+        return bounds;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getMaxCapacity() {
+        return maxCapacity;
+    }
+
+    /**
+     * Get the positions of the particles, 3 floats per particle. The array must not be modified.
+     */
+    public float[] getPositions() {
+        return positions;
+    }
+
+    /**
+     * Get the velocities of the particles in units per second, 3 floats per particle. The array must not be modified.
+     */
+    public float[] getVelocities() {
+        return velocities;
+    }
+
+    /**
+     * Get the current colors of the particles, 4 floats per particle. The array must not be modified.
+     */
+    public float[] getColors() {
+        return colors;
+    }
+
+    float[] getStartColors() {
+        return startColors;
+    }
+
+    float[] getEndColors() {
+        return endColors;
+    }
+
+    /**
+     * Get the sizes of the particles. The array must not be modified.
+     */
+    public float[] getSizes() {
+        return sizes;
+    }
+
+    /**
+     * Get the time left to live of the particles in seconds. The array must not be modified.
+     */
+    public float[] getTimesLeft() {
+        return timesLeft;
+    }
+
+    float[] getTtls() {
+        return ttls;
+    }
+}
@@ -0,0 +1,69 @@
+package com.adrienben.games.bagl.engine.rendering.particles;
+
+import org.joml.primitives.AABBf;
+
+/**
+ * {@link ParticleKernel} processing one particle at a time.
+ *
+ * @author adrien
+ */
+class ScalarParticleKernel implements ParticleKernel {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void integrate(final ParticleStore particles, final int from, final int to, final float elapsedTime) {
+        final var positions = particles.getPositions();
+        final var velocities = particles.getVelocities();
+        final var colors = particles.getColors();
+        final var startColors = particles.getStartColors();
+        final var endColors = particles.getEndColors();
+        final var timesLeft = particles.getTimesLeft();
+        final var ttls = particles.getTtls();
+        for (var index = from; index < to; index++) {
+            final var timeLeft = timesLeft[index] - elapsedTime;
+            timesLeft[index] = timeLeft;
+
+            final var vector = index * ParticleStore.POSITION_SIZE;
+            positions[vector] += velocities[vector] * elapsedTime;
+            positions[vector + 1] += velocities[vector + 1] * elapsedTime;
+            positions[vector + 2] += velocities[vector + 2] * elapsedTime;
+
+            final var life = timeLeft / ttls[index];
+            final var color = index * ParticleStore.COLOR_SIZE;
+            for (var channel = color; channel < color + ParticleStore.COLOR_SIZE; channel++) {
+                colors[channel] = life * startColors[channel] + (1f - life) * endColors[channel];
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public float bound(final ParticleStore particles, final AABBf bounds) {
+        final var positions = particles.getPositions();
+        final var sizes = particles.getSizes();
+        var minX = Float.POSITIVE_INFINITY;
+        var minY = Float.POSITIVE_INFINITY;
+        var minZ = Float.POSITIVE_INFINITY;
+        var maxX = Float.NEGATIVE_INFINITY;
+        var maxY = Float.NEGATIVE_INFINITY;
+        var maxZ = Float.NEGATIVE_INFINITY;
+        var maxSize = 0f;
+        for (var index = 0; index < particles.size(); index++) {
+            final var vector = index * ParticleStore.POSITION_SIZE;
+            minX = Math.min(minX, positions[vector]);
+            minY = Math.min(minY, positions[vector + 1]);
+            minZ = Math.min(minZ, positions[vector + 2]);
+            maxX = Math.max(maxX, positions[vector]);
+            maxY = Math.max(maxY, positions[vector + 1]);
+            maxZ = Math.max(maxZ, positions[vector + 2]);
+            maxSize = Math.max(maxSize, sizes[index]);
+        }
+        bounds.setMin(minX, minY, minZ);
+        bounds.setMax(maxX, maxY, maxZ);
+        return maxSize;
+    }
+}
@@ -0,0 +1,179 @@
+package com.adrienben.games.bagl.engine.rendering.particles;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+import org.joml.primitives.AABBf;
+
+/**
+ * {@link ParticleKernel} using the SIMD instructions of the CPU through the Vector API.
+ * <p>
+ * Each attribute is processed in its own loop over the flat arrays of the {@link ParticleStore}:
+ * <ul>
+ * <li>Times left: one lane per particle.
+ * <li>Positions: the three coordinates of the particles are contiguous so they are integrated as a flat array.
+ * <li>Colors: each vector holds the four channels of {@code lanes / 4} particles. The life of each particle is
+ * gathered into the four lanes of its channels.
+ * </ul>
+ * Bounds are computed over the flat array of positions as well. Three consecutive vectors hold the coordinates of
+ * {@code lanes} whole particles, so each of the three vectors of a step always holds the same coordinate in the same
+ * lane. The minimum and maximum of each of these three vectors are accumulated and the lanes are only reduced to the
+ * three coordinates at the end.
+ * <p>
+ * The remaining elements of each loop are processed one at a time.
+ * <p>
+ * This class must only be loaded when the {@code jdk.incubator.vector} module is available.
+ *
+ * @author adrien
+ */
+class VectorParticleKernel implements ParticleKernel {
+
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+    private static final int[] CHANNEL_TO_PARTICLE = createChannelToParticle();
+
+    private static int[] createChannelToParticle() {
+        final var map = new int[SPECIES.length()];
+        for (var lane = 0; lane < map.length; lane++) {
+            map[lane] = lane / ParticleStore.COLOR_SIZE;
+        }
+        return map;
+    }
+
+    /**
+     * Check that vectors hold the channels of whole colors.
+     */
+    static boolean isSupported() {
+        return SPECIES.length() >= ParticleStore.COLOR_SIZE && SPECIES.length() % ParticleStore.COLOR_SIZE == 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void integrate(final ParticleStore particles, final int from, final int to, final float elapsedTime) {
+        integrateTimesLeft(particles.getTimesLeft(), from, to, elapsedTime);
+        integratePositions(particles.getPositions(), particles.getVelocities(), from * ParticleStore.POSITION_SIZE,
+                to * ParticleStore.POSITION_SIZE, elapsedTime);
+        blendColors(particles, from, to);
+    }
+
+    private static void integrateTimesLeft(final float[] timesLeft, final int from, final int to, final float elapsedTime) {
+        final var bound = from + SPECIES.loopBound(to - from);
+        var index = from;
+        for (; index < bound; index += SPECIES.length()) {
+            FloatVector.fromArray(SPECIES, timesLeft, index).sub(elapsedTime).intoArray(timesLeft, index);
+        }
+        for (; index < to; index++) {
+            timesLeft[index] -= elapsedTime;
+        }
+    }
+
+    private static void integratePositions(final float[] positions, final float[] velocities, final int from, final int to,
+                                           final float elapsedTime) {
+        final var step = FloatVector.broadcast(SPECIES, elapsedTime);
+        final var bound = from + SPECIES.loopBound(to - from);
+        var index = from;
+        for (; index < bound; index += SPECIES.length()) {
+            final var velocity = FloatVector.fromArray(SPECIES, velocities, index);
+            velocity.fma(step, FloatVector.fromArray(SPECIES, positions, index)).intoArray(positions, index);
+        }
+        for (; index < to; index++) {
+            positions[index] += velocities[index] * elapsedTime;
+        }
+    }
+
+    /**
+     * Blend the colors as {@code end + (start - end) * life} which is {@code life * start + (1 - life) * end}.
+     */
+    private static void blendColors(final ParticleStore particles, final int from, final int to) {
+        final var colors = particles.getColors();
+        final var startColors = particles.getStartColors();
+        final var endColors = particles.getEndColors();
+        final var timesLeft = particles.getTimesLeft();
+        final var ttls = particles.getTtls();
+        final var end = to * ParticleStore.COLOR_SIZE;
+        final var bound = from * ParticleStore.COLOR_SIZE + SPECIES.loopBound(end - from * ParticleStore.COLOR_SIZE);
+        var channel = from * ParticleStore.COLOR_SIZE;
+        for (; channel < bound; channel += SPECIES.length()) {
+            final var particle = channel / ParticleStore.COLOR_SIZE;
+            final var timeLeft = FloatVector.fromArray(SPECIES, timesLeft, particle, CHANNEL_TO_PARTICLE, 0);
+            final var life = timeLeft.div(FloatVector.fromArray(SPECIES, ttls, particle, CHANNEL_TO_PARTICLE, 0));
+            final var endColor = FloatVector.fromArray(SPECIES, endColors, channel);
+            FloatVector.fromArray(SPECIES, startColors, channel).sub(endColor).fma(life, endColor).intoArray(colors, channel);
+        }
+        for (; channel < end; channel++) {
+            final var particle = channel / ParticleStore.COLOR_SIZE;
+            final var life = timesLeft[particle] / ttls[particle];
+            colors[channel] = life * startColors[channel] + (1f - life) * endColors[channel];
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public float bound(final ParticleStore particles, final AABBf bounds) {
+        final var positions = particles.getPositions();
+        final var lanes = SPECIES.length();
+        final var step = lanes * ParticleStore.POSITION_SIZE;
+        final var end = particles.size() * ParticleStore.POSITION_SIZE;
+        final var bound = end - end % step;
+        final var infinity = FloatVector.broadcast(SPECIES, Float.POSITIVE_INFINITY);
+        final var negativeInfinity = FloatVector.broadcast(SPECIES, Float.NEGATIVE_INFINITY);
+        var min0 = infinity;
+        var min1 = infinity;
+        var min2 = infinity;
+        var max0 = negativeInfinity;
+        var max1 = negativeInfinity;
+        var max2 = negativeInfinity;
+        for (var index = 0; index < bound; index += step) {
+            final var first = FloatVector.fromArray(SPECIES, positions, index);
+            final var second = FloatVector.fromArray(SPECIES, positions, index + lanes);
+            final var third = FloatVector.fromArray(SPECIES, positions, index + 2 * lanes);
+            min0 = min0.min(first);
+            min1 = min1.min(second);
+            min2 = min2.min(third);
+            max0 = max0.max(first);
+            max1 = max1.max(second);
+            max2 = max2.max(third);
+        }
+
+        final var minimums = new float[step];
+        final var maximums = new float[step];
+        min0.intoArray(minimums, 0);
+        min1.intoArray(minimums, lanes);
+        min2.intoArray(minimums, 2 * lanes);
+        max0.intoArray(maximums, 0);
+        max1.intoArray(maximums, lanes);
+        max2.intoArray(maximums, 2 * lanes);
+        final var min = new float[]{Float.POSITIVE_INFINITY, Float.POSITIVE_INFINITY, Float.POSITIVE_INFINITY};
+        final var max = new float[]{Float.NEGATIVE_INFINITY, Float.NEGATIVE_INFINITY, Float.NEGATIVE_INFINITY};
+        for (var index = 0; index < step; index++) {
+            final var coordinate = index % ParticleStore.POSITION_SIZE;
+            min[coordinate] = Math.min(min[coordinate], minimums[index]);
+            max[coordinate] = Math.max(max[coordinate], maximums[index]);
+        }
+        for (var index = bound; index < end; index++) {
+            final var coordinate = index % ParticleStore.POSITION_SIZE;
+            min[coordinate] = Math.min(min[coordinate], positions[index]);
+            max[coordinate] = Math.max(max[coordinate], positions[index]);
+        }
+        bounds.setMin(min[0], min[1], min[2]);
+        bounds.setMax(max[0], max[1], max[2]);
+        return computeMaxSize(particles.getSizes(), particles.size());
+    }
+
+    private static float computeMaxSize(final float[] sizes, final int count) {
+        final var bound = SPECIES.loopBound(count);
+        var maximum = FloatVector.zero(SPECIES);
+        var index = 0;
+        for (; index < bound; index += SPECIES.length()) {
+            maximum = maximum.max(FloatVector.fromArray(SPECIES, sizes, index));
+        }
+        var maxSize = maximum.reduceLanes(VectorOperators.MAX);
+        for (; index < count; index++) {
+            maxSize = Math.max(maxSize, sizes[index]);
+        }
+        return maxSize;
+    }
+}
@@ -1,7 +1,8 @@
 package com.adrienben.games.bagl.engine.rendering.postprocess;
 
+import com.adrienben.games.bagl.engine.rendering.framegraph.FrameGraph;
+import com.adrienben.games.bagl.engine.rendering.framegraph.FrameGraphResource;
 import com.adrienben.games.bagl.engine.rendering.postprocess.steps.LastStep;
-import com.adrienben.games.bagl.opengl.texture.Texture2D;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -9,6 +10,8 @@ import java.util.List;
 
 /**
  * Image post processor
+ * <p>
+ * The steps are added as passes of a {@link FrameGraph} which allocates their images
  *
  * @author adrien
  */
@@ -42,14 +45,17 @@ public class PostProcessor {
     }
 
     /**
-     * Apply post processing to an image
+     * Add the passes applying post processing to an image
      *
-     * @param image The image to apply post processing to
+     * @param graph The graph to add the passes to
+     * @param image The resource holding the image to apply post processing to
+     * @return The resource holding the processed image
      */
-    public void process(final Texture2D image) {
+    public FrameGraphResource addPasses(final FrameGraph graph, final FrameGraphResource image) {
         var lastResult = image;
         for (final PostProcessorStep step : steps) {
-            lastResult = step.process(lastResult);
+            lastResult = step.addPasses(graph, lastResult);
         }
+        return lastResult;
     }
 }
@@ -1,10 +1,12 @@
 package com.adrienben.games.bagl.engine.rendering.postprocess;
 
 import com.adrienben.games.bagl.core.io.ResourcePath;
+import com.adrienben.games.bagl.engine.rendering.framegraph.FrameGraph;
+import com.adrienben.games.bagl.engine.rendering.framegraph.FrameGraphResource;
 import com.adrienben.games.bagl.engine.rendering.model.Mesh;
 import com.adrienben.games.bagl.engine.rendering.model.MeshFactory;
+import com.adrienben.games.bagl.opengl.profiling.FrameCounters;
 import com.adrienben.games.bagl.opengl.shader.Shader;
-import com.adrienben.games.bagl.opengl.texture.Texture2D;
 
 import static org.lwjgl.opengl.GL11.glDrawArrays;
 
@@ -56,25 +58,22 @@ public abstract class PostProcessorStep {
     }
 
     /**
-     * Execute the step.
+     * Add the passes executing the step to a frame graph.
      * <p>
-     * Process an input texture and return a modified version of it.
+     * The step declares the intermediate and output images as transient render targets of
+     * the graph so they can be aliased with the images of other steps.
      *
-     * @implSpec This method must return a non null {@link Texture2D}.
+     * @param graph The graph to add the passes to.
+     * @param image The resource holding the image to process.
+     * @return The resource holding the processed image.
+     * @implSpec This method must return a non null {@link FrameGraphResource}.
      */
-    protected abstract Texture2D onProcess(Texture2D image);
-
-    /**
-     * Process {@code image}.
-     */
-    public Texture2D process(final Texture2D image) {
-        screenQuadMesh.getVertexArray().bind();
-        final var output = onProcess(image);
-        screenQuadMesh.getVertexArray().unbind();
-        return output;
-    }
+    public abstract FrameGraphResource addPasses(FrameGraph graph, FrameGraphResource image);
 
     protected void renderQuad() {
+        screenQuadMesh.getVertexArray().bind();
         glDrawArrays(screenQuadMesh.getPrimitiveType().getGlCode(), 0, screenQuadMesh.getVertexCount());
+        FrameCounters.countDrawCall(screenQuadMesh.getPrimitiveType(), screenQuadMesh.getVertexCount());
+        screenQuadMesh.getVertexArray().unbind();
     }
 }
@@ -1,34 +1,34 @@
 package com.adrienben.games.bagl.engine.rendering.postprocess.steps;
 
 import com.adrienben.games.bagl.core.io.ResourcePath;
-import com.adrienben.games.bagl.core.utils.DoubleBuffer;
+import com.adrienben.games.bagl.engine.rendering.framegraph.FrameGraph;
+import com.adrienben.games.bagl.engine.rendering.framegraph.FrameGraphResource;
+import com.adrienben.games.bagl.engine.rendering.framegraph.RenderTargetDescription;
 import com.adrienben.games.bagl.engine.rendering.postprocess.PostProcessorStep;
 import com.adrienben.games.bagl.opengl.FrameBuffer;
-import com.adrienben.games.bagl.opengl.FrameBufferParameters;
 import com.adrienben.games.bagl.opengl.shader.Shader;
 import com.adrienben.games.bagl.opengl.texture.Format;
 import com.adrienben.games.bagl.opengl.texture.Texture2D;
 
 /**
  * Bloom post processing step.
+ * <p>
+ * The step extracts the bright parts of the image, blurs them and adds them back to the image.
+ * Each stage is a pass of the frame graph so the intermediate targets can be aliased.
  *
  * @author adrien
  */
 public class BloomStep extends PostProcessorStep {
 
+    private static final int BLUR_PASS_COUNT = 10;
+
+    private final RenderTargetDescription description;
     private final Shader bloomShader;
     private final Shader blurShader;
     private final Shader lastStageShader;
-    private FrameBuffer bloomBuffer;
-    private DoubleBuffer<FrameBuffer> blurBuffer;
-    private FrameBuffer finalBuffer;
 
     public BloomStep(final int xResolution, final int yResolution) {
-        final var parameters = FrameBufferParameters.builder().depthStencilTextureParameters(null).colorOutputFormat(Format.RGB16F).build();
-        this.bloomBuffer = new FrameBuffer(xResolution, yResolution, parameters);
-        this.blurBuffer = new DoubleBuffer<>(() -> new FrameBuffer(xResolution, yResolution, parameters));
-        this.finalBuffer = new FrameBuffer(xResolution, yResolution, parameters);
-
+        this.description = new RenderTargetDescription(xResolution, yResolution, Format.RGB16F);
         this.bloomShader = buildProcessShader(ResourcePath.get("classpath:/shaders/post/bloom.frag"));
         this.blurShader = buildProcessShader(ResourcePath.get("classpath:/shaders/post/blur.frag"));
         this.lastStageShader = buildProcessShader(ResourcePath.get("classpath:/shaders/post/bloom_final.frag"));
@@ -41,9 +41,6 @@ public class BloomStep extends PostProcessorStep {
      */
     @Override
     public void onDestroy() {
-        bloomBuffer.destroy();
-        blurBuffer.apply(FrameBuffer::destroy);
-        finalBuffer.destroy();
         bloomShader.destroy();
         blurShader.destroy();
         lastStageShader.destroy();
@@ -53,15 +50,29 @@ public class BloomStep extends PostProcessorStep {
      * Apply bloom on {@code image}.
      */
     @Override
-    public Texture2D onProcess(final Texture2D image) {
-        performBloomPass(image);
-        performGaussianBlur(bloomBuffer.getColorTexture(0));
-        performFinalPass(image);
-
-        return finalBuffer.getColorTexture(0);
+    public FrameGraphResource addPasses(final FrameGraph graph, final FrameGraphResource image) {
+        final var bright = graph.createRenderTarget("bloom_bright", description);
+        final var blurPing = graph.createRenderTarget("bloom_blur_ping", description);
+        final var blurred = graph.createRenderTarget("bloom_blurred", description);
+        final var output = graph.createRenderTarget("bloom_output", description);
+
+        graph.addPass("bloom_extract", resources -> performBloomPass(resources.getTexture(image), resources.getFrameBuffer(bright)))
+                .read(image)
+                .write(bright);
+        graph.addPass("bloom_blur", resources -> performGaussianBlur(resources.getTexture(bright),
+                resources.getFrameBuffer(blurPing), resources.getFrameBuffer(blurred)))
+                .read(bright)
+                .write(blurPing)
+                .write(blurred);
+        graph.addPass("bloom_composite", resources -> performFinalPass(resources.getTexture(image), resources.getTexture(blurred),
+                resources.getFrameBuffer(output)))
+                .read(image)
+                .read(blurred)
+                .write(output);
+        return output;
     }
 
-    private void performBloomPass(final Texture2D image) {
+    private void performBloomPass(final Texture2D image, final FrameBuffer bloomBuffer) {
         bloomBuffer.bind();
         bloomBuffer.clear();
         bloomShader.bind();
@@ -73,29 +84,33 @@ public class BloomStep extends PostProcessorStep {
         bloomBuffer.unbind();
     }
 
-    private void performGaussianBlur(final Texture2D image) {
+    /**
+     * Blur {@code image} by rendering back and forth between two buffers. Since the number
+     * of passes is even the result ends up in {@code blurred}.
+     */
+    private void performGaussianBlur(final Texture2D image, final FrameBuffer blurPing, final FrameBuffer blurred) {
         blurShader.bind();
         var horizontal = true;
 
-        for (var i = 0; i < 10; i++, horizontal = !horizontal) {
-            blurBuffer.getWriteBuffer().bind();
-            blurBuffer.getWriteBuffer().clear();
+        for (var i = 0; i < BLUR_PASS_COUNT; i++, horizontal = !horizontal) {
+            final var writeBuffer = i % 2 == 0 ? blurPing : blurred;
+            writeBuffer.bind();
+            writeBuffer.clear();
             blurShader.setUniform("horizontal", horizontal);
 
-            final var texture = i == 0 ? image : blurBuffer.getReadBuffer().getColorTexture(0);
+            final var texture = i == 0 ? image : (i % 2 == 0 ? blurred : blurPing).getColorTexture(0);
             texture.bind();
 
             renderQuad();
 
             texture.unbind();
-            blurBuffer.swap();
         }
 
-        blurBuffer.getReadBuffer().unbind();
+        blurred.unbind();
         Shader.unbind();
     }
 
-    private void performFinalPass(final Texture2D baseImage) {
+    private void performFinalPass(final Texture2D baseImage, final Texture2D bloom, final FrameBuffer finalBuffer) {
         finalBuffer.bind();
         finalBuffer.clear();
 
@@ -103,11 +118,11 @@ public class BloomStep extends PostProcessorStep {
         lastStageShader.setUniform("image", 0);
         lastStageShader.setUniform("bloom", 1);
         baseImage.bind(0);
-        blurBuffer.getReadBuffer().getColorTexture(0).bind(1);
+        bloom.bind(1);
 
         renderQuad();
 
-        blurBuffer.getReadBuffer().getColorTexture(0).unbind(1);
+        bloom.unbind(1);
         baseImage.unbind(0);
         Shader.unbind();
 
@@ -1,10 +1,11 @@
 package com.adrienben.games.bagl.engine.rendering.postprocess.steps;
 
 import com.adrienben.games.bagl.core.io.ResourcePath;
-import com.adrienben.games.bagl.core.utils.DoubleBuffer;
+import com.adrienben.games.bagl.engine.rendering.framegraph.FrameGraph;
+import com.adrienben.games.bagl.engine.rendering.framegraph.FrameGraphResource;
+import com.adrienben.games.bagl.engine.rendering.framegraph.RenderTargetDescription;
 import com.adrienben.games.bagl.engine.rendering.postprocess.PostProcessorStep;
 import com.adrienben.games.bagl.opengl.FrameBuffer;
-import com.adrienben.games.bagl.opengl.FrameBufferParameters;
 import com.adrienben.games.bagl.opengl.shader.Shader;
 import com.adrienben.games.bagl.opengl.texture.Format;
 import com.adrienben.games.bagl.opengl.texture.Texture2D;
@@ -18,18 +19,16 @@ public class BlurStep extends PostProcessorStep {
 
     private static final int BLUR_PASS_COUNT = 10;
 
-    private final DoubleBuffer<FrameBuffer> blurBuffer;
+    private final RenderTargetDescription description;
     private final Shader blurShader;
 
     public BlurStep(final int xResolution, final int yResolution) {
-        final var parameters = FrameBufferParameters.builder().depthStencilTextureParameters(null).colorOutputFormat(Format.RGB16F).build();
-        this.blurBuffer = new DoubleBuffer<>(() -> new FrameBuffer(xResolution, yResolution, parameters));
+        this.description = new RenderTargetDescription(xResolution, yResolution, Format.RGB16F);
         this.blurShader = buildProcessShader(ResourcePath.get("classpath:/shaders/post/blur.frag"));
     }
 
     @Override
     protected void onDestroy() {
-        blurBuffer.apply(FrameBuffer::destroy);
         blurShader.destroy();
     }
 
@@ -37,28 +36,40 @@ public class BlurStep extends PostProcessorStep {
      * Apply a gaussian blur filter on {@code image}.
      */
     @Override
-    protected Texture2D onProcess(final Texture2D image) {
+    public FrameGraphResource addPasses(final FrameGraph graph, final FrameGraphResource image) {
+        final var blurPing = graph.createRenderTarget("blur_ping", description);
+        final var blurred = graph.createRenderTarget("blurred", description);
+        graph.addPass("blur", resources -> blur(resources.getTexture(image), resources.getFrameBuffer(blurPing), resources.getFrameBuffer(blurred)))
+                .read(image)
+                .write(blurPing)
+                .write(blurred);
+        return blurred;
+    }
+
+    /**
+     * Blur {@code image} by rendering back and forth between two buffers. Since the number
+     * of passes is even the result ends up in {@code blurred}.
+     */
+    private void blur(final Texture2D image, final FrameBuffer blurPing, final FrameBuffer blurred) {
         blurShader.bind();
         var horizontal = true;
 
         for (var i = 0; i < BLUR_PASS_COUNT; i++, horizontal = !horizontal) {
-            blurBuffer.getWriteBuffer().bind();
-            blurBuffer.getWriteBuffer().clear();
+            final var writeBuffer = i % 2 == 0 ? blurPing : blurred;
+            writeBuffer.bind();
+            writeBuffer.clear();
             blurShader.setUniform("horizontal", horizontal);
 
             if (i == 0) {
                 image.bind();
             } else {
-                blurBuffer.getReadBuffer().getColorTexture(0).bind();
+                (i % 2 == 0 ? blurred : blurPing).getColorTexture(0).bind();
             }
 
             renderQuad();
-
-            blurBuffer.swap();
         }
 
-        blurBuffer.getReadBuffer().unbind();
+        blurred.unbind();
         Shader.unbind();
-        return blurBuffer.getReadBuffer().getColorTexture(0);
     }
 }
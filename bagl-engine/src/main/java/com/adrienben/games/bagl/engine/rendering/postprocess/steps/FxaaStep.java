@@ -1,10 +1,12 @@
 package com.adrienben.games.bagl.engine.rendering.postprocess.steps;
 
 import com.adrienben.games.bagl.core.io.ResourcePath;
+import com.adrienben.games.bagl.engine.rendering.framegraph.FrameGraph;
+import com.adrienben.games.bagl.engine.rendering.framegraph.FrameGraphResource;
+import com.adrienben.games.bagl.engine.rendering.framegraph.RenderTargetDescription;
 import com.adrienben.games.bagl.engine.rendering.postprocess.PostProcessorStep;
 import com.adrienben.games.bagl.engine.rendering.postprocess.fxaa.FxaaPresets;
 import com.adrienben.games.bagl.opengl.FrameBuffer;
-import com.adrienben.games.bagl.opengl.FrameBufferParameters;
 import com.adrienben.games.bagl.opengl.shader.Shader;
 import com.adrienben.games.bagl.opengl.texture.Format;
 import com.adrienben.games.bagl.opengl.texture.Texture2D;
@@ -17,12 +19,11 @@ import org.joml.Vector2f;
  */
 public class FxaaStep extends PostProcessorStep {
 
-    private final FrameBuffer frameBuffer;
+    private final RenderTargetDescription description;
     private final Shader fxaaShader;
 
     public FxaaStep(final int xResolution, final int yResolution, final FxaaPresets fxaaQuality) {
-        final var parameters = FrameBufferParameters.builder().depthStencilTextureParameters(null).colorOutputFormat(Format.RGBA8).build();
-        frameBuffer = new FrameBuffer(xResolution, yResolution, parameters);
+        description = new RenderTargetDescription(xResolution, yResolution, Format.RGBA8);
         fxaaShader = buildProcessShader(ResourcePath.get("classpath:/shaders/post/fxaa.frag"))
                 .bind()
                 .setUniform("fxaaQualityRcpFrame", new Vector2f(1f / xResolution, 1f / yResolution))
@@ -38,7 +39,6 @@ public class FxaaStep extends PostProcessorStep {
      */
     @Override
     public void onDestroy() {
-        frameBuffer.destroy();
         fxaaShader.destroy();
     }
 
@@ -46,7 +46,15 @@ public class FxaaStep extends PostProcessorStep {
      * Apply FXAA on {@code image}.
      */
     @Override
-    public Texture2D onProcess(final Texture2D image) {
+    public FrameGraphResource addPasses(final FrameGraph graph, final FrameGraphResource image) {
+        final var output = graph.createRenderTarget("fxaa_output", description);
+        graph.addPass("fxaa", resources -> applyFxaa(resources.getTexture(image), resources.getFrameBuffer(output)))
+                .read(image)
+                .write(output);
+        return output;
+    }
+
+    private void applyFxaa(final Texture2D image, final FrameBuffer frameBuffer) {
         frameBuffer.bind();
         fxaaShader.bind();
         image.bind();
@@ -56,6 +64,5 @@ public class FxaaStep extends PostProcessorStep {
         image.unbind();
         Shader.unbind();
         frameBuffer.unbind();
-        return frameBuffer.getColorTexture(0);
     }
 }
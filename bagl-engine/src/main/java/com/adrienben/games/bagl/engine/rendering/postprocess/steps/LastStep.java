@@ -1,6 +1,8 @@
 package com.adrienben.games.bagl.engine.rendering.postprocess.steps;
 
 import com.adrienben.games.bagl.core.io.ResourcePath;
+import com.adrienben.games.bagl.engine.rendering.framegraph.FrameGraph;
+import com.adrienben.games.bagl.engine.rendering.framegraph.FrameGraphResource;
 import com.adrienben.games.bagl.engine.rendering.postprocess.PostProcessorStep;
 import com.adrienben.games.bagl.opengl.shader.Shader;
 import com.adrienben.games.bagl.opengl.texture.Texture2D;
@@ -36,10 +38,17 @@ public class LastStep extends PostProcessorStep {
      * Render {@code image} in the currently bound frame buffer. Or in
      * the default back buffer is no frame buffer is bound.
      * <p>
-     * {@code image} will be returned as is.
+     * The pass has side effects so it is never culled. {@code image} will be returned as is.
      */
     @Override
-    protected Texture2D onProcess(final Texture2D image) {
+    public FrameGraphResource addPasses(final FrameGraph graph, final FrameGraphResource image) {
+        graph.addPass("present", resources -> present(resources.getTexture(image)))
+                .read(image)
+                .sideEffect();
+        return image;
+    }
+
+    private void present(final Texture2D image) {
         shader.bind();
         image.bind();
 
@@ -47,6 +56,5 @@ public class LastStep extends PostProcessorStep {
 
         image.unbind();
         Shader.unbind();
-        return image;
     }
 }
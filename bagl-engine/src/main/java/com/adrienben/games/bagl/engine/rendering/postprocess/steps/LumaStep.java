@@ -1,9 +1,11 @@
 package com.adrienben.games.bagl.engine.rendering.postprocess.steps;
 
 import com.adrienben.games.bagl.core.io.ResourcePath;
+import com.adrienben.games.bagl.engine.rendering.framegraph.FrameGraph;
+import com.adrienben.games.bagl.engine.rendering.framegraph.FrameGraphResource;
+import com.adrienben.games.bagl.engine.rendering.framegraph.RenderTargetDescription;
 import com.adrienben.games.bagl.engine.rendering.postprocess.PostProcessorStep;
 import com.adrienben.games.bagl.opengl.FrameBuffer;
-import com.adrienben.games.bagl.opengl.FrameBufferParameters;
 import com.adrienben.games.bagl.opengl.shader.Shader;
 import com.adrienben.games.bagl.opengl.texture.Format;
 import com.adrienben.games.bagl.opengl.texture.Texture2D;
@@ -21,11 +23,11 @@ import com.adrienben.games.bagl.opengl.texture.Texture2D;
  */
 public class LumaStep extends PostProcessorStep {
 
-    private FrameBuffer frameBuffer;
-    private Shader lumaShader;
+    private final RenderTargetDescription description;
+    private final Shader lumaShader;
 
     public LumaStep(final int xResolution, final int yResolution) {
-        this.frameBuffer = new FrameBuffer(xResolution, yResolution, FrameBufferParameters.builder().depthStencilTextureParameters(null).colorOutputFormat(Format.RGBA8).build());
+        this.description = new RenderTargetDescription(xResolution, yResolution, Format.RGBA8);
         this.lumaShader = buildProcessShader(ResourcePath.get("classpath:/shaders/post/luma.frag"));
     }
 
@@ -36,7 +38,6 @@ public class LumaStep extends PostProcessorStep {
      */
     @Override
     protected void onDestroy() {
-        frameBuffer.destroy();
         lumaShader.destroy();
     }
 
@@ -45,7 +46,15 @@ public class LumaStep extends PostProcessorStep {
      * in the alpha channel.
      */
     @Override
-    protected Texture2D onProcess(final Texture2D image) {
+    public FrameGraphResource addPasses(final FrameGraph graph, final FrameGraphResource image) {
+        final var output = graph.createRenderTarget("luma_output", description);
+        graph.addPass("luma", resources -> computeLuma(resources.getTexture(image), resources.getFrameBuffer(output)))
+                .read(image)
+                .write(output);
+        return output;
+    }
+
+    private void computeLuma(final Texture2D image, final FrameBuffer frameBuffer) {
         frameBuffer.bind();
         lumaShader.bind();
         image.bind();
@@ -55,7 +64,5 @@ public class LumaStep extends PostProcessorStep {
         image.unbind();
         Shader.unbind();
         frameBuffer.unbind();
-
-        return frameBuffer.getColorTexture(0);
     }
 }
@@ -1,9 +1,11 @@
 package com.adrienben.games.bagl.engine.rendering.postprocess.steps;
 
 import com.adrienben.games.bagl.core.io.ResourcePath;
+import com.adrienben.games.bagl.engine.rendering.framegraph.FrameGraph;
+import com.adrienben.games.bagl.engine.rendering.framegraph.FrameGraphResource;
+import com.adrienben.games.bagl.engine.rendering.framegraph.RenderTargetDescription;
 import com.adrienben.games.bagl.engine.rendering.postprocess.PostProcessorStep;
 import com.adrienben.games.bagl.opengl.FrameBuffer;
-import com.adrienben.games.bagl.opengl.FrameBufferParameters;
 import com.adrienben.games.bagl.opengl.shader.Shader;
 import com.adrienben.games.bagl.opengl.texture.Format;
 import com.adrienben.games.bagl.opengl.texture.Texture2D;
@@ -15,12 +17,11 @@ import com.adrienben.games.bagl.opengl.texture.Texture2D;
  */
 public class ToneMappingStep extends PostProcessorStep {
 
-    private FrameBuffer frameBuffer;
-    private Shader toneMappingShader;
+    private final RenderTargetDescription description;
+    private final Shader toneMappingShader;
 
     public ToneMappingStep(final int xResolution, final int yResolution) {
-        final var parameters = FrameBufferParameters.builder().depthStencilTextureParameters(null).colorOutputFormat(Format.RGBA8).build();
-        this.frameBuffer = new FrameBuffer(xResolution, yResolution, parameters);
+        this.description = new RenderTargetDescription(xResolution, yResolution, Format.RGBA8);
         this.toneMappingShader = buildProcessShader(ResourcePath.get("classpath:/shaders/post/tone_mapping.frag"));
     }
 
@@ -31,7 +32,6 @@ public class ToneMappingStep extends PostProcessorStep {
      */
     @Override
     public void onDestroy() {
-        frameBuffer.destroy();
         toneMappingShader.destroy();
     }
 
@@ -39,7 +39,15 @@ public class ToneMappingStep extends PostProcessorStep {
      * Apply tone mapping and gamma correction on {@code image}.
      */
     @Override
-    public Texture2D onProcess(final Texture2D image) {
+    public FrameGraphResource addPasses(final FrameGraph graph, final FrameGraphResource image) {
+        final var output = graph.createRenderTarget("tone_mapped", description);
+        graph.addPass("tone_mapping", resources -> applyToneMapping(resources.getTexture(image), resources.getFrameBuffer(output)))
+                .read(image)
+                .write(output);
+        return output;
+    }
+
+    private void applyToneMapping(final Texture2D image, final FrameBuffer frameBuffer) {
         frameBuffer.bind();
         frameBuffer.clear();
         image.bind();
@@ -50,7 +58,5 @@ public class ToneMappingStep extends PostProcessorStep {
         Shader.unbind();
         image.unbind();
         frameBuffer.unbind();
-
-        return frameBuffer.getColorTexture(0);
     }
 }
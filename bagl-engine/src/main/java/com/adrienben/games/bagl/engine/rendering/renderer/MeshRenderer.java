@@ -1,9 +1,16 @@
 package com.adrienben.games.bagl.engine.rendering.renderer;
 
 import com.adrienben.games.bagl.engine.rendering.model.Mesh;
+import com.adrienben.games.bagl.opengl.commands.CommandList;
+import com.adrienben.games.bagl.opengl.profiling.FrameCounters;
+import com.adrienben.games.bagl.opengl.vertex.VertexArray;
+
+import java.util.Objects;
 
 import static org.lwjgl.opengl.GL11.glDrawArrays;
 import static org.lwjgl.opengl.GL11.glDrawElements;
+import static org.lwjgl.opengl.GL31.glDrawArraysInstanced;
+import static org.lwjgl.opengl.GL31.glDrawElementsInstanced;
 
 /**
  * Mesh renderer is responsible for rendering {@link Mesh}.
@@ -21,15 +28,86 @@ public class MeshRenderer implements Renderer<Mesh> {
      */
     @Override
     public void render(final Mesh mesh) {
+        render(mesh, 0);
+    }
+
+    /**
+     * Render a level of detail of {@code mesh}.
+     * <p>
+     * If the mesh is not indexed, {@code lod} is ignored.
+     *
+     * @param mesh The mesh to render.
+     * @param lod  The level of detail to render. 0 is the full detail mesh.
+     * @see Mesh#getLod(int)
+     * @see MeshRenderer#record(CommandList, Mesh, int)
+     */
+    public void render(final Mesh mesh, final int lod) {
+        final var recording = CommandList.getRecording();
+        if (Objects.nonNull(recording)) {
+            record(recording, mesh, lod);
+            return;
+        }
         mesh.getVertexArray().bind();
-        mesh.getIndexBuffer().ifPresentOrElse(
-                iBuffer -> {
-                    iBuffer.bind();
-                    glDrawElements(mesh.getPrimitiveType().getGlCode(), iBuffer.getSize(), iBuffer.getDataType().getGlCode(), 0);
-                    iBuffer.unbind();
-                },
-                () -> glDrawArrays(mesh.getPrimitiveType().getGlCode(), 0, mesh.getVertexCount())
-        );
+        if (mesh.getLodCount() > 0) {
+            final var iBuffer = mesh.getLod(lod).indexBuffer();
+            iBuffer.bind();
+            glDrawElements(mesh.getPrimitiveType().getGlCode(), iBuffer.getSize(), iBuffer.getDataType().getGlCode(), 0);
+            FrameCounters.countDrawCall(mesh.getPrimitiveType(), iBuffer.getSize());
+            iBuffer.unbind();
+        } else {
+            glDrawArrays(mesh.getPrimitiveType().getGlCode(), 0, mesh.getVertexCount());
+            FrameCounters.countDrawCall(mesh.getPrimitiveType(), mesh.getVertexCount());
+        }
         mesh.getVertexArray().unbind();
     }
+
+    /**
+     * Render several instances of a level of detail of {@code mesh} in one draw call.
+     * <p>
+     * The per instance data is read from the vertex buffers attached to {@code vertexArray} with a non zero divisor.
+     * The vertex array must also have the vertex buffers of the mesh attached. Instanced draws are not recorded into
+     * command lists so this method must be called from the OpenGL thread.
+     *
+     * @param mesh          The mesh to render.
+     * @param vertexArray   The vertex array containing the vertices of the mesh and the per instance data.
+     * @param lod           The level of detail to render. 0 is the full detail mesh.
+     * @param instanceCount The number of instances to render.
+     * @see Mesh#getVertexBuffers()
+     */
+    public void renderInstanced(final Mesh mesh, final VertexArray vertexArray, final int lod, final int instanceCount) {
+        vertexArray.bind();
+        if (mesh.getLodCount() > 0) {
+            final var iBuffer = mesh.getLod(lod).indexBuffer();
+            iBuffer.bind();
+            glDrawElementsInstanced(mesh.getPrimitiveType().getGlCode(), iBuffer.getSize(), iBuffer.getDataType().getGlCode(), 0, instanceCount);
+            FrameCounters.countDrawCall(mesh.getPrimitiveType(), iBuffer.getSize(), instanceCount);
+            iBuffer.unbind();
+        } else {
+            glDrawArraysInstanced(mesh.getPrimitiveType().getGlCode(), 0, mesh.getVertexCount(), instanceCount);
+            FrameCounters.countDrawCall(mesh.getPrimitiveType(), mesh.getVertexCount(), instanceCount);
+        }
+        vertexArray.unbind();
+    }
+
+    /**
+     * Record the rendering of a level of detail of {@code mesh} into a command list.
+     * <p>
+     * This does not access the OpenGL context so it can be called from any thread.
+     * {@link MeshRenderer#render(Mesh, int)} delegates to this method when a list is recording
+     * on the calling thread.
+     *
+     * @param commandList The list to record into.
+     * @param mesh        The mesh to render.
+     * @param lod         The level of detail to render. 0 is the full detail mesh.
+     */
+    public void record(final CommandList commandList, final Mesh mesh, final int lod) {
+        commandList.bindVertexArray(mesh.getVertexArray().getHandle());
+        if (mesh.getLodCount() > 0) {
+            final var iBuffer = mesh.getLod(lod).indexBuffer();
+            commandList.bindIndexBuffer(iBuffer.getHandle());
+            commandList.drawElements(mesh.getPrimitiveType(), iBuffer.getSize(), iBuffer.getDataType(), 0);
+        } else {
+            commandList.drawArrays(mesh.getPrimitiveType(), 0, mesh.getVertexCount());
+        }
+    }
 }
@@ -0,0 +1,25 @@
+package com.adrienben.games.bagl.engine.rendering.renderer;
+
+import com.adrienben.games.bagl.engine.scene.Scene;
+
+/**
+ * Renderer of {@link Scene}s whose capture and rendering can run on different threads.
+ * <p>
+ * {@link SceneRenderer#capture(Scene)} copies the data required to render the scene, without any
+ * OpenGL call, so the scene can be updated again while {@link SceneRenderer#render()} draws that copy
+ * on the OpenGL thread.
+ *
+ * @author adrien
+ */
+public interface SceneRenderer extends Renderer<Scene> {
+
+    /**
+     * Capture the data required to render {@code scene}. It must always be called from the same thread.
+     */
+    void capture(Scene scene);
+
+    /**
+     * Render the latest captured scene.
+     */
+    void render();
+}
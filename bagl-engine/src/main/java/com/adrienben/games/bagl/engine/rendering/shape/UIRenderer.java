@@ -2,7 +2,9 @@ package com.adrienben.games.bagl.engine.rendering.shape;
 
 import com.adrienben.games.bagl.core.Color;
 import com.adrienben.games.bagl.core.io.ResourcePath;
+import com.adrienben.games.bagl.opengl.PrimitiveType;
 import com.adrienben.games.bagl.opengl.buffer.BufferUsage;
+import com.adrienben.games.bagl.opengl.profiling.FrameCounters;
 import com.adrienben.games.bagl.opengl.shader.Shader;
 import com.adrienben.games.bagl.opengl.vertex.*;
 import org.lwjgl.opengl.GL11;
@@ -103,6 +105,7 @@ public class UIRenderer {
         this.iBuffer.bind();
 
         GL11.glDrawElements(GL11.GL_TRIANGLES, this.bufferedCount * INDICES_PER_SHAPE, this.iBuffer.getDataType().getGlCode(), 0);
+        FrameCounters.countDrawCall(PrimitiveType.TRIANGLES, this.bufferedCount * INDICES_PER_SHAPE);
 
         this.iBuffer.unbind();
         this.vArray.unbind();
@@ -5,12 +5,15 @@ import com.adrienben.games.bagl.core.exception.EngineException;
 import com.adrienben.games.bagl.core.io.ResourcePath;
 import com.adrienben.games.bagl.engine.camera.Camera2D;
 import com.adrienben.games.bagl.engine.rendering.renderer.Renderer;
+import com.adrienben.games.bagl.opengl.PrimitiveType;
 import com.adrienben.games.bagl.opengl.buffer.BufferUsage;
+import com.adrienben.games.bagl.opengl.profiling.FrameCounters;
 import com.adrienben.games.bagl.opengl.shader.Shader;
 import com.adrienben.games.bagl.opengl.texture.Texture2D;
 import com.adrienben.games.bagl.opengl.vertex.*;
 import org.joml.Vector2f;
 import org.joml.Vector2fc;
+import org.joml.primitives.Rectanglef;
 import org.lwjgl.opengl.GL11;
 import org.lwjgl.system.MemoryStack;
 import org.lwjgl.system.MemoryUtil;
@@ -31,12 +34,12 @@ import java.nio.FloatBuffer;
  */
 public class Spritebatch implements Renderer<Sprite> {
 
-    private static final int MAX_SIZE = 4096;
+    static final int MAX_SIZE = 4096;
     private static final float HALF_PIXEL_SIZE = 0.5f;
 
     private static final int INDICES_PER_SPRITE = 6;
-    private static final int VERTICES_PER_SPRITE = 4;
-    private static final int ELEMENTS_PER_VERTICES = 8;
+    static final int VERTICES_PER_SPRITE = 4;
+    static final int ELEMENTS_PER_VERTICES = 8;
     private static final int POSITION_INDEX = 0;
     private static final int ELEMENTS_PER_POSITION = 3;
     private static final int COLOR_INDEX = 1;
@@ -209,23 +212,37 @@ public class Spritebatch implements Renderer<Sprite> {
         }
 
         currentTexture = texture;
-        computeVertices(sprite);
+        computeVertices(vertices, drawnSprites, sprite.getPosition(), sprite.getWidth(), sprite.getHeight(), sprite.getRegion(),
+                sprite.getRotation(), sprite.getColor(), texture.getWidth(), texture.getHeight());
         drawnSprites++;
     }
 
-    private void computeVertices(final Sprite sprite) {
-        final Vector2fc position = sprite.getPosition();
-        final float width = sprite.getWidth();
-        final float height = sprite.getHeight();
-        final float texRegionLeft = sprite.getRegion().minX;
-        final float texRegionBottom = sprite.getRegion().minY;
-        final float texRegionRight = sprite.getRegion().maxX;
-        final float texRegionTop = sprite.getRegion().maxY;
-        final float rotation = sprite.getRotation();
-        final Color color = sprite.getColor();
+    /**
+     * Compute the four vertices of a sprite
+     * <p>
+     * This does not require an OpenGL context.
+     *
+     * @param vertices      The buffer in which to write the vertices
+     * @param spriteIndex   The index of the sprite in the batch
+     * @param position      The position of the bottom left corner of the sprite
+     * @param width         The width of the sprite
+     * @param height        The height of the sprite
+     * @param region        The region of the texture to render
+     * @param rotation      The rotation of the sprite in degrees
+     * @param color         The color of the sprite
+     * @param textureWidth  The width of the texture of the sprite
+     * @param textureHeight The height of the texture of the sprite
+     */
+    static void computeVertices(final FloatBuffer vertices, final int spriteIndex, final Vector2fc position, final float width,
+                                final float height, final Rectanglef region, final float rotation, final Color color,
+                                final int textureWidth, final int textureHeight) {
+        final float texRegionLeft = region.minX;
+        final float texRegionBottom = region.minY;
+        final float texRegionRight = region.maxX;
+        final float texRegionTop = region.maxY;
 
-        final var halfPixelWidth = HALF_PIXEL_SIZE / currentTexture.getWidth();
-        final var halfPixelHeight = HALF_PIXEL_SIZE / currentTexture.getHeight();
+        final var halfPixelWidth = HALF_PIXEL_SIZE / textureWidth;
+        final var halfPixelHeight = HALF_PIXEL_SIZE / textureHeight;
 
         final var x = position.x();
         final var y = position.y();
@@ -233,21 +250,22 @@ public class Spritebatch implements Renderer<Sprite> {
         final var xCenter = x + width / 2;
         final var yCenter = y + height / 2;
 
-        final var offset = drawnSprites * VERTICES_PER_SPRITE;
+        final var offset = spriteIndex * VERTICES_PER_SPRITE;
 
-        computeVertex(offset, x, y, texRegionLeft + halfPixelWidth, texRegionBottom + halfPixelHeight,
+        computeVertex(vertices, offset, x, y, texRegionLeft + halfPixelWidth, texRegionBottom + halfPixelHeight,
                 rotation, xCenter, yCenter, color);
-        computeVertex(offset + 1, x + width, y, texRegionRight - halfPixelWidth, texRegionBottom + halfPixelHeight,
+        computeVertex(vertices, offset + 1, x + width, y, texRegionRight - halfPixelWidth, texRegionBottom + halfPixelHeight,
                 rotation, xCenter, yCenter, color);
-        computeVertex(offset + 2, x, y + height, texRegionLeft + halfPixelWidth, texRegionTop - halfPixelHeight,
+        computeVertex(vertices, offset + 2, x, y + height, texRegionLeft + halfPixelWidth, texRegionTop - halfPixelHeight,
                 rotation, xCenter, yCenter, color);
-        computeVertex(offset + 3, x + width, y + height, texRegionRight - halfPixelWidth, texRegionTop - halfPixelHeight,
+        computeVertex(vertices, offset + 3, x + width, y + height, texRegionRight - halfPixelWidth, texRegionTop - halfPixelHeight,
                 rotation, xCenter, yCenter, color);
     }
 
     /**
      * Compute the final position of a vertex
      *
+     * @param vertices The buffer in which to write the vertex
      * @param index    The index of the vertex
      * @param x        The initial x position of the vertex
      * @param y        The initial y position of the vertex
@@ -256,9 +274,10 @@ public class Spritebatch implements Renderer<Sprite> {
      * @param rotation The rotation of the vertex
      * @param xCenter  The x component of the rotation center
      * @param yCenter  The y component of the rotation center
+     * @param color    The color of the vertex
      */
-    private void computeVertex(final int index, final float x, final float y, final float xCoord, final float yCoord,
-                               final float rotation, final float xCenter, final float yCenter, final Color color) {
+    private static void computeVertex(final FloatBuffer vertices, final int index, final float x, final float y, final float xCoord, final float yCoord,
+                                      final float rotation, final float xCenter, final float yCenter, final Color color) {
         var finalX = x;
         var finalY = y;
 
@@ -323,6 +342,7 @@ public class Spritebatch implements Renderer<Sprite> {
     private void performDrawCall() {
         GL11.glDisable(GL11.GL_DEPTH_TEST);
         GL11.glDrawElements(GL11.GL_TRIANGLES, drawnSprites * INDICES_PER_SPRITE, iBuffer.getDataType().getGlCode(), 0);
+        FrameCounters.countDrawCall(PrimitiveType.TRIANGLES, drawnSprites * INDICES_PER_SPRITE);
         GL11.glEnable(GL11.GL_DEPTH_TEST);
     }
 
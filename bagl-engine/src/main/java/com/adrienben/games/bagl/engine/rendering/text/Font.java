@@ -15,6 +15,7 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -44,10 +45,21 @@ public class Font implements Asset {
     private Texture2D bitmap;
 
     public Font(final ResourcePath filePath) {
-        this.load(filePath);
+        this(filePath, true);
     }
 
-    private void load(final ResourcePath filePath) {
+    /**
+     * Construct a font.
+     *
+     * @param filePath   The path of the font file.
+     * @param loadBitmap Whether to load the bitmap of the font. If false the font file is only parsed which
+     *                   does not require an OpenGL context.
+     */
+    Font(final ResourcePath filePath, final boolean loadBitmap) {
+        this.load(filePath, loadBitmap);
+    }
+
+    private void load(final ResourcePath filePath, final boolean loadBitmap) {
         try (final var reader = new BufferedReader(new InputStreamReader(filePath.openInputStream()))) {
             this.parseHeader(reader);
             reader.lines().map(CHAR_LINE_PATTERN::matcher).filter(Matcher::matches).forEach(this::parseCharLine);
@@ -56,8 +68,10 @@ public class Font implements Asset {
             throw new EngineException("Failed to parse font file '" + filePath + "'.", e);
         }
 
-        final var bitmapPath = ResourcePath.get(filePath.getParent().getAbsolutePath(), this.atlasName);
-        this.bitmap = Texture2D.fromFile(bitmapPath, true, TextureParameters.builder());
+        if (loadBitmap) {
+            final var bitmapPath = ResourcePath.get(filePath.getParent().getAbsolutePath(), this.atlasName);
+            this.bitmap = Texture2D.fromFile(bitmapPath, true, TextureParameters.builder());
+        }
     }
 
     private void parseHeader(BufferedReader reader) throws IOException, ParseException {
@@ -140,7 +154,9 @@ public class Font implements Asset {
      */
     @Override
     public void destroy() {
-        this.bitmap.destroy();
+        if (Objects.nonNull(this.bitmap)) {
+            this.bitmap.destroy();
+        }
     }
 
     public Texture2D getBitmap() {
@@ -0,0 +1,40 @@
+package com.adrienben.games.bagl.engine.rendering.text;
+
+import com.adrienben.games.bagl.core.Color;
+import com.adrienben.games.bagl.engine.rendering.renderer.Renderer;
+import com.adrienben.games.bagl.opengl.profiling.FrameStats;
+
+/**
+ * Render {@link FrameStats} as a text overlay in the top left corner of the screen.
+ * <p>
+ * The statistics of the frame are rendered on the first line followed by the statistics of each pass.
+ * Since rendering the overlay is itself counted, it should be rendered after the passes it reports.
+ *
+ * @author adrien
+ */
+public class FrameStatsRenderer implements Renderer<FrameStats> {
+
+    private static final float DEFAULT_SCALE = 0.025f;
+    private static final float MARGIN = 0.01f;
+
+    private final TextRenderer textRenderer;
+    private final Text text;
+
+    public FrameStatsRenderer(final TextRenderer textRenderer, final Font font) {
+        this(textRenderer, font, DEFAULT_SCALE, Color.WHITE);
+    }
+
+    public FrameStatsRenderer(final TextRenderer textRenderer, final Font font, final float scale, final Color color) {
+        this.textRenderer = textRenderer;
+        this.text = Text.create("", font, MARGIN, 1f - scale - MARGIN, scale, color);
+    }
+
+    /**
+     * Render {@code stats}.
+     */
+    @Override
+    public void render(final FrameStats stats) {
+        text.setValue(stats.format());
+        textRenderer.render(text);
+    }
+}
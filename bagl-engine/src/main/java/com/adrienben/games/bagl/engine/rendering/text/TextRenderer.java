@@ -6,7 +6,9 @@ import com.adrienben.games.bagl.engine.Configuration;
 import com.adrienben.games.bagl.engine.rendering.renderer.Renderer;
 import com.adrienben.games.bagl.opengl.BlendMode;
 import com.adrienben.games.bagl.opengl.OpenGL;
+import com.adrienben.games.bagl.opengl.PrimitiveType;
 import com.adrienben.games.bagl.opengl.buffer.BufferUsage;
+import com.adrienben.games.bagl.opengl.profiling.FrameCounters;
 import com.adrienben.games.bagl.opengl.shader.Shader;
 import com.adrienben.games.bagl.opengl.vertex.*;
 import org.joml.Vector2fc;
@@ -23,12 +25,12 @@ import java.nio.FloatBuffer;
  */
 public class TextRenderer implements Renderer<Text> {
 
-    private static final int MAX_TEXT_LENGTH = 1000;
+    static final int MAX_TEXT_LENGTH = 1000;
     private static final float HALF_SCREEN_SIZE = 1f;
 
-    private static final int VERTICES_PER_CHAR = 4;
+    static final int VERTICES_PER_CHAR = 4;
     private static final int INDICES_PER_CHAR = 6;
-    private static final int ELEMENTS_PER_VERTEX = 8;
+    static final int ELEMENTS_PER_VERTEX = 8;
     private static final int POSITION_INDEX = 0;
     private static final int ELEMENTS_PER_POSITION = 2;
     private static final int COORDINATES_INDEX = 1;
@@ -138,34 +140,61 @@ public class TextRenderer implements Renderer<Text> {
      */
     private void render(final String text, final Font font, final Vector2fc position, final float scale, final Color color) {
         final var aspectRatio = (float) this.configuration.getXResolution() / this.configuration.getYResolution();
+        this.bufferedChar = layoutText(this.vertices, text, font, position, scale, color, aspectRatio);
+        this.renderText(font, scale);
+    }
+
+    /**
+     * Generate the vertices of each glyph of a {@link String}
+     * <p>
+     * This does not require an OpenGL context.
+     *
+     * @param vertices    The buffer in which to write the vertices
+     * @param text        The text to layout
+     * @param font        The font to use to layout the text
+     * @param position    The position of the text
+     * @param scale       The scale of the text
+     * @param color       The color of the text
+     * @param aspectRatio The aspect ratio of the viewport
+     * @return The number of glyphs written in {@code vertices}
+     */
+    static int layoutText(final FloatBuffer vertices, final String text, final Font font, final Vector2fc position,
+                          final float scale, final Color color, final float aspectRatio) {
         final var vScale = scale / font.getLineGap() * 2;
         final var hScale = vScale / aspectRatio;
 
         final var caret = new Caret(font.getLineGap() * vScale, position.x() * 2 - HALF_SCREEN_SIZE,
                 position.y() * 2 - HALF_SCREEN_SIZE);
 
+        var glyphCount = 0;
         final var textLength = text.length();
         for (var i = 0; i < textLength; i++) {
             final var c = text.charAt(i);
             if (c == '\n' || c == '\r') {
                 caret.nextLine();
             } else {
-                font.getGlyph(c).ifPresent(glyph -> this.generateGlyphVertices(glyph, caret, hScale, vScale, color));
+                final var glyph = font.getGlyph(c);
+                if (glyph.isPresent() && glyphCount < MAX_TEXT_LENGTH) {
+                    generateGlyphVertices(vertices, glyphCount++, glyph.get(), caret, hScale, vScale, color);
+                }
             }
         }
-        this.renderText(font, scale);
+        return glyphCount;
     }
 
     /**
      * Generate the vertices for on glyph
      *
+     * @param vertices   The buffer in which to write the vertices
+     * @param glyphIndex The index of the glyph in the buffer
      * @param glyph  The glyph for which to generate the vertices
      * @param caret  The caret
      * @param hScale The horizontal scale
      * @param vScale The vertical scale
      * @param color  The color of the text
      */
-    private void generateGlyphVertices(final Glyph glyph, final Caret caret, final float hScale, final float vScale, final Color color) {
+    private static void generateGlyphVertices(final FloatBuffer vertices, final int glyphIndex, final Glyph glyph, final Caret caret,
+                                              final float hScale, final float vScale, final Color color) {
         final var region = glyph.getRegion();
 
         final var left = caret.isNewLine() ? caret.getX() : glyph.getXOffset() * hScale + caret.getX();
@@ -173,19 +202,19 @@ public class TextRenderer implements Renderer<Text> {
         final var bottom = caret.getY() + glyph.getYOffset() * vScale;
         final var top = bottom + (region.top() - region.bottom()) * vScale;
 
-        final var vertexIndex = this.bufferedChar * VERTICES_PER_CHAR;
-        this.updateVertex(vertexIndex, left, bottom, region.left(), region.bottom(), color);
-        this.updateVertex(vertexIndex + 1, right, bottom, region.right(), region.bottom(), color);
-        this.updateVertex(vertexIndex + 2, left, top, region.left(), region.top(), color);
-        this.updateVertex(vertexIndex + 3, right, top, region.right(), region.top(), color);
+        final var vertexIndex = glyphIndex * VERTICES_PER_CHAR;
+        updateVertex(vertices, vertexIndex, left, bottom, region.left(), region.bottom(), color);
+        updateVertex(vertices, vertexIndex + 1, right, bottom, region.right(), region.bottom(), color);
+        updateVertex(vertices, vertexIndex + 2, left, top, region.left(), region.top(), color);
+        updateVertex(vertices, vertexIndex + 3, right, top, region.right(), region.top(), color);
 
         caret.advance(glyph.getXAdvance() * hScale);
-        this.bufferedChar++;
     }
 
     /**
      * Update the data of one vertex
      *
+     * @param vertices    The buffer in which to write the vertex
      * @param vertexIndex The index of the vertex to update
      * @param x           The x position of the vertex
      * @param y           The y position of the vertex
@@ -193,16 +222,16 @@ public class TextRenderer implements Renderer<Text> {
      * @param v           The v coordinate of the vertex
      * @param color       The color of the vertex
      */
-    private void updateVertex(final int vertexIndex, final float x, final float y, final float u, final float v, final Color color) {
+    private static void updateVertex(final FloatBuffer vertices, final int vertexIndex, final float x, final float y, final float u, final float v, final Color color) {
         final var index = vertexIndex * ELEMENTS_PER_VERTEX;
-        this.vertices.put(index, x);
-        this.vertices.put(index + 1, y);
-        this.vertices.put(index + 2, u);
-        this.vertices.put(index + 3, v);
-        this.vertices.put(index + 4, color.getRed());
-        this.vertices.put(index + 5, color.getGreen());
-        this.vertices.put(index + 6, color.getBlue());
-        this.vertices.put(index + 7, color.getAlpha());
+        vertices.put(index, x);
+        vertices.put(index + 1, y);
+        vertices.put(index + 2, u);
+        vertices.put(index + 3, v);
+        vertices.put(index + 4, color.getRed());
+        vertices.put(index + 5, color.getGreen());
+        vertices.put(index + 6, color.getBlue());
+        vertices.put(index + 7, color.getAlpha());
     }
 
     /**
@@ -226,6 +255,7 @@ public class TextRenderer implements Renderer<Text> {
         GL11.glDisable(GL11.GL_DEPTH_TEST);
         OpenGL.setBlendMode(BlendMode.TRANSPARENCY);
         GL11.glDrawElements(GL11.GL_TRIANGLES, this.bufferedChar * INDICES_PER_CHAR, this.iBuffer.getDataType().getGlCode(), 0);
+        FrameCounters.countDrawCall(PrimitiveType.TRIANGLES, this.bufferedChar * INDICES_PER_CHAR);
         OpenGL.setBlendMode(BlendMode.NONE);
         GL11.glEnable(GL11.GL_DEPTH_TEST);
 
@@ -2,8 +2,9 @@ package com.adrienben.games.bagl.engine.resource.gltf;
 
 import com.adrienben.games.bagl.core.io.ResourcePath;
 import com.adrienben.games.bagl.core.utils.CollectionUtils;
-import com.adrienben.games.bagl.engine.Transform;
 import com.adrienben.games.bagl.engine.animation.Animation;
+import com.adrienben.games.bagl.engine.animation.compression.CompressionReport;
+import com.adrienben.games.bagl.engine.profiling.GltfImportEvent;
 import com.adrienben.games.bagl.engine.rendering.material.Material;
 import com.adrienben.games.bagl.engine.rendering.model.Mesh;
 import com.adrienben.games.bagl.engine.rendering.model.Model;
@@ -11,7 +12,10 @@ import com.adrienben.games.bagl.engine.rendering.model.ModelNode;
 import com.adrienben.games.bagl.engine.resource.gltf.mappers.*;
 import com.adrienben.games.bagl.opengl.texture.Texture2D;
 import com.adrienben.tools.gltf.models.*;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -29,6 +33,8 @@ import java.util.stream.Collectors;
  */
 public class GltfLoader {
 
+    private static final Logger log = LogManager.getLogger(GltfLoader.class);
+
     private final TextureMapper textureMapper = new TextureMapper();
     private final MeshMapper meshMapper = new MeshMapper();
     private final AnimationMapper animationMapper = new AnimationMapper();
@@ -39,6 +45,7 @@ public class GltfLoader {
     private final List<Texture2D> textures = new ArrayList<>();
     private final List<Map<Mesh, Material>> meshes = new ArrayList<>();
     private ModelNode[] nodes;
+    private CompressionReport compressionReport;
 
     /**
      * Load a gltf file
@@ -47,16 +54,33 @@ public class GltfLoader {
      * @return The loaded model
      */
     public Model load(final ResourcePath path) {
+        final var event = new GltfImportEvent();
+        event.begin();
         final var gltfAsset = loadFromFileAndSetCurrentDirectory(path);
         final var model = new Model();
 
         nodes = new ModelNode[gltfAsset.getNodes().size()];
+        compressionReport = new CompressionReport();
         loadTextures(gltfAsset);
         loadMeshes(gltfAsset);
         gltfAsset.getScenes().forEach(scene -> mapGltfScene(scene, model));
         model.setAnimations(loadAnimations(gltfAsset));
         mapJoints(gltfAsset);
-
+        logAnimationCompression(path);
+
+        if (event.shouldCommit()) {
+            event.path = path.toString();
+            event.fileSize = new File(path.getAbsolutePath()).length();
+            event.nodeCount = nodes.length;
+            event.meshCount = meshes.size();
+            event.textureCount = textures.size();
+            event.animationCount = gltfAsset.getAnimations().size();
+            event.animationSize = compressionReport.getOriginalSize();
+            event.compressedAnimationSize = compressionReport.getCompressedSize();
+            event.maxAnimationTranslationError = compressionReport.getMaxTranslationError();
+            event.maxAnimationAngleError = compressionReport.getMaxAngleError();
+            event.commit();
+        }
         cleanUp();
         return model;
     }
@@ -86,7 +110,7 @@ public class GltfLoader {
         return meshMapper.map(gltfMesh, textures);
     }
 
-    private List<Animation<Transform>> loadAnimations(final GltfAsset gltfAsset) {
+    private List<Animation> loadAnimations(final GltfAsset gltfAsset) {
         return gltfAsset.getAnimations().stream().map(this::mapAnimation).collect(Collectors.toList());
     }
 
@@ -104,8 +128,17 @@ public class GltfLoader {
         }
     }
 
-    private Animation<Transform> mapAnimation(final GltfAnimation animation) {
-        return animationMapper.map(animation, nodes);
+    private Animation mapAnimation(final GltfAnimation animation) {
+        return animationMapper.map(animation, nodes, compressionReport);
+    }
+
+    private void logAnimationCompression(final ResourcePath path) {
+        if (compressionReport.getChannelCount() > 0) {
+            log.debug("Compressed animations of {}: {} -> {} key frames, {} -> {} bytes (ratio {}), max errors: translation {}, rotation {} rad, scale {}",
+                    path, compressionReport.getOriginalKeyFrameCount(), compressionReport.getCompressedKeyFrameCount(),
+                    compressionReport.getOriginalSize(), compressionReport.getCompressedSize(), compressionReport.getCompressionRatio(),
+                    compressionReport.getMaxTranslationError(), compressionReport.getMaxAngleError(), compressionReport.getMaxScaleError());
+        }
     }
 
     private void mapJoints(final GltfAsset gltfAsset) {
@@ -1,44 +1,58 @@
 package com.adrienben.games.bagl.engine.resource.gltf.mappers;
 
-import com.adrienben.games.bagl.engine.Transform;
+import com.adrienben.games.bagl.engine.Configuration;
 import com.adrienben.games.bagl.engine.animation.*;
+import com.adrienben.games.bagl.engine.animation.compression.AnimationCompressor;
+import com.adrienben.games.bagl.engine.animation.compression.CompressionReport;
 import com.adrienben.games.bagl.engine.rendering.model.ModelNode;
 import com.adrienben.games.bagl.engine.resource.gltf.reader.GltfBufferReader;
-import com.adrienben.games.bagl.engine.resource.gltf.reader.GltfDataReader;
 import com.adrienben.tools.gltf.models.*;
-import org.joml.Quaternionf;
-import org.joml.Vector3f;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.function.Function;
-import java.util.function.Supplier;
+import java.util.Objects;
 
 /**
  * Map {@link GltfAnimation} into {@link Animation}.
  * <p>
+ * Each channel is mapped into an {@link AnimationChannel} targeting the index of the animated {@link ModelNode}. The times and values of the key frames are copied
+ * in bulk from the accessors of the channel's sampler. Channels are then compressed with an {@link AnimationCompressor}
+ * unless animation compression is disabled in the {@link Configuration}.
+ * <p>
  * Weight animation and cubic spline interpolation are ignored.
  *
  * @author adrien
  */
 public class AnimationMapper {
 
-    private Animation.Builder<Transform> animationBuilder;
+    private final AnimationCompressor compressor = createCompressor();
+
+    private Animation.Builder animationBuilder;
     private ModelNode[] nodeIndex;
+    private CompressionReport compressionReport;
+
+    private static AnimationCompressor createCompressor() {
+        final var configuration = Configuration.getInstance();
+        if (!configuration.isAnimationCompressionEnabled()) {
+            return null;
+        }
+        return new AnimationCompressor(configuration.getAnimationPositionTolerance(),
+                (float) Math.toRadians(configuration.getAnimationAngleTolerance()), true);
+    }
 
     /**
      * Map {@code gltfAnimation} into an {@link Animation}.
      *
-     * @param gltfAnimation The animation to map.
-     * @param nodeIndex     The index containing the nodes referenced in the animation.
+     * @param gltfAnimation     The animation to map.
+     * @param nodeIndex         The index containing the nodes referenced in the animation.
+     * @param compressionReport The report in which the compression statistics of the channels are added.
      * @return A new {@link Animation}.
      */
-    public Animation<Transform> map(final GltfAnimation gltfAnimation, final ModelNode[] nodeIndex) {
+    public Animation map(final GltfAnimation gltfAnimation, final ModelNode[] nodeIndex, final CompressionReport compressionReport) {
         this.nodeIndex = nodeIndex;
+        this.compressionReport = compressionReport;
         animationBuilder = Animation.builder();
         gltfAnimation.getChannels().stream()
                 .filter(this::isChannelSupported)
-                .forEach(this::mapAnimator);
+                .forEach(this::mapChannel);
         return animationBuilder.build();
     }
 
@@ -47,79 +61,38 @@ public class AnimationMapper {
                 && channel.getSampler().getInterpolation() != GltfInterpolationType.CUBICSPLINE;
     }
 
-    private void mapAnimator(final GltfChannel gltfChannel) {
-        switch (gltfChannel.getTarget().getPath()) {
-            case TRANSLATION -> animationBuilder.animator(Vector3f.class, mapTranslationAnimator(gltfChannel));
-            case ROTATION -> animationBuilder.animator(Quaternionf.class, mapRotationAnimator(gltfChannel));
-            case SCALE -> animationBuilder.animator(Vector3f.class, mapScaleAnimator(gltfChannel));
-            default -> throw new UnsupportedOperationException("Unsupported animation target path");
-        }
-    }
-
-    private Animator<Transform, Vector3f> mapTranslationAnimator(final GltfChannel channel) {
-        return mapAnimator(channel, GltfBufferReader::readVector3, TargetUpdater.transformTranslationUpdater(),
-                this::getVector3fInterpolation, Vector3f::new);
+    private void mapChannel(final GltfChannel gltfChannel) {
+        final var target = nodeIndex[gltfChannel.getTarget().getNode().getIndex()].getIndex();
+        final var channel = mapChannelKeyFrames(gltfChannel);
+        final var compressed = Objects.isNull(compressor) ? channel : compressor.compress(channel, compressionReport);
+        animationBuilder.channel(target, compressed);
     }
 
-    private Animator<Transform, Quaternionf> mapRotationAnimator(final GltfChannel channel) {
-        return mapAnimator(channel, GltfBufferReader::readQuaternion, TargetUpdater.transformRotationUpdater(),
-                this::getQuaternionfInterpolation, Quaternionf::new);
+    private AnimationChannel mapChannelKeyFrames(final GltfChannel gltfChannel) {
+        final var gltfSampler = gltfChannel.getSampler();
+        final var times = readFloats(gltfSampler.getInput());
+        final var values = readFloats(gltfSampler.getOutput());
+        return new AnimationChannel(mapPath(gltfChannel.getTarget().getPath()), mapInterpolation(gltfSampler.getInterpolation()), times, values);
     }
 
-    private Animator<Transform, Vector3f> mapScaleAnimator(final GltfChannel channel) {
-        return mapAnimator(channel, GltfBufferReader::readVector3, TargetUpdater.translationScaleUpdater(),
-                this::getVector3fInterpolation, Vector3f::new);
+    private static float[] readFloats(final GltfAccessor accessor) {
+        return new GltfBufferReader(accessor.getBufferView().getBuffer()).readFloats(accessor);
     }
 
-    private Interpolator<Vector3f> getVector3fInterpolation(final GltfInterpolationType gltfInterpolationType) {
-        return switch (gltfInterpolationType) {
-            case STEP -> Interpolator.vector3fStep();
-            case LINEAR -> Interpolator.vector3fLerp();
-            default -> throw new UnsupportedOperationException("Unsupported interpolation type " + gltfInterpolationType);
+    private static ChannelPath mapPath(final GltfAnimationTargetPath gltfPath) {
+        return switch (gltfPath) {
+            case TRANSLATION -> ChannelPath.TRANSLATION;
+            case ROTATION -> ChannelPath.ROTATION;
+            case SCALE -> ChannelPath.SCALE;
+            default -> throw new UnsupportedOperationException("Unsupported animation target path " + gltfPath);
         };
     }
 
-    private Interpolator<Quaternionf> getQuaternionfInterpolation(final GltfInterpolationType gltfInterpolationType) {
+    private static InterpolationMode mapInterpolation(final GltfInterpolationType gltfInterpolationType) {
         return switch (gltfInterpolationType) {
-            case STEP -> Interpolator.quaternionfStep();
-            case LINEAR -> Interpolator.quaternionfSlerp();
+            case STEP -> InterpolationMode.STEP;
+            case LINEAR -> InterpolationMode.LINEAR;
             default -> throw new UnsupportedOperationException("Unsupported interpolation type " + gltfInterpolationType);
         };
     }
-
-    private <T> Animator<Transform, T> mapAnimator(
-            final GltfChannel gltfChannel,
-            final GltfDataReader<T> dataReader,
-            final TargetUpdater<Transform, T> targetUpdater,
-            final Function<GltfInterpolationType, Interpolator<T>> interpolatorMapper,
-            final Supplier<T> defaultValueSupplier
-    ) {
-        final var gltfSampler = gltfChannel.getSampler();
-        final var interpolation = gltfSampler.getInterpolation();
-        return mapTargetAndKeyFrames(gltfChannel, dataReader)
-                .interpolator(interpolatorMapper.apply(interpolation))
-                .targetUpdater(targetUpdater)
-                .currentValueSupplier(defaultValueSupplier)
-                .build();
-    }
-
-    private <T> Animator.Builder<Transform, T> mapTargetAndKeyFrames(final GltfChannel gltfChannel, final GltfDataReader<T> dataReader) {
-        final var gltfSampler = gltfChannel.getSampler();
-        final var gltfTarget = gltfChannel.getTarget();
-        final var target = nodeIndex[gltfTarget.getNode().getIndex()].getLocalTransform();
-        final var keyFrames = mapKeyFrames(gltfSampler.getInput(), gltfSampler.getOutput(), dataReader);
-        return Animator.<Transform, T>builder().target(target).keyFrames(keyFrames);
-    }
-
-    private <T> List<KeyFrame<T>> mapKeyFrames(final GltfAccessor input, final GltfAccessor output, final GltfDataReader<T> dataReader) {
-        final var inputReader = new GltfBufferReader(input.getBufferView().getBuffer());
-        final var outputReader = new GltfBufferReader(output.getBufferView().getBuffer());
-        final var keyFrames = new ArrayList<KeyFrame<T>>();
-        for (int i = 0; i < input.getCount(); i++) {
-            final float time = inputReader.readFloat(input, i);
-            final T data = dataReader.read(outputReader, output, i);
-            keyFrames.add(new KeyFrame<>(time, data));
-        }
-        return keyFrames;
-    }
 }
@@ -63,7 +63,7 @@ public class JointMapper {
             final var gltfSkinJoint = gltfJoints.get(i);
             final var jointNode = nodeIndex[gltfSkinJoint.getIndex()];
             final var inverseBindMatrix = inverseBindMatrices.get(i);
-            joints.add(new Joint(jointNode.getTransform(), inverseBindMatrix));
+            joints.add(new Joint(jointNode.getIndex(), inverseBindMatrix));
         }
         return joints;
     }
@@ -1,7 +1,12 @@
 package com.adrienben.games.bagl.engine.resource.gltf.mappers;
 
+import com.adrienben.games.bagl.engine.Configuration;
 import com.adrienben.games.bagl.engine.rendering.material.Material;
 import com.adrienben.games.bagl.engine.rendering.model.Mesh;
+import com.adrienben.games.bagl.engine.resource.mesh.MeshLodGenerator;
+import com.adrienben.games.bagl.engine.resource.mesh.MeshOptimizer;
+import com.adrienben.games.bagl.engine.resource.mesh.OptimizedIndices;
+import com.adrienben.games.bagl.opengl.PrimitiveType;
 import com.adrienben.games.bagl.opengl.buffer.BufferUsage;
 import com.adrienben.games.bagl.opengl.texture.Texture2D;
 import com.adrienben.games.bagl.opengl.vertex.IndexBuffer;
@@ -9,11 +14,17 @@ import com.adrienben.games.bagl.opengl.vertex.VertexBuffer;
 import com.adrienben.games.bagl.opengl.vertex.VertexBufferParams;
 import com.adrienben.games.bagl.opengl.vertex.VertexElement;
 import com.adrienben.tools.gltf.models.GltfAccessor;
+import com.adrienben.tools.gltf.models.GltfComponentType;
 import com.adrienben.tools.gltf.models.GltfMesh;
 import com.adrienben.tools.gltf.models.GltfPrimitive;
+import org.joml.Vector3f;
+import org.joml.primitives.AABBf;
+import org.joml.primitives.Spheref;
 import org.lwjgl.system.MemoryUtil;
 
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -29,9 +40,10 @@ public class MeshMapper {
 
     private final ChannelMapper channelMapper = new ChannelMapper();
     private final VertexDataTypeMapper vertexDataTypeMapper = new VertexDataTypeMapper();
-    private final IndexDataTypeMapper indexDataTypeMapper = new IndexDataTypeMapper();
     private final PrimitiveTypeMapper primitiveTypeMapper = new PrimitiveTypeMapper();
     private final MaterialMapper materialMapper = new MaterialMapper();
+    private final MeshOptimizer meshOptimizer = new MeshOptimizer();
+    private final MeshLodGenerator meshLodGenerator = new MeshLodGenerator(Configuration.getInstance().getLodErrors());
 
     private List<Texture2D> textureIndex;
 
@@ -53,43 +65,172 @@ public class MeshMapper {
 
     /**
      * Create a mesh from a gltf primitive
+     * <p>
+     * Triangle lists are optimized before being uploaded to the GPU (see {@link MeshOptimizer}). Then indices
+     * are stored as unsigned shorts when the vertex count allows it, as unsigned ints otherwise.
      *
      * @param primitive The primitive from which to create the mesh
      * @return A new mesh
      */
     private MeshAndMaterial createMesh(final GltfPrimitive primitive) {
-        final var iBuffer = createIndexBuffer(primitive.getIndices());
-        final var vBuffers = primitive.getAttributes().entrySet().stream()
-                .map(entry -> createVertexBuffer(entry.getKey(), entry.getValue()))
-                .flatMap(Optional::stream)
-                .collect(Collectors.toList());
         final var primitiveType = primitiveTypeMapper.map(primitive.getMode());
+        final var vertexAttributes = extractVertexAttributes(primitive);
+        final var vertexCount = vertexAttributes.stream().mapToInt(attribute -> attribute.accessor().getCount()).max().orElse(0);
+        final var meshBuilder = Mesh.builder().primitiveType(primitiveType);
+        var indices = extractIndices(primitive.getIndices());
+        var attributesToUpload = vertexAttributes;
+        var indexedVertexCount = vertexCount;
+
+        if (primitiveType == PrimitiveType.TRIANGLES) {
+            final var optimizedIndices = meshOptimizer.optimize(indices, vertexCount, extractPositions(vertexAttributes));
+            attributesToUpload = remapVertexAttributes(vertexAttributes, optimizedIndices);
+            indices = optimizedIndices.indices();
+            indexedVertexCount = optimizedIndices.vertexCount();
+            createLods(meshBuilder, indices, extractPositions(attributesToUpload), indexedVertexCount);
+        }
 
-        final Mesh mesh = Mesh.builder().vertexBuffers(vBuffers).indexBuffer(iBuffer).primitiveType(primitiveType).build();
+        final var iBuffer = createIndexBuffer(indices, indexedVertexCount);
+        final var vBuffers = attributesToUpload.stream().map(this::createVertexBuffer).collect(Collectors.toList());
+        attributesToUpload.forEach(attribute -> MemoryUtil.memFree(attribute.data()));
+
+        final Mesh mesh = meshBuilder.vertexBuffers(vBuffers).indexBuffer(iBuffer).build();
         final Material material = materialMapper.map(primitive.getMaterial(), textureIndex);
         return new MeshAndMaterial(mesh, material);
     }
 
     /**
-     * Create a index buffer from a primitive indices accessor
+     * Compute the bounding sphere of the mesh and generate its levels of detail
      *
-     * @param accessor The accessor pointing to the index data
+     * @param meshBuilder The builder of the mesh
+     * @param indices     The indices of the full detail mesh
+     * @param positions   The positions of the vertices, can be null in which case nothing is generated
+     * @param vertexCount The number of vertices of the mesh
+     */
+    private void createLods(final Mesh.Builder meshBuilder, final int[] indices, final float[] positions, final int vertexCount) {
+        if (Objects.isNull(positions)) {
+            return;
+        }
+        final var boundingSphere = computeBoundingSphere(positions, vertexCount);
+        meshBuilder.boundingSphere(boundingSphere);
+        final var lods = meshLodGenerator.generate(indices, positions, vertexCount, boundingSphere.r);
+        lods.forEach(lod -> meshBuilder.lod(createIndexBuffer(lod.indices(), vertexCount), lod.error()));
+    }
+
+    /**
+     * Compute a bounding sphere centered on the center of the bounding box of the vertices
+     */
+    private Spheref computeBoundingSphere(final float[] positions, final int vertexCount) {
+        final var box = new AABBf();
+        for (var vertex = 0; vertex < vertexCount; vertex++) {
+            box.union(positions[vertex * 3], positions[vertex * 3 + 1], positions[vertex * 3 + 2]);
+        }
+        final var center = box.center(new Vector3f());
+        var squaredRadius = 0f;
+        for (var vertex = 0; vertex < vertexCount; vertex++) {
+            squaredRadius = Math.max(squaredRadius, center.distanceSquared(positions[vertex * 3], positions[vertex * 3 + 1], positions[vertex * 3 + 2]));
+        }
+        return new Spheref(center, (float) Math.sqrt(squaredRadius));
+    }
+
+    /**
+     * Tightly packed data of a supported vertex attribute.
+     */
+    private record VertexAttribute(int channel, GltfAccessor accessor, ByteBuffer data) {
+
+        int getElementByteSize() {
+            return accessor.getComponentType().getByteSize() * accessor.getType().getComponentCount();
+        }
+    }
+
+    private List<VertexAttribute> extractVertexAttributes(final GltfPrimitive primitive) {
+        final var vertexAttributes = new ArrayList<VertexAttribute>();
+        primitive.getAttributes().forEach((type, accessor) -> {
+            final var channel = channelMapper.map(type);
+            if (channel != -1) {
+                final var data = extractVertexData(accessor).orElseThrow(() -> new IllegalArgumentException(
+                        "Primitive attribute's accessor should not be null"));
+                vertexAttributes.add(new VertexAttribute(channel, accessor, data));
+            }
+        });
+        return vertexAttributes;
+    }
+
+    /**
+     * Extract the positions of the vertices as an array of floats if they are stored as float triplets.
+     *
+     * @return An array containing the positions or null if not found
+     */
+    private float[] extractPositions(final List<VertexAttribute> vertexAttributes) {
+        return vertexAttributes.stream()
+                .filter(attribute -> attribute.channel() == Mesh.POSITION_INDEX)
+                .filter(attribute -> attribute.accessor().getComponentType() == GltfComponentType.FLOAT)
+                .filter(attribute -> attribute.accessor().getType().getComponentCount() == Mesh.ELEMENTS_PER_POSITION)
+                .findFirst()
+                .map(attribute -> {
+                    final var floats = attribute.data().duplicate().order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer();
+                    final var positions = new float[floats.remaining()];
+                    floats.get(positions);
+                    return positions;
+                })
+                .orElse(null);
+    }
+
+    private List<VertexAttribute> remapVertexAttributes(final List<VertexAttribute> vertexAttributes, final OptimizedIndices optimizedIndices) {
+        final var vertexFetchOptimizer = meshOptimizer.getVertexFetchOptimizer();
+        return vertexAttributes.stream().map(attribute -> {
+            final var remapped = vertexFetchOptimizer.remapVertices(attribute.data(), attribute.getElementByteSize(),
+                    optimizedIndices.vertexRemapping(), optimizedIndices.vertexCount());
+            MemoryUtil.memFree(attribute.data());
+            return new VertexAttribute(attribute.channel(), attribute.accessor(), remapped);
+        }).collect(Collectors.toList());
+    }
+
+    /**
+     * Create a index buffer from a list of indices
+     * <p>
+     * 16-bit indices are used if {@code vertexCount} allows it.
+     *
+     * @param indices     The index data
+     * @param vertexCount The number of vertices referenced by the indices
      * @return A new index buffer
      */
-    private IndexBuffer createIndexBuffer(final GltfAccessor accessor) {
-        final var indices = extractIndices(accessor);
-        final var dataType = indexDataTypeMapper.map(accessor.getComponentType());
-        final var indexBuffer = new IndexBuffer(indices, dataType, BufferUsage.STATIC_DRAW);
-        MemoryUtil.memFree(indices);
+    private IndexBuffer createIndexBuffer(final int[] indices, final int vertexCount) {
+        if (MeshOptimizer.canUseShortIndices(vertexCount)) {
+            final var shortIndices = MemoryUtil.memAllocShort(indices.length);
+            for (var i = 0; i < indices.length; i++) {
+                shortIndices.put(i, (short) indices[i]);
+            }
+            final var indexBuffer = new IndexBuffer(shortIndices, BufferUsage.STATIC_DRAW);
+            MemoryUtil.memFree(shortIndices);
+            return indexBuffer;
+        }
+        final var intIndices = MemoryUtil.memAllocInt(indices.length).put(indices).flip();
+        final var indexBuffer = new IndexBuffer(intIndices, BufferUsage.STATIC_DRAW);
+        MemoryUtil.memFree(intIndices);
         return indexBuffer;
     }
 
-    private ByteBuffer extractIndices(final GltfAccessor accessor) {
+    /**
+     * Extract the indices referenced by an accessor as an array of ints.
+     *
+     * @param accessor The accessor pointing to the index data
+     * @return A new int array
+     */
+    private int[] extractIndices(final GltfAccessor accessor) {
         checkAccessorSupport(accessor);
         final var bufferView = accessor.getBufferView();
         final int offset = bufferView.getByteOffset() + accessor.getByteOffset();
-        final int byteSize = accessor.getCount() * accessor.getComponentType().getByteSize() * accessor.getType().getComponentCount();
-        return MemoryUtil.memAlloc(byteSize).put(bufferView.getBuffer().getData(), offset, byteSize).flip();
+        final var data = ByteBuffer.wrap(bufferView.getBuffer().getData()).order(ByteOrder.LITTLE_ENDIAN).position(offset);
+        final var indices = new int[accessor.getCount()];
+        for (var i = 0; i < indices.length; i++) {
+            indices[i] = switch (accessor.getComponentType()) {
+                case UNSIGNED_BYTE -> Byte.toUnsignedInt(data.get());
+                case UNSIGNED_SHORT -> Short.toUnsignedInt(data.getShort());
+                case UNSIGNED_INT -> data.getInt();
+                default -> throw new UnsupportedOperationException("Unsupported index type " + accessor.getComponentType());
+            };
+        }
+        return indices;
     }
 
     private void checkAccessorSupport(final GltfAccessor accessor) {
@@ -104,22 +245,12 @@ public class MeshMapper {
     /**
      * Create a vertex buffer from a primitive attribute
      *
-     * @param type     The type of attribute
-     * @param accessor The accessor
+     * @param vertexAttribute The attribute data
      * @return A new vertex buffer
      */
-    private Optional<VertexBuffer> createVertexBuffer(final String type, final GltfAccessor accessor) {
-        final var channel = channelMapper.map(type);
-        if (channel == -1) {
-            return Optional.empty();
-        }
-
-        final var vertices = extractVertexData(accessor).orElseThrow(() -> new IllegalArgumentException(
-                "Primitive attribute's accessor should not be null"));
-        final var vertexBufferParams = mapVertexBufferParams(channel, accessor);
-        final var vertexBuffer = new VertexBuffer(vertices, vertexBufferParams);
-        MemoryUtil.memFree(vertices);
-        return Optional.of(vertexBuffer);
+    private VertexBuffer createVertexBuffer(final VertexAttribute vertexAttribute) {
+        final var vertexBufferParams = mapVertexBufferParams(vertexAttribute.channel(), vertexAttribute.accessor());
+        return new VertexBuffer(vertexAttribute.data(), vertexBufferParams);
     }
 
     /**
@@ -130,7 +261,7 @@ public class MeshMapper {
      * @param accessor The accessor to extract the data from
      * @return A new byte buffer
      */
-    private Optional<ByteBuffer> extractVertexData(final GltfAccessor accessor) {
+    Optional<ByteBuffer> extractVertexData(final GltfAccessor accessor) {
         checkAccessorSupport(accessor);
         final var bufferView = accessor.getBufferView();
         final var data = bufferView.getBuffer().getData();
@@ -8,6 +8,7 @@ import org.joml.Vector3f;
 
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.util.Optional;
 import java.util.function.Function;
 
 /**
@@ -32,8 +33,40 @@ public class GltfBufferReader {
      * @param index    The index of the float to read.
      * @return A float.
      */
-    public Float readFloat(final GltfAccessor accessor, final int index) {
-        return readData(accessor, index, ByteBuffer::getFloat);
+    public float readFloat(final GltfAccessor accessor, final int index) {
+        checkAccessorRights(accessor);
+        setBufferPosition(accessor, index);
+        return data.getFloat();
+    }
+
+    /**
+     * Read all the floats referenced by {@code accessor}.
+     * <p>
+     * The components of all elements are read in order. When the elements are tightly packed
+     * the floats are copied in bulk.
+     *
+     * @param accessor The data accessor. Its component type must be float.
+     * @return A new array containing the components of all elements.
+     */
+    public float[] readFloats(final GltfAccessor accessor) {
+        checkAccessorRights(accessor);
+        final var componentCount = accessor.getType().getComponentCount();
+        final var elementByteSize = componentCount * accessor.getComponentType().getByteSize();
+        final var byteStride = Optional.ofNullable(accessor.getBufferView().getByteStride()).orElse(elementByteSize);
+        final var floats = new float[accessor.getCount() * componentCount];
+        setBufferPosition(accessor, 0);
+        if (byteStride == elementByteSize) {
+            data.asFloatBuffer().get(floats);
+            return floats;
+        }
+        final var start = data.position();
+        for (int i = 0; i < accessor.getCount(); i++) {
+            data.position(start + i * byteStride);
+            for (int component = 0; component < componentCount; component++) {
+                floats[i * componentCount + component] = data.getFloat();
+            }
+        }
+        return floats;
     }
 
     /**
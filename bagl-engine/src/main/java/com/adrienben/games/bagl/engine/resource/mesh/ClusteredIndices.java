@@ -0,0 +1,17 @@
+package com.adrienben.games.bagl.engine.resource.mesh;
+
+/**
+ * Indices of a triangle list split into clusters of consecutive triangles.
+ * <p>
+ * {@code clusters} contains the offset (in triangles) of the first triangle of each cluster
+ * followed by the total triangle count. So cluster {@code i} spans the triangles from
+ * {@code clusters[i]} (inclusive) to {@code clusters[i + 1]} (exclusive).
+ *
+ * @author adrien
+ */
+public record ClusteredIndices(int[] indices, int[] clusters) {
+
+    public int getClusterCount() {
+        return clusters.length - 1;
+    }
+}
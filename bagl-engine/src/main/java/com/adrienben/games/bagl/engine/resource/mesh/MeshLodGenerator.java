@@ -0,0 +1,91 @@
+package com.adrienben.games.bagl.engine.resource.mesh;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Mesh LOD chain generator.
+ * <p>
+ * Each level of the chain is generated by simplifying the previous one (see {@link MeshSimplifier}) aiming
+ * at half its triangle count without exceeding the error configured for the level. The indices of each level
+ * are then optimized for the vertex cache. All levels reference the vertices of the original mesh.
+ * <p>
+ * The simplifier only measures the error introduced by one step of the chain. The error of a level relatively to
+ * the full detail mesh is bounded by the sum of the errors of the steps leading to it, so the errors of the levels
+ * are accumulated down the chain and each step may only use what is left of the error configured for its level.
+ * <p>
+ * The generation stops early when a level does not remove at least {@value #MIN_REDUCTION} of the triangles
+ * of the previous one since it would cost memory without saving much rendering time.
+ *
+ * @author adrien
+ */
+public class MeshLodGenerator {
+
+    private static final Logger log = LogManager.getLogger(MeshLodGenerator.class);
+
+    private static final float TARGET_RATIO = 0.5f;
+    private static final float MIN_REDUCTION = 0.1f;
+    private static final int MIN_TRIANGLE_COUNT = 16;
+
+    private final float[] errors;
+    private final MeshSimplifier meshSimplifier;
+    private final VertexCacheOptimizer vertexCacheOptimizer;
+
+    /**
+     * Construct a generator.
+     *
+     * @param errors The maximum relative error of each LOD level compared to the full detail mesh. One level is generated
+     *               at most per error.
+     */
+    public MeshLodGenerator(final float[] errors) {
+        this.errors = Arrays.copyOf(errors, errors.length);
+        this.meshSimplifier = new MeshSimplifier();
+        this.vertexCacheOptimizer = new VertexCacheOptimizer();
+    }
+
+    /**
+     * Generate the LOD chain of a mesh. The mesh itself is not part of the returned list.
+     *
+     * @param indices     The indices of the full detail triangle list.
+     * @param positions   The positions of the vertices. Three floats per vertex.
+     * @param vertexCount The number of vertices referenced by the index list.
+     * @param radius      The radius of the bounding sphere of the mesh. Errors are relative to it.
+     * @return The list of generated levels ordered from the most detailed to the coarsest.
+     */
+    public List<SimplifiedIndices> generate(final int[] indices, final float[] positions, final int vertexCount, final float radius) {
+        final var lods = new ArrayList<SimplifiedIndices>();
+        if (radius <= 0f) {
+            return lods;
+        }
+
+        var previous = indices;
+        var accumulatedError = 0f;
+        for (final var error : errors) {
+            final var previousTriangleCount = previous.length / 3;
+            if (previousTriangleCount < MIN_TRIANGLE_COUNT) {
+                break;
+            }
+            final var targetIndexCount = (int) (previousTriangleCount * TARGET_RATIO) * 3;
+            final var stepError = Math.max(0f, error - accumulatedError);
+            final var simplified = meshSimplifier.simplify(previous, positions, vertexCount, targetIndexCount, stepError, radius);
+            if (simplified.indices().length > previous.length * (1f - MIN_REDUCTION)) {
+                break;
+            }
+            final var optimized = vertexCacheOptimizer.optimize(simplified.indices(), vertexCount).indices();
+            accumulatedError += simplified.error();
+            lods.add(new SimplifiedIndices(optimized, accumulatedError));
+            previous = optimized;
+        }
+
+        final var indexSize = MeshOptimizer.canUseShortIndices(vertexCount) ? Short.BYTES : Integer.BYTES;
+        log.debug("Generated {} LODs for mesh of {} triangles using {} bytes : {}", lods.size(), indices.length / 3,
+                lods.stream().mapToLong(lod -> (long) lod.indices().length * indexSize).sum(),
+                lods.stream().map(lod -> lod.indices().length / 3 + " triangles (error " + lod.error() + ")").collect(Collectors.toList()));
+        return lods;
+    }
+}
@@ -0,0 +1,80 @@
+package com.adrienben.games.bagl.engine.resource.mesh;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Mesh optimizer.
+ * <p>
+ * Runs the complete optimization of an indexed triangle list :
+ * <ol>
+ * <li>Triangles are reordered for post-transform vertex cache efficiency ({@link VertexCacheOptimizer})</li>
+ * <li>Triangle clusters are reordered to reduce overdraw ({@link OverdrawOptimizer})</li>
+ * <li>Vertices are reordered for vertex fetch efficiency ({@link VertexFetchOptimizer})</li>
+ * </ol>
+ * The overdraw optimization is skipped when no positions are provided. The ACMR of the index list before
+ * and after optimization is logged.
+ *
+ * @author adrien
+ */
+public class MeshOptimizer {
+
+    private static final Logger log = LogManager.getLogger(MeshOptimizer.class);
+
+    /**
+     * Maximum number of vertices a mesh can have to be indexed with unsigned shorts.
+     */
+    public static final int MAX_SHORT_INDEXED_VERTEX_COUNT = 0xFFFF + 1;
+
+    private final VertexCacheOptimizer vertexCacheOptimizer;
+    private final OverdrawOptimizer overdrawOptimizer;
+    private final VertexFetchOptimizer vertexFetchOptimizer;
+
+    public MeshOptimizer() {
+        this.vertexCacheOptimizer = new VertexCacheOptimizer();
+        this.overdrawOptimizer = new OverdrawOptimizer();
+        this.vertexFetchOptimizer = new VertexFetchOptimizer();
+    }
+
+    /**
+     * Optimize an indexed triangle list.
+     *
+     * @param indices     The indices of the triangle list. It is not modified.
+     * @param vertexCount The number of vertices referenced by the index list.
+     * @param positions   The positions of the vertices (three floats per vertex). Can be null.
+     * @return The optimized mesh indices and the vertex remapping to apply to vertex data.
+     */
+    public OptimizedIndices optimize(final int[] indices, final int vertexCount, final float[] positions) {
+        final var cacheSize = vertexCacheOptimizer.getCacheSize();
+        final var acmrBefore = VertexCacheOptimizer.computeAcmr(indices, vertexCount, cacheSize);
+
+        final var clusteredIndices = vertexCacheOptimizer.optimize(indices, vertexCount);
+        final var reordered = positions == null
+                ? clusteredIndices.indices()
+                : overdrawOptimizer.optimize(clusteredIndices, positions, vertexCount);
+
+        final var remapping = vertexFetchOptimizer.computeRemapping(reordered, vertexCount);
+        final var remappedVertexCount = vertexFetchOptimizer.countRemappedVertices(remapping);
+        vertexFetchOptimizer.remapIndices(reordered, remapping);
+
+        final var acmrAfter = VertexCacheOptimizer.computeAcmr(reordered, remappedVertexCount, cacheSize);
+        log.debug("Optimized mesh of {} triangles and {} vertices. ACMR before : {}, after : {}. {} vertices dropped.",
+                indices.length / 3, vertexCount, acmrBefore, acmrAfter, vertexCount - remappedVertexCount);
+
+        return new OptimizedIndices(reordered, remapping, remappedVertexCount, acmrBefore, acmrAfter);
+    }
+
+    /**
+     * Check whether a mesh with {@code vertexCount} vertices can be indexed using unsigned shorts.
+     *
+     * @param vertexCount The vertex count of the mesh.
+     * @return true if 16-bit indices are enough.
+     */
+    public static boolean canUseShortIndices(final int vertexCount) {
+        return vertexCount <= MAX_SHORT_INDEXED_VERTEX_COUNT;
+    }
+
+    public VertexFetchOptimizer getVertexFetchOptimizer() {
+        return vertexFetchOptimizer;
+    }
+}
@@ -0,0 +1,490 @@
+package com.adrienben.games.bagl.engine.resource.mesh;
+
+import com.adrienben.games.bagl.core.validation.Validation;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Objects;
+
+/**
+ * Mesh simplifier.
+ * <p>
+ * This simplifier reduces the triangle count of an indexed triangle list using edge collapses driven by
+ * the quadric error metric described by Garland and Heckbert in "Surface Simplification Using Quadric
+ * Error Metrics". Vertices are always collapsed onto one of their neighbours so no new vertex is ever
+ * created. This means simplified index lists can reference the vertex buffers of the original mesh.
+ * <p>
+ * The topology of the mesh is analysed on vertices welded by position. Vertices lying on the border of the
+ * mesh are never moved so its silhouette is preserved. Vertices lying on an attribute seam (two vertices
+ * sharing the same position, for example at a texture coordinates or normal discontinuity) can only be
+ * collapsed along the seam, and both vertices are collapsed together onto the two vertices of the same
+ * neighbour of the seam so the seam neither moves away from its line nor opens. Vertices where several seams
+ * meet or where a seam ends are never moved.
+ * <p>
+ * Quadrics are accumulated per position so the error of a collapse accounts for the triangles on both sides
+ * of a seam.
+ * <p>
+ * The error is expressed relative to {@code scale} which is generally the radius of the bounding sphere
+ * of the mesh. It is the distance between the simplified surface and the original one.
+ *
+ * @author adrien
+ */
+public class MeshSimplifier {
+
+    private static final int QUADRIC_SIZE = 10;
+    private static final float MIN_NORMAL_ALIGNMENT = 0.1f;
+    private static final int NOT_REMAPPED = -1;
+
+    private enum VertexKind {
+        /**
+         * The vertex can be collapsed onto any of its neighbours.
+         */
+        MANIFOLD,
+        /**
+         * The vertex and the other vertex at its position can be collapsed along their seam.
+         */
+        SEAM,
+        /**
+         * The vertex cannot be moved.
+         */
+        LOCKED
+    }
+
+    /**
+     * Simplify an indexed triangle list.
+     *
+     * @param indices          The indices of the triangle list. It is not modified.
+     * @param positions        The positions of the vertices. Three floats per vertex.
+     * @param vertexCount      The number of vertices referenced by the index list.
+     * @param targetIndexCount The index count to reach.
+     * @param targetError      The maximum error allowed, relative to {@code scale}.
+     * @param scale            The scale of the mesh used to compute the relative error.
+     * @return The simplified indices and the relative error they introduce.
+     */
+    public SimplifiedIndices simplify(final int[] indices, final float[] positions, final int vertexCount,
+                                      final int targetIndexCount, final float targetError, final float scale) {
+        VertexCacheOptimizer.checkTriangleList(indices);
+        Validation.validate(positions, p -> p.length >= vertexCount * 3, "There must be 3 position components per vertex");
+        Validation.validate(scale, s -> s > 0f, "Scale must be strictly positive");
+
+        final var result = Arrays.copyOf(indices, indices.length);
+        final var positionIds = computePositionIds(positions, vertexCount);
+        final var wedges = computeWedges(positionIds);
+        final var quadrics = computeQuadrics(result, positions, positionIds);
+        final var remapping = new int[vertexCount];
+        final var touched = new boolean[vertexCount];
+        final var errorLimit = (double) targetError * scale * targetError * scale;
+
+        var indexCount = result.length;
+        var maxError = 0.0;
+        while (indexCount > targetIndexCount) {
+            final var halfEdges = collectHalfEdges(result, indexCount);
+            final var kinds = classifyVertices(result, indexCount, halfEdges, positionIds, wedges, vertexCount);
+            final var candidates = collectCollapses(result, indexCount, positions, quadrics, positionIds, kinds, halfEdges);
+            Arrays.fill(remapping, NOT_REMAPPED);
+            Arrays.fill(touched, false);
+
+            final var adjacency = TriangleAdjacency.build(Arrays.copyOf(result, indexCount), vertexCount);
+            final var trianglesToRemove = (indexCount - targetIndexCount + 2) / 3;
+            var removedTriangles = 0;
+            var collapseCount = 0;
+            for (final var candidate : candidates) {
+                if (candidate.cost() > errorLimit || removedTriangles >= trianglesToRemove) {
+                    break;
+                }
+                final var source = candidate.source();
+                final var target = candidate.target();
+                if (touched[source] || touched[target] || flipsTriangles(result, adjacency, positions, source, target)) {
+                    continue;
+                }
+                var sibling = NOT_REMAPPED;
+                var siblingTarget = NOT_REMAPPED;
+                if (kinds[source] == VertexKind.SEAM) {
+                    sibling = findSibling(source, wedges, adjacency);
+                    siblingTarget = findSeamNeighbour(sibling, target, wedges, adjacency, halfEdges);
+                    if (siblingTarget == NOT_REMAPPED || touched[sibling] || touched[siblingTarget]
+                            || flipsTriangles(result, adjacency, positions, sibling, siblingTarget)) {
+                        continue;
+                    }
+                }
+
+                addQuadric(quadrics, positionIds[source], positionIds[target]);
+                removedTriangles += collapse(result, adjacency, remapping, touched, source, target);
+                if (sibling != NOT_REMAPPED) {
+                    removedTriangles += collapse(result, adjacency, remapping, touched, sibling, siblingTarget);
+                }
+                maxError = Math.max(maxError, candidate.cost());
+                collapseCount++;
+            }
+
+            if (collapseCount == 0) {
+                break;
+            }
+            indexCount = applyRemapping(result, indexCount, remapping);
+        }
+
+        return new SimplifiedIndices(Arrays.copyOf(result, indexCount), (float) (Math.sqrt(maxError) / scale));
+    }
+
+    /**
+     * Remap {@code source} onto {@code target} and mark the vertices of the triangles of {@code source} as touched.
+     *
+     * @return The number of triangles removed by the collapse.
+     */
+    private static int collapse(final int[] indices, final TriangleAdjacency adjacency, final int[] remapping,
+                                final boolean[] touched, final int source, final int target) {
+        remapping[source] = target;
+        var removedTriangles = 0;
+        for (var i = adjacency.getOffset(source); i < adjacency.getOffset(source + 1); i++) {
+            final var triangle = adjacency.getTriangle(i);
+            var containsTarget = false;
+            for (var corner = 0; corner < 3; corner++) {
+                final var vertex = indices[triangle * 3 + corner];
+                touched[vertex] = true;
+                containsTarget |= vertex == target;
+            }
+            if (containsTarget) {
+                removedTriangles++;
+            }
+        }
+        return removedTriangles;
+    }
+
+    /**
+     * Weld vertices by position.
+     *
+     * @return For each vertex, the index of the first vertex with the same position.
+     */
+    private static int[] computePositionIds(final float[] positions, final int vertexCount) {
+        final var positionIds = new int[vertexCount];
+        final var firstVertexAtPosition = new HashMap<Position, Integer>();
+        for (var vertex = 0; vertex < vertexCount; vertex++) {
+            final var position = new Position(positions[vertex * 3], positions[vertex * 3 + 1], positions[vertex * 3 + 2]);
+            final var existing = firstVertexAtPosition.putIfAbsent(position, vertex);
+            positionIds[vertex] = Objects.isNull(existing) ? vertex : existing;
+        }
+        return positionIds;
+    }
+
+    /**
+     * Link the vertices sharing the same position.
+     *
+     * @return For each vertex, the next vertex with the same position. Vertices at the same position form a cycle.
+     */
+    private static int[] computeWedges(final int[] positionIds) {
+        final var wedges = new int[positionIds.length];
+        for (var vertex = 0; vertex < positionIds.length; vertex++) {
+            final var first = positionIds[vertex];
+            wedges[vertex] = vertex;
+            if (first != vertex) {
+                wedges[vertex] = wedges[first];
+                wedges[first] = vertex;
+            }
+        }
+        return wedges;
+    }
+
+    /**
+     * Collect the half-edges of the triangle list.
+     *
+     * @return The sorted keys of the half-edges, see {@link MeshSimplifier#edgeKey(int, int)}.
+     */
+    private static long[] collectHalfEdges(final int[] indices, final int indexCount) {
+        final var halfEdges = new long[indexCount];
+        for (var i = 0; i < indexCount; i++) {
+            halfEdges[i] = edgeKey(indices[i], indices[i - i % 3 + (i + 1) % 3]);
+        }
+        Arrays.sort(halfEdges);
+        return halfEdges;
+    }
+
+    private static boolean contains(final long[] halfEdges, final int from, final int to) {
+        return Arrays.binarySearch(halfEdges, edgeKey(from, to)) >= 0;
+    }
+
+    /**
+     * Check whether the edge between {@code first} and {@code second} only has triangles on one side.
+     */
+    private static boolean isOpenEdge(final long[] halfEdges, final int first, final int second) {
+        return contains(halfEdges, first, second) != contains(halfEdges, second, first);
+    }
+
+    /**
+     * Classify the vertices referenced by the triangle list.
+     * <p>
+     * An edge is open when its opposite half-edge does not exist. Open edges between welded positions are borders
+     * of the mesh, open edges that are closed once welded are attribute seams. Vertices on a border are locked.
+     * A vertex sharing its position with exactly one other vertex is on a seam if both vertices have exactly one
+     * incoming and one outgoing open edge. Any other vertex with open edges or sharing its position is locked.
+     */
+    private static VertexKind[] classifyVertices(final int[] indices, final int indexCount, final long[] halfEdges,
+                                                 final int[] positionIds, final int[] wedges, final int vertexCount) {
+        final var weldedHalfEdges = new long[indexCount];
+        for (var i = 0; i < indexCount; i++) {
+            weldedHalfEdges[i] = edgeKey(positionIds[indices[i]], positionIds[indices[i - i % 3 + (i + 1) % 3]]);
+        }
+        Arrays.sort(weldedHalfEdges);
+
+        final var referenced = new boolean[vertexCount];
+        final var onBorder = new boolean[vertexCount];
+        final var openIn = new int[vertexCount];
+        final var openOut = new int[vertexCount];
+        for (var i = 0; i < indexCount; i++) {
+            final var from = indices[i];
+            final var to = indices[i - i % 3 + (i + 1) % 3];
+            referenced[from] = true;
+            if (!contains(weldedHalfEdges, positionIds[to], positionIds[from])) {
+                onBorder[positionIds[from]] = true;
+                onBorder[positionIds[to]] = true;
+            }
+            if (!contains(halfEdges, to, from)) {
+                openOut[from]++;
+                openIn[to]++;
+            }
+        }
+
+        final var kinds = new VertexKind[vertexCount];
+        for (var vertex = 0; vertex < vertexCount; vertex++) {
+            kinds[vertex] = VertexKind.LOCKED;
+            if (!referenced[vertex] || onBorder[positionIds[vertex]]) {
+                continue;
+            }
+            var wedgeCount = 1;
+            var sibling = vertex;
+            for (var wedge = wedges[vertex]; wedge != vertex; wedge = wedges[wedge]) {
+                if (referenced[wedge]) {
+                    wedgeCount++;
+                    sibling = wedge;
+                }
+            }
+            if (wedgeCount == 1 && openIn[vertex] == 0 && openOut[vertex] == 0) {
+                kinds[vertex] = VertexKind.MANIFOLD;
+            } else if (wedgeCount == 2 && openIn[vertex] == 1 && openOut[vertex] == 1 && openIn[sibling] == 1 && openOut[sibling] == 1) {
+                kinds[vertex] = VertexKind.SEAM;
+            }
+        }
+        return kinds;
+    }
+
+    /**
+     * Find the other vertex still in use at the position of a seam vertex.
+     */
+    private static int findSibling(final int vertex, final int[] wedges, final TriangleAdjacency adjacency) {
+        for (var wedge = wedges[vertex]; wedge != vertex; wedge = wedges[wedge]) {
+            if (adjacency.getOffset(wedge) != adjacency.getOffset(wedge + 1)) {
+                return wedge;
+            }
+        }
+        return NOT_REMAPPED;
+    }
+
+    /**
+     * Find the vertex at the position of {@code target} linked to {@code vertex} by an open edge.
+     *
+     * @return The vertex or {@link MeshSimplifier#NOT_REMAPPED} if there is none.
+     */
+    private static int findSeamNeighbour(final int vertex, final int target, final int[] wedges, final TriangleAdjacency adjacency,
+                                         final long[] halfEdges) {
+        var wedge = target;
+        do {
+            if (adjacency.getOffset(wedge) != adjacency.getOffset(wedge + 1) && isOpenEdge(halfEdges, vertex, wedge)) {
+                return wedge;
+            }
+            wedge = wedges[wedge];
+        } while (wedge != target);
+        return NOT_REMAPPED;
+    }
+
+    private record Position(float x, float y, float z) {
+    }
+
+    private static long edgeKey(final int from, final int to) {
+        return ((long) from << 32) | (to & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Compute the quadric of each position. It is the sum of the quadrics of the planes of the triangles adjacent
+     * to the vertices at this position weighted by the area of those triangles. Quadrics are indexed by position id.
+     */
+    private double[] computeQuadrics(final int[] indices, final float[] positions, final int[] positionIds) {
+        final var quadrics = new double[positionIds.length * QUADRIC_SIZE];
+        for (var triangle = 0; triangle < indices.length / 3; triangle++) {
+            final var a = indices[triangle * 3] * 3;
+            final var b = indices[triangle * 3 + 1] * 3;
+            final var c = indices[triangle * 3 + 2] * 3;
+            final double abX = positions[b] - positions[a];
+            final double abY = positions[b + 1] - positions[a + 1];
+            final double abZ = positions[b + 2] - positions[a + 2];
+            final double acX = positions[c] - positions[a];
+            final double acY = positions[c + 1] - positions[a + 1];
+            final double acZ = positions[c + 2] - positions[a + 2];
+            var normalX = abY * acZ - abZ * acY;
+            var normalY = abZ * acX - abX * acZ;
+            var normalZ = abX * acY - abY * acX;
+            final var length = Math.sqrt(normalX * normalX + normalY * normalY + normalZ * normalZ);
+            if (length == 0.0) {
+                continue;
+            }
+            normalX /= length;
+            normalY /= length;
+            normalZ /= length;
+            final var distance = -(normalX * positions[a] + normalY * positions[a + 1] + normalZ * positions[a + 2]);
+            final var area = length * 0.5;
+
+            for (var corner = 0; corner < 3; corner++) {
+                final var offset = positionIds[indices[triangle * 3 + corner]] * QUADRIC_SIZE;
+                quadrics[offset] += area * normalX * normalX;
+                quadrics[offset + 1] += area * normalX * normalY;
+                quadrics[offset + 2] += area * normalX * normalZ;
+                quadrics[offset + 3] += area * normalX * distance;
+                quadrics[offset + 4] += area * normalY * normalY;
+                quadrics[offset + 5] += area * normalY * normalZ;
+                quadrics[offset + 6] += area * normalY * distance;
+                quadrics[offset + 7] += area * normalZ * normalZ;
+                quadrics[offset + 8] += area * normalZ * distance;
+                quadrics[offset + 9] += area * distance * distance;
+            }
+        }
+        return quadrics;
+    }
+
+    private static void addQuadric(final double[] quadrics, final int source, final int target) {
+        for (var i = 0; i < QUADRIC_SIZE; i++) {
+            quadrics[target * QUADRIC_SIZE + i] += quadrics[source * QUADRIC_SIZE + i];
+        }
+    }
+
+    /**
+     * Evaluate the error of moving position {@code source} onto position {@code target}.
+     * <p>
+     * The quadrics are weighted by area so the result is divided by the total area to get back
+     * a squared distance.
+     */
+    private static double evaluateCollapse(final double[] quadrics, final float[] positions, final int source, final int target,
+                                           final double[] areas) {
+        final double x = positions[target * 3];
+        final double y = positions[target * 3 + 1];
+        final double z = positions[target * 3 + 2];
+        final var error = evaluateQuadric(quadrics, source, x, y, z) + evaluateQuadric(quadrics, target, x, y, z);
+        final var area = areas[source] + areas[target];
+        return area > 0.0 ? Math.abs(error) / area : 0.0;
+    }
+
+    private static double evaluateQuadric(final double[] quadrics, final int vertex, final double x, final double y, final double z) {
+        final var q = vertex * QUADRIC_SIZE;
+        return quadrics[q] * x * x + 2 * quadrics[q + 1] * x * y + 2 * quadrics[q + 2] * x * z + 2 * quadrics[q + 3] * x
+                + quadrics[q + 4] * y * y + 2 * quadrics[q + 5] * y * z + 2 * quadrics[q + 6] * y
+                + quadrics[q + 7] * z * z + 2 * quadrics[q + 8] * z
+                + quadrics[q + 9];
+    }
+
+    private record Collapse(int source, int target, double cost) {
+    }
+
+    /**
+     * List all valid collapses of the current triangle list sorted by increasing cost.
+     */
+    private Collapse[] collectCollapses(final int[] indices, final int indexCount, final float[] positions, final double[] quadrics,
+                                        final int[] positionIds, final VertexKind[] kinds, final long[] halfEdges) {
+        final var areas = computeQuadricAreas(quadrics);
+        final var collapses = new Collapse[indexCount * 2];
+        var collapseCount = 0;
+        for (var i = 0; i < indexCount; i++) {
+            final var from = indices[i];
+            final var to = indices[i - i % 3 + (i + 1) % 3];
+            if (canCollapse(kinds, halfEdges, from, to)) {
+                collapses[collapseCount++] = new Collapse(from, to, evaluateCollapse(quadrics, positions, positionIds[from], positionIds[to], areas));
+            }
+            if (canCollapse(kinds, halfEdges, to, from)) {
+                collapses[collapseCount++] = new Collapse(to, from, evaluateCollapse(quadrics, positions, positionIds[to], positionIds[from], areas));
+            }
+        }
+        final var sorted = Arrays.copyOf(collapses, collapseCount);
+        Arrays.sort(sorted, (left, right) -> Double.compare(left.cost(), right.cost()));
+        return sorted;
+    }
+
+    /**
+     * Check whether {@code source} can be collapsed onto {@code target}. Seam vertices can only be collapsed
+     * along their seam.
+     */
+    private static boolean canCollapse(final VertexKind[] kinds, final long[] halfEdges, final int source, final int target) {
+        return switch (kinds[source]) {
+            case MANIFOLD -> true;
+            case SEAM -> isOpenEdge(halfEdges, source, target);
+            case LOCKED -> false;
+        };
+    }
+
+    /**
+     * Retrieve the total area accumulated in each quadric. Since plane normals are unit length,
+     * the sum of the three diagonal terms of the quadric is the accumulated area.
+     */
+    private static double[] computeQuadricAreas(final double[] quadrics) {
+        final var areas = new double[quadrics.length / QUADRIC_SIZE];
+        for (var vertex = 0; vertex < areas.length; vertex++) {
+            final var q = vertex * QUADRIC_SIZE;
+            areas[vertex] = quadrics[q] + quadrics[q + 4] + quadrics[q + 7];
+        }
+        return areas;
+    }
+
+    /**
+     * Check whether moving {@code source} onto {@code target} would flip one of the remaining triangles.
+     */
+    private boolean flipsTriangles(final int[] indices, final TriangleAdjacency adjacency, final float[] positions,
+                                   final int source, final int target) {
+        for (var i = adjacency.getOffset(source); i < adjacency.getOffset(source + 1); i++) {
+            final var triangle = adjacency.getTriangle(i);
+            final var a = indices[triangle * 3];
+            final var b = indices[triangle * 3 + 1];
+            final var c = indices[triangle * 3 + 2];
+            if (a == target || b == target || c == target) {
+                continue;
+            }
+            final var before = computeNormal(positions, a, b, c);
+            final var after = computeNormal(positions, a == source ? target : a, b == source ? target : b, c == source ? target : c);
+            final var dot = before[0] * after[0] + before[1] * after[1] + before[2] * after[2];
+            final var lengths = Math.sqrt((before[0] * before[0] + before[1] * before[1] + before[2] * before[2])
+                    * (after[0] * after[0] + after[1] * after[1] + after[2] * after[2]));
+            if (dot <= MIN_NORMAL_ALIGNMENT * lengths) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static double[] computeNormal(final float[] positions, final int a, final int b, final int c) {
+        final double abX = positions[b * 3] - positions[a * 3];
+        final double abY = positions[b * 3 + 1] - positions[a * 3 + 1];
+        final double abZ = positions[b * 3 + 2] - positions[a * 3 + 2];
+        final double acX = positions[c * 3] - positions[a * 3];
+        final double acY = positions[c * 3 + 1] - positions[a * 3 + 1];
+        final double acZ = positions[c * 3 + 2] - positions[a * 3 + 2];
+        return new double[]{abY * acZ - abZ * acY, abZ * acX - abX * acZ, abX * acY - abY * acX};
+    }
+
+    /**
+     * Apply the collapses to the indices and remove the triangles that became degenerate.
+     *
+     * @return The new index count.
+     */
+    private int applyRemapping(final int[] indices, final int indexCount, final int[] remapping) {
+        var newIndexCount = 0;
+        for (var triangle = 0; triangle < indexCount / 3; triangle++) {
+            final var a = remap(indices[triangle * 3], remapping);
+            final var b = remap(indices[triangle * 3 + 1], remapping);
+            final var c = remap(indices[triangle * 3 + 2], remapping);
+            if (a != b && b != c && a != c) {
+                indices[newIndexCount++] = a;
+                indices[newIndexCount++] = b;
+                indices[newIndexCount++] = c;
+            }
+        }
+        return newIndexCount;
+    }
+
+    private static int remap(final int vertex, final int[] remapping) {
+        return remapping[vertex] == NOT_REMAPPED ? vertex : remapping[vertex];
+    }
+}
@@ -0,0 +1,12 @@
+package com.adrienben.games.bagl.engine.resource.mesh;
+
+/**
+ * Result of a {@link MeshOptimizer} run.
+ * <p>
+ * {@code vertexRemapping} must be applied to all vertex attributes of the mesh using
+ * {@link VertexFetchOptimizer#remapVertices(java.nio.ByteBuffer, int, int[], int)}.
+ *
+ * @author adrien
+ */
+public record OptimizedIndices(int[] indices, int[] vertexRemapping, int vertexCount, float acmrBefore, float acmrAfter) {
+}
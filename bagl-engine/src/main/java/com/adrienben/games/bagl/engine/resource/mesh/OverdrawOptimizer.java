@@ -0,0 +1,172 @@
+package com.adrienben.games.bagl.engine.resource.mesh;
+
+import com.adrienben.games.bagl.core.validation.Validation;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.IntStream;
+
+/**
+ * Overdraw optimizer.
+ * <p>
+ * This optimizer works on the output of {@link VertexCacheOptimizer}. It splits the triangle list
+ * into clusters and sorts these clusters so that the ones facing away from the center of the mesh
+ * are drawn first. Those are the most likely to occlude other parts of the mesh so the depth test
+ * can then reject more fragments. This is the linear-speed approach described by Sander, Nehab and
+ * Barczak in "Fast Triangle Reordering for Vertex Locality and Reduced Overdraw".
+ * <p>
+ * Clusters are split at the dead-ends of the vertex cache optimization and then further split
+ * wherever the cache efficiency of the current cluster is within {@code threshold} times the one
+ * of the whole mesh. Higher thresholds produce more clusters (so a better overdraw) at the cost of
+ * a worse vertex cache efficiency.
+ *
+ * @author adrien
+ */
+public class OverdrawOptimizer {
+
+    public static final float DEFAULT_THRESHOLD = 1.05f;
+
+    private final int cacheSize;
+    private final float threshold;
+
+    public OverdrawOptimizer() {
+        this(VertexCacheOptimizer.DEFAULT_CACHE_SIZE, DEFAULT_THRESHOLD);
+    }
+
+    public OverdrawOptimizer(final int cacheSize, final float threshold) {
+        this.cacheSize = Validation.validate(cacheSize, size -> size > 0, "Cache size must be strictly positive");
+        this.threshold = Validation.validate(threshold, value -> value >= 1f, "Threshold must be greater or equal to 1");
+    }
+
+    /**
+     * Reorder the clusters of {@code clusteredIndices}.
+     *
+     * @param clusteredIndices The indices to reorder, generally produced by {@link VertexCacheOptimizer}.
+     * @param positions        The positions of the vertices. Three floats per vertex.
+     * @param vertexCount      The number of vertices referenced by the index list.
+     * @return A new array containing the reordered indices.
+     */
+    public int[] optimize(final ClusteredIndices clusteredIndices, final float[] positions, final int vertexCount) {
+        Validation.validate(positions, p -> p.length >= vertexCount * 3, "There must be 3 position components per vertex");
+        final var indices = clusteredIndices.indices();
+        final var clusters = splitClusters(clusteredIndices, vertexCount);
+        final var clusterCount = clusters.length - 1;
+
+        final var meshCentroid = new float[3];
+        final var clusterCentroids = new float[clusterCount * 3];
+        final var clusterNormals = new float[clusterCount * 3];
+        var meshArea = 0f;
+        for (var cluster = 0; cluster < clusterCount; cluster++) {
+            var clusterArea = 0f;
+            for (var triangle = clusters[cluster]; triangle < clusters[cluster + 1]; triangle++) {
+                final var a = indices[triangle * 3] * 3;
+                final var b = indices[triangle * 3 + 1] * 3;
+                final var c = indices[triangle * 3 + 2] * 3;
+                final var abX = positions[b] - positions[a];
+                final var abY = positions[b + 1] - positions[a + 1];
+                final var abZ = positions[b + 2] - positions[a + 2];
+                final var acX = positions[c] - positions[a];
+                final var acY = positions[c + 1] - positions[a + 1];
+                final var acZ = positions[c + 2] - positions[a + 2];
+                final var normalX = abY * acZ - abZ * acY;
+                final var normalY = abZ * acX - abX * acZ;
+                final var normalZ = abX * acY - abY * acX;
+                final var area = (float) Math.sqrt(normalX * normalX + normalY * normalY + normalZ * normalZ);
+
+                for (var axis = 0; axis < 3; axis++) {
+                    final var triangleCenter = (positions[a + axis] + positions[b + axis] + positions[c + axis]) / 3f;
+                    clusterCentroids[cluster * 3 + axis] += triangleCenter * area;
+                    meshCentroid[axis] += triangleCenter * area;
+                }
+                clusterNormals[cluster * 3] += normalX;
+                clusterNormals[cluster * 3 + 1] += normalY;
+                clusterNormals[cluster * 3 + 2] += normalZ;
+                clusterArea += area;
+            }
+            if (clusterArea > 0f) {
+                for (var axis = 0; axis < 3; axis++) {
+                    clusterCentroids[cluster * 3 + axis] /= clusterArea;
+                }
+            }
+            meshArea += clusterArea;
+        }
+        if (meshArea > 0f) {
+            for (var axis = 0; axis < 3; axis++) {
+                meshCentroid[axis] /= meshArea;
+            }
+        }
+
+        final var sortKeys = new float[clusterCount];
+        for (var cluster = 0; cluster < clusterCount; cluster++) {
+            final var normalX = clusterNormals[cluster * 3];
+            final var normalY = clusterNormals[cluster * 3 + 1];
+            final var normalZ = clusterNormals[cluster * 3 + 2];
+            final var length = (float) Math.sqrt(normalX * normalX + normalY * normalY + normalZ * normalZ);
+            if (length > 0f) {
+                final var dot = (clusterCentroids[cluster * 3] - meshCentroid[0]) * normalX
+                        + (clusterCentroids[cluster * 3 + 1] - meshCentroid[1]) * normalY
+                        + (clusterCentroids[cluster * 3 + 2] - meshCentroid[2]) * normalZ;
+                sortKeys[cluster] = dot / length;
+            }
+        }
+
+        final var sortedClusters = IntStream.range(0, clusterCount).boxed()
+                .sorted(Comparator.comparingDouble(cluster -> -sortKeys[cluster]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+
+        final var output = new int[indices.length];
+        var outputSize = 0;
+        for (final var cluster : sortedClusters) {
+            final var start = clusters[cluster] * 3;
+            final var length = clusters[cluster + 1] * 3 - start;
+            System.arraycopy(indices, start, output, outputSize, length);
+            outputSize += length;
+        }
+        return output;
+    }
+
+    /**
+     * Split the hard clusters produced by the vertex cache optimization into smaller clusters.
+     * <p>
+     * Each cluster is walked through while simulating a cold vertex cache. A new cluster is started
+     * as soon as the cache miss ratio of the current one is good enough compared to the one of the
+     * whole mesh.
+     */
+    private int[] splitClusters(final ClusteredIndices clusteredIndices, final int vertexCount) {
+        final var indices = clusteredIndices.indices();
+        final var hardClusters = clusteredIndices.clusters();
+        final var targetAcmr = VertexCacheOptimizer.computeAcmr(indices, vertexCount, cacheSize) * threshold;
+        final var cacheTimestamps = new int[vertexCount];
+        final var clusters = new int[indices.length / 3 + 1];
+        var clusterCount = 0;
+        var timestamp = cacheSize + 1;
+
+        for (var hardCluster = 0; hardCluster < hardClusters.length - 1; hardCluster++) {
+            final var end = hardClusters[hardCluster + 1];
+            var clusterStart = hardClusters[hardCluster];
+            var misses = 0;
+            clusters[clusterCount++] = clusterStart;
+            for (var triangle = clusterStart; triangle < end; triangle++) {
+                for (var corner = 0; corner < 3; corner++) {
+                    final var vertex = indices[triangle * 3 + corner];
+                    if (timestamp - cacheTimestamps[vertex] > cacheSize) {
+                        cacheTimestamps[vertex] = timestamp++;
+                        misses++;
+                    }
+                }
+                final var nextStart = triangle + 1;
+                if (nextStart < end && (float) misses / (nextStart - clusterStart) <= targetAcmr) {
+                    clusterStart = nextStart;
+                    misses = 0;
+                    // invalidates the whole simulated cache
+                    timestamp += cacheSize + 1;
+                    clusters[clusterCount++] = clusterStart;
+                }
+            }
+        }
+
+        clusters[clusterCount++] = indices.length / 3;
+        return Arrays.copyOf(clusters, clusterCount);
+    }
+}
@@ -0,0 +1,12 @@
+package com.adrienben.games.bagl.engine.resource.mesh;
+
+/**
+ * Result of a {@link MeshSimplifier} run.
+ * <p>
+ * {@code error} is the error introduced by the simplification relative to the scale passed to
+ * the simplifier.
+ *
+ * @author adrien
+ */
+public record SimplifiedIndices(int[] indices, float error) {
+}
@@ -0,0 +1,66 @@
+package com.adrienben.games.bagl.engine.resource.mesh;
+
+/**
+ * Vertex to triangle adjacency of an indexed triangle list.
+ * <p>
+ * The adjacency is stored in a compact form. The triangles using vertex {@code v} are stored
+ * in {@code triangles} from {@code offsets[v]} (inclusive) to {@code offsets[v + 1]} (exclusive).
+ *
+ * @author adrien
+ */
+class TriangleAdjacency {
+
+    private final int[] offsets;
+    private final int[] triangles;
+
+    private TriangleAdjacency(final int[] offsets, final int[] triangles) {
+        this.offsets = offsets;
+        this.triangles = triangles;
+    }
+
+    /**
+     * Build the adjacency of {@code indices}.
+     *
+     * @param indices     The indices of the triangle list.
+     * @param vertexCount The number of vertices referenced by the index list.
+     * @return A new adjacency.
+     */
+    static TriangleAdjacency build(final int[] indices, final int vertexCount) {
+        final var offsets = new int[vertexCount + 1];
+        for (final var vertex : indices) {
+            offsets[vertex + 1]++;
+        }
+        for (var vertex = 0; vertex < vertexCount; vertex++) {
+            offsets[vertex + 1] += offsets[vertex];
+        }
+
+        final var fillCursors = new int[vertexCount];
+        final var triangles = new int[indices.length];
+        for (var i = 0; i < indices.length; i++) {
+            final var vertex = indices[i];
+            triangles[offsets[vertex] + fillCursors[vertex]++] = i / 3;
+        }
+        return new TriangleAdjacency(offsets, triangles);
+    }
+
+    /**
+     * Compute the number of triangles using each vertex.
+     *
+     * @return A new array containing the triangle count of each vertex.
+     */
+    int[] computeTriangleCounts() {
+        final var counts = new int[offsets.length - 1];
+        for (var vertex = 0; vertex < counts.length; vertex++) {
+            counts[vertex] = offsets[vertex + 1] - offsets[vertex];
+        }
+        return counts;
+    }
+
+    int getOffset(final int vertex) {
+        return offsets[vertex];
+    }
+
+    int getTriangle(final int index) {
+        return triangles[index];
+    }
+}
@@ -0,0 +1,163 @@
+package com.adrienben.games.bagl.engine.resource.mesh;
+
+import com.adrienben.games.bagl.core.validation.Validation;
+
+import java.util.Arrays;
+
+/**
+ * Post-transform vertex cache optimizer.
+ * <p>
+ * This optimizer reorders the triangles of an indexed triangle list so that consecutive triangles
+ * reuse as much as possible the vertices that were recently transformed by the GPU. It implements
+ * the <i>Tipsify</i> algorithm described by Sander, Nehab and Barczak in "Fast Triangle Reordering
+ * for Vertex Locality and Reduced Overdraw". The algorithm runs in linear time and does not depend
+ * on the actual cache size of the hardware being precisely known.
+ * <p>
+ * The winding of each triangle is preserved, only the order in which triangles appear changes.
+ *
+ * @author adrien
+ */
+public class VertexCacheOptimizer {
+
+    public static final int DEFAULT_CACHE_SIZE = 16;
+
+    private final int cacheSize;
+
+    public VertexCacheOptimizer() {
+        this(DEFAULT_CACHE_SIZE);
+    }
+
+    public VertexCacheOptimizer(final int cacheSize) {
+        Validation.validate(cacheSize, size -> size > 0, "Cache size must be strictly positive");
+        this.cacheSize = cacheSize;
+    }
+
+    /**
+     * Reorder the triangles of {@code indices}.
+     *
+     * @param indices     The indices of the triangle list to reorder. It is not modified.
+     * @param vertexCount The number of vertices referenced by the index list.
+     * @return The reordered indices and the offsets (expressed in triangles) at which the algorithm had
+     * to restart from a dead-end. These are natural cluster boundaries used by {@link OverdrawOptimizer}.
+     */
+    public ClusteredIndices optimize(final int[] indices, final int vertexCount) {
+        checkTriangleList(indices);
+        final var triangleCount = indices.length / 3;
+        final var adjacency = TriangleAdjacency.build(indices, vertexCount);
+        final var liveTriangles = adjacency.computeTriangleCounts();
+        final var cacheTimestamps = new int[vertexCount];
+        final var emitted = new boolean[triangleCount];
+        final var deadEndStack = new int[indices.length];
+        final var candidates = new int[indices.length];
+        final var output = new int[indices.length];
+        final var clusters = new int[triangleCount + 1];
+
+        var deadEndStackSize = 0;
+        var outputSize = 0;
+        var clusterCount = 0;
+        var timestamp = cacheSize + 1;
+        var cursor = 0;
+        var fanningVertex = indices.length > 0 ? indices[0] : -1;
+        var startsNewCluster = true;
+
+        while (fanningVertex >= 0) {
+            if (startsNewCluster) {
+                clusters[clusterCount++] = outputSize / 3;
+            }
+
+            var candidateCount = 0;
+            for (var i = adjacency.getOffset(fanningVertex); i < adjacency.getOffset(fanningVertex + 1); i++) {
+                final var triangle = adjacency.getTriangle(i);
+                if (emitted[triangle]) {
+                    continue;
+                }
+                for (var corner = 0; corner < 3; corner++) {
+                    final var vertex = indices[triangle * 3 + corner];
+                    output[outputSize++] = vertex;
+                    deadEndStack[deadEndStackSize++] = vertex;
+                    candidates[candidateCount++] = vertex;
+                    liveTriangles[vertex]--;
+                    if (timestamp - cacheTimestamps[vertex] > cacheSize) {
+                        cacheTimestamps[vertex] = timestamp++;
+                    }
+                }
+                emitted[triangle] = true;
+            }
+
+            // pick the candidate that will still be in cache and has the fewest remaining triangles
+            var nextVertex = -1;
+            var bestPriority = -1;
+            for (var i = 0; i < candidateCount; i++) {
+                final var vertex = candidates[i];
+                if (liveTriangles[vertex] > 0) {
+                    var priority = 0;
+                    if (timestamp - cacheTimestamps[vertex] + 2 * liveTriangles[vertex] <= cacheSize) {
+                        priority = timestamp - cacheTimestamps[vertex];
+                    }
+                    if (priority > bestPriority) {
+                        bestPriority = priority;
+                        nextVertex = vertex;
+                    }
+                }
+            }
+
+            startsNewCluster = nextVertex == -1;
+            if (startsNewCluster) {
+                // dead-end, first try recently emitted vertices then fall back to the input order
+                while (deadEndStackSize > 0 && nextVertex == -1) {
+                    final var vertex = deadEndStack[--deadEndStackSize];
+                    if (liveTriangles[vertex] > 0) {
+                        nextVertex = vertex;
+                    }
+                }
+                while (cursor < vertexCount && nextVertex == -1) {
+                    if (liveTriangles[cursor] > 0) {
+                        nextVertex = cursor;
+                    }
+                    cursor++;
+                }
+            }
+            fanningVertex = nextVertex;
+        }
+
+        clusters[clusterCount++] = triangleCount;
+        return new ClusteredIndices(output, Arrays.copyOf(clusters, clusterCount));
+    }
+
+    /**
+     * Compute the average cache miss ratio (ACMR) of an indexed triangle list.
+     * <p>
+     * The post-transform cache is simulated as a FIFO of {@code cacheSize} entries. The returned value
+     * is the number of cache misses divided by the number of triangles. It ranges from 3 (no reuse at all)
+     * down to around 0.5 for a perfectly ordered regular grid.
+     *
+     * @param indices     The indices of the triangle list.
+     * @param vertexCount The number of vertices referenced by the index list.
+     * @param cacheSize   The size of the simulated cache.
+     * @return The average cache miss ratio or 0 if the list is empty.
+     */
+    public static float computeAcmr(final int[] indices, final int vertexCount, final int cacheSize) {
+        checkTriangleList(indices);
+        if (indices.length == 0) {
+            return 0f;
+        }
+        final var cacheTimestamps = new int[vertexCount];
+        var timestamp = cacheSize + 1;
+        var misses = 0;
+        for (final var vertex : indices) {
+            if (timestamp - cacheTimestamps[vertex] > cacheSize) {
+                cacheTimestamps[vertex] = timestamp++;
+                misses++;
+            }
+        }
+        return (float) misses / (indices.length / 3);
+    }
+
+    static void checkTriangleList(final int[] indices) {
+        Validation.validate(indices.length, length -> length % 3 == 0, "Index count must be a multiple of 3");
+    }
+
+    public int getCacheSize() {
+        return cacheSize;
+    }
+}
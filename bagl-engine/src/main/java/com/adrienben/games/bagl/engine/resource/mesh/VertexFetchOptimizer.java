@@ -0,0 +1,86 @@
+package com.adrienben.games.bagl.engine.resource.mesh;
+
+import org.lwjgl.system.MemoryUtil;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Vertex fetch optimizer.
+ * <p>
+ * Once triangles are ordered, this optimizer reorders vertices in the order in which they are first
+ * referenced by the index list. This way vertex data is fetched as linearly as possible by the GPU
+ * and pre-transform cache misses are reduced. Vertices that are not referenced at all are dropped.
+ *
+ * @author adrien
+ */
+public class VertexFetchOptimizer {
+
+    /**
+     * Remap value of the vertices that are not referenced by the index list.
+     */
+    public static final int UNUSED_VERTEX = -1;
+
+    /**
+     * Compute the vertex remapping table for {@code indices}.
+     *
+     * @param indices     The index list.
+     * @param vertexCount The number of vertices referenced by the index list.
+     * @return A new array containing the new index of each vertex or {@link #UNUSED_VERTEX}.
+     */
+    public int[] computeRemapping(final int[] indices, final int vertexCount) {
+        final var remapping = new int[vertexCount];
+        Arrays.fill(remapping, UNUSED_VERTEX);
+        var nextVertex = 0;
+        for (final var vertex : indices) {
+            if (remapping[vertex] == UNUSED_VERTEX) {
+                remapping[vertex] = nextVertex++;
+            }
+        }
+        return remapping;
+    }
+
+    /**
+     * Count the vertices still used after remapping.
+     *
+     * @param remapping The remapping table.
+     * @return The number of remapped vertices.
+     */
+    public int countRemappedVertices(final int[] remapping) {
+        return (int) Arrays.stream(remapping).filter(index -> index != UNUSED_VERTEX).count();
+    }
+
+    /**
+     * Apply {@code remapping} to {@code indices} in place.
+     *
+     * @param indices   The indices to remap.
+     * @param remapping The remapping table.
+     */
+    public void remapIndices(final int[] indices, final int[] remapping) {
+        for (var i = 0; i < indices.length; i++) {
+            indices[i] = remapping[indices[i]];
+        }
+    }
+
+    /**
+     * Apply {@code remapping} to vertex data.
+     * <p>
+     * The returned buffer is allocated using {@link MemoryUtil#memAlloc(int)} and must be freed by the caller.
+     *
+     * @param vertices        The tightly packed vertex data to remap. Its position is not modified.
+     * @param elementByteSize The size of one vertex in bytes.
+     * @param remapping       The remapping table.
+     * @param vertexCount     The number of remapped vertices.
+     * @return A new buffer containing the remapped vertex data.
+     */
+    public ByteBuffer remapVertices(final ByteBuffer vertices, final int elementByteSize, final int[] remapping, final int vertexCount) {
+        final var remapped = MemoryUtil.memAlloc(vertexCount * elementByteSize);
+        for (var vertex = 0; vertex < remapping.length; vertex++) {
+            final var newVertex = remapping[vertex];
+            if (newVertex != UNUSED_VERTEX) {
+                remapped.put(newVertex * elementByteSize, vertices, vertex * elementByteSize, elementByteSize);
+            }
+        }
+        return remapped;
+    }
+}
@@ -193,8 +193,10 @@ public class ComponentFactory {
         final var rate = Validation.validate(particleJson.getRate(), v -> v > 0, "Particle component should have a rate superior to 0");
         final var batchSize = Validation.validate(particleJson.getBatchSize(), v -> v > 0, "Particle component should have a batchSize superior to 0");
         final var initializer = mapParticleInitializer(particleJson);
+        final var maxTtl = particleJson.getInitializer().getTtl().getMax();
 
-        final var builder = ParticleEmitter.builder().texture(texture).blendMode(blendMode).rate(rate).batchSize(batchSize).initializer(initializer);
+        final var builder = ParticleEmitter.builder().texture(texture).blendMode(blendMode).rate(rate).batchSize(batchSize).maxTtl(maxTtl)
+                .initializer(initializer);
         return new ParticleComponent(builder.build());
     }
 
@@ -1,6 +1,7 @@
 package com.adrienben.games.bagl.engine.scene;
 
 import com.adrienben.games.bagl.engine.Time;
+import com.adrienben.games.bagl.engine.jobs.JobSystem;
 
 /**
  * Base class for game component
@@ -25,6 +26,34 @@ public abstract class Component {
      */
     public abstract void update(final Time time);
 
+    /**
+     * Indicate whether the component can be updated concurrently with other components
+     * <p>
+     * When a scene is updated with a job system, concurrent components are updated by
+     * jobs once all game objects are updated. They can only read the transform of their
+     * parent object and the animated poses of the models, and must not modify other
+     * components or game objects
+     *
+     * @return true if the component can be updated concurrently. Default is false
+     * @see Scene#update(Time, JobSystem)
+     */
+    public boolean isConcurrent() {
+        return false;
+    }
+
+    /**
+     * Indicate whether the concurrent update of the component reads the animated poses of models
+     * <p>
+     * Such components are only updated once the animations of the scene are sampled. Others are
+     * updated while the animations are sampled
+     *
+     * @return true if the update depends on the animations. Default is true
+     * @see Scene#update(Time, JobSystem)
+     */
+    public boolean dependsOnAnimations() {
+        return true;
+    }
+
     /**
      * Accept a visitor
      *
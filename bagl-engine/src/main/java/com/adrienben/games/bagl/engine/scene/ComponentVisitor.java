@@ -59,4 +59,18 @@ public interface ComponentVisitor {
      * @param component The component to visit
      */
     void visit(ParticleComponent component);
+
+    /**
+     * Action to perform when visiting a {@link GpuParticleComponent}
+     *
+     * @param component The component to visit
+     */
+    void visit(GpuParticleComponent component);
+
+    /**
+     * Action to perform when visiting a {@link CrowdComponent}
+     *
+     * @param component The component to visit
+     */
+    void visit(CrowdComponent component);
 }
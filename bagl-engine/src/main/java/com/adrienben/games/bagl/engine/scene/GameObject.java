@@ -4,6 +4,7 @@ import com.adrienben.games.bagl.engine.Time;
 import com.adrienben.games.bagl.engine.Transform;
 
 import java.util.*;
+import java.util.function.Consumer;
 
 /**
  * Game object
@@ -93,6 +94,32 @@ public class GameObject {
         this.children.forEach(child -> child.update(time));
     }
 
+    /**
+     * Update the game object but defer the update of its concurrent components
+     * <p>
+     * Same as {@link GameObject#update(Time)} except that components which can
+     * be updated concurrently are passed to {@code deferred} instead of being
+     * updated
+     *
+     * @param time     The time of the program
+     * @param deferred The consumer of the concurrent components
+     * @see Component#isConcurrent()
+     */
+    void update(final Time time, final Consumer<Component> deferred) {
+        if (!enabled) {
+            return;
+        }
+        this.computeTransform();
+        this.componentsByType.values().forEach(component -> {
+            if (component.isConcurrent()) {
+                deferred.accept(component);
+            } else {
+                component.update(time);
+            }
+        });
+        this.children.forEach(child -> child.update(time, deferred));
+    }
+
     /**
      * Compute the derived transform of this object by transforming
      * its local transform by the transform of its parent or by copying
@@ -3,6 +3,11 @@ package com.adrienben.games.bagl.engine.scene;
 import com.adrienben.games.bagl.core.Asset;
 import com.adrienben.games.bagl.core.exception.EngineException;
 import com.adrienben.games.bagl.engine.Time;
+import com.adrienben.games.bagl.engine.animation.AnimationSystem;
+import com.adrienben.games.bagl.engine.jobs.Job;
+import com.adrienben.games.bagl.engine.jobs.JobSystem;
+import com.adrienben.games.bagl.engine.jobs.TaskGraph;
+import com.adrienben.games.bagl.engine.scene.components.ModelComponent;
 
 import java.util.*;
 import java.util.stream.Stream;
@@ -18,9 +23,15 @@ import java.util.stream.Stream;
  */
 public class Scene implements Asset {
 
+    private static final int COMPONENTS_PER_JOB = 1;
+    private static final Job[] NO_DEPENDENCIES = new Job[0];
+
     private final GameObject root;
     private final Map<String, GameObject> objectsById;
     private final Map<String, List<GameObject>> objectsByTags;
+    private final Map<Class<? extends Component>, List<Component>> concurrentComponents;
+    private final AnimationSystem animationSystem;
+    private final TaskGraph updateGraph;
 
     /**
      * Construct a new scene
@@ -30,6 +41,9 @@ public class Scene implements Asset {
     public Scene() {
         this.objectsById = new HashMap<>();
         this.objectsByTags = new HashMap<>();
+        this.concurrentComponents = new LinkedHashMap<>();
+        this.animationSystem = new AnimationSystem();
+        this.updateGraph = new TaskGraph();
         this.root = new GameObject(this, "root");
     }
 
@@ -65,6 +79,55 @@ public class Scene implements Asset {
         this.root.update(time);
     }
 
+    /**
+     * Update the scene using a job system
+     * <p>
+     * The game objects are first updated by the calling thread. This computes
+     * the transforms of the objects and updates the components that cannot be
+     * updated concurrently. Then the concurrent components are updated by the
+     * jobs of the update graph. There is one job per type of component (particle
+     * emitters...) and each job splits its components between the workers
+     * <p>
+     * The jobs of the components that depend on animations only start once the
+     * animations are sampled, the others run alongside the animation job
+     * <p>
+     * Model components are not updated one by one. Their instances are gathered
+     * into an {@link AnimationSystem} which samples the animations and builds the
+     * skin palettes of all the models in batches. Set a camera on the animation
+     * system to throttle the animations of distant and hidden models
+     *
+     * @param time      The time of the program
+     * @param jobSystem The job system executing the jobs
+     * @see Component#isConcurrent()
+     * @see Component#dependsOnAnimations()
+     */
+    public void update(final Time time, final JobSystem jobSystem) {
+        this.concurrentComponents.values().forEach(List::clear);
+        this.animationSystem.clear();
+        this.root.update(time, this::deferUpdate);
+
+        this.updateGraph.clear();
+        final var animationJobs = this.animationSystem.getInstanceCount() > 0
+                ? new Job[]{this.updateGraph.add(AnimationSystem.class.getSimpleName(), () -> this.animationSystem.update(time, jobSystem))}
+                : NO_DEPENDENCIES;
+        this.concurrentComponents.forEach((type, components) -> {
+            if (!components.isEmpty()) {
+                final var dependencies = components.get(0).dependsOnAnimations() ? animationJobs : NO_DEPENDENCIES;
+                this.updateGraph.add(type.getSimpleName(),
+                        () -> jobSystem.parallelForEach(components, COMPONENTS_PER_JOB, component -> component.update(time)), dependencies);
+            }
+        });
+        jobSystem.run(this.updateGraph);
+    }
+
+    private void deferUpdate(final Component component) {
+        if (component instanceof ModelComponent modelComponent) {
+            this.animationSystem.add(modelComponent.getInstance(), modelComponent.getParentObject().getTransform());
+            return;
+        }
+        this.concurrentComponents.computeIfAbsent(component.getClass(), type -> new ArrayList<>()).add(component);
+    }
+
     /**
      * Accept a component visitor
      * <p>
@@ -112,6 +175,26 @@ public class Scene implements Asset {
         return Objects.isNull(gameObjects) ? Stream.empty() : gameObjects.stream();
     }
 
+    /**
+     * Get the task graph executed during the last call to {@link Scene#update(Time, JobSystem)}
+     * <p>
+     * Its jobs hold the timings of the update of each type of concurrent component
+     *
+     * @return The update graph
+     */
+    public TaskGraph getUpdateGraph() {
+        return this.updateGraph;
+    }
+
+    /**
+     * Get the animation system used during the last call to {@link Scene#update(Time, JobSystem)}
+     *
+     * @return The animation system
+     */
+    public AnimationSystem getAnimationSystem() {
+        return this.animationSystem;
+    }
+
     public GameObject getRoot() {
         return this.root;
     }
@@ -0,0 +1,89 @@
+package com.adrienben.games.bagl.engine.scene.components;
+
+import com.adrienben.games.bagl.engine.Time;
+import com.adrienben.games.bagl.engine.rendering.crowd.Crowd;
+import com.adrienben.games.bagl.engine.scene.Component;
+import com.adrienben.games.bagl.engine.scene.ComponentVisitor;
+import com.adrienben.games.bagl.engine.scene.GameObject;
+
+/**
+ * Crowd component.
+ * <p>
+ * This component contains a {@link Crowd} whose agents are placed relative to the
+ * transform of the parent {@link GameObject}.
+ *
+ * @author adrien
+ */
+public class CrowdComponent extends Component {
+
+    private final Crowd crowd;
+    private final boolean selfDestruction;
+
+    /**
+     * Construct a crowd component
+     *
+     * @param crowd           The crowd to link to this component
+     * @param selfDestruction Indicate whether the component is responsible for destroying its crowd
+     */
+    public CrowdComponent(final Crowd crowd, final boolean selfDestruction) {
+        this.crowd = crowd;
+        this.selfDestruction = selfDestruction;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Advance the animation time of the crowd.
+     */
+    @Override
+    public void update(final Time time) {
+        crowd.update(time);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The crowd is owned by the component so it can be updated concurrently.
+     */
+    @Override
+    public boolean isConcurrent() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The crowd only reads the transform of the parent object.
+     */
+    @Override
+    public boolean dependsOnAnimations() {
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Will destroy its crowd if its {@code selfDestruction} flag is set to true
+     *
+     * @see Component#destroy()
+     */
+    @Override
+    public void destroy() {
+        super.destroy();
+        if (selfDestruction) {
+            crowd.destroy();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void accept(final ComponentVisitor visitor) {
+        visitor.visit(this);
+    }
+
+    public Crowd getCrowd() {
+        return crowd;
+    }
+}
@@ -0,0 +1,91 @@
+package com.adrienben.games.bagl.engine.scene.components;
+
+import com.adrienben.games.bagl.engine.Time;
+import com.adrienben.games.bagl.engine.rendering.particles.GpuParticleEmitter;
+import com.adrienben.games.bagl.engine.scene.Component;
+import com.adrienben.games.bagl.engine.scene.ComponentVisitor;
+import com.adrienben.games.bagl.engine.scene.GameObject;
+
+/**
+ * GPU particle component.
+ * <p>
+ * This component contains a {@link GpuParticleEmitter} whose position will be updated
+ * with the position of the parent {@link GameObject}.
+ *
+ * @author adrien
+ */
+public class GpuParticleComponent extends Component {
+
+    private final GpuParticleEmitter emitter;
+    private final boolean selfDestruction;
+
+    /**
+     * Construct a GPU particle component
+     *
+     * @param emitter         The emitter to link to this component
+     * @param selfDestruction Indicate whether the component is responsible for destroying its emitter
+     */
+    public GpuParticleComponent(final GpuParticleEmitter emitter, final boolean selfDestruction) {
+        this.emitter = emitter;
+        this.selfDestruction = selfDestruction;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Set the position of the emitter to the position of the parent
+     * {@link GameObject}.
+     */
+    @Override
+    public void update(final Time time) {
+        emitter.setPosition(parentObject.getTransform().getTranslation());
+        emitter.update(time);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The emitter is owned by the component so it can be updated concurrently.
+     */
+    @Override
+    public boolean isConcurrent() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The emitter only reads the transform of the parent object.
+     */
+    @Override
+    public boolean dependsOnAnimations() {
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Will destroy its emitter if its {@code selfDestruction} flag is set to true
+     *
+     * @see Component#destroy()
+     */
+    @Override
+    public void destroy() {
+        super.destroy();
+        if (selfDestruction) {
+            emitter.destroy();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void accept(final ComponentVisitor visitor) {
+        visitor.visit(this);
+    }
+
+    public GpuParticleEmitter getEmitter() {
+        return emitter;
+    }
+}
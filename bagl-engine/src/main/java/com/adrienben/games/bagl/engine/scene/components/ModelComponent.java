@@ -1,18 +1,24 @@
 package com.adrienben.games.bagl.engine.scene.components;
 
 import com.adrienben.games.bagl.engine.Time;
+import com.adrienben.games.bagl.engine.animation.AnimationSystem;
 import com.adrienben.games.bagl.engine.rendering.model.Model;
+import com.adrienben.games.bagl.engine.rendering.model.ModelInstance;
 import com.adrienben.games.bagl.engine.scene.Component;
 import com.adrienben.games.bagl.engine.scene.ComponentVisitor;
 
 /**
  * Scene component containing a model
+ * <p>
+ * The component owns an instance of the model so models can be shared by several
+ * components, each one with its own transforms and animation state.
  *
  * @author adrien
  */
 public class ModelComponent extends Component {
 
     private final Model model;
+    private final ModelInstance instance;
     private final boolean selfDestruction;
 
     /**
@@ -23,6 +29,7 @@ public class ModelComponent extends Component {
      */
     public ModelComponent(final Model model, final boolean selfDestruction) {
         this.model = model;
+        this.instance = model.createInstance();
         this.selfDestruction = selfDestruction;
     }
 
@@ -33,8 +40,23 @@ public class ModelComponent extends Component {
      */
     @Override
     public void update(final Time time) {
-        this.model.update(time);
-        this.model.transform(super.getParentObject().getTransform());
+        this.instance.update(time);
+        this.instance.transform(super.getParentObject().getTransform());
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The animation and the transforms of the model are held by the instance of the
+     * component so they can always be computed concurrently. When the scene is updated
+     * with a job system, the instance is animated by the {@link AnimationSystem} of the
+     * scene instead of this component
+     *
+     * @see Component#isConcurrent()
+     */
+    @Override
+    public boolean isConcurrent() {
+        return true;
     }
 
     /**
@@ -65,4 +87,8 @@ public class ModelComponent extends Component {
     public Model getModel() {
         return this.model;
     }
+
+    public ModelInstance getInstance() {
+        return this.instance;
+    }
 }
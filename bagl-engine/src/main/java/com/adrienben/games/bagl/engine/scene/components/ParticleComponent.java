@@ -34,6 +34,26 @@ public class ParticleComponent extends Component {
         emitter.update(time);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The emitter is owned by the component so its particles can be simulated concurrently.
+     */
+    @Override
+    public boolean isConcurrent() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The emitter only reads the transform of the parent object.
+     */
+    @Override
+    public boolean dependsOnAnimations() {
+        return false;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -10,6 +10,8 @@ module com.adrienben.games.bagl.engine {
 	requires gltf.loader;
 	requires com.google.gson;
 	requires java.sql;
+	requires jdk.jfr;
+	requires static jdk.incubator.vector;
 
     requires transitive com.adrienben.games.bagl.opengl;
 
@@ -18,10 +20,14 @@ module com.adrienben.games.bagl.engine {
     exports com.adrienben.games.bagl.engine.animation;
     exports com.adrienben.games.bagl.engine.camera;
     exports com.adrienben.games.bagl.engine.game;
+    exports com.adrienben.games.bagl.engine.jobs;
+    exports com.adrienben.games.bagl.engine.profiling;
     exports com.adrienben.games.bagl.engine.scene;
     exports com.adrienben.games.bagl.engine.scene.components;
     exports com.adrienben.games.bagl.engine.rendering;
+    exports com.adrienben.games.bagl.engine.rendering.crowd;
     exports com.adrienben.games.bagl.engine.rendering.environment;
+    exports com.adrienben.games.bagl.engine.rendering.framegraph;
     exports com.adrienben.games.bagl.engine.rendering.light;
     exports com.adrienben.games.bagl.engine.rendering.material;
     exports com.adrienben.games.bagl.engine.rendering.model;
@@ -38,6 +44,7 @@ module com.adrienben.games.bagl.engine {
     exports com.adrienben.games.bagl.engine.resource.asset;
     exports com.adrienben.games.bagl.engine.resource.asset.json;
     exports com.adrienben.games.bagl.engine.resource.gltf;
+    exports com.adrienben.games.bagl.engine.resource.mesh;
     exports com.adrienben.games.bagl.engine.resource.scene;
     exports com.adrienben.games.bagl.engine.resource.scene.json;
 
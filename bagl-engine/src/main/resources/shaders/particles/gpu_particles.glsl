@@ -0,0 +1,11 @@
+#define GROUP_SIZE 64
+
+// 96 bytes per particle with the std430 layout
+struct Particle {
+    vec4 position; // xyz: position, w: size
+    vec4 velocity; // xyz: velocity, w: time left
+    vec4 color;
+    vec4 startColor;
+    vec4 endColor;
+    float ttl;
+};
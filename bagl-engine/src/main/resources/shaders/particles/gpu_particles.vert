@@ -0,0 +1,23 @@
+#version 430
+
+#import "classpath:/shaders/particles/gpu_particles.glsl"
+
+layout (std430, binding = 0) readonly buffer Particles {
+    Particle particles[];
+};
+
+layout (std430, binding = 2) readonly buffer AliveList {
+    uint aliveList[];
+};
+
+out VertOut {
+	vec4 color;
+	float size;
+} vertOut;
+
+void main() {
+	Particle particle = particles[aliveList[gl_VertexID]];
+	gl_Position = vec4(particle.position.xyz, 1);
+	vertOut.color = particle.color;
+	vertOut.size = particle.position.w;
+}
@@ -0,0 +1,88 @@
+package com.adrienben.games.bagl.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link SnapshotBuffer} test class.
+ *
+ * @author adrien
+ */
+class SnapshotBufferTest {
+
+    private final AtomicInteger created = new AtomicInteger();
+
+    @Test
+    void itShouldCreateThreeSnapshots() {
+        new SnapshotBuffer<>(created::incrementAndGet);
+        assertEquals(3, created.get());
+    }
+
+    @Test
+    void itShouldReturnLatestPublishedSnapshot() {
+        final var buffer = new SnapshotBuffer<>(() -> new int[1]);
+
+        buffer.getBack()[0] = 1;
+        buffer.publish();
+        buffer.getBack()[0] = 2;
+        buffer.publish();
+
+        assertEquals(2, buffer.acquire()[0]);
+    }
+
+    @Test
+    void itShouldReturnSameSnapshotWhenNothingWasPublished() {
+        final var buffer = new SnapshotBuffer<>(() -> new int[1]);
+        buffer.getBack()[0] = 1;
+        buffer.publish();
+
+        final var first = buffer.acquire();
+        final var second = buffer.acquire();
+
+        assertSame(first, second);
+        assertEquals(1, second[0]);
+    }
+
+    @Test
+    void itShouldNeverHandTheAcquiredSnapshotBackToTheProducer() {
+        final var buffer = new SnapshotBuffer<>(() -> new int[1]);
+        buffer.publish();
+        final var front = buffer.acquire();
+
+        for (int i = 0; i < 4; i++) {
+            assertNotSame(front, buffer.getBack());
+            buffer.publish();
+        }
+    }
+
+    @Test
+    void itShouldHandOverCompleteSnapshotsBetweenThreads() throws InterruptedException {
+        final var frameCount = 100_000;
+        final var buffer = new SnapshotBuffer<>(() -> new int[2]);
+        final var executor = Executors.newSingleThreadExecutor();
+        executor.submit(() -> {
+            for (int frame = 1; frame <= frameCount; frame++) {
+                final var snapshot = buffer.getBack();
+                snapshot[0] = frame;
+                snapshot[1] = -frame;
+                buffer.publish();
+            }
+        });
+
+        var lastFrame = 0;
+        while (lastFrame < frameCount) {
+            final var snapshot = buffer.acquire();
+            assertEquals(snapshot[0], -snapshot[1]);
+            assertTrue(snapshot[0] >= lastFrame);
+            lastFrame = snapshot[0];
+        }
+
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,94 @@
+package com.adrienben.games.bagl.engine.animation;
+
+import com.adrienben.games.bagl.engine.Transform;
+import com.adrienben.games.bagl.engine.rendering.model.Joint;
+import com.adrienben.games.bagl.engine.rendering.model.Model;
+import org.joml.Matrix4f;
+import org.joml.Vector3f;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * {@link AnimationBaker} test class.
+ *
+ * @author adrien
+ */
+class AnimationBakerTest {
+
+    private static final float FRAME_RATE = 10f;
+
+    @Test
+    void itShouldSampleEachClipAtTheFrameRate() {
+        final var baked = AnimationBaker.bake(createAnimatedModel(), 0, FRAME_RATE);
+
+        assertEquals(2, baked.getClipCount());
+        assertEquals(10, baked.getFrameCount(0));
+        assertEquals(0, baked.getFirstFrame(0));
+        assertEquals(20, baked.getFrameCount(1));
+        assertEquals(10, baked.getFirstFrame(1));
+        assertEquals(4, baked.getTextureWidth());
+        assertEquals(30, baked.getTextureHeight());
+        assertEquals(30 * 16, baked.getMatrices().length);
+    }
+
+    @Test
+    void itShouldBakeTheModelSpaceJointMatrices() {
+        final var baked = AnimationBaker.bake(createAnimatedModel(), 0, FRAME_RATE);
+        final var matrix = new Matrix4f();
+
+        // joint node at (0, 1, 0) + animated translation, inverse bind matrix translates by (0, -1, 0)
+        baked.getJointMatrix(0, 5, 0, matrix);
+        assertEquals(new Vector3f(5f, 0f, 0f), matrix.getTranslation(new Vector3f()));
+
+        baked.getJointMatrix(1, 5, 0, matrix);
+        assertEquals(new Vector3f(0f, 0f, 5f), matrix.getTranslation(new Vector3f()));
+    }
+
+    @Test
+    void itShouldNotLeakTheChannelsOfAClipIntoTheNextOne() {
+        final var baked = AnimationBaker.bake(createAnimatedModel(), 0, FRAME_RATE);
+
+        final var matrix = baked.getJointMatrix(1, 0, 0, new Matrix4f());
+
+        assertEquals(new Vector3f(0f, 0f, 0f), matrix.getTranslation(new Vector3f()));
+    }
+
+    @Test
+    void itShouldFailWhenTheNodeIsNotSkinned() {
+        final var model = createAnimatedModel();
+
+        assertThrows(IllegalArgumentException.class, () -> AnimationBaker.bake(model, 1, FRAME_RATE));
+    }
+
+    @Test
+    void itShouldFailWhenTheFrameRateIsNotPositive() {
+        final var model = createAnimatedModel();
+
+        assertThrows(IllegalArgumentException.class, () -> AnimationBaker.bake(model, 0, 0f));
+    }
+
+    /**
+     * Create a model with a skinned node and a joint node animated by two clips: one second
+     * along x then two seconds along z.
+     */
+    private static Model createAnimatedModel() {
+        final var model = new Model();
+        final var skinnedNode = model.addNode();
+        final var jointNode = model.addNode(new Transform().setTranslation(0f, 1f, 0f));
+        skinnedNode.setJoints(List.of(new Joint(jointNode.getIndex(), new Matrix4f().translation(0f, -1f, 0f))));
+        model.setAnimations(List.of(
+                Animation.builder()
+                        .channel(jointNode.getIndex(), new AnimationChannel(ChannelPath.TRANSLATION, InterpolationMode.LINEAR,
+                                new float[]{0f, 1f}, new float[]{0f, 1f, 0f, 10f, 1f, 0f}))
+                        .build(),
+                Animation.builder()
+                        .channel(jointNode.getIndex(), new AnimationChannel(ChannelPath.TRANSLATION, InterpolationMode.LINEAR,
+                                new float[]{0f, 2f}, new float[]{0f, 1f, 0f, 0f, 1f, 20f}))
+                        .build()));
+        return model;
+    }
+}
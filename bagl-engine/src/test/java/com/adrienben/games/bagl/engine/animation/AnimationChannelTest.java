@@ -0,0 +1,93 @@
+package com.adrienben.games.bagl.engine.animation;
+
+import com.adrienben.games.bagl.engine.Transform;
+import org.joml.Quaternionf;
+import org.joml.Vector3f;
+import org.joml.Vector3fc;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link AnimationChannel} test class.
+ *
+ * @author adrien
+ */
+class AnimationChannelTest {
+
+    private static final float EPSILON = 1e-6f;
+    private static final float[] TIMES = {0f, 1f, 3f};
+
+    @Test
+    void itShouldLinearlyInterpolateTranslations() {
+        final var channel = new AnimationChannel(ChannelPath.TRANSLATION, InterpolationMode.LINEAR, TIMES, new float[]{0f, 0f, 0f, 2f, 4f, 6f, 4f, 4f, 4f});
+        final var target = new Transform();
+
+        channel.sample(0.5f, channel.createSelector(), target);
+        assertVectorEquals(new Vector3f(1f, 2f, 3f), target.getTranslation());
+
+        channel.sample(2f, channel.createSelector(), target);
+        assertVectorEquals(new Vector3f(3f, 4f, 5f), target.getTranslation());
+    }
+
+    @Test
+    void itShouldKeepStartValueWhenInterpolationIsStep() {
+        final var channel = new AnimationChannel(ChannelPath.SCALE, InterpolationMode.STEP, TIMES, new float[]{1f, 1f, 1f, 2f, 2f, 2f, 3f, 3f, 3f});
+        final var target = new Transform();
+
+        channel.sample(2.9f, channel.createSelector(), target);
+
+        assertVectorEquals(new Vector3f(2f), target.getScale());
+    }
+
+    @Test
+    void itShouldClampToFirstAndLastKeyFrames() {
+        final var channel = new AnimationChannel(ChannelPath.TRANSLATION, InterpolationMode.LINEAR, TIMES, new float[]{0f, 0f, 0f, 2f, 4f, 6f, 4f, 4f, 4f});
+        final var selector = channel.createSelector();
+        final var target = new Transform();
+
+        channel.sample(-1f, selector, target);
+        assertVectorEquals(new Vector3f(), target.getTranslation());
+
+        channel.sample(10f, selector, target);
+        assertVectorEquals(new Vector3f(4f), target.getTranslation());
+    }
+
+    @Test
+    void itShouldSlerpRotationsLikeJoml() {
+        final var start = new Quaternionf().rotateXYZ(0.3f, 1.2f, -0.4f);
+        final var end = new Quaternionf().rotateXYZ(-2.1f, 0.2f, 2.8f);
+        final var channel = new AnimationChannel(ChannelPath.ROTATION, InterpolationMode.LINEAR, new float[]{0f, 1f},
+                new float[]{start.x, start.y, start.z, start.w, end.x, end.y, end.z, end.w});
+        final var selector = channel.createSelector();
+        final var target = new Transform();
+
+        for (var time = 0f; time <= 1f; time += 0.125f) {
+            channel.sample(time, selector, target);
+            final var expected = new Quaternionf(start).slerp(end, time);
+            final var actual = target.getRotation();
+            assertEquals(expected.x, actual.x(), EPSILON);
+            assertEquals(expected.y, actual.y(), EPSILON);
+            assertEquals(expected.z, actual.z(), EPSILON);
+            assertEquals(expected.w, actual.w(), EPSILON);
+        }
+    }
+
+    @Test
+    void itShouldComputeMemorySize() {
+        final var channel = new AnimationChannel(ChannelPath.ROTATION, InterpolationMode.LINEAR, new float[]{0f, 1f}, new float[8]);
+        assertEquals(10 * Float.BYTES, channel.getMemorySize());
+    }
+
+    @Test
+    void itShouldFailWhenValueCountDoesNotMatchKeyFrameCount() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new AnimationChannel(ChannelPath.ROTATION, InterpolationMode.LINEAR, new float[]{0f, 1f}, new float[6]));
+    }
+
+    private static void assertVectorEquals(final Vector3f expected, final Vector3fc actual) {
+        assertEquals(expected.x, actual.x(), EPSILON);
+        assertEquals(expected.y, actual.y(), EPSILON);
+        assertEquals(expected.z, actual.z(), EPSILON);
+    }
+}
@@ -0,0 +1,70 @@
+package com.adrienben.games.bagl.engine.animation;
+
+import com.adrienben.games.bagl.engine.Transform;
+import com.adrienben.games.bagl.engine.camera.Camera;
+import org.joml.Vector3f;
+import org.joml.primitives.Spheref;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * {@link AnimationLodSelector} test class.
+ *
+ * @author adrien
+ */
+class AnimationLodSelectorTest {
+
+    private static final float HALF_RATE_SIZE = 0.15f;
+    private static final float QUARTER_RATE_SIZE = 0.05f;
+
+    private final Spheref sphere = new Spheref(0f, 0f, 0f, 1f);
+    private AnimationLodSelector selector;
+
+    @BeforeEach
+    void setUp() {
+        selector = new AnimationLodSelector(HALF_RATE_SIZE, QUARTER_RATE_SIZE);
+        selector.setCamera(new Camera(new Vector3f(), new Vector3f(0f, 0f, -1f), new Vector3f(0f, 1f, 0f),
+                (float) Math.toRadians(60), 1f, 0.1f, 1000f));
+    }
+
+    @Test
+    void itShouldSelectTheRateFromTheScreenSize() {
+        assertEquals(AnimationLod.FULL, selector.select(sphere, at(-5f), AnimationLod.FULL));
+        assertEquals(AnimationLod.HALF_RATE, selector.select(sphere, at(-20f), AnimationLod.FULL));
+        assertEquals(AnimationLod.QUARTER_RATE, selector.select(sphere, at(-50f), AnimationLod.FULL));
+    }
+
+    @Test
+    void itShouldOnlyAnimateTheRootOfModelsOutOfTheFrustum() {
+        assertEquals(AnimationLod.ROOT_ONLY, selector.select(sphere, at(10f), AnimationLod.FULL));
+        assertEquals(AnimationLod.ROOT_ONLY, selector.select(sphere, at(-2000f), AnimationLod.FULL));
+    }
+
+    @Test
+    void itShouldSwitchToAFinerLevelRightAway() {
+        assertEquals(AnimationLod.FULL, selector.select(sphere, at(-5f), AnimationLod.QUARTER_RATE));
+        assertEquals(AnimationLod.FULL, selector.select(sphere, at(-5f), AnimationLod.ROOT_ONLY));
+    }
+
+    @Test
+    void itShouldOnlySwitchToACoarserLevelPastAMargin() {
+        // screen size ~0.14 is just below the half rate threshold
+        final var justBelowThreshold = at(-12.4f);
+
+        assertEquals(AnimationLod.FULL, selector.select(sphere, justBelowThreshold, AnimationLod.FULL));
+        assertEquals(AnimationLod.HALF_RATE, selector.select(sphere, justBelowThreshold, AnimationLod.HALF_RATE));
+        assertEquals(AnimationLod.HALF_RATE, selector.select(sphere, at(-15f), AnimationLod.FULL));
+    }
+
+    @Test
+    void itShouldFailWhenQuarterRateSizeIsGreaterThanHalfRateSize() {
+        assertThrows(IllegalArgumentException.class, () -> new AnimationLodSelector(0.1f, 0.2f));
+    }
+
+    private static Transform at(final float z) {
+        return new Transform().setTranslation(0f, 0f, z);
+    }
+}
@@ -0,0 +1,127 @@
+package com.adrienben.games.bagl.engine.animation;
+
+import com.adrienben.games.bagl.engine.Time;
+import com.adrienben.games.bagl.engine.Transform;
+import com.adrienben.games.bagl.engine.jobs.JobSystem;
+import com.adrienben.games.bagl.engine.rendering.model.Joint;
+import com.adrienben.games.bagl.engine.rendering.model.Model;
+import com.adrienben.games.bagl.engine.rendering.model.ModelInstance;
+import org.joml.Matrix4f;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * {@link AnimationSystem} test class.
+ *
+ * @author adrien
+ */
+class AnimationSystemTest {
+
+    private static final int INSTANCE_COUNT = 50;
+
+    private JobSystem jobSystem;
+
+    @BeforeEach
+    void setUp() {
+        jobSystem = new JobSystem(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jobSystem.destroy();
+    }
+
+    @Test
+    void itShouldProduceTheSamePosesAsTransformingEachInstance() {
+        final var model = createAnimatedModel();
+        final var system = new AnimationSystem();
+        final var batched = new ArrayList<ModelInstance>();
+        final var expected = new ArrayList<ModelInstance>();
+        final var transforms = new ArrayList<Transform>();
+        for (var i = 0; i < INSTANCE_COUNT; i++) {
+            batched.add(createPlayingInstance(model));
+            expected.add(createPlayingInstance(model));
+            transforms.add(new Transform().setTranslation(i, 0f, 0f));
+        }
+        final var time = new Time();
+        time.advance(0.25f);
+
+        for (var i = 0; i < INSTANCE_COUNT; i++) {
+            system.add(batched.get(i), transforms.get(i));
+        }
+        system.update(time, jobSystem);
+        for (var i = 0; i < INSTANCE_COUNT; i++) {
+            expected.get(i).update(time);
+            expected.get(i).transform(transforms.get(i));
+        }
+
+        assertEquals(INSTANCE_COUNT * 2, system.getPaletteCount());
+        for (var i = 0; i < INSTANCE_COUNT; i++) {
+            assertArrayEquals(expected.get(i).getPalette(), batched.get(i).getPalette());
+            assertEquals(expected.get(i).getTransform(2).getTranslation(), batched.get(i).getTransform(2).getTranslation());
+        }
+    }
+
+    @Test
+    void itShouldOnlyRebuildDirtyPalettes() {
+        final var model = createAnimatedModel();
+        final var animated = createPlayingInstance(model);
+        final var idle = model.createInstance();
+        final var system = new AnimationSystem();
+        final var time = new Time();
+        time.advance(0.25f);
+
+        system.add(animated, new Transform());
+        system.add(idle, new Transform());
+        system.update(time);
+        assertEquals(4, system.getPaletteCount());
+
+        system.update(time);
+        assertEquals(2, system.getPaletteCount());
+        assertEquals(1, idle.getPaletteVersion(0));
+        assertEquals(2, animated.getPaletteVersion(0));
+    }
+
+    @Test
+    void itShouldRemoveAllInstancesWhenCleared() {
+        final var system = new AnimationSystem();
+        system.add(createAnimatedModel().createInstance(), new Transform());
+
+        system.clear();
+        system.update(new Time(), jobSystem);
+
+        assertEquals(0, system.getInstanceCount());
+        assertEquals(0, system.getPaletteCount());
+    }
+
+    /**
+     * Create a model with two skinned root nodes sharing an animated joint node.
+     */
+    private static Model createAnimatedModel() {
+        final var model = new Model();
+        final var firstSkinnedNode = model.addNode();
+        final var secondSkinnedNode = model.addNode(new Transform().setTranslation(0f, 1f, 0f));
+        final var jointNode = model.addNode();
+        final var inverseBindMatrix = new Matrix4f().translation(0f, -1f, 0f);
+        firstSkinnedNode.setJoints(List.of(new Joint(jointNode.getIndex(), inverseBindMatrix)));
+        secondSkinnedNode.setJoints(List.of(new Joint(jointNode.getIndex(), inverseBindMatrix)));
+        model.setAnimations(List.of(Animation.builder()
+                .channel(jointNode.getIndex(), new AnimationChannel(ChannelPath.TRANSLATION, InterpolationMode.LINEAR,
+                        new float[]{0f, 10f}, new float[]{0f, 0f, 0f, 10f, 20f, 0f}))
+                .build()));
+        return model;
+    }
+
+    private static ModelInstance createPlayingInstance(final Model model) {
+        final var instance = model.createInstance();
+        instance.getAnimationPlayer(0).play();
+        return instance;
+    }
+}
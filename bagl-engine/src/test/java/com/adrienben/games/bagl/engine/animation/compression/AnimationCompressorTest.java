@@ -0,0 +1,129 @@
+package com.adrienben.games.bagl.engine.animation.compression;
+
+import com.adrienben.games.bagl.engine.animation.AnimationChannel;
+import com.adrienben.games.bagl.engine.animation.ChannelPath;
+import com.adrienben.games.bagl.engine.animation.InterpolationMode;
+import org.joml.Quaternionf;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link AnimationCompressor} test class.
+ *
+ * @author adrien
+ */
+class AnimationCompressorTest {
+
+    private static final float POSITION_TOLERANCE = 0.001f;
+    private static final float ANGLE_TOLERANCE = (float) Math.toRadians(0.1);
+
+    @Test
+    void itShouldRemoveKeyFramesOnALine() {
+        final var keyFrameCount = 11;
+        final var times = new float[keyFrameCount];
+        final var values = new float[keyFrameCount * 3];
+        for (var i = 0; i < keyFrameCount; i++) {
+            times[i] = i * 0.1f;
+            values[i * 3] = i;
+            values[i * 3 + 1] = -2f * i;
+            values[i * 3 + 2] = 1f;
+        }
+        final var channel = new AnimationChannel(ChannelPath.TRANSLATION, InterpolationMode.LINEAR, times, values);
+        final var report = new CompressionReport();
+
+        final var compressed = new AnimationCompressor(POSITION_TOLERANCE, ANGLE_TOLERANCE, false).compress(channel, report);
+
+        assertEquals(2, compressed.getKeyFrameCount());
+        assertEquals(channel.getStartTime(), compressed.getStartTime());
+        assertEquals(channel.getEndTime(), compressed.getEndTime());
+        assertTrue(report.getMaxTranslationError() <= POSITION_TOLERANCE);
+    }
+
+    @Test
+    void itShouldKeepKeyFramesOutOfTolerance() {
+        final var channel = new AnimationChannel(ChannelPath.SCALE, InterpolationMode.LINEAR, new float[]{0f, 1f, 2f},
+                new float[]{1f, 1f, 1f, 1f, 2f, 1f, 1f, 1f, 1f});
+
+        final var compressed = new AnimationCompressor(POSITION_TOLERANCE, ANGLE_TOLERANCE, false).compress(channel, new CompressionReport());
+
+        assertEquals(3, compressed.getKeyFrameCount());
+    }
+
+    @Test
+    void itShouldRemoveRotationsOnASlerpPath() {
+        final var start = new Quaternionf().rotateXYZ(0.3f, 1.2f, -0.4f);
+        final var end = new Quaternionf().rotateXYZ(-0.6f, 0.2f, 1.1f);
+        final var keyFrameCount = 20;
+        final var times = new float[keyFrameCount];
+        final var values = new float[keyFrameCount * 4];
+        final var rotation = new Quaternionf();
+        for (var i = 0; i < keyFrameCount; i++) {
+            times[i] = i / 30f;
+            start.slerp(end, i / (keyFrameCount - 1f), rotation);
+            write(rotation, values, i * 4);
+        }
+        final var channel = new AnimationChannel(ChannelPath.ROTATION, InterpolationMode.LINEAR, times, values);
+        final var report = new CompressionReport();
+
+        final var compressed = new AnimationCompressor(POSITION_TOLERANCE, ANGLE_TOLERANCE, true).compress(channel, report);
+
+        assertEquals(2, compressed.getKeyFrameCount());
+        assertTrue(compressed.isEncoded());
+        assertTrue(report.getMaxAngleError() <= ANGLE_TOLERANCE, "Angle error too large " + report.getMaxAngleError());
+    }
+
+    @Test
+    void itShouldOnlyRemoveRepeatedStepKeyFrames() {
+        final var channel = new AnimationChannel(ChannelPath.TRANSLATION, InterpolationMode.STEP, new float[]{0f, 1f, 2f, 3f, 4f},
+                new float[]{0f, 0f, 0f, 0f, 0f, 0f, 1f, 0f, 0f, 2f, 0f, 0f, 2f, 0f, 0f});
+
+        final var compressed = new AnimationCompressor(POSITION_TOLERANCE, ANGLE_TOLERANCE, false).compress(channel, new CompressionReport());
+
+        assertEquals(4, compressed.getKeyFrameCount());
+        assertEquals(0f, compressed.getTime(0));
+        assertEquals(2f, compressed.getTime(1));
+        assertEquals(3f, compressed.getTime(2));
+        assertEquals(4f, compressed.getTime(3));
+    }
+
+    @Test
+    void itShouldReportCompressionRatioAndMaxError() {
+        final var keyFrameCount = 120;
+        final var times = new float[keyFrameCount];
+        final var values = new float[keyFrameCount * 3];
+        for (var i = 0; i < keyFrameCount; i++) {
+            times[i] = i / 30f;
+            values[i * 3] = (float) Math.sin(times[i]);
+            values[i * 3 + 1] = times[i];
+            values[i * 3 + 2] = 0.5f;
+        }
+        final var channel = new AnimationChannel(ChannelPath.TRANSLATION, InterpolationMode.LINEAR, times, values);
+        final var report = new CompressionReport();
+
+        final var compressed = new AnimationCompressor(POSITION_TOLERANCE, ANGLE_TOLERANCE, true).compress(channel, report);
+
+        assertTrue(compressed.getKeyFrameCount() < keyFrameCount);
+        assertEquals(1, report.getChannelCount());
+        assertEquals(keyFrameCount, report.getOriginalKeyFrameCount());
+        assertEquals(compressed.getKeyFrameCount(), report.getCompressedKeyFrameCount());
+        assertEquals(channel.getMemorySize(), report.getOriginalSize());
+        assertEquals(compressed.getMemorySize(), report.getCompressedSize());
+        assertTrue(report.getCompressionRatio() > 2f, "Ratio too low " + report.getCompressionRatio());
+        assertTrue(report.getMaxTranslationError() > 0f);
+        assertTrue(report.getMaxTranslationError() <= POSITION_TOLERANCE * 1.1f, "Error too large " + report.getMaxTranslationError());
+    }
+
+    @Test
+    void itShouldFailWithNegativeTolerances() {
+        assertThrows(IllegalArgumentException.class, () -> new AnimationCompressor(-1f, ANGLE_TOLERANCE, true));
+        assertThrows(IllegalArgumentException.class, () -> new AnimationCompressor(POSITION_TOLERANCE, -1f, true));
+    }
+
+    private static void write(final Quaternionf rotation, final float[] destination, final int offset) {
+        destination[offset] = rotation.x();
+        destination[offset + 1] = rotation.y();
+        destination[offset + 2] = rotation.z();
+        destination[offset + 3] = rotation.w();
+    }
+}
@@ -0,0 +1,58 @@
+package com.adrienben.games.bagl.engine.animation.compression;
+
+import org.joml.Quaterniond;
+import org.joml.Quaternionf;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link QuantizedRotations} test class.
+ *
+ * @author adrien
+ */
+class QuantizedRotationsTest {
+
+    private static final float MAX_ANGLE_ERROR = 2e-4f;
+
+    @Test
+    void itShouldDecodeRotationsWithSmallError() {
+        final var random = new Random(42);
+        final var count = 500;
+        final var values = new float[count * 4];
+        for (var i = 0; i < count; i++) {
+            final var rotation = new Quaternionf(random.nextFloat() - 0.5f, random.nextFloat() - 0.5f, random.nextFloat() - 0.5f,
+                    random.nextFloat() - 0.5f).normalize();
+            write(rotation, values, i * 4);
+        }
+
+        final var quantized = new QuantizedRotations(values);
+
+        assertEquals(count, quantized.getKeyFrameCount());
+        assertEquals(count * 6, quantized.getMemorySize());
+        for (var i = 0; i < count; i++) {
+            final var original = new Quaterniond(values[i * 4], values[i * 4 + 1], values[i * 4 + 2], values[i * 4 + 3]).normalize();
+            final var decoded = new Quaterniond(quantized.get(i, 0), quantized.get(i, 1), quantized.get(i, 2), quantized.get(i, 3)).normalize();
+            final var angle = 2.0 * Math.acos(Math.min(1.0, Math.abs(original.dot(decoded))));
+            assertTrue(angle < MAX_ANGLE_ERROR, "Angle error too large " + angle);
+        }
+    }
+
+    @Test
+    void itShouldFlipRotationsWhoseLargestComponentIsNegative() {
+        final var quantized = new QuantizedRotations(new float[]{0f, 0f, 0f, -1f});
+
+        assertEquals(1f, quantized.get(0, 3), 1e-6f);
+        assertEquals(0f, quantized.get(0, 0), 1e-4f);
+    }
+
+    private static void write(final Quaternionf rotation, final float[] destination, final int offset) {
+        destination[offset] = rotation.x();
+        destination[offset + 1] = rotation.y();
+        destination[offset + 2] = rotation.z();
+        destination[offset + 3] = rotation.w();
+    }
+}
@@ -0,0 +1,109 @@
+package com.adrienben.games.bagl.engine.animation.selector;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * {@link KeyFrameSelector} test class.
+ *
+ * @author adrien
+ */
+class KeyFrameSelectorTest {
+
+    private static final float[] TIMES = {0f, 1f, 2f, 3f, 4f};
+
+    @Test
+    void itShouldSelectFirstKeyFrameBeforeStart() {
+        final var selector = new KeyFrameSelector(new float[]{1f, 2f});
+        selector.select(0.5f);
+        assertInterval(selector, 0, 0);
+    }
+
+    @Test
+    void itShouldSelectLastKeyFrameAfterEnd() {
+        final var selector = new KeyFrameSelector(TIMES);
+        selector.select(4.5f);
+        assertInterval(selector, 4, 4);
+    }
+
+    @Test
+    void itShouldSelectLastIntervalAtEndTime() {
+        final var selector = new KeyFrameSelector(TIMES);
+        selector.select(4f);
+        assertInterval(selector, 3, 4);
+    }
+
+    @Test
+    void itShouldSelectOnlyKeyFrame() {
+        final var selector = new KeyFrameSelector(new float[]{1f});
+        selector.select(2f);
+        assertInterval(selector, 0, 0);
+    }
+
+    @Test
+    void itShouldSelectIntervalsWhilePlayingForward() {
+        final var selector = new KeyFrameSelector(TIMES);
+        for (var time = 0f; time < 4f; time += 0.25f) {
+            selector.select(time);
+            assertInterval(selector, (int) time, (int) time + 1);
+        }
+    }
+
+    @Test
+    void itShouldSelectIntervalsAfterSeeking() {
+        final var selector = new KeyFrameSelector(TIMES);
+        selector.select(3.5f);
+        assertInterval(selector, 3, 4);
+        selector.select(0.5f);
+        assertInterval(selector, 0, 1);
+        selector.select(2f);
+        assertInterval(selector, 2, 3);
+        selector.select(5f);
+        selector.select(1.5f);
+        assertInterval(selector, 1, 2);
+    }
+
+    @Test
+    void itShouldSelectLongestIntervalWhenTimesAreDuplicated() {
+        final var selector = new KeyFrameSelector(new float[]{0f, 1f, 1f, 2f});
+        selector.select(1f);
+        assertInterval(selector, 2, 3);
+    }
+
+    @Test
+    void itShouldSelectSameIntervalsAsLinearScan() {
+        final var times = new float[1000];
+        for (int i = 1; i < times.length; i++) {
+            times[i] = times[i - 1] + 0.01f + (i % 7) * 0.005f;
+        }
+        final var selector = new KeyFrameSelector(times);
+        for (var time = -1f; time < times[times.length - 1]; time += 0.013f) {
+            selector.select(time);
+            assertEquals(linearScan(times, time), selector.getStartIndex(), "Wrong interval at " + time);
+        }
+    }
+
+    @Test
+    void itShouldFailWithoutKeyFrames() {
+        assertThrows(IllegalArgumentException.class, () -> new KeyFrameSelector(new float[0]));
+    }
+
+    private static int linearScan(final float[] times, final float time) {
+        if (time < times[0]) {
+            return 0;
+        }
+        for (int i = 0; i < times.length - 1; i++) {
+            if (time >= times[i] && time < times[i + 1]) {
+                return i;
+            }
+        }
+        return times.length - 2;
+    }
+
+    private static void assertInterval(final KeyFrameSelector selector, final int startIndex, final int endIndex) {
+        assertEquals(startIndex, selector.getStartIndex());
+        assertEquals(endIndex, selector.getEndIndex());
+    }
+}
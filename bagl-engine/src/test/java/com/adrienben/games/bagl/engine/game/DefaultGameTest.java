@@ -0,0 +1,66 @@
+package com.adrienben.games.bagl.engine.game;
+
+import com.adrienben.games.bagl.engine.Time;
+import com.adrienben.games.bagl.engine.rendering.renderer.SceneRenderer;
+import com.adrienben.games.bagl.engine.scene.Scene;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link DefaultGame} test class.
+ *
+ * @author adrien
+ */
+class DefaultGameTest {
+
+    private final List<Object> calls = new ArrayList<>();
+    private final DefaultGame game = new DefaultGame() {
+        @Override
+        public void update(final Time time) {
+        }
+    };
+
+    @Test
+    void itShouldCaptureTheSceneOnSnapshotAndRenderTheCapture() {
+        final var scene = new Scene();
+        game.setScene(scene);
+        game.setSceneRenderer(new RecordingSceneRenderer());
+
+        game.snapshot();
+        game.render();
+
+        assertEquals(List.of(scene, "render"), calls);
+    }
+
+    @Test
+    void itShouldNotCaptureWithoutScene() {
+        game.setSceneRenderer(new RecordingSceneRenderer());
+
+        game.snapshot();
+
+        assertTrue(calls.isEmpty());
+    }
+
+    private class RecordingSceneRenderer implements SceneRenderer {
+
+        @Override
+        public void capture(final Scene scene) {
+            calls.add(scene);
+        }
+
+        @Override
+        public void render() {
+            calls.add("render");
+        }
+
+        @Override
+        public void render(final Scene scene) {
+            capture(scene);
+            render();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.adrienben.games.bagl.engine.jobs;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link JobSystem} test class.
+ *
+ * @author adrien
+ */
+class JobSystemTest {
+
+    private JobSystem jobSystem;
+
+    @BeforeEach
+    void setUp() {
+        jobSystem = new JobSystem(3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jobSystem.destroy();
+    }
+
+    @Test
+    void itShouldProcessEachIndexExactlyOnce() {
+        final var visits = new AtomicIntegerArray(1000);
+
+        jobSystem.parallelFor(visits.length(), 7, visits::incrementAndGet);
+
+        for (int i = 0; i < visits.length(); i++) {
+            assertEquals(1, visits.get(i));
+        }
+    }
+
+    @Test
+    void itShouldProcessEachElement() {
+        final var elements = IntStream.range(0, 100).boxed().collect(Collectors.toList());
+        final var sum = new AtomicInteger();
+
+        jobSystem.parallelForEach(elements, 3, sum::addAndGet);
+
+        assertEquals(4950, sum.get());
+    }
+
+    @Test
+    void itShouldRunNestedParallelLoops() {
+        final var count = new AtomicInteger();
+
+        jobSystem.parallelFor(10, 1, i -> jobSystem.parallelFor(10, 1, j -> count.incrementAndGet()));
+
+        assertEquals(100, count.get());
+    }
+
+    @Test
+    void itShouldRunSmallLoopsOnTheCallingThread() {
+        final var caller = Thread.currentThread();
+        final var threads = new Thread[4];
+
+        jobSystem.parallelFor(threads.length, threads.length, i -> threads[i] = Thread.currentThread());
+
+        assertEquals(List.of(caller, caller, caller, caller), List.of(threads));
+    }
+
+    @Test
+    void itShouldPropagateExceptionsFromParallelLoops() {
+        assertThrows(IllegalStateException.class, () -> jobSystem.parallelFor(100, 1, i -> {
+            if (i == 42) {
+                throw new IllegalStateException();
+            }
+        }));
+    }
+
+    @Test
+    void itShouldFailWhenWorkerCountIsNotPositive() {
+        assertThrows(IllegalArgumentException.class, () -> new JobSystem(0));
+    }
+}
@@ -0,0 +1,133 @@
+package com.adrienben.games.bagl.engine.jobs;
+
+import com.adrienben.games.bagl.core.exception.EngineException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link TaskGraph} test class.
+ *
+ * @author adrien
+ */
+class TaskGraphTest {
+
+    private JobSystem jobSystem;
+
+    @BeforeEach
+    void setUp() {
+        jobSystem = new JobSystem(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jobSystem.destroy();
+    }
+
+    @Test
+    void itShouldRunJobsAfterTheirDependencies() {
+        final var order = Collections.synchronizedList(new ArrayList<String>());
+        final var graph = new TaskGraph();
+        final var animation = graph.add("animation", () -> order.add("animation"));
+        final var transforms = graph.add("transforms", () -> order.add("transforms"), animation);
+        final var particles = graph.add("particles", () -> order.add("particles"));
+        graph.add("culling", () -> order.add("culling"), transforms, particles);
+
+        jobSystem.run(graph);
+
+        assertEquals(4, order.size());
+        assertTrue(order.indexOf("animation") < order.indexOf("transforms"));
+        assertTrue(order.indexOf("transforms") < order.indexOf("culling"));
+        assertTrue(order.indexOf("particles") < order.indexOf("culling"));
+    }
+
+    @Test
+    void itShouldRunIndependentJobsConcurrently() {
+        final var barrier = new CountDownLatch(2);
+        final var graph = new TaskGraph();
+        final Runnable meetOtherJob = () -> {
+            barrier.countDown();
+            try {
+                assertTrue(barrier.await(5, TimeUnit.SECONDS));
+            } catch (final InterruptedException exception) {
+                throw new IllegalStateException(exception);
+            }
+        };
+        graph.add("first", meetOtherJob);
+        graph.add("second", meetOtherJob);
+
+        jobSystem.run(graph);
+
+        assertEquals(0, barrier.getCount());
+    }
+
+    @Test
+    void itShouldRecordJobTimings() {
+        final var graph = new TaskGraph();
+        final var job = graph.add("job", () -> {
+        });
+
+        jobSystem.run(graph);
+
+        assertTrue(job.isExecuted());
+        assertTrue(job.getThreadName().startsWith("bagl-job-"));
+        assertTrue(job.getStartTime() > 0);
+        assertTrue(job.getDuration() >= 0);
+        assertTrue(graph.getDuration() >= job.getDuration());
+        assertEquals(List.of(job), graph.getJobs());
+    }
+
+    @Test
+    void itShouldRunTheSameGraphSeveralTimes() {
+        final var count = new int[1];
+        final var graph = new TaskGraph();
+        final var first = graph.add("first", () -> count[0]++);
+        graph.add("second", () -> count[0]++, first);
+
+        jobSystem.run(graph);
+        jobSystem.run(graph);
+
+        assertEquals(4, count[0]);
+    }
+
+    @Test
+    void itShouldSkipDependentJobsAndRethrowWhenAJobFails() {
+        final var graph = new TaskGraph();
+        final var failing = graph.add("failing", () -> {
+            throw new IllegalStateException("failure");
+        });
+        final var dependent = graph.add("dependent", () -> fail("Should not run"), failing);
+
+        final var exception = assertThrows(EngineException.class, () -> jobSystem.run(graph));
+
+        assertTrue(exception.getCause() instanceof IllegalStateException);
+        assertFalse(dependent.isExecuted());
+    }
+
+    @Test
+    void itShouldFailWhenDependencyBelongsToAnotherGraph() {
+        final var other = new TaskGraph().add("other", () -> {
+        });
+
+        assertThrows(IllegalArgumentException.class, () -> new TaskGraph().add("job", () -> {
+        }, other));
+    }
+
+    @Test
+    void itShouldFailWhenRunFromAJob() {
+        final var graph = new TaskGraph();
+        graph.add("nested", () -> jobSystem.run(new TaskGraph()));
+
+        final var exception = assertThrows(EngineException.class, () -> jobSystem.run(graph));
+
+        assertTrue(exception.getCause() instanceof EngineException);
+    }
+}
@@ -0,0 +1,180 @@
+package com.adrienben.games.bagl.engine.rendering.framegraph;
+
+import com.adrienben.games.bagl.core.exception.EngineException;
+import com.adrienben.games.bagl.opengl.FrameBuffer;
+import com.adrienben.games.bagl.opengl.texture.Format;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link FrameGraph} test class.
+ *
+ * @author adrien
+ */
+class FrameGraphTest {
+
+    private static final RenderTargetDescription HDR = new RenderTargetDescription(1920, 1080, Format.RGB16F);
+    private static final RenderTargetDescription LDR = new RenderTargetDescription(1920, 1080, Format.RGBA8);
+
+    private final FrameGraph graph = new FrameGraph();
+
+    @Test
+    void itShouldCullPassesWhoseOutputsAreNotUsed() {
+        final var scene = graph.importResource("scene");
+        final var bright = graph.createRenderTarget("bright", HDR);
+        final var blurred = graph.createRenderTarget("blurred", HDR);
+        final var extract = graph.addPass("extract", resources -> {
+        }).read(scene).write(bright);
+        final var blur = graph.addPass("blur", resources -> {
+        }).read(bright).write(blurred);
+        final var present = graph.addPass("present", resources -> {
+        }).read(scene).sideEffect();
+
+        graph.compile();
+
+        assertTrue(extract.isCulled());
+        assertTrue(blur.isCulled());
+        assertFalse(present.isCulled());
+        assertEquals(List.of(present), graph.getExecutedPasses());
+        assertEquals(0, graph.getTargetCount());
+    }
+
+    @Test
+    void itShouldCullPassesWithoutOutputs() {
+        final var pass = graph.addPass("debug", resources -> {
+        });
+
+        graph.compile();
+
+        assertTrue(pass.isCulled());
+    }
+
+    @Test
+    void itShouldKeepPassesWritingImportedResources() {
+        final var shadowMaps = graph.importResource("shadow_maps");
+        final var shadows = graph.addPass("shadows", resources -> {
+        }).write(shadowMaps);
+
+        graph.compile();
+
+        assertFalse(shadows.isCulled());
+    }
+
+    @Test
+    void itShouldAliasResourcesWhoseLifetimesDoNotOverlap() {
+        final var scene = graph.importResource("scene");
+        final var bright = graph.createRenderTarget("bright", HDR);
+        final var blurPing = graph.createRenderTarget("blur_ping", HDR);
+        final var blurred = graph.createRenderTarget("blurred", HDR);
+        final var bloom = graph.createRenderTarget("bloom", HDR);
+        graph.addPass("extract", resources -> {
+        }).read(scene).write(bright);
+        graph.addPass("blur", resources -> {
+        }).read(bright).write(blurPing).write(blurred);
+        graph.addPass("composite", resources -> {
+        }).read(scene).read(blurred).write(bloom);
+        graph.addPass("present", resources -> {
+        }).read(bloom).sideEffect();
+
+        graph.compile();
+
+        assertEquals(3, graph.getTargetCount());
+        assertNotEquals(bright.getTarget(), blurPing.getTarget());
+        assertNotEquals(bright.getTarget(), blurred.getTarget());
+        assertNotEquals(blurred.getTarget(), bloom.getTarget());
+        assertTrue(bloom.getTarget() == bright.getTarget() || bloom.getTarget() == blurPing.getTarget());
+        assertEquals(3 * HDR.getMemorySize(), graph.getTargetMemorySize());
+        assertEquals(4 * HDR.getMemorySize(), graph.getUnaliasedMemorySize());
+    }
+
+    @Test
+    void itShouldNotAliasResourcesWithDifferentDescriptions() {
+        final var scene = graph.importResource("scene");
+        final var hdr = graph.createRenderTarget("hdr", HDR);
+        final var ldr = graph.createRenderTarget("ldr", LDR);
+        graph.addPass("bloom", resources -> {
+        }).read(scene).write(hdr);
+        graph.addPass("tone_mapping", resources -> {
+        }).read(hdr).write(ldr);
+        graph.addPass("present", resources -> {
+        }).read(ldr).sideEffect();
+
+        graph.compile();
+
+        assertEquals(2, graph.getTargetCount());
+        assertNotEquals(hdr.getTarget(), ldr.getTarget());
+    }
+
+    @Test
+    void itShouldFailWhenResourceIsReadBeforeBeingWritten() {
+        final var target = graph.createRenderTarget("target", LDR);
+        graph.addPass("present", resources -> {
+        }).read(target).sideEffect();
+
+        assertThrows(EngineException.class, graph::compile);
+    }
+
+    @Test
+    void itShouldFailWhenResourceBelongsToAnotherGraph() {
+        final var resource = new FrameGraph().importResource("other");
+        final var pass = graph.addPass("pass", resources -> {
+        });
+
+        assertThrows(IllegalArgumentException.class, () -> pass.read(resource));
+    }
+
+    @Test
+    void itShouldExecuteRemainingPassesInOrderAndReleaseTargets() {
+        final var executed = new ArrayList<String>();
+        final var allocator = new CountingAllocator();
+        final var scene = graph.importResource("scene");
+        final var unused = graph.createRenderTarget("unused", HDR);
+        final var ldr = graph.createRenderTarget("ldr", LDR);
+        graph.addPass("scene", resources -> executed.add("scene")).write(scene);
+        graph.addPass("unused", resources -> executed.add("unused")).read(scene).write(unused);
+        graph.addPass("tone_mapping", resources -> executed.add("tone_mapping")).read(scene).write(ldr);
+        graph.addPass("present", resources -> executed.add("present")).read(ldr).sideEffect();
+
+        graph.execute(allocator);
+
+        assertEquals(List.of("scene", "tone_mapping", "present"), executed);
+        assertEquals(1, allocator.acquired);
+        assertEquals(1, allocator.released);
+    }
+
+    @Test
+    void itShouldRecompileWhenGraphIsRebuilt() {
+        final var output = graph.importResource("output");
+        graph.addPass("first", resources -> {
+        }).write(output);
+        graph.compile();
+
+        graph.clear();
+        final var pass = graph.addPass("second", resources -> {
+        }).sideEffect();
+        graph.execute(new CountingAllocator());
+
+        assertEquals(List.of(pass), graph.getExecutedPasses());
+    }
+
+    private static class CountingAllocator implements RenderTargetAllocator {
+
+        private int acquired;
+        private int released;
+
+        @Override
+        public FrameBuffer acquire(final RenderTargetDescription description) {
+            acquired++;
+            return null;
+        }
+
+        @Override
+        public void release(final RenderTargetDescription description, final FrameBuffer target) {
+            released++;
+        }
+    }
+}
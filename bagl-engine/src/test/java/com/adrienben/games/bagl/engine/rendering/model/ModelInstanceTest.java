@@ -0,0 +1,252 @@
+package com.adrienben.games.bagl.engine.rendering.model;
+
+import com.adrienben.games.bagl.engine.Time;
+import com.adrienben.games.bagl.engine.Transform;
+import com.adrienben.games.bagl.engine.animation.Animation;
+import com.adrienben.games.bagl.engine.animation.AnimationChannel;
+import com.adrienben.games.bagl.engine.animation.AnimationLod;
+import com.adrienben.games.bagl.engine.animation.ChannelPath;
+import com.adrienben.games.bagl.engine.animation.InterpolationMode;
+import org.joml.Matrix4f;
+import org.joml.Vector3f;
+import org.joml.Vector3fc;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link ModelInstance} test class.
+ *
+ * @author adrien
+ */
+class ModelInstanceTest {
+
+    private static final float EPSILON = 1e-5f;
+
+    @Test
+    void itShouldIndexNodesInCreationOrder() {
+        final var model = new Model();
+        final var root = model.addNode();
+        final var child = root.addChild();
+        final var otherRoot = model.addNode();
+
+        assertEquals(3, model.getNodeCount());
+        assertEquals(0, root.getIndex());
+        assertEquals(1, child.getIndex());
+        assertEquals(2, otherRoot.getIndex());
+        assertSame(child, model.getNode(1));
+        assertSame(root, child.getParent().orElseThrow());
+    }
+
+    @Test
+    void itShouldComposeParentTransforms() {
+        final var model = new Model();
+        model.addNode(new Transform().setTranslation(1f, 0f, 0f)).addChild(new Transform().setTranslation(0f, 2f, 0f));
+        final var instance = model.createInstance();
+
+        instance.transform(new Transform().setTranslation(0f, 0f, 3f));
+
+        assertVectorEquals(new Vector3f(1f, 0f, 3f), instance.getTransform(0).getTranslation());
+        assertVectorEquals(new Vector3f(1f, 2f, 3f), instance.getTransform(1).getTranslation());
+    }
+
+    @Test
+    void itShouldKeepTransformsOfInstancesIndependent() {
+        final var model = new Model();
+        model.addNode(new Transform().setTranslation(1f, 0f, 0f));
+        final var first = model.createInstance();
+        final var second = model.createInstance();
+
+        first.getLocalTransform(0).setTranslation(5f, 0f, 0f);
+        first.transform(new Transform());
+        second.transform(new Transform());
+
+        assertVectorEquals(new Vector3f(5f, 0f, 0f), first.getTransform(0).getTranslation());
+        assertVectorEquals(new Vector3f(1f, 0f, 0f), second.getTransform(0).getTranslation());
+        assertVectorEquals(new Vector3f(1f, 0f, 0f), model.getNode(0).getLocalTransform().getTranslation());
+    }
+
+    @Test
+    void itShouldOnlyAnimateItsOwnTransforms() {
+        final var model = new Model();
+        model.addNode();
+        model.setAnimations(List.of(Animation.builder()
+                .channel(0, new AnimationChannel(ChannelPath.TRANSLATION, InterpolationMode.LINEAR, new float[]{0f, 1f},
+                        new float[]{0f, 0f, 0f, 2f, 0f, 0f}))
+                .build()));
+        final var animated = model.createInstance();
+        final var idle = model.createInstance();
+        final var time = new Time();
+        time.advance(0.5f);
+
+        animated.getAnimationPlayer(0).play();
+        animated.update(time);
+        idle.update(time);
+
+        assertSame(animated.getAnimationPlayer(0), animated.getAnimationPlayer(0));
+        assertVectorEquals(new Vector3f(1f, 0f, 0f), animated.getLocalTransform(0).getTranslation());
+        assertVectorEquals(new Vector3f(), idle.getLocalTransform(0).getTranslation());
+    }
+
+    @Test
+    void itShouldComputePalettesRelativeToTheSkinnedNode() {
+        final var model = createSkinnedModel();
+        final var instance = model.createInstance();
+
+        instance.getLocalTransform(1).setTranslation(0f, 3f, 0f);
+        instance.transform(new Transform().setTranslation(10f, 0f, 0f));
+
+        assertTrue(instance.isSkinned(0));
+        assertFalse(instance.isSkinned(1));
+        assertEquals(2, instance.getJointCount(0));
+        assertVectorEquals(new Vector3f(0f, 1f, 0f), getPaletteTranslation(instance, 0, 0));
+        assertVectorEquals(new Vector3f(0f, 1f, 0f), getPaletteTranslation(instance, 0, 1));
+    }
+
+    @Test
+    void itShouldStorePalettesContiguously() {
+        final var model = createSkinnedModel();
+        final var otherSkinnedNode = model.addNode();
+        otherSkinnedNode.setJoints(List.of(new Joint(otherSkinnedNode.getIndex(), new Matrix4f())));
+        final var instance = model.createInstance();
+
+        instance.transform(new Transform());
+
+        assertEquals(0, instance.getPaletteOffset(0));
+        assertEquals(32, instance.getPaletteOffset(otherSkinnedNode.getIndex()));
+        assertEquals(48, instance.getPalette().length);
+        assertThrows(IllegalArgumentException.class, () -> instance.getPaletteOffset(1));
+    }
+
+    @Test
+    void itShouldOnlyRebuildPalettesWhenABoneMoves() {
+        final var instance = createSkinnedModel().createInstance();
+        final var root = new Transform();
+        instance.transform(root);
+        final var initialVersion = instance.getPaletteVersion(0);
+
+        instance.transform(root);
+        assertEquals(initialVersion, instance.getPaletteVersion(0));
+
+        root.setTranslation(5f, 0f, 0f);
+        instance.transform(root);
+        assertEquals(initialVersion, instance.getPaletteVersion(0));
+        assertVectorEquals(new Vector3f(6f, 0f, 0f), instance.getTransform(0).getTranslation());
+
+        instance.getLocalTransform(1).setTranslation(0f, 2f, 0f);
+        instance.transform(root);
+        assertEquals(initialVersion, instance.getPaletteVersion(0));
+
+        instance.getLocalTransform(1).setTranslation(0f, 4f, 0f);
+        instance.transform(root);
+        assertNotEquals(initialVersion, instance.getPaletteVersion(0));
+        assertVectorEquals(new Vector3f(0f, 2f, 0f), getPaletteTranslation(instance, 0, 0));
+    }
+
+    @Test
+    void itShouldKeepThrottledAnimationsInSync() {
+        final var instance = createTranslatedModel().createInstance();
+        instance.getAnimationPlayer(0).play();
+        final var time = new Time();
+        time.advance(0.1f);
+
+        for (var frame = 0; frame < 5; frame++) {
+            instance.update(time, AnimationLod.QUARTER_RATE);
+        }
+        instance.update(time, AnimationLod.FULL);
+
+        assertEquals(AnimationLod.FULL, instance.getAnimationLod());
+        assertVectorEquals(new Vector3f(0.6f, 0f, 0f), instance.getLocalTransform(0).getTranslation());
+        assertVectorEquals(new Vector3f(0f, 0.6f, 0f), instance.getLocalTransform(1).getTranslation());
+    }
+
+    @Test
+    void itShouldBlendThrottledAnimationsOnSkippedFrames() {
+        final var instance = createTranslatedModel().createInstance();
+        instance.getAnimationPlayer(0).play();
+        final var time = new Time();
+        time.advance(0.1f);
+        for (var frame = 0; frame < 8; frame++) {
+            instance.update(time, AnimationLod.QUARTER_RATE);
+        }
+
+        for (var frame = 0; frame < 4; frame++) {
+            final var previousX = instance.getLocalTransform(0).getTranslation().x();
+            final var previousY = instance.getLocalTransform(1).getTranslation().y();
+            instance.update(time, AnimationLod.QUARTER_RATE);
+            assertEquals(0.1f, instance.getLocalTransform(0).getTranslation().x() - previousX, EPSILON);
+            assertEquals(0.1f, instance.getLocalTransform(1).getTranslation().y() - previousY, EPSILON);
+        }
+    }
+
+    @Test
+    void itShouldOnlyAnimateRootNodesWhenRootOnly() {
+        final var instance = createTranslatedModel().createInstance();
+        instance.getAnimationPlayer(0).play();
+        final var time = new Time();
+        time.advance(0.5f);
+
+        instance.update(time, AnimationLod.ROOT_ONLY);
+
+        assertVectorEquals(new Vector3f(0.5f, 0f, 0f), instance.getLocalTransform(0).getTranslation());
+        assertVectorEquals(new Vector3f(), instance.getLocalTransform(1).getTranslation());
+    }
+
+    @Test
+    void itShouldKeepPalettesDirtyUntilRebuilt() {
+        final var instance = createSkinnedModel().createInstance();
+        final var root = new Transform();
+        instance.updatePose(root);
+        assertTrue(instance.isPaletteDirty(0));
+
+        instance.updatePose(root);
+        assertTrue(instance.isPaletteDirty(0));
+
+        instance.updatePalette(0);
+        assertFalse(instance.isPaletteDirty(0));
+    }
+
+    /**
+     * Create a model with a root node and its child, both translated by one unit per second by an animation,
+     * along X for the root and along Y for the child.
+     */
+    private static Model createTranslatedModel() {
+        final var model = new Model();
+        final var root = model.addNode();
+        final var child = root.addChild();
+        final var times = new float[]{0f, 10f};
+        model.setAnimations(List.of(Animation.builder()
+                .channel(root.getIndex(), new AnimationChannel(ChannelPath.TRANSLATION, InterpolationMode.LINEAR, times,
+                        new float[]{0f, 0f, 0f, 10f, 0f, 0f}))
+                .channel(child.getIndex(), new AnimationChannel(ChannelPath.TRANSLATION, InterpolationMode.LINEAR, times,
+                        new float[]{0f, 0f, 0f, 0f, 10f, 0f}))
+                .build()));
+        return model;
+    }
+
+    /**
+     * Create a model with a skinned root node at (1, 0, 0) with two joints pointing to its child at (0, 2, 0).
+     * Both joints have an inverse bind matrix translating by (0, -2, 0).
+     */
+    private static Model createSkinnedModel() {
+        final var model = new Model();
+        final var skinnedNode = model.addNode(new Transform().setTranslation(1f, 0f, 0f));
+        final var jointNode = skinnedNode.addChild(new Transform().setTranslation(0f, 2f, 0f));
+        final var inverseBindMatrix = new Matrix4f().translation(0f, -2f, 0f);
+        skinnedNode.setJoints(List.of(new Joint(jointNode.getIndex(), inverseBindMatrix), new Joint(jointNode.getIndex(), inverseBindMatrix)));
+        return model;
+    }
+
+    private static Vector3fc getPaletteTranslation(final ModelInstance instance, final int nodeIndex, final int jointIndex) {
+        final var matrix = new Matrix4f().set(instance.getPalette(), instance.getPaletteOffset(nodeIndex) + jointIndex * 16);
+        return matrix.getTranslation(new Vector3f());
+    }
+
+    private static void assertVectorEquals(final Vector3fc expected, final Vector3fc actual) {
+        assertEquals(expected.x(), actual.x(), EPSILON);
+        assertEquals(expected.y(), actual.y(), EPSILON);
+        assertEquals(expected.z(), actual.z(), EPSILON);
+    }
+}
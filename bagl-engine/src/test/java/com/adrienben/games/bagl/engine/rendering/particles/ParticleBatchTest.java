@@ -0,0 +1,56 @@
+package com.adrienben.games.bagl.engine.rendering.particles;
+
+import com.adrienben.games.bagl.core.Color;
+import com.adrienben.games.bagl.engine.Time;
+import org.joml.Vector3f;
+import org.junit.jupiter.api.Test;
+
+import java.nio.FloatBuffer;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link ParticleBatch} test class.
+ *
+ * @author adrien
+ */
+class ParticleBatchTest {
+
+    @Test
+    void itShouldSortParticlesFromBackToFront() {
+        final var random = new Random(42);
+        final var eye = new Vector3f(1f, 2f, 3f);
+        final var emitter = createEmitter(() -> new Vector3f(random.nextFloat() * 20f - 10f, random.nextFloat() * 20f - 10f,
+                random.nextFloat() * 20f - 10f), 1000);
+        final var batch = new ParticleBatch();
+        final var vertices = FloatBuffer.allocate(1000 * ParticleBatch.ELEMENTS_PER_VERTEX);
+
+        batch.collect(emitter);
+        batch.sortBackToFront(eye);
+        batch.generateVertices(vertices);
+
+        assertEquals(1000, batch.size());
+        var previousDistance = Float.POSITIVE_INFINITY;
+        for (var i = 0; i < batch.size(); i++) {
+            final var index = i * ParticleBatch.ELEMENTS_PER_VERTEX;
+            final var distance = eye.distanceSquared(vertices.get(index), vertices.get(index + 1), vertices.get(index + 2));
+            assertTrue(distance <= previousDistance);
+            previousDistance = distance;
+        }
+    }
+
+    private static ParticleEmitter createEmitter(final Supplier<Vector3f> position, final int count) {
+        final var emitter = ParticleEmitter.builder()
+                .batchSize(count)
+                .rate(1f)
+                .maxTtl(10f)
+                .initializer(particle -> particle.reset(position.get(), new Vector3f(), 1f, 0f, Color.WHITE, Color.WHITE, 10f))
+                .build();
+        final var time = new Time();
+        time.advance(1f);
+        emitter.update(time);
+        return emitter;
+    }
+}
@@ -0,0 +1,86 @@
+package com.adrienben.games.bagl.engine.rendering.particles;
+
+import com.adrienben.games.bagl.core.Color;
+import com.adrienben.games.bagl.engine.Time;
+import org.joml.Vector3f;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link ParticleEmitter} test class.
+ *
+ * @author adrien
+ */
+class ParticleEmitterTest {
+
+    @Test
+    void itShouldSizeTheParticleStoreFromTheRateAndTheMaxTtl() {
+        final var emitter = createEmitter(0.1f, 10, 1f).build();
+
+        assertEquals(110, emitter.getParticles().getCapacity());
+    }
+
+    @Test
+    void itShouldNotExceedTheMaxParticleCount() {
+        final var emitter = createEmitter(0.1f, 1000, 100f).build();
+
+        assertEquals(ParticleEmitter.MAX_PARTICLE_COUNT, emitter.getParticles().getCapacity());
+    }
+
+    @Test
+    void itShouldKeepASteadyNumberOfParticles() {
+        final var emitter = createEmitter(0.1f, 10, 1f).build();
+        final var time = new Time();
+        time.advance(0.1f);
+
+        for (var i = 0; i < 100; i++) {
+            emitter.update(time);
+        }
+
+        assertEquals(100, emitter.getParticles().size());
+        assertEquals(110, emitter.getParticles().getCapacity());
+    }
+
+    @Test
+    void itShouldBoundTheParticlesAndThePositionOfTheEmitter() {
+        final var emitter = createEmitter(1f, 1, 10f).position(new Vector3f(1f, 0f, 0f)).build();
+        final var time = new Time();
+        time.advance(1f);
+
+        emitter.update(time);
+        emitter.setPosition(new Vector3f(-4f, 0f, 0f));
+        emitter.update(time);
+
+        assertTrue(emitter.getBounds().minX() <= -4f);
+        assertTrue(emitter.getBounds().maxX() > 1f);
+    }
+
+    @Test
+    void itShouldFreezeCulledEmittersThatShouldNotBeSimulatedWhenCulled() {
+        final var emitter = createEmitter(0.1f, 10, 1f).simulateWhenCulled(false).build();
+        final var time = new Time();
+        time.advance(0.1f);
+        emitter.update(time);
+
+        emitter.setCulled(true);
+        for (var i = 0; i < 10; i++) {
+            emitter.update(time);
+        }
+        assertEquals(10, emitter.getParticles().size());
+
+        emitter.setCulled(false);
+        emitter.update(time);
+        assertEquals(20, emitter.getParticles().size());
+    }
+
+    private static ParticleEmitter.Builder createEmitter(final float rate, final int batchSize, final float ttl) {
+        return ParticleEmitter.builder()
+                .rate(rate)
+                .batchSize(batchSize)
+                .maxTtl(ttl)
+                .initializer(particle -> particle.reset(new Vector3f(), new Vector3f(0f, 1f, 0f), 1f, 1f,
+                        Color.WHITE, Color.WHITE, ttl));
+    }
+}
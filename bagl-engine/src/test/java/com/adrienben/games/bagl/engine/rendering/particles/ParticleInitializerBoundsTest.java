@@ -0,0 +1,56 @@
+package com.adrienben.games.bagl.engine.rendering.particles;
+
+import com.adrienben.games.bagl.core.Color;
+import org.joml.Vector3f;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link ParticleInitializerBounds} test class.
+ *
+ * @author adrien
+ */
+class ParticleInitializerBoundsTest {
+
+    private static final float EPSILON = 1e-5f;
+
+    @Test
+    void itShouldRecordConstantAttributesAsEmptyRanges() {
+        final var bounds = new ParticleInitializerBounds(particle -> particle.reset(new Vector3f(1f, 2f, 3f), new Vector3f(0f, 2f, 0f),
+                0.5f, 4f, Color.RED, Color.BLUE, 2f), 8);
+
+        assertEquals(new Vector3f(1f, 2f, 3f), bounds.getMinPosition());
+        assertEquals(new Vector3f(1f, 2f, 3f), bounds.getMaxPosition());
+        assertEquals(new Vector3f(0f, 1f, 0f), bounds.getMinDirection());
+        assertEquals(new Vector3f(0f, 1f, 0f), bounds.getMaxDirection());
+        assertEquals(0.5f, bounds.getSize().x(), EPSILON);
+        assertEquals(0.5f, bounds.getSize().y(), EPSILON);
+        assertEquals(4f, bounds.getSpeed().x(), EPSILON);
+        assertEquals(2f, bounds.getTtl().y(), EPSILON);
+        assertEquals(1f, bounds.getMinStartColor().getRed(), EPSILON);
+        assertEquals(0f, bounds.getMaxStartColor().getBlue(), EPSILON);
+        assertEquals(1f, bounds.getMinEndColor().getBlue(), EPSILON);
+    }
+
+    @Test
+    void itShouldRecordTheRangeOfRandomAttributes() {
+        final var random = new Random(42);
+        final var bounds = new ParticleInitializerBounds(particle -> particle.reset(new Vector3f(random.nextFloat() * 2f - 1f, 0f, 0f),
+                new Vector3f(1f, 0f, 0f), 1f, 1f, Color.WHITE, Color.WHITE, 1f + random.nextFloat()), 256);
+
+        assertTrue(bounds.getMinPosition().x() >= -1f && bounds.getMinPosition().x() < -0.9f);
+        assertTrue(bounds.getMaxPosition().x() <= 1f && bounds.getMaxPosition().x() > 0.9f);
+        assertEquals(0f, bounds.getMinPosition().y(), EPSILON);
+        assertTrue(bounds.getTtl().x() >= 1f && bounds.getTtl().x() < 1.1f);
+        assertTrue(bounds.getTtl().y() <= 2f && bounds.getTtl().y() > 1.9f);
+    }
+
+    @Test
+    void itShouldNotAcceptANonPositiveSampleCount() {
+        assertThrows(IllegalArgumentException.class, () -> new ParticleInitializerBounds(particle -> {
+        }, 0));
+    }
+}
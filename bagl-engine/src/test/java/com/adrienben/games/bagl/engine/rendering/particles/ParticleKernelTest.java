@@ -0,0 +1,91 @@
+package com.adrienben.games.bagl.engine.rendering.particles;
+
+import com.adrienben.games.bagl.core.Color;
+import com.adrienben.games.bagl.engine.jobs.JobSystem;
+import org.joml.Vector3f;
+import org.joml.primitives.AABBf;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * {@link ParticleKernel} test class.
+ *
+ * @author adrien
+ */
+class ParticleKernelTest {
+
+    private static final float EPSILON = 1e-5f;
+    private static final int PARTICLE_COUNT = 1001;
+
+    @Test
+    void itShouldIntegrateLikeTheScalarKernelWithTheVectorKernel() {
+        assumeTrue(ParticleKernel.isVectorModuleAvailable() && VectorParticleKernel.isSupported());
+        final var expected = createStore(PARTICLE_COUNT);
+        final var actual = createStore(PARTICLE_COUNT);
+
+        new ScalarParticleKernel().integrate(expected, 3, PARTICLE_COUNT, 0.25f);
+        new VectorParticleKernel().integrate(actual, 3, PARTICLE_COUNT, 0.25f);
+
+        assertStoresEqual(expected, actual);
+    }
+
+    @Test
+    void itShouldBoundLikeTheScalarKernelWithTheVectorKernel() {
+        assumeTrue(ParticleKernel.isVectorModuleAvailable() && VectorParticleKernel.isSupported());
+        final var store = createStore(PARTICLE_COUNT);
+        final var expected = new AABBf();
+        final var actual = new AABBf();
+
+        final var expectedMaxSize = new ScalarParticleKernel().bound(store, expected);
+        final var actualMaxSize = new VectorParticleKernel().bound(store, actual);
+
+        assertEquals(expectedMaxSize, actualMaxSize);
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void itShouldUpdateChunksConcurrentlyLikeSequentially() {
+        final var particleCount = ParticleStore.PARTICLES_PER_JOB * 2 + 17;
+        final var expected = createStore(particleCount);
+        final var actual = createStore(particleCount);
+        final var jobSystem = new JobSystem(2);
+
+        try {
+            expected.update(1f);
+            actual.update(1f, jobSystem);
+        } finally {
+            jobSystem.destroy();
+        }
+
+        assertStoresEqual(expected, actual);
+    }
+
+    private static ParticleStore createStore(final int particleCount) {
+        final var random = new Random(42);
+        final var store = new ParticleStore(particleCount, particleCount);
+        for (var i = 0; i < particleCount; i++) {
+            store.add(new Particle(new Vector3f(random.nextFloat(), random.nextFloat(), random.nextFloat()),
+                    new Vector3f(random.nextFloat(), 1f, random.nextFloat()), 1f, random.nextFloat() * 2f,
+                    new Color(random.nextFloat(), random.nextFloat(), random.nextFloat(), 1f), new Color(0f, 0f, 1f, 0f),
+                    0.5f + random.nextFloat()), new Vector3f());
+        }
+        return store;
+    }
+
+    private static void assertStoresEqual(final ParticleStore expected, final ParticleStore actual) {
+        assertEquals(expected.size(), actual.size());
+        assertArraysEqual(expected.getTimesLeft(), actual.getTimesLeft(), expected.size());
+        assertArraysEqual(expected.getPositions(), actual.getPositions(), expected.size() * ParticleStore.POSITION_SIZE);
+        assertArraysEqual(expected.getColors(), actual.getColors(), expected.size() * ParticleStore.COLOR_SIZE);
+    }
+
+    private static void assertArraysEqual(final float[] expected, final float[] actual, final int length) {
+        for (var i = 0; i < length; i++) {
+            assertEquals(expected[i], actual[i], EPSILON, "Mismatch at index " + i);
+        }
+    }
+}
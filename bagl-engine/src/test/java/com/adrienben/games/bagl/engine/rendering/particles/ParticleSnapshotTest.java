@@ -0,0 +1,70 @@
+package com.adrienben.games.bagl.engine.rendering.particles;
+
+import com.adrienben.games.bagl.core.Color;
+import com.adrienben.games.bagl.engine.Time;
+import com.adrienben.games.bagl.opengl.BlendMode;
+import org.joml.Vector3f;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link ParticleSnapshot} test class.
+ *
+ * @author adrien
+ */
+class ParticleSnapshotTest {
+
+    @Test
+    void itShouldSortTheParticlesOfAllEmittersFromBackToFront() {
+        final var random = new Random(42);
+        final var eye = new Vector3f(1f, 2f, 3f);
+        final var first = createEmitter(random, BlendMode.TRANSPARENCY, 300);
+        final var second = createEmitter(random, BlendMode.TRANSPARENCY, 500);
+        final var snapshot = new ParticleSnapshot();
+
+        snapshot.clear(null, BlendMode.TRANSPARENCY);
+        snapshot.add(first);
+        snapshot.add(second);
+        snapshot.sortBackToFront(eye);
+
+        assertEquals(800, snapshot.getParticleCount());
+        assertEquals(2, snapshot.getEmitterCount());
+        final var vertices = snapshot.getVertices();
+        var previousDistance = Float.POSITIVE_INFINITY;
+        for (var i = 0; i < snapshot.getParticleCount(); i++) {
+            final var index = i * ParticleBatch.ELEMENTS_PER_VERTEX;
+            final var distance = eye.distanceSquared(vertices[index], vertices[index + 1], vertices[index + 2]);
+            assertTrue(distance <= previousDistance);
+            previousDistance = distance;
+        }
+    }
+
+    @Test
+    void itShouldOnlyAcceptEmittersWithTheSameTextureAndBlendMode() {
+        final var random = new Random(42);
+        final var snapshot = new ParticleSnapshot();
+
+        snapshot.clear(null, BlendMode.ADDITIVE);
+
+        assertTrue(snapshot.accepts(createEmitter(random, BlendMode.ADDITIVE, 1)));
+        assertFalse(snapshot.accepts(createEmitter(random, BlendMode.TRANSPARENCY, 1)));
+    }
+
+    private static ParticleEmitter createEmitter(final Random random, final BlendMode blendMode, final int count) {
+        final var emitter = ParticleEmitter.builder()
+                .blendMode(blendMode)
+                .batchSize(count)
+                .rate(1f)
+                .maxTtl(10f)
+                .initializer(particle -> particle.reset(new Vector3f(random.nextFloat() * 20f - 10f, random.nextFloat() * 20f - 10f,
+                        random.nextFloat() * 20f - 10f), new Vector3f(), 1f, 0f, Color.WHITE, Color.WHITE, 10f))
+                .build();
+        final var time = new Time();
+        time.advance(1f);
+        emitter.update(time);
+        return emitter;
+    }
+}
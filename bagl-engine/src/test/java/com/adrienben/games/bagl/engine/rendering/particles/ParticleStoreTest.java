@@ -0,0 +1,124 @@
+package com.adrienben.games.bagl.engine.rendering.particles;
+
+import com.adrienben.games.bagl.core.Color;
+import org.joml.Vector3f;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link ParticleStore} test class.
+ *
+ * @author adrien
+ */
+class ParticleStoreTest {
+
+    private static final float EPSILON = 1e-5f;
+
+    @Test
+    void itShouldMoveParticlesAlongTheirDirectionAtTheirSpeed() {
+        final var store = new ParticleStore(4, 4);
+        store.add(particle(new Vector3f(0f, 0f, 0f), 2f), new Vector3f(1f, 0f, 0f));
+
+        store.update(0.5f);
+
+        assertEquals(1, store.size());
+        assertEquals(1f, store.getPositions()[0], EPSILON);
+        assertEquals(1f, store.getPositions()[1], EPSILON);
+        assertEquals(0f, store.getPositions()[2], EPSILON);
+    }
+
+    @Test
+    void itShouldBlendTheColorOverTheLifeOfTheParticles() {
+        final var store = new ParticleStore(4, 4);
+        store.add(particle(new Vector3f(), 2f), new Vector3f());
+
+        store.update(0.5f);
+
+        final var colors = store.getColors();
+        assertEquals(0.75f, colors[0], EPSILON);
+        assertEquals(0.25f, colors[2], EPSILON);
+        assertEquals(1f, colors[3], EPSILON);
+    }
+
+    @Test
+    void itShouldKeepAliveParticlesPackedAtTheFront() {
+        final var store = new ParticleStore(4, 4);
+        store.add(particle(new Vector3f(0f, 0f, 0f), 0.5f), new Vector3f());
+        store.add(particle(new Vector3f(1f, 0f, 0f), 2f), new Vector3f());
+        store.add(particle(new Vector3f(2f, 0f, 0f), 0.5f), new Vector3f());
+        store.add(particle(new Vector3f(3f, 0f, 0f), 2f), new Vector3f());
+
+        store.update(1f);
+
+        assertEquals(2, store.size());
+        assertEquals(3f, store.getPositions()[0], EPSILON);
+        assertEquals(1f, store.getPositions()[3], EPSILON);
+        assertEquals(1f, store.getTimesLeft()[0], EPSILON);
+        assertEquals(1f, store.getTimesLeft()[1], EPSILON);
+    }
+
+    @Test
+    void itShouldGrowUpToTheMaxCapacity() {
+        final var store = new ParticleStore(2, 5);
+
+        for (var i = 0; i < 5; i++) {
+            assertTrue(store.add(particle(new Vector3f(), 1f), new Vector3f()));
+        }
+
+        assertEquals(5, store.size());
+        assertEquals(5, store.getCapacity());
+        assertFalse(store.add(particle(new Vector3f(), 1f), new Vector3f()));
+        assertEquals(5, store.size());
+    }
+
+    @Test
+    void itShouldDiscardDeadParticlesWithoutGrowing() {
+        final var store = new ParticleStore(1, 2);
+        store.add(particle(new Vector3f(), 1f), new Vector3f());
+
+        assertTrue(store.add(particle(new Vector3f(), 0f), new Vector3f()));
+
+        assertEquals(1, store.size());
+        assertEquals(1, store.getCapacity());
+    }
+
+    @Test
+    void itShouldBoundTheAliveParticles() {
+        final var store = new ParticleStore(4, 4);
+        store.add(particle(new Vector3f(-1f, 0f, 0f), 2f), new Vector3f());
+        store.add(particle(new Vector3f(5f, 0f, 0f), 0.5f), new Vector3f());
+        store.add(particle(new Vector3f(1f, 0f, 3f), 2f), new Vector3f());
+
+        store.update(1f);
+
+        final var radius = (float) Math.sqrt(2.0) / 2f;
+        final var bounds = store.getBounds();
+        assertEquals(-1f - radius, bounds.minX(), EPSILON);
+        assertEquals(2f - radius, bounds.minY(), EPSILON);
+        assertEquals(-radius, bounds.minZ(), EPSILON);
+        assertEquals(1f + radius, bounds.maxX(), EPSILON);
+        assertEquals(2f + radius, bounds.maxY(), EPSILON);
+        assertEquals(3f + radius, bounds.maxZ(), EPSILON);
+    }
+
+    @Test
+    void itShouldHaveInvalidBoundsWhenEmpty() {
+        final var store = new ParticleStore(4, 4);
+        store.add(particle(new Vector3f(), 0.5f), new Vector3f());
+
+        store.update(1f);
+
+        assertFalse(store.getBounds().isValid());
+    }
+
+    @Test
+    void itShouldFailWhenTheInitialCapacityIsGreaterThanTheMaxCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new ParticleStore(10, 5));
+    }
+
+    private static Particle particle(final Vector3f position, final float ttl) {
+        return new Particle(position, new Vector3f(0f, 2f, 0f), 1f, 2f,
+                new Color(1f, 0f, 0f, 1f), new Color(0f, 0f, 1f, 1f), ttl);
+    }
+}
@@ -0,0 +1,143 @@
+package com.adrienben.games.bagl.engine.resource.mesh;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link MeshOptimizer} test class.
+ *
+ * @author adrien
+ */
+class MeshOptimizerTest {
+
+    private static final int GRID_SIZE = 64;
+    private static final int CACHE_SIZE = VertexCacheOptimizer.DEFAULT_CACHE_SIZE;
+
+    private final MeshOptimizer meshOptimizer = new MeshOptimizer();
+
+    @Test
+    void itShouldComputeAcmr() {
+        final var indices = new int[]{0, 1, 2, 2, 1, 3};
+        assertEquals(2f, VertexCacheOptimizer.computeAcmr(indices, 4, CACHE_SIZE));
+    }
+
+    @Test
+    void itShouldImproveAcmrOfShuffledGrid() {
+        final var indices = shuffleTriangles(createGrid());
+        final var vertexCount = GRID_SIZE * GRID_SIZE;
+
+        final var optimized = meshOptimizer.optimize(indices, vertexCount, createGridPositions());
+
+        assertTrue(optimized.acmrAfter() < optimized.acmrBefore());
+        assertTrue(optimized.acmrAfter() < 1f);
+        assertEquals(VertexCacheOptimizer.computeAcmr(optimized.indices(), optimized.vertexCount(), CACHE_SIZE), optimized.acmrAfter());
+    }
+
+    @Test
+    void itShouldKeepTheSameTriangles() {
+        final var indices = shuffleTriangles(createGrid());
+        final var vertexCount = GRID_SIZE * GRID_SIZE;
+
+        final var optimized = meshOptimizer.optimize(indices, vertexCount, createGridPositions());
+
+        final var inverseRemapping = new int[optimized.vertexCount()];
+        final var remapping = optimized.vertexRemapping();
+        for (var vertex = 0; vertex < remapping.length; vertex++) {
+            inverseRemapping[remapping[vertex]] = vertex;
+        }
+        final var restored = Arrays.stream(optimized.indices()).map(index -> inverseRemapping[index]).toArray();
+        assertArrayEquals(normalizeTriangles(indices), normalizeTriangles(restored));
+    }
+
+    @Test
+    void itShouldRemapVerticesInFetchOrder() {
+        final var indices = new int[]{3, 1, 2, 2, 1, 0};
+        final var vertexFetchOptimizer = new VertexFetchOptimizer();
+
+        final var remapping = vertexFetchOptimizer.computeRemapping(indices, 5);
+
+        assertArrayEquals(new int[]{3, 1, 2, 0, VertexFetchOptimizer.UNUSED_VERTEX}, remapping);
+        assertEquals(4, vertexFetchOptimizer.countRemappedVertices(remapping));
+    }
+
+    @Test
+    void itShouldAllowShortIndicesUpToTheLimit() {
+        assertTrue(MeshOptimizer.canUseShortIndices(MeshOptimizer.MAX_SHORT_INDEXED_VERTEX_COUNT));
+        Assertions.assertFalse(MeshOptimizer.canUseShortIndices(MeshOptimizer.MAX_SHORT_INDEXED_VERTEX_COUNT + 1));
+    }
+
+    @Test
+    void itShouldFailWhenIndexCountIsNotAMultipleOfThree() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> meshOptimizer.optimize(new int[]{0, 1}, 2, null));
+    }
+
+    private static int[] createGrid() {
+        final var cellCount = GRID_SIZE - 1;
+        final var indices = new int[cellCount * cellCount * 6];
+        var index = 0;
+        for (var y = 0; y < cellCount; y++) {
+            for (var x = 0; x < cellCount; x++) {
+                final var topLeft = y * GRID_SIZE + x;
+                final var bottomLeft = topLeft + GRID_SIZE;
+                indices[index++] = topLeft;
+                indices[index++] = bottomLeft;
+                indices[index++] = topLeft + 1;
+                indices[index++] = topLeft + 1;
+                indices[index++] = bottomLeft;
+                indices[index++] = bottomLeft + 1;
+            }
+        }
+        return indices;
+    }
+
+    private static float[] createGridPositions() {
+        final var positions = new float[GRID_SIZE * GRID_SIZE * 3];
+        for (var vertex = 0; vertex < GRID_SIZE * GRID_SIZE; vertex++) {
+            positions[vertex * 3] = vertex % GRID_SIZE;
+            positions[vertex * 3 + 2] = (float) vertex / GRID_SIZE;
+        }
+        return positions;
+    }
+
+    private static int[] shuffleTriangles(final int[] indices) {
+        final var triangleCount = indices.length / 3;
+        final var shuffled = new int[indices.length];
+        for (var triangle = 0; triangle < triangleCount; triangle++) {
+            // deterministic shuffle, 7919 is prime so the mapping is a permutation
+            final var source = (int) ((long) triangle * 7919 % triangleCount);
+            System.arraycopy(indices, source * 3, shuffled, triangle * 3, 3);
+        }
+        return shuffled;
+    }
+
+    /**
+     * Rotate each triangle so its smallest index comes first (keeping the winding) then sort triangles.
+     */
+    private static int[] normalizeTriangles(final int[] indices) {
+        return IntStream.range(0, indices.length / 3)
+                .mapToObj(triangle -> {
+                    final var a = indices[triangle * 3];
+                    final var b = indices[triangle * 3 + 1];
+                    final var c = indices[triangle * 3 + 2];
+                    if (a <= b && a <= c) {
+                        return new int[]{a, b, c};
+                    } else if (b <= a && b <= c) {
+                        return new int[]{b, c, a};
+                    }
+                    return new int[]{c, a, b};
+                })
+                .sorted(Comparator.<int[]>comparingInt(triangle -> triangle[0])
+                        .thenComparingInt(triangle -> triangle[1])
+                        .thenComparingInt(triangle -> triangle[2]))
+                .flatMapToInt(Arrays::stream)
+                .toArray();
+    }
+}
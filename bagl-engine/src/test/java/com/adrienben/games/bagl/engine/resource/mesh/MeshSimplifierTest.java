@@ -0,0 +1,264 @@
+package com.adrienben.games.bagl.engine.resource.mesh;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link MeshSimplifier} and {@link MeshLodGenerator} test class.
+ *
+ * @author adrien
+ */
+class MeshSimplifierTest {
+
+    private static final int GRID_SIZE = 32;
+    private static final int VERTEX_COUNT = GRID_SIZE * GRID_SIZE;
+    private static final int CUBE_FACE_SIZE = 6;
+
+    /**
+     * Origin, first axis and second axis of each face of a cube. The cross product of the axes points outside.
+     */
+    private static final float[][] CUBE_FACES = {
+            {1f, -1f, -1f, 0f, 2f, 0f, 0f, 0f, 2f},
+            {-1f, -1f, -1f, 0f, 0f, 2f, 0f, 2f, 0f},
+            {-1f, 1f, -1f, 0f, 0f, 2f, 2f, 0f, 0f},
+            {-1f, -1f, -1f, 2f, 0f, 0f, 0f, 0f, 2f},
+            {-1f, -1f, 1f, 2f, 0f, 0f, 0f, 2f, 0f},
+            {-1f, -1f, -1f, 0f, 2f, 0f, 2f, 0f, 0f}
+    };
+
+    private final MeshSimplifier meshSimplifier = new MeshSimplifier();
+
+    @Test
+    void itShouldSimplifyFlatGridWithoutError() {
+        final var indices = createGrid();
+
+        final var simplified = meshSimplifier.simplify(indices, createGridPositions(0f), VERTEX_COUNT, indices.length / 4, 0.01f, GRID_SIZE);
+
+        assertTrue(simplified.indices().length <= indices.length / 4 + 3);
+        assertEquals(0f, simplified.error(), 1e-5f);
+    }
+
+    @Test
+    void itShouldNotMoveBorderVertices() {
+        final var indices = createGrid();
+
+        final var simplified = meshSimplifier.simplify(indices, createGridPositions(0f), VERTEX_COUNT, 0, 1f, GRID_SIZE);
+
+        final var usedVertices = Arrays.stream(simplified.indices()).distinct().toArray();
+        for (var border = 0; border < GRID_SIZE; border++) {
+            final var corner = border;
+            assertTrue(Arrays.stream(usedVertices).anyMatch(vertex -> vertex == corner));
+        }
+    }
+
+    @Test
+    void itShouldRespectTargetError() {
+        final var indices = createGrid();
+
+        final var simplified = meshSimplifier.simplify(indices, createGridPositions(1f), VERTEX_COUNT, 0, 0.001f, GRID_SIZE);
+
+        assertTrue(simplified.error() <= 0.001f);
+        assertTrue(simplified.indices().length < indices.length);
+    }
+
+    @Test
+    void itShouldCollapseSeamVerticesAlongTheirSeam() {
+        final var positions = createSplitCubePositions();
+        final var indices = createSplitCube();
+        final var vertexCount = positions.length / 3;
+
+        final var simplified = meshSimplifier.simplify(indices, positions, vertexCount, 0, 0.01f, 1f);
+
+        assertEquals(12, simplified.indices().length / 3);
+        assertEquals(0f, simplified.error(), 1e-5f);
+        assertTrue(isClosedOnceWelded(simplified.indices(), positions));
+        for (final var vertex : simplified.indices()) {
+            assertEquals(1f, Math.abs(positions[vertex * 3]), 1e-5f);
+            assertEquals(1f, Math.abs(positions[vertex * 3 + 1]), 1e-5f);
+            assertEquals(1f, Math.abs(positions[vertex * 3 + 2]), 1e-5f);
+        }
+    }
+
+    @Test
+    void itShouldGenerateDecreasingLodChain() {
+        final var indices = createGrid();
+        final var lodGenerator = new MeshLodGenerator(new float[]{0.01f, 0.02f, 0.05f});
+
+        final var lods = lodGenerator.generate(indices, createGridPositions(0f), VERTEX_COUNT, GRID_SIZE);
+
+        assertEquals(3, lods.size());
+        var previousLength = indices.length;
+        for (final var lod : lods) {
+            assertTrue(lod.indices().length < previousLength);
+            previousLength = lod.indices().length;
+        }
+    }
+
+    @Test
+    void itShouldStoreErrorsBoundingTheDeviationFromTheFullDetailMesh() {
+        final var indices = createGrid();
+        final var positions = createGridPositions(1f);
+        final var lodGenerator = new MeshLodGenerator(new float[]{0.002f, 0.005f, 0.01f, 0.02f, 0.04f});
+
+        final var lods = lodGenerator.generate(indices, positions, VERTEX_COUNT, GRID_SIZE);
+
+        assertTrue(lods.size() > 1);
+        var previousError = 0f;
+        for (final var lod : lods) {
+            assertTrue(lod.error() >= previousError);
+            assertTrue(computeMaxDeviation(lod.indices(), positions) <= lod.error() * GRID_SIZE + 1e-4f);
+            previousError = lod.error();
+        }
+    }
+
+    /**
+     * Compute the largest vertical distance between the vertices of the full detail grid and the surface
+     * of a simplified grid. Simplified grids still cover the whole grid since border vertices are never moved.
+     */
+    private static float computeMaxDeviation(final int[] indices, final float[] positions) {
+        var maxDeviation = 0f;
+        for (var vertex = 0; vertex < VERTEX_COUNT; vertex++) {
+            final var x = positions[vertex * 3];
+            final var z = positions[vertex * 3 + 2];
+            for (var triangle = 0; triangle < indices.length / 3; triangle++) {
+                final var height = interpolateHeight(positions, indices[triangle * 3], indices[triangle * 3 + 1], indices[triangle * 3 + 2], x, z);
+                if (!Float.isNaN(height)) {
+                    maxDeviation = Math.max(maxDeviation, Math.abs(height - positions[vertex * 3 + 1]));
+                    break;
+                }
+            }
+        }
+        return maxDeviation;
+    }
+
+    /**
+     * Interpolate the height of a triangle at (x, z).
+     *
+     * @return The interpolated height or NaN if the triangle does not cover (x, z).
+     */
+    private static float interpolateHeight(final float[] positions, final int a, final int b, final int c, final float x, final float z) {
+        final var ax = positions[a * 3];
+        final var az = positions[a * 3 + 2];
+        final var bx = positions[b * 3] - ax;
+        final var bz = positions[b * 3 + 2] - az;
+        final var cx = positions[c * 3] - ax;
+        final var cz = positions[c * 3 + 2] - az;
+        final var px = x - ax;
+        final var pz = z - az;
+        final var determinant = bx * cz - bz * cx;
+        final var u = (px * cz - pz * cx) / determinant;
+        final var v = (bx * pz - bz * px) / determinant;
+        final var tolerance = 1e-5f;
+        if (u < -tolerance || v < -tolerance || u + v > 1f + tolerance) {
+            return Float.NaN;
+        }
+        return positions[a * 3 + 1] + u * (positions[b * 3 + 1] - positions[a * 3 + 1]) + v * (positions[c * 3 + 1] - positions[a * 3 + 1]);
+    }
+
+    /**
+     * Create the indices of a flat shaded cube. Each face is a grid of {@value #CUBE_FACE_SIZE} by
+     * {@value #CUBE_FACE_SIZE} vertices that are not shared with the other faces, so the edges of the cube are seams.
+     */
+    private static int[] createSplitCube() {
+        final var cellCount = CUBE_FACE_SIZE - 1;
+        final var indices = new int[CUBE_FACES.length * cellCount * cellCount * 6];
+        var index = 0;
+        for (var face = 0; face < CUBE_FACES.length; face++) {
+            final var firstVertex = face * CUBE_FACE_SIZE * CUBE_FACE_SIZE;
+            for (var j = 0; j < cellCount; j++) {
+                for (var i = 0; i < cellCount; i++) {
+                    final var vertex = firstVertex + j * CUBE_FACE_SIZE + i;
+                    indices[index++] = vertex;
+                    indices[index++] = vertex + 1;
+                    indices[index++] = vertex + CUBE_FACE_SIZE + 1;
+                    indices[index++] = vertex;
+                    indices[index++] = vertex + CUBE_FACE_SIZE + 1;
+                    indices[index++] = vertex + CUBE_FACE_SIZE;
+                }
+            }
+        }
+        return indices;
+    }
+
+    /**
+     * Create the positions of the vertices of {@link MeshSimplifierTest#createSplitCube()}. The cube spans from -1 to 1.
+     */
+    private static float[] createSplitCubePositions() {
+        final var positions = new float[CUBE_FACES.length * CUBE_FACE_SIZE * CUBE_FACE_SIZE * 3];
+        var index = 0;
+        for (final var face : CUBE_FACES) {
+            for (var j = 0; j < CUBE_FACE_SIZE; j++) {
+                for (var i = 0; i < CUBE_FACE_SIZE; i++) {
+                    final var u = (float) i / (CUBE_FACE_SIZE - 1);
+                    final var v = (float) j / (CUBE_FACE_SIZE - 1);
+                    for (var component = 0; component < 3; component++) {
+                        positions[index++] = face[component] + face[3 + component] * u + face[6 + component] * v;
+                    }
+                }
+            }
+        }
+        return positions;
+    }
+
+    /**
+     * Check that each edge of a triangle list has an opposite edge once vertices are welded by position.
+     */
+    private static boolean isClosedOnceWelded(final int[] indices, final float[] positions) {
+        final var halfEdges = new HashSet<List<Float>>();
+        for (var i = 0; i < indices.length; i++) {
+            halfEdges.add(weldedEdge(positions, indices[i], indices[i - i % 3 + (i + 1) % 3]));
+        }
+        for (var i = 0; i < indices.length; i++) {
+            if (!halfEdges.contains(weldedEdge(positions, indices[i - i % 3 + (i + 1) % 3], indices[i]))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<Float> weldedEdge(final float[] positions, final int from, final int to) {
+        return List.of(positions[from * 3], positions[from * 3 + 1], positions[from * 3 + 2],
+                positions[to * 3], positions[to * 3 + 1], positions[to * 3 + 2]);
+    }
+
+    private static int[] createGrid() {
+        final var cellCount = GRID_SIZE - 1;
+        final var indices = new int[cellCount * cellCount * 6];
+        var index = 0;
+        for (var y = 0; y < cellCount; y++) {
+            for (var x = 0; x < cellCount; x++) {
+                final var topLeft = y * GRID_SIZE + x;
+                final var bottomLeft = topLeft + GRID_SIZE;
+                indices[index++] = topLeft;
+                indices[index++] = bottomLeft;
+                indices[index++] = topLeft + 1;
+                indices[index++] = topLeft + 1;
+                indices[index++] = bottomLeft;
+                indices[index++] = bottomLeft + 1;
+            }
+        }
+        return indices;
+    }
+
+    /**
+     * Create the positions of a grid lying on the xz plane. Vertices are moved along the y axis
+     * following a sine wave of amplitude {@code waveHeight}.
+     */
+    private static float[] createGridPositions(final float waveHeight) {
+        final var positions = new float[VERTEX_COUNT * 3];
+        for (var vertex = 0; vertex < VERTEX_COUNT; vertex++) {
+            final var x = vertex % GRID_SIZE;
+            final var z = vertex / GRID_SIZE;
+            positions[vertex * 3] = x;
+            positions[vertex * 3 + 1] = waveHeight * (float) Math.sin(x * 0.5f);
+            positions[vertex * 3 + 2] = z;
+        }
+        return positions;
+    }
+}
@@ -2,6 +2,7 @@ package com.adrienben.games.bagl.opengl;
 
 import com.adrienben.games.bagl.core.Color;
 import com.adrienben.games.bagl.core.exception.EngineException;
+import com.adrienben.games.bagl.opengl.profiling.FrameCounters;
 import com.adrienben.games.bagl.opengl.texture.Format;
 import com.adrienben.games.bagl.opengl.texture.Texture2D;
 import com.adrienben.games.bagl.opengl.texture.TextureParameters;
@@ -179,6 +180,25 @@ public class FrameBuffer {
         glBindFramebuffer(GL_READ_FRAMEBUFFER, this.handle);
     }
 
+    /**
+     * Copy the bottom left region of the color output of another frame buffer into this frame buffer
+     * <p>
+     * The region is stretched to cover this whole frame buffer using linear filtering
+     *
+     * @param frameBuffer The frame buffer to copy from
+     * @param width       The width of the region to copy
+     * @param height      The height of the region to copy
+     * @throws EngineException if this frame buffer is not bound
+     */
+    public void copyColorFrom(final FrameBuffer frameBuffer, final int width, final int height) {
+        if (!this.isBound()) {
+            throw new EngineException("You cannot blit a frame buffer to an unbound frame buffer");
+        }
+        glBindFramebuffer(GL_READ_FRAMEBUFFER, frameBuffer.getHandle());
+        glBlitFramebuffer(0, 0, width, height, 0, 0, this.width, this.height, GL_COLOR_BUFFER_BIT, GL_LINEAR);
+        glBindFramebuffer(GL_READ_FRAMEBUFFER, this.handle);
+    }
+
     /**
      * Clear this frame buffer
      *
@@ -212,6 +232,7 @@ public class FrameBuffer {
         if (!this.isBound()) {
             glBindFramebuffer(GL_FRAMEBUFFER, this.handle);
             FrameBuffer.boundBuffer = this.handle;
+            FrameCounters.countFrameBufferBind();
         }
     }
 
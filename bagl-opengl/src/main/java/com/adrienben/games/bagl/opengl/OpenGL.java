@@ -2,6 +2,8 @@ package com.adrienben.games.bagl.opengl;
 
 import com.adrienben.games.bagl.core.Color;
 import com.adrienben.games.bagl.core.utils.CollectionUtils;
+import com.adrienben.games.bagl.opengl.commands.CommandList;
+import com.adrienben.games.bagl.opengl.profiling.FrameCounters;
 import com.adrienben.games.bagl.opengl.shader.compute.Barrier;
 import com.adrienben.games.bagl.opengl.texture.Texture;
 import com.adrienben.games.bagl.opengl.texture.Type;
@@ -16,6 +18,7 @@ import static org.lwjgl.opengl.GL13.GL_TEXTURE0;
 import static org.lwjgl.opengl.GL13.glActiveTexture;
 import static org.lwjgl.opengl.GL42.*;
 import static org.lwjgl.opengl.GL43.glDispatchCompute;
+import static org.lwjgl.opengl.GL43.glDispatchComputeIndirect;
 
 /**
  * OpenGL utility.
@@ -35,28 +38,43 @@ public final class OpenGL {
 
     /**
      * Bind a texture on a texture unit.
+     * <p>
+     * If a {@link CommandList} is recording on the calling thread, the bind is recorded instead.
      *
      * @param texture     The texture to bind.
      * @param textureUnit The texture unit to use.
      * @throws IllegalArgumentException if the texture unit is already used by another texture.
      */
     public static void bindTexture(final Texture texture, final int textureUnit) {
+        final var recording = CommandList.getRecording();
+        if (Objects.nonNull(recording)) {
+            recording.bindTexture(textureUnit, texture.getType(), texture.getHandle());
+            return;
+        }
         if (Objects.nonNull(BOUND_TEXTURES[textureUnit])) {
             throw new IllegalArgumentException("You cannot bind several textures to the same texture unit");
         }
         glActiveTexture(GL_TEXTURE0 + textureUnit);
         glBindTexture(texture.getType().getGlCode(), texture.getHandle());
         BOUND_TEXTURES[textureUnit] = texture;
+        FrameCounters.countTextureBind();
     }
 
     /**
      * Unbind a texture from a texture unit.
+     * <p>
+     * If a {@link CommandList} is recording on the calling thread, the unbind is recorded instead.
      *
      * @param texture     The texture to bind.
      * @param textureUnit The texture unit to use.
      * @throws IllegalArgumentException if the texture is not bound on the given texture unit.
      */
     public static void unbindTexture(final Texture texture, final int textureUnit) {
+        final var recording = CommandList.getRecording();
+        if (Objects.nonNull(recording)) {
+            recording.bindTexture(textureUnit, texture.getType(), 0);
+            return;
+        }
         final var boundTexture = BOUND_TEXTURES[textureUnit];
         if (!texture.equals(boundTexture)) {
             throw new IllegalArgumentException(String.format("You cannot unbind texture %d from unit %d since it is not bound", texture.getHandle(), textureUnit));
@@ -168,6 +186,16 @@ public final class OpenGL {
         glDispatchCompute(x, y, z);
     }
 
+    /**
+     * Perform a compute dispatch whose work group counts are read from the buffer bound to
+     * {@link com.adrienben.games.bagl.opengl.buffer.BufferTarget#DISPATCH_INDIRECT}.
+     *
+     * @param offset The offset in bytes of the three work group counts in the bound buffer
+     */
+    public static void dispatchComputeIndirect(final long offset) {
+        glDispatchComputeIndirect(offset);
+    }
+
     /**
      * Set up memory barriers.
      *
@@ -224,4 +252,33 @@ public final class OpenGL {
     public static void disableDepthWrite() {
         glDepthMask(false);
     }
+
+    /**
+     * Enable face culling.
+     * <p>
+     * If a {@link CommandList} is recording on the calling thread, the change is recorded instead.
+     */
+    public static void enableFaceCulling() {
+        setFaceCulling(true);
+    }
+
+    /**
+     * Disable face culling.
+     * <p>
+     * If a {@link CommandList} is recording on the calling thread, the change is recorded instead.
+     */
+    public static void disableFaceCulling() {
+        setFaceCulling(false);
+    }
+
+    private static void setFaceCulling(final boolean enabled) {
+        final var recording = CommandList.getRecording();
+        if (Objects.nonNull(recording)) {
+            recording.setFaceCulling(enabled);
+        } else if (enabled) {
+            glEnable(GL_CULL_FACE);
+        } else {
+            glDisable(GL_CULL_FACE);
+        }
+    }
 }
@@ -19,6 +19,17 @@ public enum PrimitiveType {
         this.glCode = glCode;
     }
 
+    /**
+     * Compute the number of primitives assembled from {@code vertexCount} vertices.
+     */
+    public int getPrimitiveCount(final int vertexCount) {
+        return switch (this) {
+            case POINTS -> vertexCount;
+            case TRIANGLES -> vertexCount / 3;
+            case TRIANGLE_STRIP -> Math.max(vertexCount - 2, 0);
+        };
+    }
+
     public int getGlCode() {
         return this.glCode;
     }
@@ -1,5 +1,7 @@
 package com.adrienben.games.bagl.opengl.buffer;
 
+import com.adrienben.games.bagl.opengl.profiling.FrameCounters;
+
 import java.nio.*;
 
 import static org.lwjgl.opengl.GL15.*;
@@ -10,6 +12,9 @@ import static org.lwjgl.opengl.GL30.glBindBufferBase;
  * <p>
  * When creating or updating the buffer the underlying OpenGL buffer is bound to the
  * {@link BufferTarget#COPY_WRITE} target.
+ * <p>
+ * The bytes uploaded when creating the buffer from data or when updating it are counted
+ * by {@link FrameCounters}.
  *
  * @author adrien
  */
@@ -17,48 +22,69 @@ public class Buffer {
 
     private final int handle;
 
+    /**
+     * Create a buffer of {@code size} bytes with undefined content.
+     *
+     * @param size  The size of the buffer in bytes.
+     * @param usage The usage of the buffer.
+     */
+    public Buffer(final long size, final BufferUsage usage) {
+        this.handle = glGenBuffers();
+        bindExecuteAndUnbind(() -> glBufferData(BufferTarget.COPY_WRITE.getGlCode(), size, usage.getGlCode()));
+    }
+
     public Buffer(final ByteBuffer data, final BufferUsage usage) {
         this.handle = glGenBuffers();
+        FrameCounters.countUploadedBytes((long) data.remaining());
         bindExecuteAndUnbind(() -> glBufferData(BufferTarget.COPY_WRITE.getGlCode(), data, usage.getGlCode()));
     }
 
     public Buffer(final ShortBuffer data, final BufferUsage usage) {
         this.handle = glGenBuffers();
+        FrameCounters.countUploadedBytes((long) data.remaining() * Short.BYTES);
         bindExecuteAndUnbind(() -> glBufferData(BufferTarget.COPY_WRITE.getGlCode(), data, usage.getGlCode()));
     }
 
     public Buffer(final IntBuffer data, final BufferUsage usage) {
         this.handle = glGenBuffers();
+        FrameCounters.countUploadedBytes((long) data.remaining() * Integer.BYTES);
         bindExecuteAndUnbind(() -> glBufferData(BufferTarget.COPY_WRITE.getGlCode(), data, usage.getGlCode()));
     }
 
     public Buffer(final FloatBuffer data, final BufferUsage usage) {
         this.handle = glGenBuffers();
+        FrameCounters.countUploadedBytes((long) data.remaining() * Float.BYTES);
         bindExecuteAndUnbind(() -> glBufferData(BufferTarget.COPY_WRITE.getGlCode(), data, usage.getGlCode()));
     }
 
     public Buffer(final DoubleBuffer data, final BufferUsage usage) {
         this.handle = glGenBuffers();
+        FrameCounters.countUploadedBytes((long) data.remaining() * Double.BYTES);
         bindExecuteAndUnbind(() -> glBufferData(BufferTarget.COPY_WRITE.getGlCode(), data, usage.getGlCode()));
     }
 
     public void setSubData(final ByteBuffer data, final int offset) {
+        FrameCounters.countUploadedBytes((long) data.remaining());
         bindExecuteAndUnbind(() -> glBufferSubData(BufferTarget.COPY_WRITE.getGlCode(), offset, data));
     }
 
     public void setSubData(final ShortBuffer data, final int offset) {
+        FrameCounters.countUploadedBytes((long) data.remaining() * Short.BYTES);
         bindExecuteAndUnbind(() -> glBufferSubData(BufferTarget.COPY_WRITE.getGlCode(), offset, data));
     }
 
     public void setSubData(final IntBuffer data, final int offset) {
+        FrameCounters.countUploadedBytes((long) data.remaining() * Integer.BYTES);
         bindExecuteAndUnbind(() -> glBufferSubData(BufferTarget.COPY_WRITE.getGlCode(), offset, data));
     }
 
     public void setSubData(final FloatBuffer data, final int offset) {
+        FrameCounters.countUploadedBytes((long) data.remaining() * Float.BYTES);
         bindExecuteAndUnbind(() -> glBufferSubData(BufferTarget.COPY_WRITE.getGlCode(), offset, data));
     }
 
     public void setSubData(final DoubleBuffer data, final int offset) {
+        FrameCounters.countUploadedBytes((long) data.remaining() * Double.BYTES);
         bindExecuteAndUnbind(() -> glBufferSubData(BufferTarget.COPY_WRITE.getGlCode(), offset, data));
     }
 
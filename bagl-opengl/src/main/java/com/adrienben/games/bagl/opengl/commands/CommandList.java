@@ -0,0 +1,367 @@
+package com.adrienben.games.bagl.opengl.commands;
+
+import com.adrienben.games.bagl.core.exception.EngineException;
+import com.adrienben.games.bagl.opengl.DataType;
+import com.adrienben.games.bagl.opengl.PrimitiveType;
+import com.adrienben.games.bagl.opengl.texture.Type;
+import org.joml.Matrix4fc;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * List of rendering commands recorded into a compact binary form.
+ * <p>
+ * Commands are encoded as an op code followed by its arguments in a growable int array. Float
+ * arguments are stored as their raw bits. Encoding does not access the graphics API so lists
+ * can be recorded from any thread and then replayed on the rendering thread.
+ * <p>
+ * While a list is recording on a thread (see {@link CommandList#startRecording()}), the wrappers
+ * of the {@code opengl} module ({@link com.adrienben.games.bagl.opengl.shader.Shader#setUniform(String, int)},
+ * {@link com.adrienben.games.bagl.opengl.texture.Texture#bind(int)}, ...) record into it instead of calling
+ * the graphics API. It allows existing rendering code to be recorded without change.
+ * <p>
+ * A list can only be recorded by one thread at a time.
+ *
+ * @author adrien
+ */
+public class CommandList {
+
+    static final int BIND_PROGRAM = 1;
+    static final int BIND_UNIFORM_BUFFER_RANGE = 2;
+    static final int UNIFORM_1I = 3;
+    static final int UNIFORM_1F = 4;
+    static final int UNIFORM_2F = 5;
+    static final int UNIFORM_3F = 6;
+    static final int UNIFORM_4F = 7;
+    static final int UNIFORM_MATRIX_4F = 8;
+    static final int BIND_TEXTURE = 9;
+    static final int BIND_VERTEX_ARRAY = 10;
+    static final int BIND_INDEX_BUFFER = 11;
+    static final int DRAW_ARRAYS = 12;
+    static final int DRAW_ELEMENTS = 13;
+    static final int SET_FACE_CULLING = 14;
+    static final int UNIFORM_MATRIX_4F_ARRAY = 15;
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final PrimitiveType[] PRIMITIVE_TYPES = PrimitiveType.values();
+    private static final DataType[] DATA_TYPES = DataType.values();
+    private static final Type[] TEXTURE_TYPES = Type.values();
+    private static final ThreadLocal<CommandList> RECORDING = new ThreadLocal<>();
+
+    private final float[] matrix = new float[16];
+    private float[] matrices = new float[0];
+    private int[] data = new int[INITIAL_CAPACITY];
+    private int size;
+    private int commandCount;
+
+    /**
+     * Get the list currently recording on the calling thread.
+     *
+     * @return The recording list or null if the calling thread is not recording.
+     */
+    public static CommandList getRecording() {
+        return RECORDING.get();
+    }
+
+    /**
+     * Check whether a list is recording on the calling thread.
+     */
+    public static boolean isRecording() {
+        return Objects.nonNull(RECORDING.get());
+    }
+
+    /**
+     * Start recording this list on the calling thread.
+     *
+     * @throws EngineException if a list is already recording on the calling thread.
+     */
+    public void startRecording() {
+        if (isRecording()) {
+            throw new EngineException("A command list is already recording on thread " + Thread.currentThread().getName());
+        }
+        RECORDING.set(this);
+    }
+
+    /**
+     * Stop recording this list on the calling thread.
+     *
+     * @throws EngineException if this list is not recording on the calling thread.
+     */
+    public void stopRecording() {
+        if (RECORDING.get() != this) {
+            throw new EngineException("This command list is not recording on thread " + Thread.currentThread().getName());
+        }
+        RECORDING.remove();
+    }
+
+    /**
+     * Record this list on the calling thread while running {@code recording}.
+     *
+     * @param recording The code issuing the commands to record.
+     */
+    public void record(final Runnable recording) {
+        startRecording();
+        try {
+            recording.run();
+        } finally {
+            stopRecording();
+        }
+    }
+
+    /**
+     * Remove all commands from the list. The allocated memory is kept.
+     */
+    public void clear() {
+        size = 0;
+        commandCount = 0;
+    }
+
+    public void bindProgram(final int handle) {
+        begin(BIND_PROGRAM, 1);
+        data[size++] = handle;
+    }
+
+    /**
+     * Bind a range of a buffer to a uniform block binding point.
+     *
+     * @param index        The index of the binding point.
+     * @param bufferHandle The handle of the buffer.
+     * @param offset       The offset in bytes of the range.
+     * @param size         The size in bytes of the range.
+     */
+    public void bindUniformBufferRange(final int index, final int bufferHandle, final int offset, final int size) {
+        begin(BIND_UNIFORM_BUFFER_RANGE, 4);
+        data[this.size++] = index;
+        data[this.size++] = bufferHandle;
+        data[this.size++] = offset;
+        data[this.size++] = size;
+    }
+
+    public void setUniform(final int location, final int value) {
+        begin(UNIFORM_1I, 2);
+        data[size++] = location;
+        data[size++] = value;
+    }
+
+    public void setUniform(final int location, final float value) {
+        begin(UNIFORM_1F, 2);
+        data[size++] = location;
+        putFloat(value);
+    }
+
+    public void setUniform(final int location, final float x, final float y) {
+        begin(UNIFORM_2F, 3);
+        data[size++] = location;
+        putFloat(x);
+        putFloat(y);
+    }
+
+    public void setUniform(final int location, final float x, final float y, final float z) {
+        begin(UNIFORM_3F, 4);
+        data[size++] = location;
+        putFloat(x);
+        putFloat(y);
+        putFloat(z);
+    }
+
+    public void setUniform(final int location, final float x, final float y, final float z, final float w) {
+        begin(UNIFORM_4F, 5);
+        data[size++] = location;
+        putFloat(x);
+        putFloat(y);
+        putFloat(z);
+        putFloat(w);
+    }
+
+    public void setUniform(final int location, final Matrix4fc matrix) {
+        begin(UNIFORM_MATRIX_4F, 17);
+        data[size++] = location;
+        putFloat(matrix.m00());
+        putFloat(matrix.m01());
+        putFloat(matrix.m02());
+        putFloat(matrix.m03());
+        putFloat(matrix.m10());
+        putFloat(matrix.m11());
+        putFloat(matrix.m12());
+        putFloat(matrix.m13());
+        putFloat(matrix.m20());
+        putFloat(matrix.m21());
+        putFloat(matrix.m22());
+        putFloat(matrix.m23());
+        putFloat(matrix.m30());
+        putFloat(matrix.m31());
+        putFloat(matrix.m32());
+        putFloat(matrix.m33());
+    }
+
+    /**
+     * Set the values of a matrix array uniform.
+     *
+     * @param location The location of the first element of the array.
+     * @param values   The packed matrices in column-major order. The values are copied.
+     * @param offset   The index of the first value to record.
+     * @param count    The number of matrices to record.
+     */
+    public void setUniformMatrix4Array(final int location, final float[] values, final int offset, final int count) {
+        final var valueCount = count * 16;
+        begin(UNIFORM_MATRIX_4F_ARRAY, 2 + valueCount);
+        data[size++] = location;
+        data[size++] = count;
+        for (var i = 0; i < valueCount; i++) {
+            putFloat(values[offset + i]);
+        }
+    }
+
+    /**
+     * Bind a texture to a texture unit. A handle of 0 unbinds the texture unit.
+     */
+    public void bindTexture(final int textureUnit, final Type type, final int handle) {
+        begin(BIND_TEXTURE, 3);
+        data[size++] = textureUnit;
+        data[size++] = type.ordinal();
+        data[size++] = handle;
+    }
+
+    public void bindVertexArray(final int handle) {
+        begin(BIND_VERTEX_ARRAY, 1);
+        data[size++] = handle;
+    }
+
+    public void bindIndexBuffer(final int handle) {
+        begin(BIND_INDEX_BUFFER, 1);
+        data[size++] = handle;
+    }
+
+    public void drawArrays(final PrimitiveType primitiveType, final int first, final int count) {
+        begin(DRAW_ARRAYS, 3);
+        data[size++] = primitiveType.ordinal();
+        data[size++] = first;
+        data[size++] = count;
+    }
+
+    public void drawElements(final PrimitiveType primitiveType, final int count, final DataType indexType, final int offset) {
+        begin(DRAW_ELEMENTS, 4);
+        data[size++] = primitiveType.ordinal();
+        data[size++] = count;
+        data[size++] = indexType.ordinal();
+        data[size++] = offset;
+    }
+
+    public void setFaceCulling(final boolean enabled) {
+        begin(SET_FACE_CULLING, 1);
+        data[size++] = enabled ? 1 : 0;
+    }
+
+    private void begin(final int opCode, final int argumentCount) {
+        final var required = size + argumentCount + 1;
+        if (required > data.length) {
+            data = Arrays.copyOf(data, Math.max(required, data.length * 2));
+        }
+        data[size++] = opCode;
+        commandCount++;
+    }
+
+    private void putFloat(final float value) {
+        data[size++] = Float.floatToRawIntBits(value);
+    }
+
+    private float getFloat(final int index) {
+        return Float.intBitsToFloat(data[index]);
+    }
+
+    /**
+     * Decode the commands of the list and pass them to {@code visitor} in recording order.
+     * <p>
+     * Replaying does not modify the list so it can be replayed several times.
+     *
+     * @param visitor The visitor receiving the commands.
+     * @throws EngineException if the list contains an unknown op code.
+     */
+    public void replay(final CommandVisitor visitor) {
+        var index = 0;
+        while (index < size) {
+            final var opCode = data[index++];
+            switch (opCode) {
+                case BIND_PROGRAM -> visitor.bindProgram(data[index++]);
+                case BIND_UNIFORM_BUFFER_RANGE -> {
+                    visitor.bindUniformBufferRange(data[index], data[index + 1], data[index + 2], data[index + 3]);
+                    index += 4;
+                }
+                case UNIFORM_1I -> {
+                    visitor.setUniform(data[index], data[index + 1]);
+                    index += 2;
+                }
+                case UNIFORM_1F -> {
+                    visitor.setUniform(data[index], getFloat(index + 1));
+                    index += 2;
+                }
+                case UNIFORM_2F -> {
+                    visitor.setUniform(data[index], getFloat(index + 1), getFloat(index + 2));
+                    index += 3;
+                }
+                case UNIFORM_3F -> {
+                    visitor.setUniform(data[index], getFloat(index + 1), getFloat(index + 2), getFloat(index + 3));
+                    index += 4;
+                }
+                case UNIFORM_4F -> {
+                    visitor.setUniform(data[index], getFloat(index + 1), getFloat(index + 2), getFloat(index + 3), getFloat(index + 4));
+                    index += 5;
+                }
+                case UNIFORM_MATRIX_4F -> {
+                    for (int i = 0; i < matrix.length; i++) {
+                        matrix[i] = getFloat(index + 1 + i);
+                    }
+                    visitor.setUniformMatrix4(data[index], matrix);
+                    index += 17;
+                }
+                case BIND_TEXTURE -> {
+                    visitor.bindTexture(data[index], TEXTURE_TYPES[data[index + 1]], data[index + 2]);
+                    index += 3;
+                }
+                case BIND_VERTEX_ARRAY -> visitor.bindVertexArray(data[index++]);
+                case BIND_INDEX_BUFFER -> visitor.bindIndexBuffer(data[index++]);
+                case DRAW_ARRAYS -> {
+                    visitor.drawArrays(PRIMITIVE_TYPES[data[index]], data[index + 1], data[index + 2]);
+                    index += 3;
+                }
+                case DRAW_ELEMENTS -> {
+                    visitor.drawElements(PRIMITIVE_TYPES[data[index]], data[index + 1], DATA_TYPES[data[index + 2]], data[index + 3]);
+                    index += 4;
+                }
+                case SET_FACE_CULLING -> visitor.setFaceCulling(data[index++] != 0);
+                case UNIFORM_MATRIX_4F_ARRAY -> {
+                    final var count = data[index + 1];
+                    final var valueCount = count * 16;
+                    if (matrices.length < valueCount) {
+                        matrices = new float[valueCount];
+                    }
+                    for (var i = 0; i < valueCount; i++) {
+                        matrices[i] = getFloat(index + 2 + i);
+                    }
+                    visitor.setUniformMatrix4Array(data[index], matrices, count);
+                    index += 2 + valueCount;
+                }
+                default -> throw new EngineException("Unknown command op code " + opCode + " at index " + (index - 1));
+            }
+        }
+    }
+
+    /**
+     * Get the number of recorded commands.
+     */
+    public int getCommandCount() {
+        return commandCount;
+    }
+
+    /**
+     * Get the size in bytes of the encoded commands.
+     */
+    public int getSizeInBytes() {
+        return size * Integer.BYTES;
+    }
+
+    public boolean isEmpty() {
+        return commandCount == 0;
+    }
+}
@@ -0,0 +1,61 @@
+package com.adrienben.games.bagl.opengl.commands;
+
+import com.adrienben.games.bagl.opengl.DataType;
+import com.adrienben.games.bagl.opengl.PrimitiveType;
+import com.adrienben.games.bagl.opengl.texture.Type;
+
+/**
+ * Receives the commands decoded from a {@link CommandList}.
+ * <p>
+ * Commands are received in the order they were recorded.
+ *
+ * @author adrien
+ * @see CommandList#replay(CommandVisitor)
+ */
+public interface CommandVisitor {
+
+    void bindProgram(int handle);
+
+    void bindUniformBufferRange(int index, int bufferHandle, int offset, int size);
+
+    void setUniform(int location, int value);
+
+    void setUniform(int location, float value);
+
+    void setUniform(int location, float x, float y);
+
+    void setUniform(int location, float x, float y, float z);
+
+    void setUniform(int location, float x, float y, float z, float w);
+
+    /**
+     * Receive a 4x4 matrix uniform.
+     *
+     * @param location The location of the uniform.
+     * @param values   The 16 values of the matrix in column-major order. The array is reused for
+     *                 each matrix of the list so it must not be kept.
+     */
+    void setUniformMatrix4(int location, float[] values);
+
+    /**
+     * Receive a 4x4 matrix array uniform.
+     *
+     * @param location The location of the first element of the array.
+     * @param values   The packed matrices in column-major order. Only the first {@code count} matrices
+     *                 are part of the command. The array is reused so it must not be kept.
+     * @param count    The number of matrices.
+     */
+    void setUniformMatrix4Array(int location, float[] values, int count);
+
+    void bindTexture(int textureUnit, Type type, int handle);
+
+    void bindVertexArray(int handle);
+
+    void bindIndexBuffer(int handle);
+
+    void drawArrays(PrimitiveType primitiveType, int first, int count);
+
+    void drawElements(PrimitiveType primitiveType, int count, DataType indexType, int offset);
+
+    void setFaceCulling(boolean enabled);
+}
@@ -0,0 +1,153 @@
+package com.adrienben.games.bagl.opengl.commands;
+
+import com.adrienben.games.bagl.opengl.DataType;
+import com.adrienben.games.bagl.opengl.PrimitiveType;
+import com.adrienben.games.bagl.opengl.profiling.FrameCounters;
+import com.adrienben.games.bagl.opengl.texture.Type;
+import org.lwjgl.system.MemoryStack;
+import org.lwjgl.system.MemoryUtil;
+
+import java.nio.FloatBuffer;
+
+import static org.lwjgl.opengl.GL11.*;
+import static org.lwjgl.opengl.GL13.GL_TEXTURE0;
+import static org.lwjgl.opengl.GL13.glActiveTexture;
+import static org.lwjgl.opengl.GL15.GL_ELEMENT_ARRAY_BUFFER;
+import static org.lwjgl.opengl.GL15.glBindBuffer;
+import static org.lwjgl.opengl.GL20.*;
+import static org.lwjgl.opengl.GL30.glBindBufferRange;
+import static org.lwjgl.opengl.GL30.glBindVertexArray;
+import static org.lwjgl.opengl.GL31.GL_UNIFORM_BUFFER;
+
+/**
+ * Replays {@link CommandList}s with OpenGL.
+ * <p>
+ * It must only be used on the rendering thread. The operations are counted with {@link FrameCounters}
+ * when they are replayed rather than when they are recorded.
+ * <p>
+ * The state of the opengl wrappers is not updated during replay. Lists are expected to leave
+ * textures unbound and the vertex array bound during replay is unbound once the list is executed.
+ *
+ * @author adrien
+ */
+public class GLCommandExecutor implements CommandVisitor {
+
+    private final FloatBuffer matrixBuffer = MemoryUtil.memAllocFloat(16);
+
+    /**
+     * Release resources.
+     */
+    public void destroy() {
+        MemoryUtil.memFree(matrixBuffer);
+    }
+
+    /**
+     * Execute the commands of a list.
+     *
+     * @param commandList The list to execute.
+     */
+    public void execute(final CommandList commandList) {
+        if (!commandList.isEmpty()) {
+            commandList.replay(this);
+            glBindVertexArray(0);
+        }
+    }
+
+    @Override
+    public void bindProgram(final int handle) {
+        glUseProgram(handle);
+        FrameCounters.countProgramSwitch();
+    }
+
+    @Override
+    public void bindUniformBufferRange(final int index, final int bufferHandle, final int offset, final int size) {
+        glBindBufferRange(GL_UNIFORM_BUFFER, index, bufferHandle, offset, size);
+    }
+
+    @Override
+    public void setUniform(final int location, final int value) {
+        glUniform1i(location, value);
+        FrameCounters.countUniformUpload();
+    }
+
+    @Override
+    public void setUniform(final int location, final float value) {
+        glUniform1f(location, value);
+        FrameCounters.countUniformUpload();
+    }
+
+    @Override
+    public void setUniform(final int location, final float x, final float y) {
+        glUniform2f(location, x, y);
+        FrameCounters.countUniformUpload();
+    }
+
+    @Override
+    public void setUniform(final int location, final float x, final float y, final float z) {
+        glUniform3f(location, x, y, z);
+        FrameCounters.countUniformUpload();
+    }
+
+    @Override
+    public void setUniform(final int location, final float x, final float y, final float z, final float w) {
+        glUniform4f(location, x, y, z, w);
+        FrameCounters.countUniformUpload();
+    }
+
+    @Override
+    public void setUniformMatrix4(final int location, final float[] values) {
+        matrixBuffer.put(0, values);
+        glUniformMatrix4fv(location, false, matrixBuffer);
+        FrameCounters.countUniformUpload();
+    }
+
+    @Override
+    public void setUniformMatrix4Array(final int location, final float[] values, final int count) {
+        try (final var stack = MemoryStack.stackPush()) {
+            final var buffer = stack.mallocFloat(count * 16);
+            buffer.put(0, values, 0, count * 16);
+            glUniformMatrix4fv(location, false, buffer);
+        }
+        FrameCounters.countUniformUpload();
+    }
+
+    @Override
+    public void bindTexture(final int textureUnit, final Type type, final int handle) {
+        glActiveTexture(GL_TEXTURE0 + textureUnit);
+        glBindTexture(type.getGlCode(), handle);
+        if (handle != 0) {
+            FrameCounters.countTextureBind();
+        }
+    }
+
+    @Override
+    public void bindVertexArray(final int handle) {
+        glBindVertexArray(handle);
+    }
+
+    @Override
+    public void bindIndexBuffer(final int handle) {
+        glBindBuffer(GL_ELEMENT_ARRAY_BUFFER, handle);
+    }
+
+    @Override
+    public void drawArrays(final PrimitiveType primitiveType, final int first, final int count) {
+        glDrawArrays(primitiveType.getGlCode(), first, count);
+        FrameCounters.countDrawCall(primitiveType, count);
+    }
+
+    @Override
+    public void drawElements(final PrimitiveType primitiveType, final int count, final DataType indexType, final int offset) {
+        glDrawElements(primitiveType.getGlCode(), count, indexType.getGlCode(), offset);
+        FrameCounters.countDrawCall(primitiveType, count);
+    }
+
+    @Override
+    public void setFaceCulling(final boolean enabled) {
+        if (enabled) {
+            glEnable(GL_CULL_FACE);
+        } else {
+            glDisable(GL_CULL_FACE);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.adrienben.games.bagl.opengl.profiling;
+
+/**
+ * Rendering operations counted by {@link FrameCounters}.
+ *
+ * @author adrien
+ */
+public enum Counter {
+
+    DRAW_CALLS("draw calls"),
+    PRIMITIVES("primitives"),
+    PROGRAM_SWITCHES("program switches"),
+    TEXTURE_BINDS("texture binds"),
+    FRAME_BUFFER_BINDS("frame buffer binds"),
+    UNIFORM_UPLOADS("uniform uploads"),
+    UPLOADED_BYTES("uploaded bytes");
+
+    private final String label;
+
+    Counter(final String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+}
@@ -0,0 +1,183 @@
+package com.adrienben.games.bagl.opengl.profiling;
+
+import com.adrienben.games.bagl.core.exception.EngineException;
+import com.adrienben.games.bagl.opengl.PrimitiveType;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Per frame rendering counters.
+ * <p>
+ * The OpenGL wrappers report the operations they perform (draw calls, primitives, program switches,
+ * texture and frame buffer binds, uniform uploads and uploaded bytes) to these counters. Counts are
+ * accumulated for the whole frame and for the pass opened with {@link #beginPass(String)}, if any.
+ * {@link #endFrame()} takes a {@link FrameStats} snapshot, available until the end of the next frame
+ * through {@link #getLastFrameStats()}, and resets the counters.
+ * <p>
+ * Counters are disabled by default. When disabled, reporting an operation costs a single branch and
+ * ending a frame returns a shared empty snapshot without allocating.
+ * They are meant to be used from the rendering thread only.
+ *
+ * @author adrien
+ */
+public final class FrameCounters {
+
+    private static final Counter[] COUNTERS = Counter.values();
+    private static final long[] FRAME_COUNTS = new long[COUNTERS.length];
+    private static final Map<String, long[]> PASS_COUNTS = new LinkedHashMap<>();
+    private static final FrameStats EMPTY_FRAME_STATS = new FrameStats(new long[COUNTERS.length], Map.of());
+
+    private static boolean enabled;
+    private static long[] currentPassCounts;
+    private static FrameStats lastFrameStats = EMPTY_FRAME_STATS;
+
+    private FrameCounters() {
+    }
+
+    /**
+     * Start counting the operations of a pass. Passes cannot be nested. Counts of passes with
+     * the same name are merged.
+     *
+     * @param name The name of the pass.
+     * @throws EngineException if a pass is already opened.
+     */
+    public static void beginPass(final String name) {
+        if (!enabled) {
+            return;
+        }
+        if (Objects.nonNull(currentPassCounts)) {
+            throw new EngineException("Cannot begin pass " + name + " while another pass is opened");
+        }
+        currentPassCounts = PASS_COUNTS.computeIfAbsent(name, passName -> new long[COUNTERS.length]);
+    }
+
+    /**
+     * End the current pass. Following operations are only counted for the frame.
+     */
+    public static void endPass() {
+        currentPassCounts = null;
+    }
+
+    /**
+     * Take a snapshot of the counts of the frame and reset all counters.
+     *
+     * @return The statistics of the frame. All counts are 0 if counters are disabled.
+     */
+    public static FrameStats endFrame() {
+        if (!enabled) {
+            lastFrameStats = EMPTY_FRAME_STATS;
+            return lastFrameStats;
+        }
+        final var passes = new LinkedHashMap<String, FrameStats>();
+        PASS_COUNTS.forEach((name, counts) -> {
+            if (Arrays.stream(counts).anyMatch(count -> count != 0)) {
+                passes.put(name, new FrameStats(counts.clone(), Map.of()));
+            }
+        });
+        lastFrameStats = new FrameStats(FRAME_COUNTS.clone(), passes);
+        reset();
+        return lastFrameStats;
+    }
+
+    private static void reset() {
+        Arrays.fill(FRAME_COUNTS, 0);
+        PASS_COUNTS.values().forEach(counts -> Arrays.fill(counts, 0));
+        currentPassCounts = null;
+    }
+
+    /**
+     * Count a draw call.
+     *
+     * @param type        The type of primitives drawn.
+     * @param vertexCount The number of vertices (or indices) drawn.
+     */
+    public static void countDrawCall(final PrimitiveType type, final int vertexCount) {
+        if (enabled) {
+            add(Counter.DRAW_CALLS, 1);
+            add(Counter.PRIMITIVES, type.getPrimitiveCount(vertexCount));
+        }
+    }
+
+    /**
+     * Count an instanced draw call.
+     *
+     * @param type          The type of primitives drawn.
+     * @param vertexCount   The number of vertices (or indices) drawn per instance.
+     * @param instanceCount The number of instances drawn.
+     */
+    public static void countDrawCall(final PrimitiveType type, final int vertexCount, final int instanceCount) {
+        if (enabled) {
+            add(Counter.DRAW_CALLS, 1);
+            add(Counter.PRIMITIVES, (long) type.getPrimitiveCount(vertexCount) * instanceCount);
+        }
+    }
+
+    /**
+     * Count an indirect draw call. The parameters of the draw are stored on the GPU so
+     * its primitives are not counted.
+     */
+    public static void countIndirectDrawCall() {
+        if (enabled) {
+            add(Counter.DRAW_CALLS, 1);
+        }
+    }
+
+    public static void countProgramSwitch() {
+        if (enabled) {
+            add(Counter.PROGRAM_SWITCHES, 1);
+        }
+    }
+
+    public static void countTextureBind() {
+        if (enabled) {
+            add(Counter.TEXTURE_BINDS, 1);
+        }
+    }
+
+    public static void countFrameBufferBind() {
+        if (enabled) {
+            add(Counter.FRAME_BUFFER_BINDS, 1);
+        }
+    }
+
+    public static void countUniformUpload() {
+        if (enabled) {
+            add(Counter.UNIFORM_UPLOADS, 1);
+        }
+    }
+
+    public static void countUploadedBytes(final long byteCount) {
+        if (enabled) {
+            add(Counter.UPLOADED_BYTES, byteCount);
+        }
+    }
+
+    private static void add(final Counter counter, final long value) {
+        FRAME_COUNTS[counter.ordinal()] += value;
+        if (Objects.nonNull(currentPassCounts)) {
+            currentPassCounts[counter.ordinal()] += value;
+        }
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enable or disable the counters. The counts of the current frame are discarded.
+     */
+    public static void setEnabled(final boolean enabled) {
+        FrameCounters.enabled = enabled;
+        reset();
+    }
+
+    /**
+     * Get the statistics of the last ended frame.
+     */
+    public static FrameStats getLastFrameStats() {
+        return lastFrameStats;
+    }
+}
@@ -0,0 +1,76 @@
+package com.adrienben.games.bagl.opengl.profiling;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Snapshot of the rendering operations of a frame or of a pass.
+ *
+ * @author adrien
+ * @see FrameCounters
+ */
+public class FrameStats {
+
+    private final long[] counts;
+    private final Map<String, FrameStats> passes;
+
+    FrameStats(final long[] counts, final Map<String, FrameStats> passes) {
+        this.counts = counts;
+        this.passes = Collections.unmodifiableMap(passes);
+    }
+
+    /**
+     * Format the statistics. One line for the frame then one line per pass.
+     */
+    public String format() {
+        final var builder = new StringBuilder("frame").append(formatCounts());
+        passes.forEach((name, pass) -> builder.append('\n').append(name).append(pass.formatCounts()));
+        return builder.toString();
+    }
+
+    private String formatCounts() {
+        return String.format(" : %d draws, %d prims, %d programs, %d textures, %d fbos, %d uniforms, %.1fKB",
+                getDrawCalls(), getPrimitives(), getProgramSwitches(), getTextureBinds(), getFrameBufferBinds(),
+                getUniformUploads(), getUploadedBytes() / 1024f);
+    }
+
+    public long get(final Counter counter) {
+        return counts[counter.ordinal()];
+    }
+
+    public long getDrawCalls() {
+        return get(Counter.DRAW_CALLS);
+    }
+
+    public long getPrimitives() {
+        return get(Counter.PRIMITIVES);
+    }
+
+    public long getProgramSwitches() {
+        return get(Counter.PROGRAM_SWITCHES);
+    }
+
+    public long getTextureBinds() {
+        return get(Counter.TEXTURE_BINDS);
+    }
+
+    public long getFrameBufferBinds() {
+        return get(Counter.FRAME_BUFFER_BINDS);
+    }
+
+    public long getUniformUploads() {
+        return get(Counter.UNIFORM_UPLOADS);
+    }
+
+    public long getUploadedBytes() {
+        return get(Counter.UPLOADED_BYTES);
+    }
+
+    /**
+     * Get the statistics of each pass of the frame, in the order passes were first opened.
+     * Passes without any counted operation are omitted.
+     */
+    public Map<String, FrameStats> getPasses() {
+        return passes;
+    }
+}
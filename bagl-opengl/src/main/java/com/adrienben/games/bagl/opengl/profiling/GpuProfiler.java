@@ -0,0 +1,199 @@
+package com.adrienben.games.bagl.opengl.profiling;
+
+import com.adrienben.games.bagl.core.exception.EngineException;
+import com.adrienben.games.bagl.core.validation.Validation;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.lwjgl.opengl.GL15.*;
+import static org.lwjgl.opengl.GL33.*;
+
+/**
+ * GPU profiler.
+ * <p>
+ * The profiler measures the GPU and CPU time spent in nested scopes. GPU times are measured using
+ * timestamp queries issued when scopes are opened and closed. Since results are only available once the
+ * GPU has actually executed the commands, each frame records its queries in its own slot of a ring of
+ * {@code latency} frames. The results of a frame are read when its slot is reused, {@code latency} frames
+ * later, so reading them never stalls the pipeline. If results are still not available at that time, the
+ * frame is dropped rather than waiting for the GPU.
+ * <p>
+ * Usage :
+ * <pre>
+ * profiler.beginFrame();
+ * profiler.begin("shadows");
+ * // render shadows
+ * profiler.end();
+ * profiler.endFrame();
+ * </pre>
+ * The last resolved frame is available as a tree of {@link ProfilerScope}. When disabled, the profiler
+ * does not issue any OpenGL call. Enabling or disabling it takes effect at the next frame.
+ *
+ * @author adrien
+ */
+public class GpuProfiler {
+
+    public static final int DEFAULT_LATENCY = 4;
+    public static final int DEFAULT_AVERAGE_WINDOW = 60;
+    private static final String FRAME_SCOPE_NAME = "frame";
+
+    private final RecordedFrame[] frames;
+    private final int[][] queries;
+    private final Map<String, RollingAverage[]> averages;
+    private final int averageWindow;
+
+    private long[] timestamps;
+    private boolean enabled;
+    private boolean enabledForFrame;
+    private int currentFrame;
+    private int droppedFrameCount;
+    private ProfilerScope lastFrame;
+
+    public GpuProfiler() {
+        this(DEFAULT_LATENCY, DEFAULT_AVERAGE_WINDOW);
+    }
+
+    /**
+     * Construct a profiler.
+     *
+     * @param latency       The number of frames recorded before reading the results of a frame.
+     * @param averageWindow The number of frames over which times are averaged.
+     */
+    public GpuProfiler(final int latency, final int averageWindow) {
+        Validation.validate(latency, value -> value > 0, "Latency must be strictly positive");
+        this.frames = new RecordedFrame[latency];
+        this.queries = new int[latency][];
+        for (var i = 0; i < latency; i++) {
+            this.frames[i] = new RecordedFrame();
+            this.queries[i] = new int[0];
+        }
+        this.averages = new HashMap<>();
+        this.averageWindow = averageWindow;
+        this.timestamps = new long[0];
+        this.enabled = false;
+    }
+
+    /**
+     * Release resources.
+     */
+    public void destroy() {
+        Arrays.stream(queries).filter(ids -> ids.length > 0).forEach(ids -> glDeleteQueries(ids));
+    }
+
+    /**
+     * Start profiling a new frame.
+     * <p>
+     * Resolves the frame previously recorded in the slot about to be reused and opens the root scope.
+     */
+    public void beginFrame() {
+        enabledForFrame = enabled;
+        if (!enabledForFrame) {
+            return;
+        }
+        final var frame = frames[currentFrame];
+        if (frame.isPending()) {
+            resolve(frame, queries[currentFrame]);
+        }
+        frame.reset();
+        begin(FRAME_SCOPE_NAME);
+    }
+
+    /**
+     * End the current frame.
+     *
+     * @throws EngineException if scopes other than the root one are still opened.
+     */
+    public void endFrame() {
+        if (!enabledForFrame) {
+            return;
+        }
+        final var frame = frames[currentFrame];
+        if (frame.getOpenedScopeCount() != 1) {
+            throw new EngineException("All profiler scopes must be ended before ending the frame");
+        }
+        end();
+        frame.setPending(true);
+        currentFrame = (currentFrame + 1) % frames.length;
+    }
+
+    /**
+     * Open a scope.
+     *
+     * @param name The name of the scope.
+     */
+    public void begin(final String name) {
+        if (!enabledForFrame) {
+            return;
+        }
+        final var scope = frames[currentFrame].begin(name, System.nanoTime());
+        glQueryCounter(getQuery(scope * 2), GL_TIMESTAMP);
+    }
+
+    /**
+     * Close the last opened scope.
+     */
+    public void end() {
+        if (!enabledForFrame) {
+            return;
+        }
+        final var scope = frames[currentFrame].end(System.nanoTime());
+        glQueryCounter(getQuery(scope * 2 + 1), GL_TIMESTAMP);
+    }
+
+    private int getQuery(final int index) {
+        var frameQueries = queries[currentFrame];
+        if (index >= frameQueries.length) {
+            final var newQueries = new int[Math.max(index + 1, frameQueries.length * 2)];
+            System.arraycopy(frameQueries, 0, newQueries, 0, frameQueries.length);
+            final var generated = new int[newQueries.length - frameQueries.length];
+            glGenQueries(generated);
+            System.arraycopy(generated, 0, newQueries, frameQueries.length, generated.length);
+            queries[currentFrame] = newQueries;
+            frameQueries = newQueries;
+        }
+        return frameQueries[index];
+    }
+
+    private void resolve(final RecordedFrame frame, final int[] frameQueries) {
+        final var queryCount = frame.getScopeCount() * 2;
+        // queries complete in order so the frame is available if the root scope's end query is
+        final var lastQuery = frameQueries[1];
+        if (glGetQueryObjecti(lastQuery, GL_QUERY_RESULT_AVAILABLE) == GL_FALSE) {
+            droppedFrameCount++;
+            return;
+        }
+        if (timestamps.length < queryCount) {
+            timestamps = new long[queryCount];
+        }
+        for (var i = 0; i < queryCount; i++) {
+            timestamps[i] = glGetQueryObjectui64(frameQueries[i], GL_QUERY_RESULT);
+        }
+        lastFrame = frame.resolve(timestamps, averages, averageWindow);
+    }
+
+    /**
+     * Get the last resolved frame. It is {@code latency} frames older than the current frame.
+     *
+     * @return The root scope of the frame or null if no frame was resolved yet.
+     */
+    public ProfilerScope getLastFrame() {
+        return lastFrame;
+    }
+
+    /**
+     * Get the number of frames whose results were not available when their slot was reused.
+     */
+    public int getDroppedFrameCount() {
+        return droppedFrameCount;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+}
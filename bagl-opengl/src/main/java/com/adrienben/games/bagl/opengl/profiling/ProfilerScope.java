@@ -0,0 +1,92 @@
+package com.adrienben.games.bagl.opengl.profiling;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolved timings of a profiled scope.
+ * <p>
+ * Scopes form a tree, the root being the frame itself. Each scope holds the GPU and CPU
+ * durations of the frame in which it was recorded along with their rolling averages over the
+ * previous frames. All durations are expressed in nanoseconds.
+ *
+ * @author adrien
+ */
+public class ProfilerScope {
+
+    private final String name;
+    private final long gpuTime;
+    private final long cpuTime;
+    private final long averageGpuTime;
+    private final long averageCpuTime;
+    private final List<ProfilerScope> children = new ArrayList<>();
+
+    ProfilerScope(final String name, final long gpuTime, final long cpuTime, final long averageGpuTime, final long averageCpuTime) {
+        this.name = name;
+        this.gpuTime = gpuTime;
+        this.cpuTime = cpuTime;
+        this.averageGpuTime = averageGpuTime;
+        this.averageCpuTime = averageCpuTime;
+    }
+
+    void addChild(final ProfilerScope child) {
+        children.add(child);
+    }
+
+    /**
+     * Find a direct child by name.
+     *
+     * @param name The name of the child.
+     * @return The child or null if not found.
+     */
+    public ProfilerScope getChild(final String name) {
+        return children.stream().filter(child -> child.name.equals(name)).findFirst().orElse(null);
+    }
+
+    /**
+     * Format the tree starting at this scope. One line per scope with average times in milliseconds.
+     */
+    public String format() {
+        final var builder = new StringBuilder();
+        format(builder, 0);
+        return builder.toString();
+    }
+
+    private void format(final StringBuilder builder, final int depth) {
+        builder.append("  ".repeat(depth))
+                .append(name)
+                .append(String.format(" gpu %.3fms cpu %.3fms", toMillis(averageGpuTime), toMillis(averageCpuTime)))
+                .append(System.lineSeparator());
+        children.forEach(child -> child.format(builder, depth + 1));
+    }
+
+    private static double toMillis(final long nanos) {
+        return (double) nanos / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getGpuTime() {
+        return gpuTime;
+    }
+
+    public long getCpuTime() {
+        return cpuTime;
+    }
+
+    public long getAverageGpuTime() {
+        return averageGpuTime;
+    }
+
+    public long getAverageCpuTime() {
+        return averageCpuTime;
+    }
+
+    public List<ProfilerScope> getChildren() {
+        return Collections.unmodifiableList(children);
+    }
+}
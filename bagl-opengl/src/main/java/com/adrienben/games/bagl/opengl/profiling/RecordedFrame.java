@@ -0,0 +1,129 @@
+package com.adrienben.games.bagl.opengl.profiling;
+
+import com.adrienben.games.bagl.core.exception.EngineException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Scopes recorded during one frame, waiting for their GPU timings to be resolved.
+ * <p>
+ * Scope {@code i} uses query slots {@code 2 * i} (begin) and {@code 2 * i + 1} (end).
+ * This class does not issue any OpenGL call so it can be used and tested without a context.
+ *
+ * @author adrien
+ */
+class RecordedFrame {
+
+    private static final int INITIAL_CAPACITY = 32;
+
+    private final List<String> names = new ArrayList<>();
+    private int[] parents = new int[INITIAL_CAPACITY];
+    private long[] cpuBegins = new long[INITIAL_CAPACITY];
+    private long[] cpuEnds = new long[INITIAL_CAPACITY];
+    private int[] stack = new int[INITIAL_CAPACITY];
+    private int stackSize;
+    private boolean pending;
+
+    /**
+     * Clear the recorded scopes.
+     */
+    void reset() {
+        names.clear();
+        stackSize = 0;
+        pending = false;
+    }
+
+    /**
+     * Open a scope nested in the currently opened one.
+     *
+     * @return The index of the scope.
+     */
+    int begin(final String name, final long cpuTime) {
+        final var index = names.size();
+        ensureCapacity(index + 1);
+        names.add(name);
+        parents[index] = stackSize > 0 ? stack[stackSize - 1] : -1;
+        cpuBegins[index] = cpuTime;
+        stack[stackSize++] = index;
+        return index;
+    }
+
+    /**
+     * Close the currently opened scope.
+     *
+     * @return The index of the closed scope.
+     */
+    int end(final long cpuTime) {
+        if (stackSize == 0) {
+            throw new EngineException("Cannot end a profiler scope when none is opened");
+        }
+        final var index = stack[--stackSize];
+        cpuEnds[index] = cpuTime;
+        return index;
+    }
+
+    private void ensureCapacity(final int capacity) {
+        if (capacity > parents.length) {
+            final var newCapacity = Math.max(capacity, parents.length * 2);
+            parents = Arrays.copyOf(parents, newCapacity);
+            cpuBegins = Arrays.copyOf(cpuBegins, newCapacity);
+            cpuEnds = Arrays.copyOf(cpuEnds, newCapacity);
+            stack = Arrays.copyOf(stack, newCapacity);
+        }
+    }
+
+    /**
+     * Build the tree of scopes and update the rolling averages.
+     * <p>
+     * Averages are keyed by the path of the scope in the tree so a pass keeps its history even
+     * if the scopes preceding it change from one frame to another.
+     *
+     * @param gpuTimestamps The resolved GPU timestamps. Two per scope.
+     * @param averages      The averages of each scope indexed by path.
+     * @param windowSize    The window size used to create missing averages.
+     * @return The root scope or null if nothing was recorded.
+     */
+    ProfilerScope resolve(final long[] gpuTimestamps, final Map<String, RollingAverage[]> averages, final int windowSize) {
+        if (stackSize != 0) {
+            throw new EngineException("Cannot resolve a profiler frame with opened scopes");
+        }
+        final var scopes = new ProfilerScope[names.size()];
+        final var paths = new String[names.size()];
+        for (var index = 0; index < names.size(); index++) {
+            final var parent = parents[index];
+            paths[index] = parent == -1 ? names.get(index) : paths[parent] + "/" + names.get(index);
+
+            final var gpuTime = gpuTimestamps[index * 2 + 1] - gpuTimestamps[index * 2];
+            final var cpuTime = cpuEnds[index] - cpuBegins[index];
+            final var scopeAverages = averages.computeIfAbsent(paths[index],
+                    path -> new RollingAverage[]{new RollingAverage(windowSize), new RollingAverage(windowSize)});
+            scopeAverages[0].add(gpuTime);
+            scopeAverages[1].add(cpuTime);
+
+            scopes[index] = new ProfilerScope(names.get(index), gpuTime, cpuTime, scopeAverages[0].getAverage(), scopeAverages[1].getAverage());
+            if (parent != -1) {
+                scopes[parent].addChild(scopes[index]);
+            }
+        }
+        return scopes.length > 0 ? scopes[0] : null;
+    }
+
+    int getScopeCount() {
+        return names.size();
+    }
+
+    int getOpenedScopeCount() {
+        return stackSize;
+    }
+
+    boolean isPending() {
+        return pending;
+    }
+
+    void setPending(final boolean pending) {
+        this.pending = pending;
+    }
+}
@@ -0,0 +1,44 @@
+package com.adrienben.games.bagl.opengl.profiling;
+
+import com.adrienben.games.bagl.core.validation.Validation;
+
+/**
+ * Average of the last values of a series.
+ *
+ * @author adrien
+ */
+public class RollingAverage {
+
+    private final long[] values;
+    private int nextIndex;
+    private int count;
+    private long sum;
+
+    /**
+     * Construct an average.
+     *
+     * @param windowSize The number of values to average.
+     */
+    public RollingAverage(final int windowSize) {
+        this.values = new long[Validation.validate(windowSize, size -> size > 0, "Window size must be strictly positive")];
+    }
+
+    /**
+     * Add a value to the series. If the window is full, the oldest value is discarded.
+     *
+     * @param value The value to add.
+     */
+    public void add(final long value) {
+        sum += value - values[nextIndex];
+        values[nextIndex] = value;
+        nextIndex = (nextIndex + 1) % values.length;
+        count = Math.min(count + 1, values.length);
+    }
+
+    /**
+     * Get the average of the values of the window or 0 if no value was added.
+     */
+    public long getAverage() {
+        return count == 0 ? 0 : sum / count;
+    }
+}
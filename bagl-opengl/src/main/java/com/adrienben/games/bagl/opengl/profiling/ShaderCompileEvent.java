@@ -0,0 +1,29 @@
+package com.adrienben.games.bagl.opengl.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event emitted when a shader stage is loaded and compiled.
+ *
+ * @author adrien
+ */
+@Name("com.adrienben.games.bagl.ShaderCompile")
+@Label("Shader Compile")
+@Category({"Bagl", "Resources"})
+@Description("Parsing and compilation of a shader stage")
+public class ShaderCompileEvent extends jdk.jfr.Event {
+
+    @Label("Path")
+    public String path;
+
+    @Label("Stage")
+    public String stage;
+
+    @Label("Source Size")
+    @DataAmount
+    public long sourceSize;
+}
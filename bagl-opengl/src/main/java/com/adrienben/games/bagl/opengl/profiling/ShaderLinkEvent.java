@@ -0,0 +1,24 @@
+package com.adrienben.games.bagl.opengl.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event emitted when a shader program is linked.
+ *
+ * @author adrien
+ */
+@Name("com.adrienben.games.bagl.ShaderLink")
+@Label("Shader Link")
+@Category({"Bagl", "Resources"})
+@Description("Link of a shader program and retrieval of its active uniforms")
+public class ShaderLinkEvent extends jdk.jfr.Event {
+
+    @Label("Stage Count")
+    public int stageCount;
+
+    @Label("Uniform Count")
+    public int uniformCount;
+}
@@ -4,6 +4,10 @@ import com.adrienben.games.bagl.core.Color;
 import com.adrienben.games.bagl.core.exception.EngineException;
 import com.adrienben.games.bagl.core.io.ResourcePath;
 import com.adrienben.games.bagl.core.utils.ObjectUtils;
+import com.adrienben.games.bagl.opengl.commands.CommandList;
+import com.adrienben.games.bagl.opengl.profiling.FrameCounters;
+import com.adrienben.games.bagl.opengl.profiling.ShaderCompileEvent;
+import com.adrienben.games.bagl.opengl.profiling.ShaderLinkEvent;
 import com.adrienben.games.bagl.opengl.shader.subshader.SubShader;
 import com.adrienben.games.bagl.opengl.shader.subshader.SubShaderType;
 import org.apache.logging.log4j.LogManager;
@@ -21,6 +25,9 @@ import java.util.*;
 
 /**
  * Shader class
+ * <p>
+ * When a {@link CommandList} is recording on the calling thread, uniforms are recorded into
+ * the list instead of being uploaded. The shader is then expected to be bound when the list is replayed.
  *
  * @author adrien
  */
@@ -107,9 +114,17 @@ public class Shader {
      * @param type     The type of shader to load
      */
     private void addSubShader(final ResourcePath filePath, final SubShaderType type) {
+        final var event = new ShaderCompileEvent();
+        event.begin();
         final var source = loadSource(filePath);
         final var subShader = new SubShader(source, type);
         attachSubShader(subShader);
+        if (event.shouldCommit()) {
+            event.path = filePath.getAbsolutePath();
+            event.stage = type.name();
+            event.sourceSize = source.length();
+            event.commit();
+        }
     }
 
     private String loadSource(final ResourcePath filePath) {
@@ -127,9 +142,16 @@ public class Shader {
      */
     private void compile() {
         LOG.trace("Compiling shader");
+        final var event = new ShaderLinkEvent();
+        event.begin();
         GL20.glLinkProgram(handle);
         checkLinkStatus();
         fetchActiveUniforms();
+        if (event.shouldCommit()) {
+            event.stageCount = attachedShaders.size();
+            event.uniformCount = uniformToLocationMap.size();
+            event.commit();
+        }
     }
 
     private void checkLinkStatus() {
@@ -161,8 +183,14 @@ public class Shader {
      * @return This for chaining
      */
     public Shader setUniform(final String name, final float value) {
-        checkIsShaderBound();
         final var location = getLocation(name);
+        final var recording = CommandList.getRecording();
+        if (Objects.nonNull(recording)) {
+            recording.setUniform(location, value);
+            return this;
+        }
+        checkIsShaderBound();
+        FrameCounters.countUniformUpload();
         GL20.glUniform1f(location, value);
         return this;
     }
@@ -175,8 +203,14 @@ public class Shader {
      * @return This for chaining
      */
     public Shader setUniform(final String name, final int value) {
-        checkIsShaderBound();
         final var location = getLocation(name);
+        final var recording = CommandList.getRecording();
+        if (Objects.nonNull(recording)) {
+            recording.setUniform(location, value);
+            return this;
+        }
+        checkIsShaderBound();
+        FrameCounters.countUniformUpload();
         GL20.glUniform1i(location, value);
         return this;
     }
@@ -189,12 +223,44 @@ public class Shader {
      * @return This for chaining
      */
     public Shader setUniform(final String name, final Matrix4fc matrix) {
-        checkIsShaderBound();
         final var location = getLocation(name);
+        final var recording = CommandList.getRecording();
+        if (Objects.nonNull(recording)) {
+            recording.setUniform(location, matrix);
+            return this;
+        }
+        checkIsShaderBound();
+        FrameCounters.countUniformUpload();
         GL20.glUniformMatrix4fv(location, false, matrix.get(matrix4fBuffer));
         return this;
     }
 
+    /**
+     * Set the values of a Matrix4 array uniform in one call
+     *
+     * @param name   The name of the first element of the array uniform
+     * @param values The packed matrices in column-major order
+     * @param offset The index of the first value to upload
+     * @param count  The number of matrices to upload
+     * @return This for chaining
+     */
+    public Shader setUniformMatrix4Array(final String name, final float[] values, final int offset, final int count) {
+        final var location = getLocation(name);
+        final var recording = CommandList.getRecording();
+        if (Objects.nonNull(recording)) {
+            recording.setUniformMatrix4Array(location, values, offset, count);
+            return this;
+        }
+        checkIsShaderBound();
+        FrameCounters.countUniformUpload();
+        try (final MemoryStack stack = MemoryStack.stackPush()) {
+            final var buffer = stack.mallocFloat(count * 16);
+            buffer.put(0, values, offset, count * 16);
+            GL20.glUniformMatrix4fv(location, false, buffer);
+        }
+        return this;
+    }
+
     /**
      * Set the value of a Vector2 uniform
      *
@@ -203,8 +269,14 @@ public class Shader {
      * @return This for chaining
      */
     public Shader setUniform(final String name, final Vector2fc vector) {
-        checkIsShaderBound();
         final var location = getLocation(name);
+        final var recording = CommandList.getRecording();
+        if (Objects.nonNull(recording)) {
+            recording.setUniform(location, vector.x(), vector.y());
+            return this;
+        }
+        checkIsShaderBound();
+        FrameCounters.countUniformUpload();
         GL20.glUniform2f(location, vector.x(), vector.y());
         return this;
     }
@@ -217,8 +289,14 @@ public class Shader {
      * @return This for chaining
      */
     public Shader setUniform(final String name, final Vector3fc vector) {
-        checkIsShaderBound();
         final var location = getLocation(name);
+        final var recording = CommandList.getRecording();
+        if (Objects.nonNull(recording)) {
+            recording.setUniform(location, vector.x(), vector.y(), vector.z());
+            return this;
+        }
+        checkIsShaderBound();
+        FrameCounters.countUniformUpload();
         GL20.glUniform3f(location, vector.x(), vector.y(), vector.z());
         return this;
     }
@@ -231,8 +309,14 @@ public class Shader {
      * @return This for chaining
      */
     public Shader setUniform(final String name, final Color color) {
-        checkIsShaderBound();
         final var location = getLocation(name);
+        final var recording = CommandList.getRecording();
+        if (Objects.nonNull(recording)) {
+            recording.setUniform(location, color.getRed(), color.getGreen(), color.getBlue(), color.getAlpha());
+            return this;
+        }
+        checkIsShaderBound();
+        FrameCounters.countUniformUpload();
         GL20.glUniform4f(location, color.getRed(), color.getGreen(), color.getBlue(), color.getAlpha());
         return this;
     }
@@ -272,6 +356,7 @@ public class Shader {
     public Shader bind() {
         GL20.glUseProgram(handle);
         Shader.boundShader = this;
+        FrameCounters.countProgramSwitch();
         return this;
     }
 
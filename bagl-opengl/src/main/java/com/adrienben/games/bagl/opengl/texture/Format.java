@@ -5,28 +5,30 @@ import static org.lwjgl.opengl.GL30.*;
 
 public enum Format {
 
-    RGBA8(GL_RGBA8, GL_RGBA, GL_UNSIGNED_BYTE),
-    RGBA16(GL_RGBA16, GL_RGBA, GL_UNSIGNED_BYTE),
-    RGBA16F(GL_RGBA16F, GL_RGBA, GL_FLOAT),
-    RGBA32F(GL_RGBA32F, GL_RGBA, GL_FLOAT),
-    RGB8(GL_RGB8, GL_RGB, GL_UNSIGNED_BYTE),
-    RGB16F(GL_RGB16F, GL_RGB, GL_FLOAT),
-    RG8(GL_RG8, GL_RG, GL_UNSIGNED_BYTE),
-    RG16F(GL_RG16F, GL_RG, GL_FLOAT),
-    RED8(GL_R8, GL_RED, GL_UNSIGNED_BYTE),
-    RED16F(GL_R16F, GL_RED, GL_FLOAT),
-    ALPHA8(GL_ALPHA8, GL_ALPHA, GL_UNSIGNED_BYTE),
-    DEPTH_32F(GL_DEPTH_COMPONENT32F, GL_DEPTH_COMPONENT, GL_FLOAT),
-    DEPTH32F_STENCIL8(GL_DEPTH32F_STENCIL8, GL_DEPTH_STENCIL, GL_FLOAT_32_UNSIGNED_INT_24_8_REV);
+    RGBA8(GL_RGBA8, GL_RGBA, GL_UNSIGNED_BYTE, 4),
+    RGBA16(GL_RGBA16, GL_RGBA, GL_UNSIGNED_BYTE, 8),
+    RGBA16F(GL_RGBA16F, GL_RGBA, GL_FLOAT, 8),
+    RGBA32F(GL_RGBA32F, GL_RGBA, GL_FLOAT, 16),
+    RGB8(GL_RGB8, GL_RGB, GL_UNSIGNED_BYTE, 3),
+    RGB16F(GL_RGB16F, GL_RGB, GL_FLOAT, 6),
+    RG8(GL_RG8, GL_RG, GL_UNSIGNED_BYTE, 2),
+    RG16F(GL_RG16F, GL_RG, GL_FLOAT, 4),
+    RED8(GL_R8, GL_RED, GL_UNSIGNED_BYTE, 1),
+    RED16F(GL_R16F, GL_RED, GL_FLOAT, 2),
+    ALPHA8(GL_ALPHA8, GL_ALPHA, GL_UNSIGNED_BYTE, 1),
+    DEPTH_32F(GL_DEPTH_COMPONENT32F, GL_DEPTH_COMPONENT, GL_FLOAT, 4),
+    DEPTH32F_STENCIL8(GL_DEPTH32F_STENCIL8, GL_DEPTH_STENCIL, GL_FLOAT_32_UNSIGNED_INT_24_8_REV, 8);
 
     private final int glInternalFormat;
     private final int glFormat;
     private final int glDataType;
+    private final int bytesPerPixel;
 
-    Format(int glInternalFormat, int glFormat, int glDataType) {
+    Format(int glInternalFormat, int glFormat, int glDataType, int bytesPerPixel) {
         this.glInternalFormat = glInternalFormat;
         this.glFormat = glFormat;
         this.glDataType = glDataType;
+        this.bytesPerPixel = bytesPerPixel;
     }
 
     public int getGlInternalFormat() {
@@ -41,4 +43,11 @@ public enum Format {
         return this.glDataType;
     }
 
+    /**
+     * Get the size of one pixel stored in this format, in bytes.
+     */
+    public int getBytesPerPixel() {
+        return this.bytesPerPixel;
+    }
+
 }
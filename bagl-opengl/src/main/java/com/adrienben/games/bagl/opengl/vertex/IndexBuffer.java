@@ -114,4 +114,8 @@ public class IndexBuffer {
     public int getSize() {
         return size;
     }
+
+    public int getHandle() {
+        return buffer.getHandle();
+    }
 }
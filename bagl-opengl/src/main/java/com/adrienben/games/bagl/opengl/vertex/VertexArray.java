@@ -4,6 +4,7 @@ import com.adrienben.games.bagl.core.exception.EngineException;
 import com.adrienben.games.bagl.opengl.DataType;
 import org.lwjgl.opengl.GL20;
 import org.lwjgl.opengl.GL30;
+import org.lwjgl.opengl.GL33;
 
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -41,7 +42,8 @@ public class VertexArray {
      * Attach a vertex buffer to this vertex array
      * <p>
      * It take care of enabling the vertex attribute arrays for each
-     * element of the buffer
+     * element of the buffer and of setting their divisor if the buffer
+     * contains per instance data
      *
      * @param buffer The buffer to attach
      * @throws EngineException if the vertex is not bound
@@ -59,6 +61,9 @@ public class VertexArray {
             final var elementSize = params.isInterleaved() ? element.getSize() : element.getSize() * buffer.getVertexCount();
             final var byteOffset = offset.getAndAdd(elementSize) * dataType.getSize();
             this.enableVertexElement(element, dataType, buffer.getStride(), byteOffset);
+            if (params.getDivisor() != 0) {
+                GL33.glVertexAttribDivisor(element.getPosition(), params.getDivisor());
+            }
         });
         buffer.unbind();
     }
@@ -120,4 +125,8 @@ public class VertexArray {
             throw new EngineException(errorMessage);
         }
     }
+
+    public int getHandle() {
+        return vaoId;
+    }
 }
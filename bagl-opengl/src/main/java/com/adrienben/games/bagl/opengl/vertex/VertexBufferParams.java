@@ -20,6 +20,7 @@ import java.util.Objects;
  * <li>interleaved (boolean) : default = true
  * <li>dataType ({@link DataType} : default = {@link DataType#FLOAT}
  * <li>usage {@link BufferUsage} : default {@link BufferUsage#STATIC_DRAW}
+ * <li>divisor (int) : default = 0
  * <li>elements (list of {@link VertexElement} : empty
  * </ul>
  * <p>
@@ -32,6 +33,10 @@ import java.util.Objects;
  * <br> But if it is set to false element have to be stored as follows :
  * <br> p1x|p1y|p2x|p2y|...pNx|pNy|n1x|n1y|n2x|n2y|...nNx|nNy
  * <p>
+ * The divisor is the number of instances drawn before the elements of the buffer advance to the
+ * next vertex. With a divisor of 0 the elements advance for each vertex, with a divisor of 1 they
+ * advance for each instance which is used to pass per instance data to instanced draw calls.
+ * <p>
  * At least one {@link VertexElement} must be added
  * <p>
  * Use example :
@@ -53,12 +58,14 @@ public final class VertexBufferParams {
     private final boolean interleaved;
     private final DataType dataType;
     private final BufferUsage usage;
+    private final int divisor;
     private final List<VertexElement> elements;
 
     private VertexBufferParams(final Builder builder) {
         this.interleaved = builder.interleaved;
         this.dataType = builder.dataType;
         this.usage = builder.usage;
+        this.divisor = builder.divisor;
         this.elements = Collections.unmodifiableList(Validation.validate(builder.elements, c -> !c.isEmpty(),
                 "A vertex buffer parameters must have at least one element"));
     }
@@ -79,6 +86,10 @@ public final class VertexBufferParams {
         return this.usage;
     }
 
+    public int getDivisor() {
+        return this.divisor;
+    }
+
     public List<VertexElement> getElements() {
         return this.elements;
     }
@@ -91,6 +102,7 @@ public final class VertexBufferParams {
         private boolean interleaved = true;
         private DataType dataType = DataType.FLOAT;
         private BufferUsage usage = BufferUsage.STATIC_DRAW;
+        private int divisor = 0;
         private List<VertexElement> elements = new ArrayList<>();
 
         /**
@@ -123,6 +135,11 @@ public final class VertexBufferParams {
             return this;
         }
 
+        public Builder divisor(final int divisor) {
+            this.divisor = Validation.validate(divisor, d -> d >= 0, "divisor cannot be negative");
+            return this;
+        }
+
         /**
          * Add a {@link VertexElement}
          * <p>
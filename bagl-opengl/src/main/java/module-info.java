@@ -10,12 +10,15 @@ module com.adrienben.games.bagl.opengl {
     requires org.lwjgl.stb;
     requires org.lwjgl.stb.natives;
     requires java.sql;
+    requires jdk.jfr;
 
     requires transitive com.adrienben.games.bagl.core;
 
     // EXPORTS
     exports com.adrienben.games.bagl.opengl;
     exports com.adrienben.games.bagl.opengl.buffer;
+    exports com.adrienben.games.bagl.opengl.commands;
+    exports com.adrienben.games.bagl.opengl.profiling;
     exports com.adrienben.games.bagl.opengl.shader;
     exports com.adrienben.games.bagl.opengl.shader.compute;
     exports com.adrienben.games.bagl.opengl.texture;
@@ -0,0 +1,265 @@
+package com.adrienben.games.bagl.opengl.commands;
+
+import com.adrienben.games.bagl.core.exception.EngineException;
+import com.adrienben.games.bagl.opengl.DataType;
+import com.adrienben.games.bagl.opengl.PrimitiveType;
+import com.adrienben.games.bagl.opengl.texture.Type;
+import org.joml.Matrix4f;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link CommandList} test class.
+ *
+ * @author adrien
+ */
+class CommandListTest {
+
+    @Test
+    void itShouldReplayCommandsInRecordingOrder() {
+        final var commandList = new CommandList();
+        commandList.bindProgram(3);
+        commandList.bindUniformBufferRange(1, 7, 256, 64);
+        commandList.setUniform(0, 42);
+        commandList.setUniform(1, 0.5f);
+        commandList.setUniform(2, 1f, 2f);
+        commandList.setUniform(3, 1f, 2f, 3f);
+        commandList.setUniform(4, 1f, 2f, 3f, 4f);
+        commandList.bindTexture(2, Type.CUBE_MAP, 12);
+        commandList.bindVertexArray(5);
+        commandList.bindIndexBuffer(6);
+        commandList.drawElements(PrimitiveType.TRIANGLES, 36, DataType.UNSIGNED_SHORT, 0);
+        commandList.drawArrays(PrimitiveType.TRIANGLE_STRIP, 0, 4);
+        commandList.setFaceCulling(false);
+
+        final var visitor = new RecordingVisitor();
+        commandList.replay(visitor);
+
+        assertEquals(List.of(
+                "bindProgram 3",
+                "bindUniformBufferRange 1 7 256 64",
+                "uniform1i 0 42",
+                "uniform1f 1 0.5",
+                "uniform2f 2 1.0 2.0",
+                "uniform3f 3 1.0 2.0 3.0",
+                "uniform4f 4 1.0 2.0 3.0 4.0",
+                "bindTexture 2 CUBE_MAP 12",
+                "bindVertexArray 5",
+                "bindIndexBuffer 6",
+                "drawElements TRIANGLES 36 UNSIGNED_SHORT 0",
+                "drawArrays TRIANGLE_STRIP 0 4",
+                "faceCulling false"), visitor.commands);
+        assertEquals(13, commandList.getCommandCount());
+    }
+
+    @Test
+    void itShouldEncodeMatricesInColumnMajorOrder() {
+        final var matrix = new Matrix4f().translation(1f, 2f, 3f).scale(2f);
+        final var commandList = new CommandList();
+        commandList.setUniform(8, matrix);
+
+        final var values = new AtomicReference<float[]>();
+        commandList.replay(new RecordingVisitor() {
+            @Override
+            public void setUniformMatrix4(final int location, final float[] matrixValues) {
+                assertEquals(8, location);
+                values.set(matrixValues.clone());
+            }
+        });
+
+        assertArrayEquals(matrix.get(new float[16]), values.get());
+    }
+
+    @Test
+    void itShouldEncodeMatrixArrays() {
+        final var values = new float[3 * 16];
+        for (var i = 0; i < values.length; i++) {
+            values[i] = i;
+        }
+        final var commandList = new CommandList();
+        commandList.setUniformMatrix4Array(4, values, 16, 2);
+        commandList.setUniformMatrix4Array(5, values, 0, 1);
+
+        final var visitor = new RecordingVisitor();
+        commandList.replay(visitor);
+
+        assertEquals(List.of(
+                "uniformMatrix4fv 4 2 " + Arrays.toString(Arrays.copyOfRange(values, 16, 48)),
+                "uniformMatrix4fv 5 1 " + Arrays.toString(Arrays.copyOfRange(values, 0, 16))), visitor.commands);
+    }
+
+    @Test
+    void itShouldPreserveFloatBitsExactly() {
+        final var commandList = new CommandList();
+        commandList.setUniform(0, Float.NaN);
+        commandList.setUniform(1, -0f);
+        commandList.setUniform(2, Float.MIN_VALUE);
+
+        final var values = new ArrayList<Float>();
+        commandList.replay(new RecordingVisitor() {
+            @Override
+            public void setUniform(final int location, final float value) {
+                values.add(value);
+            }
+        });
+
+        assertTrue(Float.isNaN(values.get(0)));
+        assertEquals(Float.floatToRawIntBits(-0f), Float.floatToRawIntBits(values.get(1)));
+        assertEquals(Float.MIN_VALUE, values.get(2));
+    }
+
+    @Test
+    void itShouldGrowWhenCapacityIsExceeded() {
+        final var commandList = new CommandList();
+        final var drawCount = 10_000;
+        for (int i = 0; i < drawCount; i++) {
+            commandList.drawArrays(PrimitiveType.POINTS, i, 1);
+        }
+
+        final var visitor = new RecordingVisitor();
+        commandList.replay(visitor);
+
+        assertEquals(drawCount, visitor.commands.size());
+        assertEquals("drawArrays POINTS 9999 1", visitor.commands.get(drawCount - 1));
+        assertEquals(drawCount * 4 * Integer.BYTES, commandList.getSizeInBytes());
+    }
+
+    @Test
+    void itShouldClearCommands() {
+        final var commandList = new CommandList();
+        commandList.bindVertexArray(1);
+        commandList.clear();
+
+        final var visitor = new RecordingVisitor();
+        commandList.replay(visitor);
+
+        assertTrue(commandList.isEmpty());
+        assertEquals(0, commandList.getSizeInBytes());
+        assertTrue(visitor.commands.isEmpty());
+    }
+
+    @Test
+    void itShouldOnlyRecordOnTheRecordingThread() {
+        final var commandList = new CommandList();
+        final var recordingOnOtherThread = new AtomicReference<CommandList>();
+
+        commandList.record(() -> {
+            assertSame(commandList, CommandList.getRecording());
+            final var thread = new Thread(() -> recordingOnOtherThread.set(CommandList.getRecording()));
+            thread.start();
+            try {
+                thread.join();
+            } catch (final InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        assertNull(recordingOnOtherThread.get());
+        assertFalse(CommandList.isRecording());
+    }
+
+    @Test
+    void itShouldStopRecordingWhenRecordingFails() {
+        final var commandList = new CommandList();
+
+        assertThrows(IllegalStateException.class, () -> commandList.record(() -> {
+            throw new IllegalStateException();
+        }));
+        assertFalse(CommandList.isRecording());
+    }
+
+    @Test
+    void itShouldFailToRecordTwoListsOnTheSameThread() {
+        final var commandList = new CommandList();
+        final var otherCommandList = new CommandList();
+
+        commandList.record(() -> assertThrows(EngineException.class, otherCommandList::startRecording));
+        assertThrows(EngineException.class, commandList::stopRecording);
+    }
+
+    private static class RecordingVisitor implements CommandVisitor {
+
+        private final List<String> commands = new ArrayList<>();
+
+        @Override
+        public void bindProgram(final int handle) {
+            commands.add("bindProgram " + handle);
+        }
+
+        @Override
+        public void bindUniformBufferRange(final int index, final int bufferHandle, final int offset, final int size) {
+            commands.add("bindUniformBufferRange " + index + " " + bufferHandle + " " + offset + " " + size);
+        }
+
+        @Override
+        public void setUniform(final int location, final int value) {
+            commands.add("uniform1i " + location + " " + value);
+        }
+
+        @Override
+        public void setUniform(final int location, final float value) {
+            commands.add("uniform1f " + location + " " + value);
+        }
+
+        @Override
+        public void setUniform(final int location, final float x, final float y) {
+            commands.add("uniform2f " + location + " " + x + " " + y);
+        }
+
+        @Override
+        public void setUniform(final int location, final float x, final float y, final float z) {
+            commands.add("uniform3f " + location + " " + x + " " + y + " " + z);
+        }
+
+        @Override
+        public void setUniform(final int location, final float x, final float y, final float z, final float w) {
+            commands.add("uniform4f " + location + " " + x + " " + y + " " + z + " " + w);
+        }
+
+        @Override
+        public void setUniformMatrix4(final int location, final float[] values) {
+            commands.add("uniformMatrix4f " + location + " " + Arrays.toString(values));
+        }
+
+        @Override
+        public void setUniformMatrix4Array(final int location, final float[] values, final int count) {
+            commands.add("uniformMatrix4fv " + location + " " + count + " " + Arrays.toString(Arrays.copyOf(values, count * 16)));
+        }
+
+        @Override
+        public void bindTexture(final int textureUnit, final Type type, final int handle) {
+            commands.add("bindTexture " + textureUnit + " " + type + " " + handle);
+        }
+
+        @Override
+        public void bindVertexArray(final int handle) {
+            commands.add("bindVertexArray " + handle);
+        }
+
+        @Override
+        public void bindIndexBuffer(final int handle) {
+            commands.add("bindIndexBuffer " + handle);
+        }
+
+        @Override
+        public void drawArrays(final PrimitiveType primitiveType, final int first, final int count) {
+            commands.add("drawArrays " + primitiveType + " " + first + " " + count);
+        }
+
+        @Override
+        public void drawElements(final PrimitiveType primitiveType, final int count, final DataType indexType, final int offset) {
+            commands.add("drawElements " + primitiveType + " " + count + " " + indexType + " " + offset);
+        }
+
+        @Override
+        public void setFaceCulling(final boolean enabled) {
+            commands.add("faceCulling " + enabled);
+        }
+    }
+}
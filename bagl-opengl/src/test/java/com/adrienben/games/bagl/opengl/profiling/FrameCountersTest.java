@@ -0,0 +1,86 @@
+package com.adrienben.games.bagl.opengl.profiling;
+
+import com.adrienben.games.bagl.core.exception.EngineException;
+import com.adrienben.games.bagl.opengl.PrimitiveType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link FrameCounters} test class.
+ *
+ * @author adrien
+ */
+class FrameCountersTest {
+
+    @AfterEach
+    void tearDown() {
+        FrameCounters.setEnabled(false);
+    }
+
+    @Test
+    void itShouldNotCountWhenDisabled() {
+        FrameCounters.countDrawCall(PrimitiveType.TRIANGLES, 300);
+        FrameCounters.countUploadedBytes(1024);
+
+        final var stats = FrameCounters.endFrame();
+
+        assertEquals(0, stats.getDrawCalls());
+        assertEquals(0, stats.getUploadedBytes());
+        assertTrue(stats.getPasses().isEmpty());
+        assertSame(stats, FrameCounters.endFrame());
+    }
+
+    @Test
+    void itShouldCountFrameAndPasses() {
+        FrameCounters.setEnabled(true);
+        FrameCounters.countProgramSwitch();
+        FrameCounters.beginPass("opaque");
+        FrameCounters.countDrawCall(PrimitiveType.TRIANGLES, 300);
+        FrameCounters.countDrawCall(PrimitiveType.TRIANGLE_STRIP, 4);
+        FrameCounters.countTextureBind();
+        FrameCounters.endPass();
+        FrameCounters.beginPass("empty");
+        FrameCounters.endPass();
+        FrameCounters.beginPass("post");
+        FrameCounters.countUniformUpload();
+        FrameCounters.countUploadedBytes(64);
+        FrameCounters.endPass();
+
+        final var stats = FrameCounters.endFrame();
+
+        assertEquals(2, stats.getDrawCalls());
+        assertEquals(102, stats.getPrimitives());
+        assertEquals(1, stats.getProgramSwitches());
+        assertEquals(1, stats.getTextureBinds());
+        assertEquals(1, stats.getUniformUploads());
+        assertEquals(64, stats.getUploadedBytes());
+        assertEquals(2, stats.getPasses().size());
+        assertEquals(2, stats.getPasses().get("opaque").getDrawCalls());
+        assertEquals(0, stats.getPasses().get("opaque").getProgramSwitches());
+        assertEquals(64, stats.getPasses().get("post").getUploadedBytes());
+        assertSame(stats, FrameCounters.getLastFrameStats());
+    }
+
+    @Test
+    void itShouldResetCountersAtEndOfFrame() {
+        FrameCounters.setEnabled(true);
+        FrameCounters.beginPass("opaque");
+        FrameCounters.countFrameBufferBind();
+        FrameCounters.endFrame();
+
+        FrameCounters.countFrameBufferBind();
+        final var stats = FrameCounters.endFrame();
+
+        assertEquals(1, stats.getFrameBufferBinds());
+        assertTrue(stats.getPasses().isEmpty());
+    }
+
+    @Test
+    void itShouldFailToBeginPassWhenAnotherIsOpened() {
+        FrameCounters.setEnabled(true);
+        FrameCounters.beginPass("opaque");
+        assertThrows(EngineException.class, () -> FrameCounters.beginPass("transparent"));
+    }
+}
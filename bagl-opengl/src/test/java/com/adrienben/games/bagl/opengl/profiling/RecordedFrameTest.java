@@ -0,0 +1,77 @@
+package com.adrienben.games.bagl.opengl.profiling;
+
+import com.adrienben.games.bagl.core.exception.EngineException;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link RecordedFrame} test class.
+ *
+ * @author adrien
+ */
+class RecordedFrameTest {
+
+    private final Map<String, RollingAverage[]> averages = new HashMap<>();
+
+    @Test
+    void itShouldBuildScopeTree() {
+        final var frame = new RecordedFrame();
+        frame.begin("frame", 0);
+        frame.begin("shadows", 10);
+        frame.end(30);
+        frame.begin("post", 40);
+        frame.begin("bloom", 45);
+        frame.end(55);
+        frame.end(60);
+        frame.end(100);
+
+        final var root = frame.resolve(new long[]{0, 1000, 100, 300, 400, 900, 500, 600}, averages, 4);
+
+        assertEquals("frame", root.getName());
+        assertEquals(1000, root.getGpuTime());
+        assertEquals(100, root.getCpuTime());
+        assertEquals(2, root.getChildren().size());
+        assertEquals(200, root.getChild("shadows").getGpuTime());
+        assertEquals(20, root.getChild("shadows").getCpuTime());
+        final var bloom = root.getChild("post").getChild("bloom");
+        assertEquals(100, bloom.getGpuTime());
+        assertEquals(10, bloom.getCpuTime());
+        assertTrue(bloom.getChildren().isEmpty());
+    }
+
+    @Test
+    void itShouldAverageTimingsAcrossFrames() {
+        final var frame = new RecordedFrame();
+        frame.begin("frame", 0);
+        frame.end(10);
+        frame.resolve(new long[]{0, 100}, averages, 4);
+
+        frame.reset();
+        frame.begin("frame", 0);
+        frame.end(30);
+        final var root = frame.resolve(new long[]{0, 300}, averages, 4);
+
+        assertEquals(300, root.getGpuTime());
+        assertEquals(200, root.getAverageGpuTime());
+        assertEquals(20, root.getAverageCpuTime());
+    }
+
+    @Test
+    void itShouldFailToEndScopeWhenNoneIsOpened() {
+        final var frame = new RecordedFrame();
+        assertThrows(EngineException.class, () -> frame.end(0));
+    }
+
+    @Test
+    void itShouldDiscardOldestValuesOfRollingAverage() {
+        final var average = new RollingAverage(2);
+        average.add(10);
+        average.add(20);
+        average.add(40);
+        assertEquals(30, average.getAverage());
+    }
+}
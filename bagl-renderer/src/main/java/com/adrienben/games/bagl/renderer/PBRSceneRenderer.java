@@ -3,31 +3,48 @@ package com.adrienben.games.bagl.renderer;
 import com.adrienben.games.bagl.core.exception.EngineException;
 import com.adrienben.games.bagl.core.utils.ObjectUtils;
 import com.adrienben.games.bagl.engine.Configuration;
+import com.adrienben.games.bagl.engine.SnapshotBuffer;
+import com.adrienben.games.bagl.engine.jobs.JobSystem;
+import com.adrienben.games.bagl.engine.rendering.framegraph.FrameGraph;
+import com.adrienben.games.bagl.engine.rendering.framegraph.FrameGraphResource;
+import com.adrienben.games.bagl.engine.rendering.framegraph.RenderTargetDescription;
+import com.adrienben.games.bagl.engine.rendering.framegraph.RenderTargetPool;
+import com.adrienben.games.bagl.engine.rendering.model.LodSelector;
+import com.adrienben.games.bagl.engine.rendering.model.LodStatistics;
 import com.adrienben.games.bagl.engine.rendering.particles.ParticleRenderer;
 import com.adrienben.games.bagl.engine.rendering.postprocess.PostProcessor;
 import com.adrienben.games.bagl.engine.rendering.postprocess.fxaa.FxaaPresets;
 import com.adrienben.games.bagl.engine.rendering.postprocess.steps.BloomStep;
 import com.adrienben.games.bagl.engine.rendering.postprocess.steps.FxaaStep;
 import com.adrienben.games.bagl.engine.rendering.postprocess.steps.ToneMappingStep;
-import com.adrienben.games.bagl.engine.rendering.renderer.Renderer;
+import com.adrienben.games.bagl.engine.rendering.renderer.SceneRenderer;
 import com.adrienben.games.bagl.engine.scene.Scene;
 import com.adrienben.games.bagl.engine.scene.components.DirectionalLightComponent;
 import com.adrienben.games.bagl.opengl.FrameBuffer;
 import com.adrienben.games.bagl.opengl.FrameBufferParameters;
+import com.adrienben.games.bagl.opengl.profiling.FrameCounters;
+import com.adrienben.games.bagl.opengl.profiling.GpuProfiler;
+import com.adrienben.games.bagl.opengl.profiling.ProfilerScope;
 import com.adrienben.games.bagl.opengl.texture.Format;
 import com.adrienben.games.bagl.renderer.data.SceneRenderData;
 import com.adrienben.games.bagl.renderer.data.SceneRenderDataCollector;
 import com.adrienben.games.bagl.renderer.gbuffer.GBuffer;
 import com.adrienben.games.bagl.renderer.paths.DeferredPath;
 import com.adrienben.games.bagl.renderer.paths.ForwardPath;
+import com.adrienben.games.bagl.renderer.pbr.BrdfLookup;
+import com.adrienben.games.bagl.renderer.profiling.SceneCullingEvent;
+import com.adrienben.games.bagl.renderer.resolution.DynamicResolutionController;
 import com.adrienben.games.bagl.renderer.shadow.CSMGenerator;
 import com.adrienben.games.bagl.renderer.shadow.CascadedShadowMap;
 import com.adrienben.games.bagl.renderer.skybox.SkyboxRenderer;
 import org.joml.FrustumIntersection;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
+import static org.lwjgl.opengl.GL11.glViewport;
+
 /**
  * PBR Scene Renderer
  * <p>
@@ -37,23 +54,61 @@ import java.util.Objects;
  * <li>HDR Skybox</li>
  * <li>Shadow mapping for one directional light</li>
  * <li>PBR rendering with IBL</li>
+ * <li>Mesh levels of detail selection</li>
+ * <li>GPU and CPU profiling of each rendering pass</li>
+ * <li>Dynamic resolution driven by the measured GPU frame time</li>
+ * <li>Per pass rendering statistics (see {@link FrameCounters})</li>
  * <li>Post processing pass (bloom/gamma correction/tone mapping from HDR to SDR</li>
  * <p>
  * When {@link PBRSceneRenderer#render(Scene)} is called, the data required for rendering is
  * gathered from the scene before the actual rendering takes place.
+ * <p>
+ * Gathering and rendering can also be split when the scene is updated on another thread than the
+ * OpenGL thread. {@link PBRSceneRenderer#capture(Scene)} copies the data of the scene into a snapshot
+ * from the thread updating the scene and {@link PBRSceneRenderer#render()} renders the latest captured
+ * snapshot on the OpenGL thread. Snapshots are exchanged through a lock-free {@link SnapshotBuffer}.
+ * <p>
+ * When dynamic resolution is enabled, the scene is rendered in a viewport of the final buffer whose size
+ * is adjusted each frame by a {@link DynamicResolutionController} from the GPU timings of the profiler.
+ * The final buffer is allocated for the maximum scale. The rendered region is then stretched to the
+ * display resolution before post processing.
+ * <p>
+ * The rendering passes are organized in a {@link FrameGraph} built once when the renderer is created.
+ * The passes rendering the scene write into the final buffer which is imported in the graph. The upscaling
+ * and post processing passes use transient render targets which are allocated from a {@link RenderTargetPool}
+ * and aliased when their lifetimes do not overlap. Each pass of the graph is profiled.
+ * <p>
+ * Before the graph is executed, the draw commands of the shadow cascades, of the deferred path and of the forward
+ * path are recorded into command lists. When a {@link JobSystem} is set, each list is recorded by a worker thread.
+ * The lists are then replayed by the passes of the graph on the OpenGL thread.
  *
  * @author adrien
  */
-public class PBRSceneRenderer implements Renderer<Scene> {
+public class PBRSceneRenderer implements SceneRenderer {
+
+    private static final float NANOS_PER_MILLISECOND = 1_000_000f;
 
     private final int xResolution;
     private final int yResolution;
+    private int viewportWidth;
+    private int viewportHeight;
 
     private SceneRenderDataCollector sceneRenderDataCollector;
+    private SnapshotBuffer<SceneRenderData> snapshots;
     private SceneRenderData sceneRenderData;
     private FrustumIntersection cameraFrustum;
+    private LodSelector lodSelector;
+    private GpuProfiler profiler;
+    private DynamicResolutionController resolutionController;
+    private ProfilerScope lastMeasuredFrame;
+    private JobSystem jobSystem;
+    private final List<Runnable> recordings = new ArrayList<>();
 
     private FrameBuffer finalBuffer;
+    private RenderTargetDescription upscaleDescription;
+    private FrameGraph frameGraph;
+    private RenderTargetPool renderTargetPool;
+    private BrdfLookup brdfLookup;
 
     private CSMGenerator csmGenerator;
     private CascadedShadowMap cascadedShadowMap;
@@ -72,17 +127,40 @@ public class PBRSceneRenderer implements Renderer<Scene> {
         yResolution = config.getYResolution();
 
         sceneRenderDataCollector = new SceneRenderDataCollector();
+        snapshots = new SnapshotBuffer<>(SceneRenderData::new);
         cameraFrustum = new FrustumIntersection();
+        lodSelector = new LodSelector();
+        profiler = new GpuProfiler();
+        profiler.setEnabled(config.isProfilerEnabled() || config.isDynamicResolutionEnabled());
+        viewportWidth = xResolution;
+        viewportHeight = yResolution;
 
-        finalBuffer = new FrameBuffer(xResolution, yResolution, createFinalFrameBufferParameters());
+        setUpDynamicResolution(config);
 
         csmGenerator = new CSMGenerator();
-        deferredPath = new DeferredPath(finalBuffer);
-        forwardPath = new ForwardPath(finalBuffer);
+        brdfLookup = new BrdfLookup();
+        deferredPath = new DeferredPath(finalBuffer, brdfLookup);
+        forwardPath = new ForwardPath(finalBuffer, brdfLookup);
         skyboxRenderer = new SkyboxRenderer();
         particleRenderer = new ParticleRenderer();
         postProcessor = new PostProcessor();
         setUpPostProcessor(config);
+        renderTargetPool = new RenderTargetPool();
+        setUpFrameGraph();
+        setUpRecordings();
+    }
+
+    private void setUpDynamicResolution(final Configuration config) {
+        if (!config.isDynamicResolutionEnabled()) {
+            finalBuffer = new FrameBuffer(xResolution, yResolution, createFinalFrameBufferParameters());
+            return;
+        }
+        final var maxScale = config.getDynamicResolutionMaxScale();
+        resolutionController = new DynamicResolutionController(config.getDynamicResolutionTargetFrameTime(),
+                config.getDynamicResolutionMinScale(), maxScale, GpuProfiler.DEFAULT_LATENCY);
+        finalBuffer = new FrameBuffer(Math.max(1, Math.round(xResolution * maxScale)), Math.max(1, Math.round(yResolution * maxScale)),
+                createFinalFrameBufferParameters());
+        upscaleDescription = new RenderTargetDescription(xResolution, yResolution, Format.RGBA32F);
     }
 
     private void setUpPostProcessor(final Configuration config) {
@@ -95,6 +173,38 @@ public class PBRSceneRenderer implements Renderer<Scene> {
         }
     }
 
+    private void setUpFrameGraph() {
+        frameGraph = new FrameGraph();
+        frameGraph.setProfiler(profiler);
+        final var shadowMaps = frameGraph.importResource("shadow_maps");
+        final var sceneColor = frameGraph.importRenderTarget("scene_color", finalBuffer);
+        frameGraph.addPass("shadows", resources -> renderShadowMap()).write(shadowMaps);
+        frameGraph.addPass("opaque", resources -> inSceneViewport(this::renderOpaqueObjects)).read(shadowMaps).write(sceneColor);
+        frameGraph.addPass("skybox", resources -> inSceneViewport(this::renderSkybox)).write(sceneColor);
+        frameGraph.addPass("particles", resources -> inSceneViewport(this::renderParticles)).write(sceneColor);
+        frameGraph.addPass("transparent", resources -> inSceneViewport(this::renderTransparentObjects)).read(shadowMaps).write(sceneColor);
+        postProcessor.addPasses(frameGraph, addUpscalePass(sceneColor));
+        frameGraph.compile();
+    }
+
+    private FrameGraphResource addUpscalePass(final FrameGraphResource sceneColor) {
+        if (Objects.isNull(upscaleDescription)) {
+            return sceneColor;
+        }
+        final var upscaled = frameGraph.createRenderTarget("upscaled", upscaleDescription);
+        frameGraph.addPass("upscale", resources -> upscale(resources.getFrameBuffer(upscaled))).read(sceneColor).write(upscaled);
+        return upscaled;
+    }
+
+    private void setUpRecordings() {
+        for (int i = 0; i < CascadedShadowMap.CASCADE_COUNT; i++) {
+            final var cascadeIndex = i;
+            recordings.add(() -> csmGenerator.recordCommands(cascadeIndex));
+        }
+        recordings.add(deferredPath::recordCommands);
+        recordings.add(forwardPath::recordCommands);
+    }
+
     private FrameBufferParameters createFinalFrameBufferParameters() {
         return FrameBufferParameters.builder().colorOutputFormat(Format.RGBA32F).build();
     }
@@ -104,12 +214,15 @@ public class PBRSceneRenderer implements Renderer<Scene> {
      */
     public void destroy() {
         finalBuffer.destroy();
+        renderTargetPool.destroy();
         csmGenerator.destroy();
+        brdfLookup.destroy();
         deferredPath.destroy();
         forwardPath.destroy();
         skyboxRenderer.destroy();
         particleRenderer.destroy();
         postProcessor.destroy();
+        profiler.destroy();
     }
 
     /**
@@ -127,27 +240,112 @@ public class PBRSceneRenderer implements Renderer<Scene> {
      * @param scene The scene to render
      */
     public void render(final Scene scene) {
-        sceneRenderData = sceneRenderDataCollector.collectDataForRendering(scene);
+        capture(scene);
+        render();
+    }
+
+    /**
+     * Capture the data required to render a scene.
+     * <p>
+     * This method does not perform any OpenGL call so it can be called from the thread updating
+     * the scene. It must always be called from the same thread.
+     *
+     * @param scene The scene to capture
+     */
+    @Override
+    public void capture(final Scene scene) {
+        sceneRenderDataCollector.collectDataForRendering(scene, snapshots.getBack());
+        snapshots.publish();
+    }
+
+    /**
+     * Render the latest scene captured with {@link PBRSceneRenderer#capture(Scene)}
+     * <p>
+     * An {@link EngineException} will be thrown if the captured scene has no camera set up.
+     *
+     * @see PBRSceneRenderer#render(Scene)
+     */
+    @Override
+    public void render() {
+        sceneRenderData = snapshots.acquire();
         if (Objects.isNull(sceneRenderData.getCamera())) {
             throw new EngineException("Impossible to render a scene if no camera is set up");
         }
 
+        profiler.beginFrame();
+        updateResolutionScale();
+        cullScene();
+        recordCommands();
+        frameGraph.execute(renderTargetPool);
+        profiler.endFrame();
+    }
+
+    private void updateResolutionScale() {
+        if (Objects.isNull(resolutionController)) {
+            return;
+        }
+        final var lastFrame = profiler.getLastFrame();
+        if (Objects.nonNull(lastFrame) && lastFrame != lastMeasuredFrame) {
+            lastMeasuredFrame = lastFrame;
+            resolutionController.update(lastFrame.getGpuTime() / NANOS_PER_MILLISECOND);
+        }
+        final var scale = resolutionController.getScale();
+        viewportWidth = Math.min(finalBuffer.getWidth(), Math.max(1, Math.round(xResolution * scale)));
+        viewportHeight = Math.min(finalBuffer.getHeight(), Math.max(1, Math.round(yResolution * scale)));
+        deferredPath.setViewportScale((float) viewportWidth / finalBuffer.getWidth(), (float) viewportHeight / finalBuffer.getHeight());
+    }
+
+    private void setSceneViewport(final int width, final int height) {
+        if (Objects.nonNull(resolutionController)) {
+            glViewport(0, 0, width, height);
+        }
+    }
+
+    /**
+     * Run a pass rendering the scene in the scaled viewport then restore the full viewport for the next passes.
+     */
+    private void inSceneViewport(final Runnable pass) {
+        setSceneViewport(viewportWidth, viewportHeight);
+        pass.run();
+        setSceneViewport(xResolution, yResolution);
+    }
+
+    private void cullScene() {
+        final var event = new SceneCullingEvent();
+        event.begin();
         updateFrustum();
-        renderShadowMap();
-        clearFinalBuffer();
-        renderOpaqueObjects();
-        renderSkybox();
-        renderParticles();
-        renderTransparentObjects();
-        applyPostProcess();
+        selectLods();
+        if (event.shouldCommit()) {
+            final var statistics = lodSelector.getStatistics();
+            event.modelCount = sceneRenderData.getModelCount();
+            event.renderedTriangleCount = statistics.getRenderedTriangleCount();
+            event.fullDetailTriangleCount = statistics.getFullDetailTriangleCount();
+            event.commit();
+        }
     }
 
     private void updateFrustum() {
         cameraFrustum.set(sceneRenderData.getCamera().getViewProj());
     }
 
-    private void renderShadowMap() {
+    private void selectLods() {
+        lodSelector.setCamera(sceneRenderData.getCamera(), viewportHeight);
+        sceneRenderData.getModelNodes().forEach(node -> node.selectLods(lodSelector));
+    }
+
+    private void recordCommands() {
         csmGenerator.setSceneRenderData(sceneRenderData);
+        csmGenerator.prepareCommands();
+        deferredPath.setSceneRenderData(sceneRenderData);
+        forwardPath.setSceneRenderData(sceneRenderData);
+        if (Objects.isNull(jobSystem)) {
+            recordings.forEach(Runnable::run);
+        } else {
+            jobSystem.parallelFor(recordings.size(), 1, index -> recordings.get(index).run());
+        }
+    }
+
+    private void renderShadowMap() {
         cascadedShadowMap = csmGenerator.generateShadowMaps();
     }
 
@@ -158,13 +356,12 @@ public class PBRSceneRenderer implements Renderer<Scene> {
     }
 
     private void renderOpaqueObjects() {
-        deferredPath.setSceneRenderData(sceneRenderData);
+        clearFinalBuffer();
         deferredPath.setCascadedShadowMap(cascadedShadowMap);
         deferredPath.renderSceneData();
     }
 
     private void renderTransparentObjects() {
-        forwardPath.setSceneRenderData(sceneRenderData);
         forwardPath.setCascadedShadowMap(cascadedShadowMap);
         forwardPath.renderSceneData();
     }
@@ -179,18 +376,29 @@ public class PBRSceneRenderer implements Renderer<Scene> {
 
     private void renderParticles() {
         finalBuffer.bind();
-        sceneRenderData.getParticleEmitters().forEach(emitter -> {
-            particleRenderer.setCamera(sceneRenderData.getCamera());
-            particleRenderer.setDirectionalLights(sceneRenderData.getDirectionalLights());
-            particleRenderer.setPointLights(sceneRenderData.getPointLights());
-            particleRenderer.setSpotLights(sceneRenderData.getSpotLights());
-            particleRenderer.render(emitter);
-        });
+        particleRenderer.setCamera(sceneRenderData.getCamera());
+        particleRenderer.setDirectionalLights(sceneRenderData.getDirectionalLights());
+        particleRenderer.setPointLights(sceneRenderData.getPointLights());
+        particleRenderer.setSpotLights(sceneRenderData.getSpotLights());
+        sceneRenderData.getParticleEmitters().forEach(particleRenderer::render);
+        sceneRenderData.getGpuParticleEmitters().forEach(particleRenderer::render);
         finalBuffer.unbind();
     }
 
-    private void applyPostProcess() {
-        postProcessor.process(finalBuffer.getColorTexture(0));
+    private void upscale(final FrameBuffer upscaleBuffer) {
+        upscaleBuffer.bind();
+        upscaleBuffer.copyColorFrom(finalBuffer, viewportWidth, viewportHeight);
+        upscaleBuffer.unbind();
+    }
+
+    /**
+     * Set the job system used to record the draw commands of the passes concurrently. When no job system
+     * is set, commands are recorded sequentially on the calling thread.
+     *
+     * @param jobSystem The job system to use. It is not destroyed by the renderer.
+     */
+    public void setJobSystem(final JobSystem jobSystem) {
+        this.jobSystem = jobSystem;
     }
 
     public List<FrameBuffer> getCSMBuffer() {
@@ -204,4 +412,34 @@ public class PBRSceneRenderer implements Renderer<Scene> {
     public FrameBuffer getFinalBuffer() {
         return finalBuffer;
     }
+
+    /**
+     * Get the frame graph organizing the rendering passes. It gives access to the culled passes and to the memory
+     * used by the transient render targets.
+     */
+    public FrameGraph getFrameGraph() {
+        return frameGraph;
+    }
+
+    /**
+     * Get the statistics of the levels of detail selected during the last frame.
+     */
+    public LodStatistics getLodStatistics() {
+        return lodSelector.getStatistics();
+    }
+
+    /**
+     * Get the current resolution scale. It is always 1 unless dynamic resolution is enabled in the configuration.
+     */
+    public float getResolutionScale() {
+        return Objects.isNull(resolutionController) ? 1f : resolutionController.getScale();
+    }
+
+    /**
+     * Get the profiler timing the rendering passes. It is disabled unless the profiler or dynamic resolution is enabled
+     * in the configuration.
+     */
+    public GpuProfiler getProfiler() {
+        return profiler;
+    }
 }
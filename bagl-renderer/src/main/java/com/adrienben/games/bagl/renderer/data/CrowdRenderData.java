@@ -0,0 +1,64 @@
+package com.adrienben.games.bagl.renderer.data;
+
+import com.adrienben.games.bagl.engine.Transform;
+import com.adrienben.games.bagl.engine.rendering.crowd.Crowd;
+
+/**
+ * Data used to render a {@link Crowd}.
+ * <p>
+ * It holds a copy of the transform of the crowd, of its agents and of its animation time so the crowd
+ * can keep being updated while this data is rendered. The GPU resources are shared with the crowd.
+ *
+ * @author adrien
+ */
+public class CrowdRenderData {
+
+    private final Transform transform = new Transform();
+    private float[] agents = new float[0];
+    private Crowd crowd;
+    private int agentCount;
+    private float time;
+
+    /**
+     * Copy the state of a crowd.
+     *
+     * @param crowd     The crowd to copy.
+     * @param transform The transform of the crowd.
+     */
+    void set(final Crowd crowd, final Transform transform) {
+        this.crowd = crowd;
+        this.transform.set(transform);
+        agentCount = crowd.getAgentCount();
+        time = crowd.getTime();
+        final var size = agentCount * Crowd.FLOATS_PER_AGENT;
+        if (agents.length < size) {
+            agents = new float[size];
+        }
+        System.arraycopy(crowd.getAgents(), 0, agents, 0, size);
+    }
+
+    /**
+     * Upload the copied agents into the instance buffer of the crowd.
+     * <p>
+     * This method must be called from the OpenGL thread.
+     */
+    public void upload() {
+        crowd.upload(agents, agentCount);
+    }
+
+    public Crowd getCrowd() {
+        return crowd;
+    }
+
+    public Transform getTransform() {
+        return transform;
+    }
+
+    public int getAgentCount() {
+        return agentCount;
+    }
+
+    public float getTime() {
+        return time;
+    }
+}
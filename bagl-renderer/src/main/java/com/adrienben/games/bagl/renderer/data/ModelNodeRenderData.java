@@ -0,0 +1,105 @@
+package com.adrienben.games.bagl.renderer.data;
+
+import com.adrienben.games.bagl.engine.Transform;
+import com.adrienben.games.bagl.engine.rendering.material.Material;
+import com.adrienben.games.bagl.engine.rendering.model.LodSelector;
+import com.adrienben.games.bagl.engine.rendering.model.Mesh;
+import com.adrienben.games.bagl.engine.rendering.model.ModelInstance;
+import com.adrienben.games.bagl.engine.rendering.model.ModelNode;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Data used to render one {@link ModelNode} of a {@link ModelInstance}.
+ * <p>
+ * It holds a copy of the world transform and of the skin palette of the node
+ * so the instance can keep being updated while this data is rendered. The meshes and materials
+ * are shared with the node since they are not changed once loaded.
+ *
+ * @author adrien
+ */
+public class ModelNodeRenderData {
+
+    private final Transform transform = new Transform();
+    private float[] palette = new float[0];
+    private final Map<Mesh, Integer> lods = new HashMap<>();
+    private final Map<Mesh, Integer> shadowLods = new HashMap<>();
+    private Map<Mesh, Material> meshes;
+    private int jointCount;
+    private boolean skinned;
+
+    /**
+     * Copy the state of a node of an instance.
+     *
+     * @param instance The instance holding the state of the node.
+     * @param node     The node to copy.
+     */
+    void set(final ModelInstance instance, final ModelNode node) {
+        final var index = node.getIndex();
+        transform.set(instance.getTransform(index));
+        meshes = node.getMeshes();
+        lods.clear();
+        shadowLods.clear();
+        skinned = instance.isSkinned(index);
+        jointCount = instance.getJointCount(index);
+        if (skinned) {
+            final var paletteSize = jointCount * 16;
+            if (palette.length < paletteSize) {
+                palette = new float[paletteSize];
+            }
+            System.arraycopy(instance.getPalette(), instance.getPaletteOffset(index), palette, 0, paletteSize);
+        }
+    }
+
+    /**
+     * Select the level of detail of the meshes of this node.
+     *
+     * @param lodSelector The selector to use.
+     */
+    public void selectLods(final LodSelector lodSelector) {
+        meshes.keySet().forEach(mesh -> {
+            final var lod = lodSelector.select(mesh, transform);
+            lods.put(mesh, lod);
+            shadowLods.put(mesh, lodSelector.selectShadowLod(mesh, lod));
+        });
+    }
+
+    public Transform getTransform() {
+        return transform;
+    }
+
+    public Map<Mesh, Material> getMeshes() {
+        return meshes;
+    }
+
+    public boolean isSkinned() {
+        return skinned;
+    }
+
+    public int getJointCount() {
+        return jointCount;
+    }
+
+    /**
+     * Get the copy of the skin palette of the node. Only the first {@link ModelNodeRenderData#getJointCount()}
+     * matrices are valid.
+     */
+    public float[] getPalette() {
+        return palette;
+    }
+
+    /**
+     * Get the level of detail selected for {@code mesh} during the last {@link ModelNodeRenderData#selectLods(LodSelector)}.
+     */
+    public int getLod(final Mesh mesh) {
+        return lods.getOrDefault(mesh, 0);
+    }
+
+    /**
+     * Get the level of detail selected for the shadows of {@code mesh} during the last {@link ModelNodeRenderData#selectLods(LodSelector)}.
+     */
+    public int getShadowLod(final Mesh mesh) {
+        return shadowLods.getOrDefault(mesh, 0);
+    }
+}
@@ -0,0 +1,52 @@
+package com.adrienben.games.bagl.renderer.data;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Pool of render data elements reused from one frame to another.
+ * <p>
+ * Elements are only created when the pool holds less elements than requested during a frame.
+ *
+ * @param <T> The type of the pooled elements.
+ * @author adrien
+ */
+class RenderDataPool<T> {
+
+    private final Supplier<T> factory;
+    private final List<T> elements = new ArrayList<>();
+    private final List<T> inUse = new ArrayList<>();
+    private final List<T> inUseView = Collections.unmodifiableList(inUse);
+
+    RenderDataPool(final Supplier<T> factory) {
+        this.factory = factory;
+    }
+
+    /**
+     * Get an element from the pool and mark it as in use.
+     */
+    T obtain() {
+        if (inUse.size() == elements.size()) {
+            elements.add(factory.get());
+        }
+        final var element = elements.get(inUse.size());
+        inUse.add(element);
+        return element;
+    }
+
+    /**
+     * Release all the elements in use.
+     */
+    void clear() {
+        inUse.clear();
+    }
+
+    /**
+     * Get a read-only view of the elements in use.
+     */
+    List<T> getInUse() {
+        return inUseView;
+    }
+}
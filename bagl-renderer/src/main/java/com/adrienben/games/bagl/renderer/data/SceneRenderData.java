@@ -1,32 +1,58 @@
 package com.adrienben.games.bagl.renderer.data;
 
+import com.adrienben.games.bagl.core.Color;
+import com.adrienben.games.bagl.core.utils.CollectionUtils;
+import com.adrienben.games.bagl.engine.Transform;
 import com.adrienben.games.bagl.engine.camera.Camera;
+import com.adrienben.games.bagl.engine.rendering.crowd.Crowd;
 import com.adrienben.games.bagl.engine.rendering.light.DirectionalLight;
+import com.adrienben.games.bagl.engine.rendering.light.Light;
 import com.adrienben.games.bagl.engine.rendering.light.PointLight;
 import com.adrienben.games.bagl.engine.rendering.light.SpotLight;
-import com.adrienben.games.bagl.engine.rendering.model.Model;
+import com.adrienben.games.bagl.engine.rendering.model.ModelInstance;
+import com.adrienben.games.bagl.engine.rendering.particles.GpuParticleEmitter;
+import com.adrienben.games.bagl.engine.rendering.particles.GpuParticleSnapshot;
 import com.adrienben.games.bagl.engine.rendering.particles.ParticleEmitter;
+import com.adrienben.games.bagl.engine.rendering.particles.ParticleSnapshot;
 import com.adrienben.games.bagl.opengl.texture.Cubemap;
+import org.joml.FrustumIntersection;
+import org.joml.Vector3f;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * Data used to render a scene.
+ * <p>
+ * The data is a snapshot of the scene. The camera, the lights, the transforms and joint matrices of the
+ * model nodes, the agents of the crowds and the vertices of the particles are copied when they are added so the scene can be updated
+ * while the data is rendered. GPU resources like meshes, materials and environment maps are shared with the scene.
+ * <p>
+ * Particle emitters out of the view of the camera are not captured and the particles of the visible emitters sharing
+ * the same texture and blend mode are captured together so they can be drawn at once.
+ * <p>
+ * The copies are pooled and reused each time the data is reset.
  *
  * @author adrien
  */
 public class SceneRenderData {
 
     private Camera camera;
+    private Camera cameraCopy;
     private Cubemap environmentMap;
     private Cubemap irradianceMap;
     private Cubemap preFilteredMap;
-    private final List<DirectionalLight> directionalLights = new ArrayList<>();
-    private final List<PointLight> pointLights = new ArrayList<>();
-    private final List<SpotLight> spotLights = new ArrayList<>();
-    private final List<Model> models = new ArrayList<>();
-    private final List<ParticleEmitter> particleEmitters = new ArrayList<>();
+    private int modelCount;
+    private int culledParticleEmitterCount;
+    private final FrustumIntersection cameraFrustum = new FrustumIntersection();
+    private final RenderDataPool<DirectionalLight> directionalLights = new RenderDataPool<>(() -> new DirectionalLight(new Vector3f()));
+    private final RenderDataPool<PointLight> pointLights = new RenderDataPool<>(() -> new PointLight(new Vector3f(), 0f));
+    private final RenderDataPool<SpotLight> spotLights = new RenderDataPool<>(
+            () -> new SpotLight(1f, Color.WHITE, new Vector3f(), 0f, new Vector3f(), 0f, 0f));
+    private final RenderDataPool<ModelNodeRenderData> modelNodes = new RenderDataPool<>(ModelNodeRenderData::new);
+    private final RenderDataPool<CrowdRenderData> crowds = new RenderDataPool<>(CrowdRenderData::new);
+    private final RenderDataPool<ParticleSnapshot> particleEmitters = new RenderDataPool<>(ParticleSnapshot::new);
+    private final RenderDataPool<GpuParticleSnapshot> gpuParticleEmitters = new RenderDataPool<>(GpuParticleSnapshot::new);
 
     /**
      * Reset the data to its initial state.
@@ -36,35 +62,122 @@ public class SceneRenderData {
         environmentMap = null;
         irradianceMap = null;
         preFilteredMap = null;
+        modelCount = 0;
+        culledParticleEmitterCount = 0;
         directionalLights.clear();
         pointLights.clear();
         spotLights.clear();
-        models.clear();
+        modelNodes.clear();
+        crowds.clear();
         particleEmitters.clear();
+        gpuParticleEmitters.clear();
     }
 
     public void addDirectionalLight(final DirectionalLight directionalLight) {
-        directionalLights.add(directionalLight);
+        final var copy = directionalLights.obtain();
+        copyLight(directionalLight, copy);
+        copy.getDirection().set(directionalLight.getDirection());
     }
 
     public void addPointLight(final PointLight pointLight) {
-        pointLights.add(pointLight);
+        copyPointLight(pointLight, pointLights.obtain());
     }
 
     public void addSpotLight(final SpotLight spotLight) {
-        spotLights.add(spotLight);
+        final var copy = spotLights.obtain();
+        copyPointLight(spotLight, copy);
+        copy.getDirection().set(spotLight.getDirection());
+        copy.setAngle(spotLight.getAngle());
+        copy.setEdge(spotLight.getEdge());
     }
 
-    public void addModel(final Model model) {
-        models.add(model);
+    private static void copyPointLight(final PointLight source, final PointLight destination) {
+        copyLight(source, destination);
+        destination.setPosition(source.getPosition());
+        destination.setRadius(source.getRadius());
     }
 
-    public void addParticleEmitter(final ParticleEmitter particleEmitter) {
-        particleEmitters.add(particleEmitter);
+    private static void copyLight(final Light source, final Light destination) {
+        destination.setIntensity(source.getIntensity());
+        destination.setColor(source.getColor());
+    }
+
+    /**
+     * Add the nodes of a model instance containing meshes.
+     */
+    public void addModel(final ModelInstance instance) {
+        modelCount++;
+        final var model = instance.getModel();
+        for (var index = 0; index < model.getNodeCount(); index++) {
+            final var node = model.getNode(index);
+            if (CollectionUtils.isNotEmpty(node.getMeshes())) {
+                modelNodes.obtain().set(instance, node);
+            }
+        }
+    }
+
+    /**
+     * Add a crowd containing at least one agent.
+     *
+     * @param crowd     The crowd to add.
+     * @param transform The transform of the crowd.
+     */
+    public void addCrowd(final Crowd crowd, final Transform transform) {
+        if (crowd.getAgentCount() > 0) {
+            crowds.obtain().set(crowd, transform);
+        }
+    }
+
+    /**
+     * Capture the particles of the emitters in view of the camera.
+     * <p>
+     * Each emitter is flagged as culled when its bounds are out of the view frustum of the camera, and is then
+     * skipped. The particles of the others are captured in one snapshot per texture and blend mode, and sorted
+     * from the point of view of the camera. So the camera must be set before adding emitters.
+     *
+     * @param particleEmitters The emitters to capture.
+     */
+    public void addParticleEmitters(final List<ParticleEmitter> particleEmitters) {
+        Objects.requireNonNull(camera, "The camera must be set before adding particle emitters");
+        cameraFrustum.set(camera.getViewProj());
+        for (final var emitter : particleEmitters) {
+            final var bounds = emitter.getBounds();
+            final var culled = !cameraFrustum.testAab(bounds.minX(), bounds.minY(), bounds.minZ(), bounds.maxX(), bounds.maxY(), bounds.maxZ());
+            emitter.setCulled(culled);
+            if (culled) {
+                culledParticleEmitterCount++;
+            } else if (emitter.getParticles().size() > 0) {
+                obtainParticleSnapshot(emitter).add(emitter);
+            }
+        }
+        this.particleEmitters.getInUse().forEach(snapshot -> snapshot.sortBackToFront(camera.getPosition()));
+    }
+
+    private ParticleSnapshot obtainParticleSnapshot(final ParticleEmitter emitter) {
+        for (final var snapshot : particleEmitters.getInUse()) {
+            if (snapshot.accepts(emitter)) {
+                return snapshot;
+            }
+        }
+        final var snapshot = particleEmitters.obtain();
+        snapshot.clear(emitter.getTexture().orElse(null), emitter.getBlendMode());
+        return snapshot;
+    }
+
+    /**
+     * Capture the pending simulation step of a GPU particle emitter. The particles are simulated when they are rendered.
+     */
+    public void addGpuParticleEmitter(final GpuParticleEmitter gpuParticleEmitter) {
+        gpuParticleEmitters.obtain().capture(gpuParticleEmitter);
     }
 
     public void setCamera(final Camera camera) {
-        this.camera = camera;
+        if (Objects.isNull(cameraCopy)) {
+            cameraCopy = new Camera(camera);
+        } else {
+            cameraCopy.set(camera);
+        }
+        this.camera = cameraCopy;
     }
 
     public void setEnvironmentMap(final Cubemap environmentMap) {
@@ -96,22 +209,44 @@ public class SceneRenderData {
     }
 
     public List<DirectionalLight> getDirectionalLights() {
-        return directionalLights;
+        return directionalLights.getInUse();
     }
 
     public List<PointLight> getPointLights() {
-        return pointLights;
+        return pointLights.getInUse();
     }
 
     public List<SpotLight> getSpotLights() {
-        return spotLights;
+        return spotLights.getInUse();
+    }
+
+    public int getModelCount() {
+        return modelCount;
+    }
+
+    public List<ModelNodeRenderData> getModelNodes() {
+        return modelNodes.getInUse();
+    }
+
+    public List<CrowdRenderData> getCrowds() {
+        return crowds.getInUse();
     }
 
-    public List<Model> getModels() {
-        return models;
+    /**
+     * Get the number of particle emitters skipped because they were out of the view of the camera.
+     */
+    public int getCulledParticleEmitterCount() {
+        return culledParticleEmitterCount;
+    }
+
+    /**
+     * Get the snapshots of the visible particle emitters, one per texture and blend mode.
+     */
+    public List<ParticleSnapshot> getParticleEmitters() {
+        return particleEmitters.getInUse();
     }
 
-    public List<ParticleEmitter> getParticleEmitters() {
-        return particleEmitters;
+    public List<GpuParticleSnapshot> getGpuParticleEmitters() {
+        return gpuParticleEmitters.getInUse();
     }
 }
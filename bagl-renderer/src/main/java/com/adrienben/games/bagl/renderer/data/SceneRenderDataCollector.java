@@ -1,31 +1,61 @@
 package com.adrienben.games.bagl.renderer.data;
 
+import com.adrienben.games.bagl.engine.rendering.particles.ParticleEmitter;
 import com.adrienben.games.bagl.engine.scene.ComponentVisitor;
 import com.adrienben.games.bagl.engine.scene.Scene;
 import com.adrienben.games.bagl.engine.scene.components.*;
+import com.adrienben.games.bagl.renderer.profiling.SceneCollectionEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
 
 /**
  * This class is responsible for collecting the data required for rendering a scene.
+ * <p>
+ * It only reads the scene, apart from flagging the particle emitters out of the view of the camera
+ * as culled, so it can be used from the thread updating the scene.
  *
  * @author adrien
  */
 public class SceneRenderDataCollector implements ComponentVisitor {
 
-    private final SceneRenderData sceneRenderData;
-
-    public SceneRenderDataCollector() {
-        this.sceneRenderData = new SceneRenderData();
-    }
+    private final List<ParticleEmitter> particleEmitters = new ArrayList<>();
+    private SceneRenderData sceneRenderData;
 
     /**
      * Update the data to render by visiting the scene.
+     *
+     * @param scene           The scene to collect data from.
+     * @param sceneRenderData The data to update.
+     * @return The updated data.
      */
-    public SceneRenderData collectDataForRendering(final Scene scene) {
+    public SceneRenderData collectDataForRendering(final Scene scene, final SceneRenderData sceneRenderData) {
+        final var event = new SceneCollectionEvent();
+        event.begin();
+        this.sceneRenderData = sceneRenderData;
         sceneRenderData.reset();
         scene.accept(this);
+        final var particleEmitterCount = particleEmitters.size() + sceneRenderData.getGpuParticleEmitters().size();
+        addParticleEmitters();
+        if (event.shouldCommit()) {
+            event.modelCount = sceneRenderData.getModelCount();
+            event.lightCount = sceneRenderData.getDirectionalLights().size() + sceneRenderData.getPointLights().size()
+                    + sceneRenderData.getSpotLights().size();
+            event.particleEmitterCount = particleEmitterCount;
+            event.culledParticleEmitterCount = sceneRenderData.getCulledParticleEmitterCount();
+            event.commit();
+        }
         return sceneRenderData;
     }
 
+    private void addParticleEmitters() {
+        if (Objects.nonNull(sceneRenderData.getCamera())) {
+            sceneRenderData.addParticleEmitters(particleEmitters);
+        }
+        particleEmitters.clear();
+    }
+
     /**
      * {@inheritDoc}
      * <p>
@@ -35,7 +65,7 @@ public class SceneRenderDataCollector implements ComponentVisitor {
      */
     @Override
     public void visit(final ModelComponent component) {
-        sceneRenderData.addModel(component.getModel());
+        sceneRenderData.addModel(component.getInstance());
     }
 
     /**
@@ -111,12 +141,40 @@ public class SceneRenderDataCollector implements ComponentVisitor {
      * {@inheritDoc}
      * <p>
      * Add the particle emitter contained in component to the list of emitter
-     * to render.
+     * to render. Emitters are captured once the whole scene is visited since
+     * their particles are sorted from the point of view of the camera.
      *
      * @see ComponentVisitor#visit(SpotLightComponent)
      */
     @Override
     public void visit(final ParticleComponent component) {
-        sceneRenderData.addParticleEmitter(component.getEmitter());
+        particleEmitters.add(component.getEmitter());
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Capture the pending simulation step of the emitter contained in component.
+     * Its particles are simulated on the GPU when they are rendered
+     *
+     * @see ComponentVisitor#visit(GpuParticleComponent)
+     */
+    @Override
+    public void visit(final GpuParticleComponent component) {
+        sceneRenderData.addGpuParticleEmitter(component.getEmitter());
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Add the crowd contained in component to the list of crowds to render.
+     * Its agents are placed relative to the transform of the parent object
+     * of the component
+     *
+     * @see ComponentVisitor#visit(CrowdComponent)
+     */
+    @Override
+    public void visit(final CrowdComponent component) {
+        sceneRenderData.addCrowd(component.getCrowd(), component.getParentObject().getTransform());
     }
 }
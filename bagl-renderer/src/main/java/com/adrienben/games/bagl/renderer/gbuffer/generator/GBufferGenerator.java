@@ -1,19 +1,21 @@
 package com.adrienben.games.bagl.renderer.gbuffer.generator;
 
-import com.adrienben.games.bagl.core.utils.CollectionUtils;
 import com.adrienben.games.bagl.engine.rendering.material.Material;
 import com.adrienben.games.bagl.engine.rendering.model.AlphaMode;
 import com.adrienben.games.bagl.engine.rendering.model.Mesh;
-import com.adrienben.games.bagl.engine.rendering.model.Model;
-import com.adrienben.games.bagl.engine.rendering.model.ModelNode;
 import com.adrienben.games.bagl.engine.rendering.renderer.MeshRenderer;
+import com.adrienben.games.bagl.opengl.OpenGL;
+import com.adrienben.games.bagl.opengl.commands.CommandList;
+import com.adrienben.games.bagl.opengl.commands.GLCommandExecutor;
 import com.adrienben.games.bagl.opengl.shader.Shader;
+import com.adrienben.games.bagl.renderer.data.CrowdRenderData;
+import com.adrienben.games.bagl.renderer.data.ModelNodeRenderData;
 import com.adrienben.games.bagl.renderer.data.SceneRenderData;
 import com.adrienben.games.bagl.renderer.gbuffer.GBuffer;
+import com.adrienben.games.bagl.renderer.shaders.GBufferCrowdShader;
 import com.adrienben.games.bagl.renderer.shaders.GBufferShader;
 
 import static com.adrienben.games.bagl.engine.rendering.shaders.MaterialUniformSetter.*;
-import static org.lwjgl.opengl.GL11.*;
 
 /**
  * {@link GBuffer} generator.
@@ -21,21 +23,35 @@ import static org.lwjgl.opengl.GL11.*;
  * This class is responsible to render {@link SceneRenderData} into a geometry buffer.
  * Only mesh with {@link AlphaMode#OPAQUE} and {@link AlphaMode#MASK} will be rendered to
  * the gbuffer.
+ * <p>
+ * The rendering of the model nodes is first recorded into a {@link CommandList} by
+ * {@link GBufferGenerator#recordCommands(SceneRenderData)}. Recording does not require the
+ * OpenGL context so it can run on a worker thread. The list is then replayed by
+ * {@link GBufferGenerator#generateGBuffer()} on the OpenGL thread.
+ * <p>
+ * Crowds are not recorded. Their agents are uploaded and each mesh of a crowd is rendered for all
+ * the agents in one instanced draw call once the list is replayed.
  *
  * @author adrien.
  */
 public class GBufferGenerator {
 
     private final GBufferShader gBufferShader;
+    private final GBufferCrowdShader gBufferCrowdShader;
     private final GBuffer gBuffer;
     private final MeshRenderer meshRenderer;
+    private final CommandList commandList;
+    private final GLCommandExecutor commandExecutor;
 
     private SceneRenderData sceneRenderData;
 
     public GBufferGenerator(final int xResolution, final int yResolution) {
         this.gBufferShader = new GBufferShader();
+        this.gBufferCrowdShader = new GBufferCrowdShader();
         this.gBuffer = new GBuffer(xResolution, yResolution);
         this.meshRenderer = new MeshRenderer();
+        this.commandList = new CommandList();
+        this.commandExecutor = new GLCommandExecutor();
     }
 
     /**
@@ -43,24 +59,40 @@ public class GBufferGenerator {
      */
     public void destroy() {
         gBufferShader.destroy();
+        gBufferCrowdShader.destroy();
         gBuffer.destroy();
+        commandExecutor.destroy();
     }
 
     /**
-     * Render the scene data into a {@link GBuffer}.
+     * Record the rendering of the model nodes of the scene data.
      * <p>
-     * This method will always return a reference to the same {@link GBuffer} instance.
+     * This method does not perform any OpenGL call so it can be called from any thread.
      *
      * @param sceneRenderData The data of the scene to render.
-     * @return A reference to the underlying {@link GBuffer}.
      */
-    public GBuffer generateGBuffer(final SceneRenderData sceneRenderData) {
+    public void recordCommands(final SceneRenderData sceneRenderData) {
         this.sceneRenderData = sceneRenderData;
+        commandList.clear();
+        commandList.record(() -> sceneRenderData.getModelNodes().forEach(this::renderModelNodeToGBuffer));
+    }
+
+    /**
+     * Render the scene data recorded during the last {@link GBufferGenerator#recordCommands(SceneRenderData)}
+     * into a {@link GBuffer}.
+     * <p>
+     * This method will always return a reference to the same {@link GBuffer} instance.
+     *
+     * @return A reference to the underlying {@link GBuffer}.
+     */
+    public GBuffer generateGBuffer() {
         gBuffer.bind();
         gBuffer.clear();
         gBufferShader.bind();
 
-        sceneRenderData.getModels().forEach(this::renderModelToGBuffer);
+        gBufferShader.setViewProjectionUniform(sceneRenderData.getCamera().getViewProj());
+        commandExecutor.execute(commandList);
+        renderCrowdsToGBuffer();
 
         Shader.unbind();
         gBuffer.unbind();
@@ -68,26 +100,41 @@ public class GBufferGenerator {
     }
 
     /**
-     * Render a model to the GBuffer
+     * Render a model node to the GBuffer
      *
-     * @param model The model to render
+     * @param node The node to render
      */
-    private void renderModelToGBuffer(final Model model) {
-        model.getNodes().forEach(this::renderModelNodeToGBuffer);
+    private void renderModelNodeToGBuffer(final ModelNodeRenderData node) {
+        gBufferShader.setModelNodeUniforms(node);
+        node.getMeshes().forEach((mesh, material) -> renderMeshToGBuffer(mesh, material, node.getLod(mesh)));
     }
 
     /**
-     * Render a model node to the GBuffer
-     *
-     * @param node The node to render
+     * Render the crowds to the GBuffer
      */
-    private void renderModelNodeToGBuffer(final ModelNode node) {
-        if (CollectionUtils.isNotEmpty(node.getMeshes())) {
-            gBufferShader.setModelNodeUniforms(node);
-            gBufferShader.setViewProjectionUniform(sceneRenderData.getCamera().getViewProj());
-            node.getMeshes().forEach(this::renderMeshToGBuffer);
+    private void renderCrowdsToGBuffer() {
+        final var crowds = sceneRenderData.getCrowds();
+        if (crowds.isEmpty()) {
+            return;
         }
-        node.getChildren().forEach(this::renderModelNodeToGBuffer);
+        gBufferCrowdShader.bind();
+        gBufferCrowdShader.setViewProjectionUniform(sceneRenderData.getCamera().getViewProj());
+        crowds.forEach(this::renderCrowdToGBuffer);
+    }
+
+    /**
+     * Render all the agents of a crowd to the GBuffer
+     *
+     * @param crowd The crowd to render
+     */
+    private void renderCrowdToGBuffer(final CrowdRenderData crowd) {
+        crowd.upload();
+        gBufferCrowdShader.setCrowdUniforms(crowd);
+        final var animationTexture = crowd.getCrowd().getAnimationTexture();
+        animationTexture.bind(GBufferCrowdShader.ANIMATION_TEXTURE_CHANNEL);
+        crowd.getCrowd().getMeshes().forEach((mesh, material) -> renderMaterial(gBufferCrowdShader, material,
+                () -> meshRenderer.renderInstanced(mesh, crowd.getCrowd().getVertexArray(mesh), 0, crowd.getAgentCount())));
+        animationTexture.unbind(GBufferCrowdShader.ANIMATION_TEXTURE_CHANNEL);
     }
 
     /**
@@ -95,26 +142,44 @@ public class GBufferGenerator {
      *
      * @param mesh     The mesh to render
      * @param material The material to apply
+     * @param lod      The level of detail to render
+     */
+    private void renderMeshToGBuffer(final Mesh mesh, final Material material, final int lod) {
+        renderMaterial(gBufferShader, material, () -> meshRenderer.render(mesh, lod));
+    }
+
+    /**
+     * Set up a material, run a draw and restore the state changed by the material.
+     * <p>
+     * Materials with {@link AlphaMode#BLEND} are skipped.
+     *
+     * @param shader   The shader to set the material uniforms of
+     * @param material The material to apply
+     * @param draw     The draw to run with the material
      */
-    private void renderMeshToGBuffer(final Mesh mesh, final Material material) {
+    private static void renderMaterial(final GBufferShader shader, final Material material, final Runnable draw) {
         if (material.getAlphaMode() == AlphaMode.BLEND) {
             return;
         }
         if (material.isDoubleSided()) {
-            glDisable(GL_CULL_FACE);
+            OpenGL.disableFaceCulling();
         }
-        gBufferShader.setMaterialUniforms(material);
-        meshRenderer.render(mesh);
+        shader.setMaterialUniforms(material);
+        draw.run();
         material.getDiffuseMap().ifPresent(map -> map.unbind(DIFFUSE_MAP_CHANNEL));
         material.getEmissiveMap().ifPresent(map -> map.unbind(EMISSIVE_MAP_CHANNEL));
         material.getRoughnessMetallicMap().ifPresent(map -> map.unbind(ROUGHNESS_METALLIC_MAP_CHANNEL));
         material.getNormalMap().ifPresent(map -> map.unbind(NORMAL_MAP_CHANNEL));
         material.getOcclusionMap().ifPresent(map -> map.unbind(OCCLUSION_MAP_CHANNEL));
         if (material.isDoubleSided()) {
-            glEnable(GL_CULL_FACE);
+            OpenGL.enableFaceCulling();
         }
     }
 
+    public CommandList getCommandList() {
+        return commandList;
+    }
+
     public GBuffer getGBuffer() {
         return gBuffer;
     }
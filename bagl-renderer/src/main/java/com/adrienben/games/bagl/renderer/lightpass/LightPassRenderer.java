@@ -10,6 +10,7 @@ import com.adrienben.games.bagl.renderer.gbuffer.GBuffer;
 import com.adrienben.games.bagl.renderer.pbr.BrdfLookup;
 import com.adrienben.games.bagl.renderer.shaders.DeferredShader;
 import com.adrienben.games.bagl.renderer.shadow.CascadedShadowMap;
+import org.joml.Vector2f;
 
 import java.util.Objects;
 import java.util.Optional;
@@ -30,13 +31,19 @@ public class LightPassRenderer {
     private final MeshRenderer meshRenderer;
     private final Mesh screenQuad;
 
+    private final Vector2f viewportScale = new Vector2f(1f, 1f);
     private GBuffer gBuffer;
     private SceneRenderData sceneRenderData;
     private CascadedShadowMap cascadedShadowMap;
 
-    public LightPassRenderer() {
+    /**
+     * Construct a light pass renderer.
+     *
+     * @param brdfLookup The BRDF lookup texture. It is not destroyed by the renderer.
+     */
+    public LightPassRenderer(final BrdfLookup brdfLookup) {
         this.deferredShader = new DeferredShader();
-        this.brdfLookup = new BrdfLookup();
+        this.brdfLookup = brdfLookup;
         this.meshRenderer = new MeshRenderer();
         this.screenQuad = MeshFactory.createScreenQuad();
     }
@@ -46,7 +53,6 @@ public class LightPassRenderer {
      */
     public void destroy() {
         deferredShader.destroy();
-        brdfLookup.destroy();
         screenQuad.destroy();
     }
 
@@ -73,6 +79,7 @@ public class LightPassRenderer {
 
         deferredShader.bind();
         deferredShader.setCameraUniforms(sceneRenderData.getCamera())
+                .setViewportScaleUniform(viewportScale)
                 .setCSMUniforms(cascadedShadowMap)
                 .setDirectionalLightsUniforms(sceneRenderData.getDirectionalLights())
                 .setPointLightsUniforms(sceneRenderData.getPointLights())
@@ -119,6 +126,16 @@ public class LightPassRenderer {
         this.sceneRenderData = sceneRenderData;
     }
 
+    /**
+     * Set the fraction of the {@link GBuffer} covered by the current viewport. Defaults to (1, 1).
+     *
+     * @param xScale The horizontal fraction.
+     * @param yScale The vertical fraction.
+     */
+    public void setViewportScale(final float xScale, final float yScale) {
+        viewportScale.set(xScale, yScale);
+    }
+
     public void setCascadedShadowMap(final CascadedShadowMap cascadedShadowMap) {
         this.cascadedShadowMap = cascadedShadowMap;
     }
@@ -36,6 +36,16 @@ public abstract class AbstractRenderingPath {
      */
     public abstract void renderSceneData();
 
+    /**
+     * Record the commands rendering the {@link SceneRenderData} provided to the path.
+     * <p>
+     * It is called before {@link AbstractRenderingPath#renderSceneData()} and must not perform any
+     * OpenGL call so paths of the same frame can record concurrently from worker threads.
+     * The default implementation records nothing.
+     */
+    public void recordCommands() {
+    }
+
     /**
      * Set the {@link SceneRenderData} to render at the next {@link AbstractRenderingPath#renderSceneData()}
      * call.
@@ -4,6 +4,7 @@ import com.adrienben.games.bagl.opengl.FrameBuffer;
 import com.adrienben.games.bagl.renderer.gbuffer.GBuffer;
 import com.adrienben.games.bagl.renderer.gbuffer.generator.GBufferGenerator;
 import com.adrienben.games.bagl.renderer.lightpass.LightPassRenderer;
+import com.adrienben.games.bagl.renderer.pbr.BrdfLookup;
 
 /**
  * The deferred rendering path will render scene data by first generating a
@@ -20,11 +21,17 @@ public class DeferredPath extends AbstractRenderingPath {
     private final GBuffer gBuffer;
     private final LightPassRenderer lightPassRenderer;
 
-    public DeferredPath(final FrameBuffer targetBuffer) {
+    /**
+     * Construct a deferred path.
+     *
+     * @param targetBuffer The buffer to render into.
+     * @param brdfLookup   The BRDF lookup texture used by the lighting pass. It is not destroyed by this path.
+     */
+    public DeferredPath(final FrameBuffer targetBuffer, final BrdfLookup brdfLookup) {
         super(targetBuffer);
         this.gBufferGenerator = new GBufferGenerator(targetBuffer.getWidth(), targetBuffer.getHeight());
         this.gBuffer = gBufferGenerator.getGBuffer();
-        this.lightPassRenderer = new LightPassRenderer();
+        this.lightPassRenderer = new LightPassRenderer(brdfLookup);
     }
 
     /**
@@ -38,6 +45,18 @@ public class DeferredPath extends AbstractRenderingPath {
         lightPassRenderer.destroy();
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Record the geometry pass.
+     *
+     * @see AbstractRenderingPath#recordCommands()
+     */
+    @Override
+    public void recordCommands() {
+        gBufferGenerator.recordCommands(sceneRenderData);
+    }
+
     /**
      * {@inheritDoc}
      * <p>
@@ -53,7 +72,7 @@ public class DeferredPath extends AbstractRenderingPath {
     }
 
     private void performGeometryPass() {
-        gBufferGenerator.generateGBuffer(sceneRenderData);
+        gBufferGenerator.generateGBuffer();
     }
 
     private void performLightingPass() {
@@ -78,6 +97,17 @@ public class DeferredPath extends AbstractRenderingPath {
         targetBuffer.unbind();
     }
 
+    /**
+     * Set the fraction of the target buffer covered by the viewport the scene is rendered into.
+     *
+     * @param xScale The horizontal fraction.
+     * @param yScale The vertical fraction.
+     * @see LightPassRenderer#setViewportScale(float, float)
+     */
+    public void setViewportScale(final float xScale, final float yScale) {
+        lightPassRenderer.setViewportScale(xScale, yScale);
+    }
+
     public GBuffer getGBuffer() {
         return gBuffer;
     }
@@ -1,17 +1,17 @@
 package com.adrienben.games.bagl.renderer.paths;
 
-import com.adrienben.games.bagl.core.utils.CollectionUtils;
 import com.adrienben.games.bagl.core.utils.ObjectUtils;
 import com.adrienben.games.bagl.engine.rendering.material.Material;
 import com.adrienben.games.bagl.engine.rendering.model.AlphaMode;
 import com.adrienben.games.bagl.engine.rendering.model.Mesh;
-import com.adrienben.games.bagl.engine.rendering.model.Model;
-import com.adrienben.games.bagl.engine.rendering.model.ModelNode;
 import com.adrienben.games.bagl.engine.rendering.renderer.MeshRenderer;
 import com.adrienben.games.bagl.opengl.BlendMode;
 import com.adrienben.games.bagl.opengl.FrameBuffer;
 import com.adrienben.games.bagl.opengl.OpenGL;
+import com.adrienben.games.bagl.opengl.commands.CommandList;
+import com.adrienben.games.bagl.opengl.commands.GLCommandExecutor;
 import com.adrienben.games.bagl.opengl.shader.Shader;
+import com.adrienben.games.bagl.renderer.data.ModelNodeRenderData;
 import com.adrienben.games.bagl.renderer.pbr.BrdfLookup;
 import com.adrienben.games.bagl.renderer.shaders.ForwardShader;
 import com.adrienben.games.bagl.renderer.shadow.CascadedShadowMap;
@@ -21,12 +21,15 @@ import java.util.Objects;
 import static com.adrienben.games.bagl.engine.rendering.shaders.MaterialUniformSetter.*;
 import static com.adrienben.games.bagl.renderer.shaders.DeferredShader.*;
 import static com.adrienben.games.bagl.renderer.shaders.uniforms.ShadowUniformSetter.SHADOW_MAP_0_CHANNEL;
-import static org.lwjgl.opengl.GL11.*;
 
 /**
  * Forward rendering path.
  * <p>
  * This path only renders transparent meshes.
+ * <p>
+ * The rendering of the model nodes is recorded into a {@link CommandList} by {@link ForwardPath#recordCommands()}
+ * and replayed by {@link ForwardPath#renderSceneData()} after the uniforms of the lights, of the camera and
+ * of the shadows have been set up.
  *
  * @author adrien.
  */
@@ -35,12 +38,22 @@ public class ForwardPath extends AbstractRenderingPath {
     private final ForwardShader forwardShader;
     private final MeshRenderer meshRenderer;
     private final BrdfLookup brdfLookup;
+    private final CommandList commandList;
+    private final GLCommandExecutor commandExecutor;
 
-    public ForwardPath(final FrameBuffer targetBuffer) {
+    /**
+     * Construct a forward path.
+     *
+     * @param targetBuffer The buffer to render into.
+     * @param brdfLookup   The BRDF lookup texture. It is shared with the deferred path and not destroyed by this path.
+     */
+    public ForwardPath(final FrameBuffer targetBuffer, final BrdfLookup brdfLookup) {
         super(targetBuffer);
         this.forwardShader = new ForwardShader();
         this.meshRenderer = new MeshRenderer();
-        this.brdfLookup = new BrdfLookup();
+        this.brdfLookup = brdfLookup;
+        this.commandList = new CommandList();
+        this.commandExecutor = new GLCommandExecutor();
     }
 
     /**
@@ -51,6 +64,18 @@ public class ForwardPath extends AbstractRenderingPath {
     @Override
     public void destroy() {
         forwardShader.destroy();
+        commandExecutor.destroy();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see AbstractRenderingPath#recordCommands()
+     */
+    @Override
+    public void recordCommands() {
+        commandList.clear();
+        commandList.record(() -> sceneRenderData.getModelNodes().forEach(this::renderModelNode));
     }
 
     /**
@@ -66,7 +91,7 @@ public class ForwardPath extends AbstractRenderingPath {
 
         OpenGL.setBlendMode(BlendMode.TRANSPARENCY);
         OpenGL.disableDepthWrite();
-        sceneRenderData.getModels().forEach(this::renderModel);
+        commandExecutor.execute(commandList);
         OpenGL.enableDepthWrite();
         OpenGL.setBlendMode(BlendMode.NONE);
 
@@ -87,38 +112,31 @@ public class ForwardPath extends AbstractRenderingPath {
         if (Objects.nonNull(sceneRenderData.getPreFilteredMap())) {
             sceneRenderData.getPreFilteredMap().bind(PRE_FILTERED_MAP_CHANNEL);
         }
+        forwardShader.setViewProjectionUniform(sceneRenderData.getCamera().getViewProj());
         forwardShader.setCSMUniforms(cascadedShadowMap);
     }
 
-    private void renderModel(final Model model) {
-        model.getNodes().forEach(this::renderModelNode);
-    }
-
-    private void renderModelNode(final ModelNode node) {
-        if (CollectionUtils.isNotEmpty(node.getMeshes())) {
-            forwardShader.setModelNodeUniforms(node);
-            forwardShader.setViewProjectionUniform(sceneRenderData.getCamera().getViewProj());
-            node.getMeshes().forEach(this::renderMesh);
-        }
-        node.getChildren().forEach(this::renderModelNode);
+    private void renderModelNode(final ModelNodeRenderData node) {
+        forwardShader.setModelNodeUniforms(node);
+        node.getMeshes().forEach((mesh, material) -> renderMesh(mesh, material, node.getLod(mesh)));
     }
 
-    private void renderMesh(final Mesh mesh, final Material material) {
+    private void renderMesh(final Mesh mesh, final Material material, final int lod) {
         if (material.getAlphaMode() != AlphaMode.BLEND) {
             return;
         }
         if (material.isDoubleSided()) {
-            glDisable(GL_CULL_FACE);
+            OpenGL.disableFaceCulling();
         }
         forwardShader.setMaterialUniforms(material);
-        meshRenderer.render(mesh);
+        meshRenderer.render(mesh, lod);
         material.getDiffuseMap().ifPresent(map -> map.unbind(DIFFUSE_MAP_CHANNEL));
         material.getEmissiveMap().ifPresent(map -> map.unbind(EMISSIVE_MAP_CHANNEL));
         material.getRoughnessMetallicMap().ifPresent(map -> map.unbind(ROUGHNESS_METALLIC_MAP_CHANNEL));
         material.getNormalMap().ifPresent(map -> map.unbind(NORMAL_MAP_CHANNEL));
         material.getOcclusionMap().ifPresent(map -> map.unbind(OCCLUSION_MAP_CHANNEL));
         if (material.isDoubleSided()) {
-            glEnable(GL_CULL_FACE);
+            OpenGL.enableFaceCulling();
         }
     }
 
@@ -132,4 +150,8 @@ public class ForwardPath extends AbstractRenderingPath {
             }
         }
     }
+
+    public CommandList getCommandList() {
+        return commandList;
+    }
 }
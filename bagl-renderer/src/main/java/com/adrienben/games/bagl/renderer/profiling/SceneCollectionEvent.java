@@ -0,0 +1,30 @@
+package com.adrienben.games.bagl.renderer.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event emitted when the data required to render a scene is collected.
+ *
+ * @author adrien
+ */
+@Name("com.adrienben.games.bagl.SceneCollection")
+@Label("Scene Collection")
+@Category({"Bagl", "Rendering"})
+@Description("Traversal of the scene graph to collect the renderable objects")
+public class SceneCollectionEvent extends jdk.jfr.Event {
+
+    @Label("Model Count")
+    public int modelCount;
+
+    @Label("Light Count")
+    public int lightCount;
+
+    @Label("Particle Emitter Count")
+    public int particleEmitterCount;
+
+    @Label("Culled Particle Emitter Count")
+    public int culledParticleEmitterCount;
+}
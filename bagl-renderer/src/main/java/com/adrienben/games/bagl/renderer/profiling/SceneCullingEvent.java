@@ -0,0 +1,29 @@
+package com.adrienben.games.bagl.renderer.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event emitted when the visible geometry of a frame is determined.
+ * <p>
+ * It covers the update of the camera frustum and the selection of the mesh levels of detail.
+ *
+ * @author adrien
+ */
+@Name("com.adrienben.games.bagl.SceneCulling")
+@Label("Scene Culling")
+@Category({"Bagl", "Rendering"})
+@Description("Determination of the geometry to render from the camera point of view")
+public class SceneCullingEvent extends jdk.jfr.Event {
+
+    @Label("Model Count")
+    public int modelCount;
+
+    @Label("Rendered Triangles")
+    public long renderedTriangleCount;
+
+    @Label("Full Detail Triangles")
+    public long fullDetailTriangleCount;
+}
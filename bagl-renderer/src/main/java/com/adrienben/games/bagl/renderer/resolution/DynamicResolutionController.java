@@ -0,0 +1,82 @@
+package com.adrienben.games.bagl.renderer.resolution;
+
+import com.adrienben.games.bagl.core.validation.Validation;
+
+/**
+ * Controls the scale of the rendering resolution from the measured GPU frame time.
+ * <p>
+ * The controller aims to keep the GPU frame time between the target frame time and the target minus
+ * a headroom. When the frame time leaves this range, the scale is moved toward the scale expected to
+ * bring the frame time back in the range, assuming the GPU cost is proportional to the number of pixels.
+ * The frame times are smoothed and each change of scale is bounded to avoid oscillations.
+ * <p>
+ * Since GPU timings are only available a few frames after the frame was rendered, measurements are
+ * ignored for a number of frames after each change of scale.
+ *
+ * @author adrien
+ */
+public class DynamicResolutionController {
+
+    private static final float HEADROOM = 0.1f;
+    private static final float SMOOTHING = 0.25f;
+    private static final float MAX_STEP = 0.1f;
+
+    private final float targetFrameTime;
+    private final float minScale;
+    private final float maxScale;
+    private final int settleFrameCount;
+
+    private float scale;
+    private float smoothedFrameTime;
+    private int framesToSettle;
+
+    /**
+     * Construct a controller.
+     *
+     * @param targetFrameTime  The target GPU frame time in milliseconds.
+     * @param minScale         The minimum resolution scale.
+     * @param maxScale         The maximum resolution scale.
+     * @param settleFrameCount The number of measurements to ignore after each change of scale.
+     */
+    public DynamicResolutionController(final float targetFrameTime, final float minScale, final float maxScale, final int settleFrameCount) {
+        this.targetFrameTime = Validation.validate(targetFrameTime, value -> value > 0, "Target frame time must be strictly positive");
+        this.minScale = Validation.validate(minScale, value -> value > 0, "Minimum scale must be strictly positive");
+        this.maxScale = Validation.validate(maxScale, value -> value >= minScale, "Maximum scale must be greater than minimum scale");
+        this.settleFrameCount = Validation.validate(settleFrameCount, value -> value >= 0, "Settle frame count must be positive");
+        this.scale = clamp(1f);
+        this.smoothedFrameTime = -1f;
+        this.framesToSettle = 0;
+    }
+
+    /**
+     * Update the scale with the GPU time of a new frame.
+     *
+     * @param gpuFrameTime The GPU time of the frame in milliseconds.
+     * @return The new scale.
+     */
+    public float update(final float gpuFrameTime) {
+        if (framesToSettle > 0) {
+            framesToSettle--;
+            return scale;
+        }
+        smoothedFrameTime = smoothedFrameTime < 0f ? gpuFrameTime : smoothedFrameTime + SMOOTHING * (gpuFrameTime - smoothedFrameTime);
+        if (smoothedFrameTime > targetFrameTime || smoothedFrameTime < targetFrameTime * (1f - HEADROOM)) {
+            final var targetScale = scale * (float) Math.sqrt(targetFrameTime * (1f - HEADROOM * 0.5f) / smoothedFrameTime);
+            final var newScale = clamp(Math.max(scale - MAX_STEP, Math.min(scale + MAX_STEP, targetScale)));
+            if (newScale != scale) {
+                scale = newScale;
+                smoothedFrameTime = -1f;
+                framesToSettle = settleFrameCount;
+            }
+        }
+        return scale;
+    }
+
+    private float clamp(final float value) {
+        return Math.max(minScale, Math.min(maxScale, value));
+    }
+
+    public float getScale() {
+        return scale;
+    }
+}
@@ -10,6 +10,7 @@ import com.adrienben.games.bagl.opengl.shader.Shader;
 import com.adrienben.games.bagl.opengl.shader.ShaderWrapper;
 import com.adrienben.games.bagl.renderer.shaders.uniforms.ShadowUniformSetter;
 import com.adrienben.games.bagl.renderer.shadow.CascadedShadowMap;
+import org.joml.Vector2fc;
 
 import java.util.List;
 
@@ -64,6 +65,14 @@ public class DeferredShader extends ShaderWrapper {
         return this;
     }
 
+    /**
+     * Set the fraction of the g-buffer covered by the viewport.
+     */
+    public DeferredShader setViewportScaleUniform(final Vector2fc viewportScale) {
+        shader.setUniform("uViewportScale", viewportScale);
+        return this;
+    }
+
     public DeferredShader setCSMUniforms(final CascadedShadowMap cascadedShadowMap) {
         shadowUniformSetter.setCSMUniforms(cascadedShadowMap);
         return this;
@@ -5,12 +5,12 @@ import com.adrienben.games.bagl.engine.rendering.light.DirectionalLight;
 import com.adrienben.games.bagl.engine.rendering.light.PointLight;
 import com.adrienben.games.bagl.engine.rendering.light.SpotLight;
 import com.adrienben.games.bagl.engine.rendering.material.Material;
-import com.adrienben.games.bagl.engine.rendering.model.ModelNode;
 import com.adrienben.games.bagl.engine.rendering.shaders.CameraUniformSetter;
 import com.adrienben.games.bagl.engine.rendering.shaders.LightUniformSetter;
 import com.adrienben.games.bagl.engine.rendering.shaders.MaterialUniformSetter;
 import com.adrienben.games.bagl.opengl.shader.Shader;
 import com.adrienben.games.bagl.opengl.shader.ShaderWrapper;
+import com.adrienben.games.bagl.renderer.data.ModelNodeRenderData;
 import com.adrienben.games.bagl.renderer.shaders.uniforms.ShadowUniformSetter;
 import com.adrienben.games.bagl.renderer.shaders.uniforms.SkinningUniformsSetter;
 import com.adrienben.games.bagl.renderer.shadow.CascadedShadowMap;
@@ -58,7 +58,7 @@ public class ForwardShader extends ShaderWrapper {
         Shader.unbind();
     }
 
-    public void setModelNodeUniforms(final ModelNode modelNode) {
+    public void setModelNodeUniforms(final ModelNodeRenderData modelNode) {
         skinningUniformsSetter.setModelNodeUniforms(modelNode);
     }
 
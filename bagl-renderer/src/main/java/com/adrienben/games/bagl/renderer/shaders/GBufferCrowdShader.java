@@ -0,0 +1,47 @@
+package com.adrienben.games.bagl.renderer.shaders;
+
+import com.adrienben.games.bagl.engine.animation.BakedAnimation;
+import com.adrienben.games.bagl.opengl.shader.Shader;
+import com.adrienben.games.bagl.renderer.data.CrowdRenderData;
+import org.joml.Matrix4fc;
+
+/**
+ * Wrapper for the gbuffer shader rendering crowds.
+ * <p>
+ * It shares the fragment stage and the material uniforms of the {@link GBufferShader}. The vertex stage
+ * reads the transform and the animation of each agent from per instance attributes and fetches the joint
+ * matrices from the baked animation texture of the crowd.
+ *
+ * @author adrien
+ */
+public class GBufferCrowdShader extends GBufferShader {
+
+    public static final int ANIMATION_TEXTURE_CHANNEL = 5;
+
+    public GBufferCrowdShader() {
+        super(ShaderFactory.createGBufferCrowdShader());
+        bind();
+        shader.setUniform("uAnimationTexture", ANIMATION_TEXTURE_CHANNEL);
+        Shader.unbind();
+    }
+
+    public void setCrowdUniforms(final CrowdRenderData crowd) {
+        shader.setUniform("uCrowdTransform", crowd.getTransform().getTransformMatrix());
+        shader.setUniform("uTime", crowd.getTime());
+        setClipsUniforms(crowd.getCrowd().getBakedAnimation());
+    }
+
+    private void setClipsUniforms(final BakedAnimation bakedAnimation) {
+        for (var clip = 0; clip < bakedAnimation.getClipCount(); clip++) {
+            final var prefix = "uClips[" + clip + "].";
+            shader.setUniform(prefix + "firstFrame", bakedAnimation.getFirstFrame(clip));
+            shader.setUniform(prefix + "frameCount", bakedAnimation.getFrameCount(clip));
+            shader.setUniform(prefix + "duration", bakedAnimation.getDuration(clip));
+        }
+    }
+
+    @Override
+    public void setViewProjectionUniform(final Matrix4fc viewProjectionMatrix) {
+        shader.setUniform("uViewProjection", viewProjectionMatrix);
+    }
+}
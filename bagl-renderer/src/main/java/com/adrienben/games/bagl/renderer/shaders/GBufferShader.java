@@ -1,10 +1,10 @@
 package com.adrienben.games.bagl.renderer.shaders;
 
 import com.adrienben.games.bagl.engine.rendering.material.Material;
-import com.adrienben.games.bagl.engine.rendering.model.ModelNode;
 import com.adrienben.games.bagl.engine.rendering.shaders.MaterialUniformSetter;
 import com.adrienben.games.bagl.opengl.shader.Shader;
 import com.adrienben.games.bagl.opengl.shader.ShaderWrapper;
+import com.adrienben.games.bagl.renderer.data.ModelNodeRenderData;
 import com.adrienben.games.bagl.renderer.shaders.uniforms.SkinningUniformsSetter;
 import org.joml.Matrix4fc;
 
@@ -22,7 +22,16 @@ public class GBufferShader extends ShaderWrapper {
     private final MaterialUniformSetter materialUniformSetter;
 
     public GBufferShader() {
-        super(ShaderFactory.createGBufferShader());
+        this(ShaderFactory.createGBufferShader());
+    }
+
+    /**
+     * Construct a wrapper for a variant of the gbuffer shader sharing its fragment stage.
+     *
+     * @param shader The shader to wrap.
+     */
+    protected GBufferShader(final Shader shader) {
+        super(shader);
         this.skinningUniformsSetter = new SkinningUniformsSetter(shader);
         this.materialUniformSetter = new MaterialUniformSetter(shader);
         setTextureChannelsUniforms();
@@ -38,7 +47,7 @@ public class GBufferShader extends ShaderWrapper {
         Shader.unbind();
     }
 
-    public void setModelNodeUniforms(final ModelNode modelNode) {
+    public void setModelNodeUniforms(final ModelNodeRenderData modelNode) {
         skinningUniformsSetter.setModelNodeUniforms(modelNode);
     }
 
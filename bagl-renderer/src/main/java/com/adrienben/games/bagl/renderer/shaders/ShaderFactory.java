@@ -29,6 +29,13 @@ public final class ShaderFactory {
                 .build();
     }
 
+    public static Shader createGBufferCrowdShader() {
+        return Shader.pipelineBuilder()
+                .vertexPath(ResourcePath.get("classpath:/shaders/deferred/gbuffer_crowd.vert"))
+                .fragmentPath(ResourcePath.get("classpath:/shaders/deferred/gbuffer.frag"))
+                .build();
+    }
+
     public static Shader createDeferredShader() {
         return Shader.pipelineBuilder()
                 .vertexPath(ResourcePath.get("classpath:/shaders/deferred/deferred.vert"))
@@ -1,10 +1,10 @@
 package com.adrienben.games.bagl.renderer.shaders;
 
 import com.adrienben.games.bagl.engine.rendering.material.Material;
-import com.adrienben.games.bagl.engine.rendering.model.ModelNode;
 import com.adrienben.games.bagl.engine.rendering.shaders.MaterialUniformSetter;
 import com.adrienben.games.bagl.opengl.shader.Shader;
 import com.adrienben.games.bagl.opengl.shader.ShaderWrapper;
+import com.adrienben.games.bagl.renderer.data.ModelNodeRenderData;
 import com.adrienben.games.bagl.renderer.shaders.uniforms.SkinningUniformsSetter;
 import org.joml.Matrix4fc;
 
@@ -33,7 +33,7 @@ public class ShadowShader extends ShaderWrapper {
         Shader.unbind();
     }
 
-    public void setModelNodeUniforms(final ModelNode modelNode) {
+    public void setModelNodeUniforms(final ModelNodeRenderData modelNode) {
         skinningUniformsSetter.setModelNodeUniforms(modelNode);
     }
 
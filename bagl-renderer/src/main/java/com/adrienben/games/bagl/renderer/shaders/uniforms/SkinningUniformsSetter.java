@@ -1,12 +1,9 @@
 package com.adrienben.games.bagl.renderer.shaders.uniforms;
 
-import com.adrienben.games.bagl.engine.rendering.model.Joint;
-import com.adrienben.games.bagl.engine.rendering.model.ModelNode;
 import com.adrienben.games.bagl.opengl.shader.Shader;
+import com.adrienben.games.bagl.renderer.data.ModelNodeRenderData;
 import org.joml.Matrix4fc;
 
-import java.util.List;
-
 /**
  * This class is responsible for setting shader uniforms related to mesh skinning.
  *
@@ -20,17 +17,18 @@ public class SkinningUniformsSetter {
         this.targetShader = targetShader;
     }
 
-    public void setModelNodeUniforms(final ModelNode modelNode) {
+    public void setModelNodeUniforms(final ModelNodeRenderData modelNode) {
         targetShader.setUniform("uMatrices.world", modelNode.getTransform().getTransformMatrix());
-        modelNode.getJoints().ifPresentOrElse(this::setJointsUniforms,
-                () -> setIsSkinnedUniform(false));
+        if (modelNode.isSkinned()) {
+            setJointsUniforms(modelNode);
+        } else {
+            setIsSkinnedUniform(false);
+        }
     }
 
-    private void setJointsUniforms(final List<Joint> joints) {
+    private void setJointsUniforms(final ModelNodeRenderData modelNode) {
         setIsSkinnedUniform(true);
-        for (int i = 0; i < joints.size(); i++) {
-            targetShader.setUniform("uJoints[" + i + "].jointMatrix", joints.get(i).getJointMatrix());
-        }
+        targetShader.setUniformMatrix4Array("uJointMatrices[0]", modelNode.getPalette(), 0, modelNode.getJointCount());
     }
 
     private void setIsSkinnedUniform(final boolean isSkinned) {
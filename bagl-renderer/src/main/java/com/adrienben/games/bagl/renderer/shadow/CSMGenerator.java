@@ -5,16 +5,18 @@ import com.adrienben.games.bagl.core.utils.CollectionUtils;
 import com.adrienben.games.bagl.engine.Configuration;
 import com.adrienben.games.bagl.engine.rendering.material.Material;
 import com.adrienben.games.bagl.engine.rendering.model.Mesh;
-import com.adrienben.games.bagl.engine.rendering.model.Model;
-import com.adrienben.games.bagl.engine.rendering.model.ModelNode;
 import com.adrienben.games.bagl.engine.rendering.renderer.MeshRenderer;
 import com.adrienben.games.bagl.opengl.FrameBuffer;
 import com.adrienben.games.bagl.opengl.FrameBufferParameters;
+import com.adrienben.games.bagl.opengl.OpenGL;
+import com.adrienben.games.bagl.opengl.commands.CommandList;
+import com.adrienben.games.bagl.opengl.commands.GLCommandExecutor;
 import com.adrienben.games.bagl.opengl.shader.Shader;
 import com.adrienben.games.bagl.opengl.texture.CompareFunction;
 import com.adrienben.games.bagl.opengl.texture.Format;
 import com.adrienben.games.bagl.opengl.texture.TextureParameters;
 import com.adrienben.games.bagl.opengl.texture.Wrap;
+import com.adrienben.games.bagl.renderer.data.ModelNodeRenderData;
 import com.adrienben.games.bagl.renderer.data.SceneRenderData;
 import com.adrienben.games.bagl.renderer.shaders.ShadowShader;
 
@@ -33,6 +35,13 @@ import static org.lwjgl.opengl.GL32.GL_DEPTH_CLAMP;
  * This class generated the CSM from {@link SceneRenderData}. Shadow will be the
  * same no matter the {@link com.adrienben.games.bagl.engine.rendering.model.AlphaMode}
  * of meshes. It means that partially transparent meshes will get fully opaque shadows.
+ * <p>
+ * Meshes are rendered using their shadow level of detail (see {@link ModelNodeRenderData#getShadowLod(Mesh)}).
+ * <p>
+ * The rendering of each cascade is recorded into its own {@link CommandList} so the cascades can be
+ * recorded concurrently on worker threads. {@link CSMGenerator#prepareCommands()} must be called first to
+ * compute the view projection of the cascades. Then {@link CSMGenerator#recordCommands(int)} is called
+ * for each cascade. Finally {@link CSMGenerator#generateShadowMaps()} replays the lists on the OpenGL thread.
  *
  * @author adrien
  */
@@ -45,10 +54,13 @@ public class CSMGenerator {
     private final ShadowShader shadowShader;
     private final CSMSplitsComputer csmSplitsComputer;
     private final MeshRenderer meshRenderer;
+    private final List<CommandList> commandLists;
+    private final GLCommandExecutor commandExecutor;
 
     private SceneRenderData sceneRenderData;
     private FrameBuffer currentFrameBuffer;
     private CSMSplit currentCSMSplit;
+    private CommandList currentCommandList;
     private List<ShadowCascade> shadowCascades = new ArrayList<>();
 
     public CSMGenerator() {
@@ -57,6 +69,8 @@ public class CSMGenerator {
         this.shadowShader = new ShadowShader();
         this.csmSplitsComputer = new CSMSplitsComputer();
         this.meshRenderer = new MeshRenderer();
+        this.commandLists = CollectionUtils.createListWithDefaultValues(ArrayList::new, CASCADE_COUNT, CommandList::new);
+        this.commandExecutor = new GLCommandExecutor();
     }
 
     private FrameBuffer createFrameBuffer() {
@@ -76,18 +90,49 @@ public class CSMGenerator {
     public void destroy() {
         frameBuffers.forEach(FrameBuffer::destroy);
         shadowShader.destroy();
+        commandExecutor.destroy();
+    }
+
+    /**
+     * Compute the view projection of each cascade from the provided {@link SceneRenderData}.
+     * <p>
+     * This method does not perform any OpenGL call.
+     */
+    public void prepareCommands() {
+        if (shouldRenderShadow()) {
+            computeCSMViewProjections();
+        }
+    }
+
+    /**
+     * Record the rendering of one cascade.
+     * <p>
+     * This method does not perform any OpenGL call so cascades can be recorded concurrently once
+     * {@link CSMGenerator#prepareCommands()} has been called.
+     *
+     * @param cascadeIndex The index of the cascade to record.
+     */
+    public void recordCommands(final int cascadeIndex) {
+        final var commandList = commandLists.get(cascadeIndex);
+        commandList.clear();
+        if (shouldRenderShadow()) {
+            final var split = csmSplitsComputer.getSplit(cascadeIndex);
+            commandList.record(() -> {
+                shadowShader.setViewProjectionUniform(split.getLightsViewProjection());
+                sceneRenderData.getModelNodes().forEach(this::renderModelNodeShadow);
+            });
+        }
     }
 
     /**
-     * Generate the CSM for the provided {@link SceneRenderData}.
+     * Generate the CSM from the recorded commands.
      * <p>
      * To generate shadow maps the scene must contain at least on directional light.
      *
-     * @return true if the shadow maps were generated, false otherwise.
+     * @return The generated shadow maps or null if no shadow map was generated.
      */
     public CascadedShadowMap generateShadowMaps() {
         if (shouldRenderShadow()) {
-            computeCSMViewProjections();
             prepareForRenderingAllMaps();
             renderAllMaps();
             cleanUpAfterRenderingAllMaps();
@@ -119,13 +164,14 @@ public class CSMGenerator {
         for (int i = 0; i < CASCADE_COUNT; i++) {
             currentCSMSplit = csmSplitsComputer.getSplit(i);
             currentFrameBuffer = frameBuffers.get(i);
+            currentCommandList = commandLists.get(i);
             generateShadowMap();
         }
     }
 
     private void generateShadowMap() {
         prepareForRenderingOneMap();
-        sceneRenderData.getModels().forEach(this::renderModelShadow);
+        commandExecutor.execute(currentCommandList);
         shadowCascades.add(new ShadowCascade(currentCSMSplit.getFarDepth(), currentCSMSplit.getLightsViewProjection(), currentFrameBuffer.getDepthTexture()));
         cleanUpAfterRenderingOneMap();
     }
@@ -136,28 +182,20 @@ public class CSMGenerator {
         currentFrameBuffer.clear();
     }
 
-    private void renderModelShadow(final Model model) {
-        model.getNodes().forEach(this::renderModelNodeShadow);
-    }
-
-    private void renderModelNodeShadow(final ModelNode node) {
-        if (CollectionUtils.isNotEmpty(node.getMeshes())) {
-            shadowShader.setModelNodeUniforms(node);
-            shadowShader.setViewProjectionUniform(currentCSMSplit.getLightsViewProjection());
-            node.getMeshes().forEach(this::renderMeshShadow);
-        }
-        node.getChildren().forEach(this::renderModelNodeShadow);
+    private void renderModelNodeShadow(final ModelNodeRenderData node) {
+        shadowShader.setModelNodeUniforms(node);
+        node.getMeshes().forEach((mesh, material) -> renderMeshShadow(mesh, material, node.getShadowLod(mesh)));
     }
 
-    private void renderMeshShadow(final Mesh mesh, final Material material) {
+    private void renderMeshShadow(final Mesh mesh, final Material material, final int lod) {
         if (material.isDoubleSided()) {
-            glDisable(GL_CULL_FACE);
+            OpenGL.disableFaceCulling();
         }
         shadowShader.setMaterialUniforms(material);
-        meshRenderer.render(mesh);
+        meshRenderer.render(mesh, lod);
         material.getDiffuseMap().ifPresent(map -> map.unbind(DIFFUSE_MAP_CHANNEL));
         if (material.isDoubleSided()) {
-            glEnable(GL_CULL_FACE);
+            OpenGL.enableFaceCulling();
         }
     }
 
@@ -178,6 +216,10 @@ public class CSMGenerator {
         this.sceneRenderData = sceneRenderData;
     }
 
+    public List<CommandList> getCommandLists() {
+        return commandLists;
+    }
+
     public List<FrameBuffer> getFrameBuffers() {
         return frameBuffers;
     }
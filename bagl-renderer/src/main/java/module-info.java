@@ -1,11 +1,13 @@
 module com.adrienben.games.bagl.renderer {
     // REQUIRES
     requires java.base;
+    requires jdk.jfr;
     requires transitive com.adrienben.games.bagl.engine;
 
     // EXPORTS
     exports com.adrienben.games.bagl.renderer;
     exports com.adrienben.games.bagl.renderer.gbuffer;
+    exports com.adrienben.games.bagl.renderer.profiling;
 
     // OPENS
     opens shaders.deferred;
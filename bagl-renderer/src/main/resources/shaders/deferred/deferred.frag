@@ -23,6 +23,8 @@ uniform GBuffer uGBuffer;
 uniform Camera uCamera;
 uniform Lights uLights;
 uniform Environment uEnvironment;
+// fraction of the g-buffer covered by the viewport when the resolution is scaled
+uniform vec2 uViewportScale;
 
 vec4 positionFromDepth(float depth) {
 	depth = depth*2.0 - 1.0;
@@ -34,11 +36,12 @@ vec4 positionFromDepth(float depth) {
 
 void main() {
     //retrive data from gbuffer
-	vec4 normalMetallic = texture2D(uGBuffer.normals, passCoords);
-    vec4 colorRoughness = texture2D(uGBuffer.colors, passCoords);
-    float depthValue = texture2D(uGBuffer.depth, passCoords).r;
-    vec3 emissive = texture2D(uGBuffer.emissive, passCoords).rgb;
-    vec2 occlusion = texture(uGBuffer.occlusion, passCoords).rg;
+    vec2 gBufferCoords = passCoords*uViewportScale;
+	vec4 normalMetallic = texture2D(uGBuffer.normals, gBufferCoords);
+    vec4 colorRoughness = texture2D(uGBuffer.colors, gBufferCoords);
+    float depthValue = texture2D(uGBuffer.depth, gBufferCoords).r;
+    vec3 emissive = texture2D(uGBuffer.emissive, gBufferCoords).rgb;
+    vec2 occlusion = texture(uGBuffer.occlusion, gBufferCoords).rg;
 
 	// separate the data
     vec4 position = positionFromDepth(depthValue);
@@ -0,0 +1,72 @@
+#version 330
+
+#define MAX_CLIP_COUNT 16
+
+struct Clip {
+	int firstFrame;
+	int frameCount;
+	float duration;
+};
+
+layout (location = 0) in vec4 vPosition;
+layout (location = 1) in vec3 vNormal;
+layout (location = 2) in vec2 vCoords;
+layout (location = 3) in vec3 vTangent;
+layout (location = 4) in ivec4 vJointsIds;
+layout (location = 5) in vec4 vJointsWeights;
+layout (location = 6) in mat4 iTransform;
+layout (location = 10) in vec2 iAnimation;
+
+out vec2 passCoords;
+out vec3 passNormal;
+out mat3 passTBN;
+
+uniform mat4 uViewProjection;
+uniform mat4 uCrowdTransform;
+uniform float uTime;
+uniform Clip uClips[MAX_CLIP_COUNT];
+uniform sampler2D uAnimationTexture;
+
+mat4 fetchJointMatrix(int joint, int frame) {
+	int x = joint*4;
+	return mat4(
+		texelFetch(uAnimationTexture, ivec2(x, frame), 0),
+		texelFetch(uAnimationTexture, ivec2(x + 1, frame), 0),
+		texelFetch(uAnimationTexture, ivec2(x + 2, frame), 0),
+		texelFetch(uAnimationTexture, ivec2(x + 3, frame), 0));
+}
+
+mat4 skinMatrix(int frame) {
+	return fetchJointMatrix(vJointsIds.x, frame) * vJointsWeights.x
+		+ fetchJointMatrix(vJointsIds.y, frame) * vJointsWeights.y
+		+ fetchJointMatrix(vJointsIds.z, frame) * vJointsWeights.z
+		+ fetchJointMatrix(vJointsIds.w, frame) * vJointsWeights.w;
+}
+
+void main() {
+
+	Clip clip = uClips[int(iAnimation.x)];
+
+	// frames are sampled every duration/frameCount seconds and the last one loops back to the first one
+	float progress = clip.duration > 0.0 ? fract((uTime + iAnimation.y)/clip.duration) : 0.0;
+	float frame = progress*float(clip.frameCount);
+	int currentFrame = min(int(frame), clip.frameCount - 1);
+	int nextFrame = (currentFrame + 1)%clip.frameCount;
+	float blend = frame - float(currentFrame);
+
+	mat4 skin = skinMatrix(clip.firstFrame + currentFrame)*(1.0 - blend) + skinMatrix(clip.firstFrame + nextFrame)*blend;
+	mat4 world = uCrowdTransform*iTransform*skin;
+
+	vec3 tangent = normalize(vec3(world*vec4(vTangent, 1.0)));
+	vec3 normal = normalize(vec3(world*vec4(vNormal, 0.0)));
+
+	tangent = normalize(tangent - dot(tangent, normal)*normal);
+
+	vec3 bitangent = cross(normal, tangent);
+
+	passTBN = mat3(tangent, bitangent, normal);
+	passCoords = vCoords;
+	passNormal = normal;
+
+	gl_Position = uViewProjection*world*vPosition;
+}
@@ -1,9 +1,5 @@
 #version 330
 
-struct Joint {
-    mat4 jointMatrix;
-};
-
 struct Matrices {
 	mat4 world;
 	mat4 viewProjection;
@@ -23,15 +19,15 @@ out mat3 passTBN;
 
 uniform Matrices uMatrices;
 uniform bool uIsSkinned;
-uniform Joint uJoints[128];
+uniform mat4 uJointMatrices[128];
 
 void main() {
     mat4 world = uMatrices.world;
 	if(uIsSkinned) {
-        world *= uJoints[vJointsIds.x].jointMatrix * vJointsWeights.x
-            + uJoints[vJointsIds.y].jointMatrix * vJointsWeights.y
-            + uJoints[vJointsIds.z].jointMatrix * vJointsWeights.z
-            + uJoints[vJointsIds.w].jointMatrix * vJointsWeights.w;
+        world *= uJointMatrices[vJointsIds.x] * vJointsWeights.x
+            + uJointMatrices[vJointsIds.y] * vJointsWeights.y
+            + uJointMatrices[vJointsIds.z] * vJointsWeights.z
+            + uJointMatrices[vJointsIds.w] * vJointsWeights.w;
 	}
 
 	vec3 tangent = normalize(vec3(world*vec4(vTangent, 1.0)));
@@ -1,9 +1,5 @@
 #version 330
 
-struct Joint {
-    mat4 jointMatrix;
-};
-
 struct Matrices {
 	mat4 world;
 	mat4 viewProjection;
@@ -18,15 +14,15 @@ out vec2 passCoords;
 
 uniform Matrices uMatrices;
 uniform bool uIsSkinned;
-uniform Joint uJoints[128];
+uniform mat4 uJointMatrices[128];
 
 void main() {
     mat4 world = uMatrices.world;
 	if(uIsSkinned) {
-        world *= uJoints[vJointsIds.x].jointMatrix * vJointsWeights.x
-            + uJoints[vJointsIds.y].jointMatrix * vJointsWeights.y
-            + uJoints[vJointsIds.z].jointMatrix * vJointsWeights.z
-            + uJoints[vJointsIds.w].jointMatrix * vJointsWeights.w;
+        world *= uJointMatrices[vJointsIds.x] * vJointsWeights.x
+            + uJointMatrices[vJointsIds.y] * vJointsWeights.y
+            + uJointMatrices[vJointsIds.z] * vJointsWeights.z
+            + uJointMatrices[vJointsIds.w] * vJointsWeights.w;
 	}
 
     passCoords = vCoords;
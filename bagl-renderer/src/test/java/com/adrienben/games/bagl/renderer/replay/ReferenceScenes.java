@@ -0,0 +1,133 @@
+package com.adrienben.games.bagl.renderer.replay;
+
+import com.adrienben.games.bagl.core.Color;
+import com.adrienben.games.bagl.engine.camera.Camera;
+import com.adrienben.games.bagl.engine.rendering.light.DirectionalLight;
+import com.adrienben.games.bagl.engine.rendering.light.PointLight;
+import com.adrienben.games.bagl.engine.rendering.material.Material;
+import com.adrienben.games.bagl.engine.rendering.model.AlphaMode;
+import com.adrienben.games.bagl.engine.rendering.model.ModelFactory;
+import com.adrienben.games.bagl.engine.rendering.particles.ParticleEmitter;
+import com.adrienben.games.bagl.engine.scene.Scene;
+import com.adrienben.games.bagl.engine.scene.components.CameraComponent;
+import com.adrienben.games.bagl.engine.scene.components.DirectionalLightComponent;
+import com.adrienben.games.bagl.engine.scene.components.ModelComponent;
+import com.adrienben.games.bagl.engine.scene.components.ParticleComponent;
+import com.adrienben.games.bagl.engine.scene.components.PointLightComponent;
+import com.adrienben.games.bagl.opengl.BlendMode;
+import org.joml.Quaternionf;
+import org.joml.Vector3f;
+
+import java.util.Random;
+
+/**
+ * Procedural scenes replayed by {@link SceneReplayTest}.
+ * <p>
+ * Scenes only use generated meshes and fixed seeds so that each replay renders exactly the same frames.
+ *
+ * @author adrien
+ */
+final class ReferenceScenes {
+
+    private static final int GRID_SIZE = 10;
+    private static final float GRID_SPACING = 2.5f;
+
+    private ReferenceScenes() {
+    }
+
+    /**
+     * A grid of opaque spheres with varying roughness and metalness lit by a directional light.
+     */
+    static Scene opaqueGrid() {
+        final var scene = createSceneWithCameraAndSun();
+        for (var x = 0; x < GRID_SIZE; x++) {
+            for (var z = 0; z < GRID_SIZE; z++) {
+                final var material = Material.builder()
+                        .diffuse(Color.WHITE)
+                        .roughness((float) x / GRID_SIZE)
+                        .metallic((float) z / GRID_SIZE)
+                        .build();
+                final var sphere = scene.getRoot().createChild("sphere_" + x + "_" + z);
+                sphere.getLocalTransform().setTranslation(getGridPosition(x, z));
+                sphere.addComponent(new ModelComponent(ModelFactory.createSphere(1f, 32, 32, material), true));
+            }
+        }
+        return scene;
+    }
+
+    /**
+     * Alpha blended cubes in front of opaque ones lit by point lights.
+     */
+    static Scene transparency() {
+        final var scene = createSceneWithCameraAndSun();
+        final var random = new Random(42);
+        for (var x = 0; x < GRID_SIZE; x++) {
+            for (var z = 0; z < GRID_SIZE; z++) {
+                final var blend = (x + z) % 2 == 0;
+                final var material = Material.builder()
+                        .diffuse(new Color(random.nextFloat(), random.nextFloat(), random.nextFloat(), blend ? 0.5f : 1f))
+                        .alphaMode(blend ? AlphaMode.BLEND : AlphaMode.OPAQUE)
+                        .build();
+                final var cube = scene.getRoot().createChild("cube_" + x + "_" + z);
+                cube.getLocalTransform().setTranslation(getGridPosition(x, z));
+                cube.addComponent(new ModelComponent(ModelFactory.createCube(1.5f, material), true));
+            }
+        }
+        for (var i = 0; i < 8; i++) {
+            final var light = scene.getRoot().createChild("point_light_" + i);
+            final var position = getGridPosition(random.nextInt(GRID_SIZE), random.nextInt(GRID_SIZE)).add(0f, 2f, 0f);
+            light.addComponent(new PointLightComponent(new PointLight(5f, Color.WHITE, position, 6f)));
+        }
+        return scene;
+    }
+
+    /**
+     * Two particle emitters above a plane, one with additive blending and one with sorted transparency.
+     */
+    static Scene particles() {
+        final var scene = createSceneWithCameraAndSun();
+        final var ground = scene.getRoot().createChild("ground");
+        ground.addComponent(new ModelComponent(ModelFactory.createCube(1f, Material.builder().build()), true));
+        ground.getLocalTransform().setScale(new Vector3f(30f, 0.1f, 30f));
+
+        final var random = new Random(42);
+        final var additive = scene.getRoot().createChild("additive_emitter");
+        additive.getLocalTransform().setTranslation(new Vector3f(-3f, 0f, 0f));
+        additive.addComponent(new ParticleComponent(createEmitter(random, true)));
+        final var sorted = scene.getRoot().createChild("sorted_emitter");
+        sorted.getLocalTransform().setTranslation(new Vector3f(3f, 0f, 0f));
+        sorted.addComponent(new ParticleComponent(createEmitter(random, false)));
+        return scene;
+    }
+
+    private static ParticleEmitter createEmitter(final Random random, final boolean additive) {
+        return ParticleEmitter.builder()
+                .blendMode(additive ? BlendMode.ADDITIVE : BlendMode.TRANSPARENCY)
+                .rate(1f / 60f)
+                .batchSize(50)
+                .initializer(particle -> particle.reset(
+                        particle.getPosition().set(random.nextFloat() - 0.5f, 0f, random.nextFloat() - 0.5f),
+                        particle.getDirection().set(random.nextFloat() - 0.5f, 1f, random.nextFloat() - 0.5f),
+                        0.2f, 2f, Color.YELLOW, Color.RED, 2f + random.nextFloat() * 2f))
+                .build();
+    }
+
+    private static Scene createSceneWithCameraAndSun() {
+        final var scene = new Scene();
+
+        final var camera = scene.getRoot().createChild("camera");
+        // the camera component takes its direction from the transform, turn it around to look down -Z
+        camera.getLocalTransform().setTranslation(new Vector3f(0f, 4f, 12f)).setRotation(new Quaternionf().rotationY((float) Math.PI));
+        camera.addComponent(new CameraComponent(new Camera(new Vector3f(0f, 4f, 12f), new Vector3f(0f, 0f, -1f),
+                new Vector3f(0f, 1f, 0f), (float) Math.toRadians(70), 16f / 9f, 0.1f, 100f), false));
+
+        final var sun = scene.getRoot().createChild("sun");
+        sun.addComponent(new DirectionalLightComponent(new DirectionalLight(new Vector3f(-1f, -2f, -1f).normalize())));
+        return scene;
+    }
+
+    private static Vector3f getGridPosition(final int x, final int z) {
+        final var offset = (GRID_SIZE - 1) * GRID_SPACING * 0.5f;
+        return new Vector3f(x * GRID_SPACING - offset, 1f, -z * GRID_SPACING);
+    }
+}
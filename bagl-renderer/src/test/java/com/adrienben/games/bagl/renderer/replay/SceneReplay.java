@@ -0,0 +1,118 @@
+package com.adrienben.games.bagl.renderer.replay;
+
+import com.adrienben.games.bagl.engine.Configuration;
+import com.adrienben.games.bagl.engine.Time;
+import com.adrienben.games.bagl.engine.scene.Scene;
+import com.adrienben.games.bagl.opengl.profiling.Counter;
+import com.adrienben.games.bagl.opengl.profiling.FrameCounters;
+import com.adrienben.games.bagl.opengl.profiling.FrameStats;
+import com.adrienben.games.bagl.renderer.PBRSceneRenderer;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.lwjgl.opengl.GL11.*;
+import static org.lwjgl.opengl.GL32.GL_TEXTURE_CUBE_MAP_SEAMLESS;
+
+/**
+ * Replay a scene through the {@link PBRSceneRenderer} and record its performance.
+ * <p>
+ * The scene is updated with a fixed time step so that each replay renders the same frames. The rendering
+ * operations of the last frame are counted with {@link FrameCounters}, these counters are deterministic. The CPU
+ * time spent in {@link PBRSceneRenderer#render(Scene)} is also recorded for each frame after a warm-up period
+ * but depends on the machine so it should be compared with a loose tolerance. The GPU is synchronized
+ * after each frame so that the work of a frame does not delay the next one.
+ *
+ * @author adrien
+ */
+class SceneReplay {
+
+    private static final float TIME_STEP = 1f / 60f;
+    private static final double NS_PER_MS = 1_000_000.0;
+
+    private final int warmUpFrameCount;
+    private final int frameCount;
+
+    SceneReplay(final int warmUpFrameCount, final int frameCount) {
+        this.warmUpFrameCount = warmUpFrameCount;
+        this.frameCount = frameCount;
+    }
+
+    /**
+     * Metrics of a replay.
+     *
+     * @param counters The deterministic counters of the last frame.
+     * @param timings  The CPU timings of the frames.
+     */
+    record ReplayMetrics(Map<String, Number> counters, Map<String, Number> timings) {
+    }
+
+    /**
+     * Render {@code scene} for the configured number of frames.
+     *
+     * @return The metrics of the replay.
+     */
+    ReplayMetrics replay(final Scene scene) {
+        initGlState();
+        final var renderer = new PBRSceneRenderer();
+        final var time = new Time();
+        final var frameTimes = new long[frameCount];
+        FrameStats lastFrameStats = null;
+
+        FrameCounters.setEnabled(true);
+        try {
+            for (var frame = -warmUpFrameCount; frame < frameCount; frame++) {
+                time.advance(TIME_STEP);
+                scene.update(time);
+
+                final var start = System.nanoTime();
+                renderer.render(scene);
+                final var end = System.nanoTime();
+                glFinish();
+
+                lastFrameStats = FrameCounters.endFrame();
+                if (frame >= 0) {
+                    frameTimes[frame] = end - start;
+                }
+            }
+        } finally {
+            FrameCounters.setEnabled(false);
+            renderer.destroy();
+        }
+        return toMetrics(frameTimes, lastFrameStats);
+    }
+
+    private static void initGlState() {
+        final var config = Configuration.getInstance();
+        glViewport(0, 0, config.getXResolution(), config.getYResolution());
+        glEnable(GL_TEXTURE_CUBE_MAP_SEAMLESS);
+        glEnable(GL_DEPTH_TEST);
+        glEnable(GL_CULL_FACE);
+    }
+
+    private static ReplayMetrics toMetrics(final long[] frameTimes, final FrameStats lastFrameStats) {
+        final var counters = new LinkedHashMap<String, Number>();
+        for (final var counter : Counter.values()) {
+            counters.put(getMetricName(counter), lastFrameStats.get(counter));
+        }
+        lastFrameStats.getPasses().forEach((pass, stats) ->
+                counters.put("pass." + pass + ".draw_calls", stats.getDrawCalls()));
+
+        final var timings = new LinkedHashMap<String, Number>();
+        Arrays.sort(frameTimes);
+        timings.put("cpu_frame_time_ms.median", percentile(frameTimes, 0.5) / NS_PER_MS);
+        timings.put("cpu_frame_time_ms.p95", percentile(frameTimes, 0.95) / NS_PER_MS);
+        return new ReplayMetrics(counters, timings);
+    }
+
+    private static long percentile(final long[] sortedValues, final double percentile) {
+        final var index = (int) Math.ceil(percentile * sortedValues.length) - 1;
+        return sortedValues[Math.max(0, index)];
+    }
+
+    private static String getMetricName(final Counter counter) {
+        return counter.name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,59 @@
+package com.adrienben.games.bagl.renderer.replay;
+
+import com.adrienben.games.bagl.engine.scene.Scene;
+import com.adrienben.games.bagl.tests.OGLExtension;
+import com.adrienben.games.bagl.tests.PerformanceBaseline;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.LinkedHashMap;
+
+/**
+ * Replay the {@link ReferenceScenes} and compare their performance against the checked-in baselines.
+ * <p>
+ * The rendering counters are deterministic and checked strictly. The CPU frame times depend on the machine, their
+ * baselines are recorded on the headless context of the reference agent and use a looser tolerance.
+ * <p>
+ * These tests are tagged {@value #TAG} and only run with the {@code performance-tests} profile.
+ *
+ * @author adrien
+ */
+@Tag(SceneReplayTest.TAG)
+@ExtendWith(OGLExtension.class)
+class SceneReplayTest {
+
+    static final String TAG = "performance";
+
+    private static final int WARM_UP_FRAME_COUNT = 30;
+    private static final int FRAME_COUNT = 120;
+
+    private final SceneReplay sceneReplay = new SceneReplay(WARM_UP_FRAME_COUNT, FRAME_COUNT);
+
+    @Test
+    void itShouldNotRegressWhenRenderingOpaqueGrid() {
+        replayAndCheck("opaque_grid", ReferenceScenes.opaqueGrid());
+    }
+
+    @Test
+    void itShouldNotRegressWhenRenderingTransparency() {
+        replayAndCheck("transparency", ReferenceScenes.transparency());
+    }
+
+    @Test
+    void itShouldNotRegressWhenRenderingParticles() {
+        replayAndCheck("particles", ReferenceScenes.particles());
+    }
+
+    private void replayAndCheck(final String name, final Scene scene) {
+        try {
+            final var metrics = sceneReplay.replay(scene);
+            final var baseline = PerformanceBaseline.load(name, getClass().getResourceAsStream("/baselines/" + name + ".properties"));
+            final var measured = new LinkedHashMap<String, Number>(metrics.counters());
+            measured.putAll(metrics.timings());
+            baseline.check(measured);
+        } finally {
+            scene.destroy();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.adrienben.games.bagl.renderer.resolution;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link DynamicResolutionController} test class.
+ *
+ * @author adrien
+ */
+class DynamicResolutionControllerTest {
+
+    @Test
+    void itShouldStartAtFullScaleWithinRange() {
+        assertEquals(1f, new DynamicResolutionController(16f, 0.5f, 1.5f, 0).getScale());
+        assertEquals(0.8f, new DynamicResolutionController(16f, 0.5f, 0.8f, 0).getScale());
+    }
+
+    @Test
+    void itShouldKeepScaleWhenFrameTimeIsWithinHeadroom() {
+        final var controller = new DynamicResolutionController(16f, 0.5f, 1f, 0);
+        assertEquals(1f, controller.update(15f));
+    }
+
+    @Test
+    void itShouldLowerScaleByBoundedStepWhenOverBudget() {
+        final var controller = new DynamicResolutionController(16f, 0.5f, 1f, 0);
+        assertEquals(0.9f, controller.update(40f), 1e-6f);
+    }
+
+    @Test
+    void itShouldRaiseScaleWhenUnderBudget() {
+        final var controller = new DynamicResolutionController(16f, 0.5f, 1.2f, 0);
+        assertTrue(controller.update(8f) > 1f);
+    }
+
+    @Test
+    void itShouldClampScaleToRange() {
+        final var controller = new DynamicResolutionController(16f, 0.5f, 1f, 0);
+        for (int i = 0; i < 20; i++) {
+            controller.update(100f);
+        }
+        assertEquals(0.5f, controller.getScale());
+    }
+
+    @Test
+    void itShouldIgnoreMeasurementsWhileSettling() {
+        final var controller = new DynamicResolutionController(16f, 0.5f, 1f, 2);
+        final var scale = controller.update(40f);
+
+        assertEquals(scale, controller.update(40f));
+        assertEquals(scale, controller.update(40f));
+        assertTrue(controller.update(40f) < scale);
+    }
+
+    @Test
+    void itShouldConvergeTowardTargetFrameTime() {
+        final var controller = new DynamicResolutionController(16f, 0.25f, 1f, 0);
+        final var fullScaleFrameTime = 30f;
+        for (int i = 0; i < 100; i++) {
+            final var scale = controller.getScale();
+            controller.update(fullScaleFrameTime * scale * scale);
+        }
+        final var scale = controller.getScale();
+        final var frameTime = fullScaleFrameTime * scale * scale;
+        assertTrue(frameTime <= 16f && frameTime >= 16f * 0.9f, "Frame time was " + frameTime);
+    }
+
+    @Test
+    void itShouldFailWhenRangeIsInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> new DynamicResolutionController(16f, 1f, 0.5f, 0));
+    }
+}
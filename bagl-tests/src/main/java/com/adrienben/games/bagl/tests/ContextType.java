@@ -0,0 +1,29 @@
+package com.adrienben.games.bagl.tests;
+
+/**
+ * Kind of OpenGL context created by {@link OGLExtension}.
+ * <p>
+ * It is selected with the {@value OGLExtension#CONTEXT_TYPE_PROPERTY} system property.
+ *
+ * @author adrien
+ */
+public enum ContextType {
+
+    /**
+     * Headless EGL context, falling back to a hidden GLFW window when EGL is not available.
+     */
+    AUTO,
+
+    /**
+     * Headless EGL context.
+     * <p>
+     * It does not need any display. With Mesa it can run on the llvmpipe software rasterizer
+     * ({@code LIBGL_ALWAYS_SOFTWARE=1}) which makes it usable on build agents without GPU.
+     */
+    EGL,
+
+    /**
+     * Context of a hidden GLFW window. It requires a display.
+     */
+    GLFW
+}
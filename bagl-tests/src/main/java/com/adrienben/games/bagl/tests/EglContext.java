@@ -0,0 +1,157 @@
+package com.adrienben.games.bagl.tests;
+
+import org.lwjgl.PointerBuffer;
+import org.lwjgl.egl.EGL;
+import org.lwjgl.egl.EGL10;
+import org.lwjgl.egl.EGL12;
+import org.lwjgl.egl.EGL14;
+import org.lwjgl.egl.EXTPlatformBase;
+import org.lwjgl.opengl.GL;
+import org.lwjgl.system.Configuration;
+import org.lwjgl.system.FunctionProvider;
+import org.lwjgl.system.MemoryStack;
+
+import java.util.Objects;
+
+/**
+ * Headless {@link OpenGLContext} created through EGL.
+ * <p>
+ * When the EGL implementation supports the {@code EGL_MESA_platform_surfaceless} platform, the display is not
+ * bound to any window system. Otherwise the default display is used. The context is made current without
+ * surface if {@code EGL_KHR_surfaceless_context} is supported, or with a 1x1 pixel buffer if not. In both
+ * cases the default framebuffer must not be relied upon, tests should render into frame buffer objects.
+ *
+ * @author adrien
+ */
+class EglContext implements OpenGLContext {
+
+    private static final int EGL_PLATFORM_SURFACELESS_MESA = 0x31DD;
+    private static final String MESA_PLATFORM_SURFACELESS = "EGL_MESA_platform_surfaceless";
+    private static final int PBUFFER_SIZE = 1;
+
+    private final long display;
+    private final long context;
+    private final long surface;
+
+    private EglContext(final long display, final long context, final long surface) {
+        this.display = display;
+        this.context = context;
+        this.surface = surface;
+    }
+
+    /**
+     * Create the context and make it current.
+     *
+     * @throws IllegalStateException If the context cannot be created.
+     */
+    static EglContext create() {
+        loadEgl();
+        final var display = getDisplay();
+        try (final var stack = MemoryStack.stackPush()) {
+            final var major = stack.mallocInt(1);
+            final var minor = stack.mallocInt(1);
+            if (!EGL10.eglInitialize(display, major, minor)) {
+                throw new IllegalStateException("Failed to initialize EGL display " + getErrorMessage());
+            }
+            final var displayCapabilities = EGL.createDisplayCapabilities(display, major.get(0), minor.get(0));
+
+            if (!EGL12.eglBindAPI(EGL14.EGL_OPENGL_API)) {
+                EGL10.eglTerminate(display);
+                throw new IllegalStateException("EGL does not support the OpenGL API " + getErrorMessage());
+            }
+
+            final var surfaceless = displayCapabilities.EGL_KHR_surfaceless_context;
+            final var config = chooseConfig(display, surfaceless, stack);
+            final var context = EGL10.eglCreateContext(display, config, EGL10.EGL_NO_CONTEXT, stack.ints(EGL10.EGL_NONE));
+            if (context == EGL10.EGL_NO_CONTEXT) {
+                EGL10.eglTerminate(display);
+                throw new IllegalStateException("Failed to create EGL context " + getErrorMessage());
+            }
+
+            final var surface = surfaceless ? EGL10.EGL_NO_SURFACE : EGL10.eglCreatePbufferSurface(display, config,
+                    stack.ints(EGL10.EGL_WIDTH, PBUFFER_SIZE, EGL10.EGL_HEIGHT, PBUFFER_SIZE, EGL10.EGL_NONE));
+            if (!EGL10.eglMakeCurrent(display, surface, surface, context)) {
+                EGL10.eglDestroyContext(display, context);
+                EGL10.eglTerminate(display);
+                throw new IllegalStateException("Failed to make EGL context current " + getErrorMessage());
+            }
+
+            createGLCapabilities();
+            return new EglContext(display, context, surface);
+        }
+    }
+
+    private static void loadEgl() {
+        Configuration.EGL_EXPLICIT_INIT.set(true);
+        if (Objects.nonNull(EGL.getFunctionProvider())) {
+            return;
+        }
+        try {
+            EGL.create();
+        } catch (final UnsatisfiedLinkError | IllegalStateException exception) {
+            throw new IllegalStateException("Failed to load EGL library", exception);
+        }
+    }
+
+    private static long getDisplay() {
+        final var clientExtensions = EGL10.eglQueryString(EGL10.EGL_NO_DISPLAY, EGL10.EGL_EXTENSIONS);
+        final var surfacelessPlatform = Objects.nonNull(clientExtensions)
+                && clientExtensions.contains(MESA_PLATFORM_SURFACELESS)
+                && EGL.getCapabilities().EGL_EXT_platform_base;
+        final var display = surfacelessPlatform
+                ? EXTPlatformBase.eglGetPlatformDisplayEXT(EGL_PLATFORM_SURFACELESS_MESA, EGL14.EGL_DEFAULT_DISPLAY, (int[]) null)
+                : EGL10.eglGetDisplay(EGL14.EGL_DEFAULT_DISPLAY);
+        if (display == EGL10.EGL_NO_DISPLAY) {
+            throw new IllegalStateException("No EGL display available " + getErrorMessage());
+        }
+        return display;
+    }
+
+    private static long chooseConfig(final long display, final boolean surfaceless, final MemoryStack stack) {
+        final var attributes = stack.ints(
+                EGL10.EGL_SURFACE_TYPE, surfaceless ? 0 : EGL10.EGL_PBUFFER_BIT,
+                EGL12.EGL_RENDERABLE_TYPE, EGL14.EGL_OPENGL_BIT,
+                EGL10.EGL_RED_SIZE, 8,
+                EGL10.EGL_GREEN_SIZE, 8,
+                EGL10.EGL_BLUE_SIZE, 8,
+                EGL10.EGL_ALPHA_SIZE, 8,
+                EGL10.EGL_DEPTH_SIZE, 24,
+                EGL10.EGL_STENCIL_SIZE, 8,
+                EGL10.EGL_NONE);
+        final PointerBuffer configs = stack.mallocPointer(1);
+        final var configCount = stack.mallocInt(1);
+        if (!EGL10.eglChooseConfig(display, attributes, configs, configCount) || configCount.get(0) == 0) {
+            EGL10.eglTerminate(display);
+            throw new IllegalStateException("No suitable EGL config found " + getErrorMessage());
+        }
+        return configs.get(0);
+    }
+
+    /**
+     * Load the OpenGL functions through EGL instead of the default OpenGL library which might not be available.
+     */
+    private static void createGLCapabilities() {
+        Configuration.OPENGL_EXPLICIT_INIT.set(true);
+        if (Objects.nonNull(GL.getFunctionProvider())) {
+            GL.destroy();
+        }
+        GL.create((FunctionProvider) EGL10::eglGetProcAddress);
+        GL.createCapabilities();
+    }
+
+    private static String getErrorMessage() {
+        return String.format("(error 0x%X)", EGL10.eglGetError());
+    }
+
+    @Override
+    public void destroy() {
+        EGL10.eglMakeCurrent(display, EGL10.EGL_NO_SURFACE, EGL10.EGL_NO_SURFACE, EGL10.EGL_NO_CONTEXT);
+        if (surface != EGL10.EGL_NO_SURFACE) {
+            EGL10.eglDestroySurface(display, surface);
+        }
+        EGL10.eglDestroyContext(display, context);
+        EGL10.eglTerminate(display);
+        GL.setCapabilities(null);
+        GL.destroy();
+    }
+}
@@ -0,0 +1,53 @@
+package com.adrienben.games.bagl.tests;
+
+import org.lwjgl.glfw.GLFW;
+import org.lwjgl.glfw.GLFWErrorCallback;
+import org.lwjgl.opengl.GL;
+
+import java.util.Objects;
+
+/**
+ * {@link OpenGLContext} of a hidden GLFW window.
+ *
+ * @author adrien
+ */
+class GlfwContext implements OpenGLContext {
+
+    private static final int MIN_WINDOWS_SIZE = 1;
+
+    private final long windowHandle;
+
+    private GlfwContext(final long windowHandle) {
+        this.windowHandle = windowHandle;
+    }
+
+    /**
+     * Create the context and make it current.
+     *
+     * @throws IllegalStateException If the context cannot be created.
+     */
+    static GlfwContext create() {
+        GLFW.glfwInit();
+        GLFW.glfwSetErrorCallback(GLFWErrorCallback.createPrint(System.err));
+        GLFW.glfwWindowHint(GLFW.GLFW_VISIBLE, GLFW.GLFW_FALSE);
+
+        final var windowHandle = GLFW.glfwCreateWindow(MIN_WINDOWS_SIZE, MIN_WINDOWS_SIZE, "junit_ogl_extension", 0, 0);
+        if (windowHandle == 0) {
+            GLFW.glfwTerminate();
+            throw new IllegalStateException("Failed to create GLFW window");
+        }
+
+        GLFW.glfwMakeContextCurrent(windowHandle);
+        if (Objects.isNull(GL.getFunctionProvider())) {
+            GL.create();
+        }
+        GL.createCapabilities();
+        return new GlfwContext(windowHandle);
+    }
+
+    @Override
+    public void destroy() {
+        GLFW.glfwDestroyWindow(windowHandle);
+        GLFW.glfwTerminate();
+    }
+}
@@ -5,44 +5,46 @@ import org.apache.logging.log4j.Logger;
 import org.junit.jupiter.api.extension.AfterAllCallback;
 import org.junit.jupiter.api.extension.BeforeAllCallback;
 import org.junit.jupiter.api.extension.ExtensionContext;
-import org.lwjgl.glfw.GLFW;
-import org.lwjgl.glfw.GLFWErrorCallback;
-import org.lwjgl.opengl.GL;
+
+import java.util.Locale;
 
 /**
  * JUnit extension that manage an OpenGL context which is required to unit tests OpenGL dependent classes.
+ * <p>
+ * By default a headless EGL context is created and a hidden GLFW window is used when EGL is not available.
+ * The type of context can be forced with the {@value #CONTEXT_TYPE_PROPERTY} system property (see {@link ContextType}).
  *
  * @author adrien
  */
 public class OGLExtension implements BeforeAllCallback, AfterAllCallback {
 
-    private static final Logger LOG = LogManager.getLogger(OGLExtension.class);
+    public static final String CONTEXT_TYPE_PROPERTY = "bagl.tests.context";
 
-    private static final int MIN_WINDOWS_SIZE = 1;
+    private static final Logger LOG = LogManager.getLogger(OGLExtension.class);
 
-    private long windowHandle;
+    private OpenGLContext context;
 
     @Override
     public void beforeAll(final ExtensionContext extensionContext) {
-        LOG.info("Loading OpenGL context");
-        GLFW.glfwInit();
-        GLFW.glfwSetErrorCallback(GLFWErrorCallback.createPrint(System.err));
-
-        windowHandle = GLFW.glfwCreateWindow(MIN_WINDOWS_SIZE, MIN_WINDOWS_SIZE, "junit_ogl_extension", 0, 0);
-        if (windowHandle == 0) {
-            throw new IllegalStateException("Failed to create OpenGL context");
+        final var contextType = getContextType();
+        LOG.info("Loading OpenGL context ({})", contextType);
+        try {
+            context = OpenGLContext.create(contextType);
+        } catch (final IllegalStateException exception) {
+            throw new IllegalStateException("Failed to create OpenGL context", exception);
         }
-
-        GLFW.glfwMakeContextCurrent(this.windowHandle);
-        GL.createCapabilities();
         LOG.info("OpenGL context loaded");
     }
 
+    private static ContextType getContextType() {
+        final var property = System.getProperty(CONTEXT_TYPE_PROPERTY, ContextType.AUTO.name());
+        return ContextType.valueOf(property.toUpperCase(Locale.ROOT));
+    }
+
     @Override
     public void afterAll(final ExtensionContext extensionContext) {
         LOG.info("Killing OpenGL context");
-        GLFW.glfwDestroyWindow(windowHandle);
-        GLFW.glfwTerminate();
+        context.destroy();
         LOG.info("OpenGL context killed");
     }
 }
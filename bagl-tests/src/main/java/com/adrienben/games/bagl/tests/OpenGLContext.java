@@ -0,0 +1,39 @@
+package com.adrienben.games.bagl.tests;
+
+import org.apache.logging.log4j.LogManager;
+
+/**
+ * OpenGL context current on the thread that created it.
+ *
+ * @author adrien
+ */
+public interface OpenGLContext {
+
+    /**
+     * Create an OpenGL context and make it current.
+     *
+     * @param type The type of context to create.
+     * @return The created context.
+     * @throws IllegalStateException If the context cannot be created.
+     */
+    static OpenGLContext create(final ContextType type) {
+        return switch (type) {
+            case EGL -> EglContext.create();
+            case GLFW -> GlfwContext.create();
+            case AUTO -> {
+                try {
+                    yield EglContext.create();
+                } catch (final IllegalStateException exception) {
+                    LogManager.getLogger(OpenGLContext.class).info("Headless context not available, falling back to GLFW: {}",
+                            exception.getMessage());
+                    yield GlfwContext.create();
+                }
+            }
+        };
+    }
+
+    /**
+     * Release the context.
+     */
+    void destroy();
+}
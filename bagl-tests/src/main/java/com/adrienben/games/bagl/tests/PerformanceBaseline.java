@@ -0,0 +1,160 @@
+package com.adrienben.games.bagl.tests;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.Assertions;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Checked-in performance baseline against which measured metrics are compared.
+ * <p>
+ * A baseline is a properties file mapping a metric name to its expected value. Each metric can have its own
+ * relative tolerance defined with the {@code <metric>.tolerance} key. Metric names are dot separated, so a
+ * tolerance can also be shared by a group of metrics with the {@code <group>.tolerance} key. The most specific
+ * tolerance is used and metrics without any use the value of the {@value #DEFAULT_TOLERANCE_KEY} key, or 0 if
+ * it is not defined.
+ * <pre>
+ * tolerance=0.0
+ * draw_calls=42
+ * cpu_frame_time_ms.median=8.5
+ * cpu_frame_time_ms.p95=12.25
+ * cpu_frame_time_ms.tolerance=0.5
+ * </pre>
+ * Metrics are considered "lower is better". A measured value above its expected value plus tolerance is a
+ * regression and fails the check. A value below the expected value minus tolerance is only logged as a
+ * hint to update the baseline. A metric without expected value also fails the check.
+ * <p>
+ * Every check writes the measured values as a baseline file in the directory defined by the
+ * {@value #OUTPUT_DIRECTORY_PROPERTY} system property ({@value #DEFAULT_OUTPUT_DIRECTORY} by default)
+ * so baselines can be updated by copying it.
+ *
+ * @author adrien
+ */
+public class PerformanceBaseline {
+
+    public static final String OUTPUT_DIRECTORY_PROPERTY = "bagl.tests.baselines.output";
+    public static final String DEFAULT_OUTPUT_DIRECTORY = "target/baselines";
+
+    private static final Logger LOG = LogManager.getLogger(PerformanceBaseline.class);
+
+    private static final String DEFAULT_TOLERANCE_KEY = "tolerance";
+    private static final String TOLERANCE_SUFFIX = "." + DEFAULT_TOLERANCE_KEY;
+
+    private final String name;
+    private final Properties properties;
+    private final double defaultTolerance;
+
+    private PerformanceBaseline(final String name, final Properties properties) {
+        this.name = name;
+        this.properties = properties;
+        this.defaultTolerance = parse(properties.getProperty(DEFAULT_TOLERANCE_KEY, "0"));
+    }
+
+    /**
+     * Load a baseline.
+     *
+     * @param name   The name of the baseline. It is used to name the file containing the measured values.
+     * @param stream The stream of the properties file of the baseline. It is closed by this method.
+     * @return The loaded baseline.
+     */
+    public static PerformanceBaseline load(final String name, final InputStream stream) {
+        Objects.requireNonNull(stream, () -> "No baseline found for " + name);
+        final var properties = new Properties();
+        try (stream) {
+            properties.load(stream);
+        } catch (final IOException exception) {
+            throw new UncheckedIOException("Failed to load baseline " + name, exception);
+        }
+        return new PerformanceBaseline(name, properties);
+    }
+
+    /**
+     * Compare measured metrics against the baseline.
+     *
+     * @param measured The measured value of each metric.
+     */
+    public void check(final Map<String, ? extends Number> measured) {
+        final var output = writeMeasuredValues(measured);
+        final var regressions = new ArrayList<String>();
+        final var missing = new ArrayList<String>();
+        measured.forEach((metric, number) -> {
+            final var expectedValue = properties.getProperty(metric);
+            if (Objects.isNull(expectedValue)) {
+                missing.add(metric);
+                return;
+            }
+            final var value = number.doubleValue();
+            final var expected = parse(expectedValue);
+            final var tolerance = getTolerance(metric);
+            if (value > expected * (1 + tolerance)) {
+                regressions.add(String.format(Locale.ROOT, "%s: %s exceeds baseline %s (tolerance %.0f%%)", metric, format(value),
+                        format(expected), tolerance * 100));
+            } else if (value < expected * (1 - tolerance)) {
+                LOG.info("[{}] {}: {} is below baseline {}, consider updating the baseline", name, metric, format(value),
+                        format(expected));
+            }
+        });
+
+        if (!missing.isEmpty()) {
+            regressions.add("No baseline value for " + missing);
+        }
+        if (!regressions.isEmpty()) {
+            Assertions.fail(String.format("Performance regression in %s (measured values written to %s):%n%s", name,
+                    output, String.join(System.lineSeparator(), regressions)));
+        }
+    }
+
+    private double getTolerance(final String metric) {
+        var group = metric;
+        while (true) {
+            final var tolerance = properties.getProperty(group + TOLERANCE_SUFFIX);
+            if (Objects.nonNull(tolerance)) {
+                return parse(tolerance);
+            }
+            final var separator = group.lastIndexOf('.');
+            if (separator < 0) {
+                return defaultTolerance;
+            }
+            group = group.substring(0, separator);
+        }
+    }
+
+    private Path writeMeasuredValues(final Map<String, ? extends Number> measured) {
+        final var values = new TreeMap<String, String>();
+        properties.stringPropertyNames().stream()
+                .filter(key -> key.equals(DEFAULT_TOLERANCE_KEY) || key.endsWith(TOLERANCE_SUFFIX))
+                .forEach(key -> values.put(key, properties.getProperty(key)));
+        measured.forEach((metric, value) -> values.put(metric, format(value.doubleValue())));
+        final var lines = new ArrayList<String>();
+        lines.add("# Performance baseline of " + name + ". Replace the checked-in baseline by this file to update it.");
+        values.forEach((key, value) -> lines.add(key + "=" + value));
+
+        final var output = Path.of(System.getProperty(OUTPUT_DIRECTORY_PROPERTY, DEFAULT_OUTPUT_DIRECTORY), name + ".properties");
+        try {
+            Files.createDirectories(output.getParent());
+            Files.write(output, lines);
+        } catch (final IOException exception) {
+            throw new UncheckedIOException("Failed to write measured values of " + name, exception);
+        }
+        return output.toAbsolutePath();
+    }
+
+    private static double parse(final String value) {
+        return Double.parseDouble(value.trim());
+    }
+
+    private static String format(final double value) {
+        return value == Math.rint(value) ? Long.toString((long) value) : String.format(Locale.ROOT, "%.3f", value);
+    }
+}
@@ -2,6 +2,7 @@ module com.adrienben.games.bagl.tests {
     requires java.base;
     requires org.lwjgl;
     requires org.lwjgl.natives;
+    requires org.lwjgl.egl;
     requires org.lwjgl.glfw;
     requires org.lwjgl.glfw.natives;
     requires org.lwjgl.opengl;